@@ -17,6 +17,8 @@
  */
 package builders.dsl.spreadsheet.api;
 
+import java.time.LocalDate;
+
 public interface Cell extends Spannable {
 
     int getColumn();
@@ -25,6 +27,64 @@ public interface Cell extends Spannable {
     <T> T read(Class<T> type);
     Row getRow();
 
+    /**
+     * @return true if the cell holds a number, including the dates and the numeric results of the formulas
+     */
+    default boolean isNumber() {
+        return getValue() instanceof Number;
+    }
+
+    /**
+     * @return true if the cell holds a boolean, including the boolean results of the formulas
+     */
+    default boolean isBoolean() {
+        return getValue() instanceof Boolean;
+    }
+
+    /**
+     * Reads the number without boxing. Blank cells are read as zero.
+     * @return the numeric value of the cell
+     * @throws IllegalStateException if the cell does not hold a number
+     */
+    default double readDouble() {
+        Double value = read(Double.class);
+        return value == null ? 0 : value;
+    }
+
+    /**
+     * Reads the number truncated to the whole number without boxing. Blank cells are read as zero.
+     * @return the numeric value of the cell truncated to the whole number
+     * @throws IllegalStateException if the cell does not hold a number
+     */
+    default long readLong() {
+        return (long) readDouble();
+    }
+
+    /**
+     * Reads the boolean without boxing. Blank cells are read as false.
+     * @return the boolean value of the cell
+     * @throws IllegalStateException if the cell does not hold a boolean
+     */
+    default boolean readBoolean() {
+        Boolean value = read(Boolean.class);
+        return value != null && value;
+    }
+
+    /**
+     * Reads the date as the number of days since 1970-01-01 without creating the date object.
+     * Any number is read as a date regardless of the format of the cell, the same way as {@link #read(Class)}
+     * reads {@link LocalDate}.
+     * @return the date of the cell as the epoch day
+     * @throws IllegalStateException if the cell does not hold a number
+     */
+    default long readEpochDay() {
+        LocalDate value = read(LocalDate.class);
+        if (value == null) {
+            throw new IllegalStateException("Cell does not hold a date");
+        }
+        return value.toEpochDay();
+    }
+
     String getName();
     Comment getComment();
     CellStyle getStyle();
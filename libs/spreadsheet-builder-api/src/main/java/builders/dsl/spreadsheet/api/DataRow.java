@@ -18,43 +18,30 @@
 package builders.dsl.spreadsheet.api;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Wraps row so it can be accessible using the names from headers.
+ *
+ * When many rows share the same headers, create the {@link DataRowSchema} once and bind each row to it.
  */
 public final class DataRow implements Row {
 
     public static DataRow create(Row row, Row headersRow) {
-        Collection<? extends Cell> cells = headersRow.getCells();
-        Map<String, Integer> mapping = new HashMap<String, Integer>(cells.size());
-        for (Cell cell : cells) {
-            mapping.put(String.valueOf(cell.getValue()), cell.getColumn());
-        }
-        return new DataRow(row, mapping);
+        return DataRowSchema.create(headersRow).bind(row);
     }
 
     public static DataRow create(Map<String, Integer> mapping, Row row) {
-        return new DataRow(row, new HashMap<String, Integer>(mapping));
+        return DataRowSchema.create(mapping).bind(row);
     }
 
     private final Row row;
-    private final Map<String, Cell> cells;
+    private final DataRowSchema schema;
+    private final Cell[] cells;
 
-    private DataRow(Row row, Map<String, Integer> mapping) {
+    DataRow(Row row, DataRowSchema schema, Cell[] cells) {
         this.row = row;
-
-        Map<String, Cell> cells = new HashMap<String, Cell>(row.getCells().size());
-
-        for (Map.Entry<String, Integer> entry : mapping.entrySet()) {
-            for (Cell cell : row.getCells()) {
-                if (cell.getColumn() == entry.getValue()) {
-                    cells.put(entry.getKey(), cell);
-                }
-            }
-        }
-
+        this.schema = schema;
         this.cells = cells;
     }
 
@@ -64,7 +51,15 @@ public final class DataRow implements Row {
      * @return the cell by the label given from headers or mapping
      */
     public Cell get(String name) {
-        return cells.get(name);
+        int index = schema.indexOf(name);
+        return index < 0 ? null : cells[index];
+    }
+
+    /**
+     * @return the schema this row is bound to
+     */
+    public DataRowSchema getSchema() {
+        return schema;
     }
 
     @Override
@@ -0,0 +1,133 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.api;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Mapping of the labels to the columns computed once from the headers row or the explicit mapping and reused
+ * to bind any number of {@link DataRow}s. Binding the row only looks up its cells by the column number.
+ */
+public final class DataRowSchema {
+
+    public static DataRowSchema create(Row headersRow) {
+        Collection<? extends Cell> cells = headersRow.getCells();
+        Map<String, Integer> mapping = new LinkedHashMap<String, Integer>(cells.size());
+        for (Cell cell : cells) {
+            mapping.put(String.valueOf(cell.getValue()), cell.getColumn());
+        }
+        return new DataRowSchema(mapping);
+    }
+
+    public static DataRowSchema create(Map<String, Integer> mapping) {
+        return new DataRowSchema(mapping);
+    }
+
+    private final int[] columns;
+    private final int[] slotsByColumn;
+    private final int firstColumn;
+    private final Map<String, Integer> slots;
+    private final Map<String, Integer> mapping;
+
+    private DataRowSchema(Map<String, Integer> mapping) {
+        int maxColumn = 0;
+        for (Integer column : mapping.values()) {
+            if (column != null) {
+                maxColumn = Math.max(maxColumn, column);
+            }
+        }
+
+        int[] slotsByColumn = new int[maxColumn + 1];
+        Arrays.fill(slotsByColumn, -1);
+
+        int[] columns = new int[mapping.size()];
+        Map<String, Integer> slots = new HashMap<String, Integer>(mapping.size());
+        int slotCount = 0;
+
+        for (Map.Entry<String, Integer> entry : mapping.entrySet()) {
+            Integer column = entry.getValue();
+            if (column == null || column < 1) {
+                continue;
+            }
+            if (slotsByColumn[column] < 0) {
+                slotsByColumn[column] = slotCount;
+                columns[slotCount++] = column;
+            }
+            slots.put(entry.getKey(), slotsByColumn[column]);
+        }
+
+        this.columns = Arrays.copyOf(columns, slotCount);
+        this.slotsByColumn = slotsByColumn;
+        this.slots = slots;
+        this.mapping = Collections.unmodifiableMap(new LinkedHashMap<String, Integer>(mapping));
+
+        int first = Integer.MAX_VALUE;
+        for (int column : this.columns) {
+            first = Math.min(first, column);
+        }
+        this.firstColumn = first;
+    }
+
+    /**
+     * Binds given row to this schema.
+     * @param row the row to be accessible using the labels of this schema
+     * @return the data row for given row
+     */
+    public DataRow bind(Row row) {
+        Cell[] cells = new Cell[columns.length];
+        if (columns.length > 0) {
+            for (Cell cell : row.getCells(firstColumn, slotsByColumn.length - 1)) {
+                int column = cell.getColumn();
+                if (column < slotsByColumn.length && slotsByColumn[column] >= 0) {
+                    cells[slotsByColumn[column]] = cell;
+                }
+            }
+        }
+        return new DataRow(row, this, cells);
+    }
+
+    /**
+     * @return the labels of this schema
+     */
+    public Set<String> getNames() {
+        return mapping.keySet();
+    }
+
+    /**
+     * @return the mapping of the labels to the column numbers starting at one
+     */
+    public Map<String, Integer> getMapping() {
+        return mapping;
+    }
+
+    /**
+     * Returns the index of the cell within the data row by the label or -1 if there is no such label.
+     * @param name label from header or mapping
+     * @return the index of the cell within the data row or -1 if there is no such label
+     */
+    int indexOf(String name) {
+        Integer slot = slots.get(name);
+        return slot == null ? -1 : slot;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.api;
+
+import java.util.Collections;
+import java.util.Iterator;
+
+/**
+ * Cursor over the rows and cells returned by {@link Sheet#getRows()} and {@link Row#getCells()} used when
+ * the implementation does not provide more efficient one.
+ */
+final class DefaultSheetCursor implements SheetCursor {
+
+    DefaultSheetCursor(Sheet sheet) {
+        this.rows = sheet.getRows().iterator();
+    }
+
+    @Override
+    public boolean nextRow() {
+        cell = null;
+        if (!rows.hasNext()) {
+            row = null;
+            cells = Collections.emptyIterator();
+            return false;
+        }
+        row = rows.next();
+        cells = row.getCells().iterator();
+        return true;
+    }
+
+    @Override
+    public boolean nextCell() {
+        if (!cells.hasNext()) {
+            cell = null;
+            return false;
+        }
+        cell = cells.next();
+        return true;
+    }
+
+    @Override
+    public int row() {
+        return current(row).getNumber();
+    }
+
+    @Override
+    public int column() {
+        return current(cell).getColumn();
+    }
+
+    @Override
+    public Object value() {
+        return current(cell).getValue();
+    }
+
+    @Override
+    public double readDouble() {
+        return current(cell).readDouble();
+    }
+
+    @Override
+    public String readString() {
+        return current(cell).read(String.class);
+    }
+
+    private static <T> T current(T rowOrCell) {
+        if (rowOrCell == null) {
+            throw new IllegalStateException("Cursor is not positioned at any row or cell");
+        }
+        return rowOrCell;
+    }
+
+    private final Iterator<? extends Row> rows;
+    private Iterator<? extends Cell> cells = Collections.emptyIterator();
+    private Row row;
+    private Cell cell;
+}
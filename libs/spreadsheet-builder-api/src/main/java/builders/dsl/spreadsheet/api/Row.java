@@ -18,6 +18,7 @@
 package builders.dsl.spreadsheet.api;
 
 import java.util.Collection;
+import java.util.stream.Collectors;
 
 public interface Row {
 
@@ -26,6 +27,17 @@ public interface Row {
 
     Collection<? extends Cell> getCells();
 
+    /**
+     * Returns the cells with the column numbers within given inclusive range in the document order.
+     * The implementations should seek the cells directly if possible.
+     * @param from the number of the first column starting at one
+     * @param to the number of the last column
+     * @return the cells with the column numbers within given range
+     */
+    default Collection<? extends Cell> getCells(int from, int to) {
+        return getCells().stream().filter(c -> c.getColumn() >= from && c.getColumn() <= to).collect(Collectors.toList());
+    }
+
     Row getAbove();
     Row getAbove(int howMany);
     Row getBelow();
@@ -18,6 +18,7 @@
 package builders.dsl.spreadsheet.api;
 
 import java.util.Collection;
+import java.util.stream.Collectors;
 
 public interface Sheet {
 
@@ -26,6 +27,36 @@ public interface Sheet {
 
     Collection<? extends Row> getRows();
 
+    /**
+     * Returns the rows with the numbers within given inclusive range in the document order. The implementations
+     * should seek the rows directly if possible.
+     * @param from the number of the first row starting at one
+     * @param to the number of the last row
+     * @return the rows with the numbers within given range
+     */
+    default Collection<? extends Row> getRows(int from, int to) {
+        return getRows().stream().filter(r -> r.getNumber() >= from && r.getNumber() <= to).collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the cells of this sheet which given defined name refers to. The implementations should look
+     * the names up directly if possible.
+     * @param name the defined name
+     * @return the cells of this sheet which given name refers to
+     */
+    default Collection<? extends Cell> getNamedCells(String name) {
+        return getRows().stream().flatMap(r -> r.getCells().stream()).filter(c -> name.equals(c.getName())).collect(Collectors.toList());
+    }
+
+    /**
+     * Returns new cursor positioned before the first row of this sheet. The cursor does not create
+     * the row and cell objects so it should be preferred for bulk reading.
+     * @return new cursor positioned before the first row of this sheet
+     */
+    default SheetCursor cursor() {
+        return new DefaultSheetCursor(this);
+    }
+
     Page getPage();
 
     Sheet getNext();
@@ -0,0 +1,66 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.api;
+
+/**
+ * Low-level forward-only reader of the rows and cells of the sheet. The cursor itself is the view of the current
+ * row and cell so no objects are created for the visited rows and cells. Use it for bulk reading when the identity
+ * of the rows and cells is not required.
+ */
+public interface SheetCursor {
+
+    /**
+     * Moves the cursor to the next row which is present in the sheet.
+     * @return true if the cursor moved to the next row, false if there are no more rows
+     */
+    boolean nextRow();
+
+    /**
+     * Moves the cursor to the next cell of the current row which is present in the sheet.
+     * @return true if the cursor moved to the next cell, false if there are no more cells in the current row
+     */
+    boolean nextCell();
+
+    /**
+     * @return the number of the current row starting at one
+     */
+    int row();
+
+    /**
+     * @return the number of the column of the current cell starting at one
+     */
+    int column();
+
+    /**
+     * @return the value of the current cell as returned by {@link Cell#getValue()}
+     */
+    Object value();
+
+    /**
+     * @return the numeric value of the current cell
+     */
+    double readDouble();
+
+    /**
+     * Reads the text of the current cell. The value is never converted, use {@link #value()} to read cells of any type.
+     * @return the string value of the current cell, empty string for the blank cells
+     * @throws IllegalStateException if the cell holds a number, a boolean or an error
+     */
+    String readString();
+
+}
@@ -122,6 +122,7 @@ public abstract class AbstractCellDefinition implements CellDefinition, Resolvab
         }
 
         doName(name);
+        row.getSheet().getWorkbook().nameDefined(name);
         return this;
     }
 
@@ -18,8 +18,10 @@
 package builders.dsl.spreadsheet.impl;
 
 import builders.dsl.spreadsheet.builder.api.CellDefinition;
-import builders.dsl.spreadsheet.builder.api.Resolvable;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -27,7 +29,9 @@ import java.util.regex.Pattern;
  * Pending formula is a formula definition which needs to be resolved at the end of the build where all named references
  * are know.
  */
-public abstract class AbstractPendingFormula implements Resolvable {
+public abstract class AbstractPendingFormula implements PendingReference {
+
+    private static final Pattern NAME_REFERENCE = Pattern.compile("#\\{(.+?)\\}");
 
     protected AbstractPendingFormula(CellDefinition cell, String formula) {
         this.cell = cell;
@@ -42,7 +46,7 @@ public abstract class AbstractPendingFormula implements Resolvable {
     protected abstract void doResolve(String expandedFormula);
 
     private String expandNames(String withNames) {
-        final Matcher matcher = Pattern.compile("#\\{(.+?)\\}").matcher(withNames);
+        final Matcher matcher = NAME_REFERENCE.matcher(withNames);
         if (matcher.find()) {
             final StringBuffer sb = new StringBuffer(withNames.length() + 16);
             do {
@@ -57,6 +61,15 @@ public abstract class AbstractPendingFormula implements Resolvable {
 
     protected abstract String findRefersToFormula(final String name);
 
+    public final Collection<String> getReferencedNames() {
+        Set<String> names = new LinkedHashSet<String>();
+        Matcher matcher = NAME_REFERENCE.matcher(formula);
+        while (matcher.find()) {
+            names.add(matcher.group(1));
+        }
+        return names;
+    }
+
     public final CellDefinition getCell() {
         return cell;
     }
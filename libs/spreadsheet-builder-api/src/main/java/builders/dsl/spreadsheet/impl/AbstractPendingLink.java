@@ -18,12 +18,14 @@
 package builders.dsl.spreadsheet.impl;
 
 import builders.dsl.spreadsheet.builder.api.CellDefinition;
-import builders.dsl.spreadsheet.builder.api.Resolvable;
+
+import java.util.Collection;
+import java.util.Collections;
 
 /**
  * Pending link is a link which needs to be resolved at the end of the build when all the named references are known.
  */
-public abstract class AbstractPendingLink implements Resolvable {
+public abstract class AbstractPendingLink implements PendingReference {
 
     protected AbstractPendingLink(CellDefinition cell, final String name) {
         if (!name.equals(Utils.fixName(name))) {
@@ -42,6 +44,10 @@ public abstract class AbstractPendingLink implements Resolvable {
         return name;
     }
 
+    public final Collection<String> getReferencedNames() {
+        return Collections.singleton(name);
+    }
+
     private final CellDefinition cell;
     private final String name;
 }
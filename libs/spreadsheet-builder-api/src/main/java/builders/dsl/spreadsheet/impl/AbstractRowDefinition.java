@@ -33,7 +33,8 @@ public abstract class AbstractRowDefinition implements RowDefinition {
 
     private final List<Integer> startPositions = new ArrayList<Integer>();
     private int nextColNumber;
-    private final Map<Integer, AbstractCellDefinition> cells = new LinkedHashMap<Integer, AbstractCellDefinition>();
+    private final SortedMap<Integer, AbstractCellDefinition> cells = new TreeMap<Integer, AbstractCellDefinition>();
+    private int waitingReferences;
 
     protected AbstractRowDefinition(AbstractSheetDefinition sheet) {
         this.sheet = sheet;
@@ -55,6 +56,13 @@ public abstract class AbstractRowDefinition implements RowDefinition {
 
     protected abstract AbstractCellDefinition createCell(int zeroBasedCellNumber);
 
+    /**
+     * @return the cells defined so far ordered by their one-based column number
+     */
+    protected final SortedMap<Integer, AbstractCellDefinition> getCells() {
+        return Collections.unmodifiableSortedMap(cells);
+    }
+
     @Override
     public final RowDefinition cell(Consumer<CellDefinition> cellDefinition) {
         AbstractCellDefinition poiCell = findOrCreateCell(nextColNumber);
@@ -71,6 +79,8 @@ public abstract class AbstractRowDefinition implements RowDefinition {
 
         poiCell.resolve();
 
+        sheet.getWorkbook().resolveReady();
+
         return this;
     }
 
@@ -92,6 +102,8 @@ public abstract class AbstractRowDefinition implements RowDefinition {
 
         poiCell.resolve();
 
+        sheet.getWorkbook().resolveReady();
+
         return this;
     }
 
@@ -147,4 +159,16 @@ public abstract class AbstractRowDefinition implements RowDefinition {
     List<String> getStyles() {
         return Collections.unmodifiableList(styles);
     }
+
+    void addWaitingReference() {
+        waitingReferences++;
+    }
+
+    void removeWaitingReference() {
+        waitingReferences--;
+    }
+
+    boolean hasWaitingReferences() {
+        return waitingReferences > 0;
+    }
 }
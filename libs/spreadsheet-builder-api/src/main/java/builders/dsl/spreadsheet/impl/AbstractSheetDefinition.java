@@ -33,7 +33,8 @@ public abstract class AbstractSheetDefinition implements SheetDefinition, Resolv
     private final List<Integer> startPositions = new ArrayList<Integer>();
     private int nextRowNumber;
     protected final Set<Integer> autoColumns = new HashSet<Integer>();
-    private final Map<Integer, AbstractRowDefinition> rows = new LinkedHashMap<Integer, AbstractRowDefinition>();
+    private final NavigableMap<Integer, AbstractRowDefinition> rows = new TreeMap<Integer, AbstractRowDefinition>();
+    private int lastEvictedRowNumber;
     protected boolean automaticFilter;
 
     protected AbstractSheetDefinition(AbstractWorkbookDefinition workbook) {
@@ -51,13 +52,51 @@ public abstract class AbstractSheetDefinition implements SheetDefinition, Resolv
             return row;
         }
 
+        if (zeroBasedRowNumber + 1 <= lastEvictedRowNumber) {
+            throw new IllegalStateException("Row " + (zeroBasedRowNumber + 1) + " of " + this + " is no longer available. "
+                + "Only the last " + getRowWindowSize() + " rows are kept when streaming, rows up to " + lastEvictedRowNumber + " have been already written.");
+        }
+
         row = createRow(zeroBasedRowNumber);
         rows.put(zeroBasedRowNumber + 1, row);
+        evictRows();
         return row;
     }
 
+    private void evictRows() {
+        int windowSize = getRowWindowSize();
+
+        if (windowSize < 0) {
+            return;
+        }
+
+        while (rows.size() > windowSize) {
+            Map.Entry<Integer, AbstractRowDefinition> evicted = rows.pollFirstEntry();
+            workbook.checkNoWaitingReferences(evicted.getValue());
+            lastEvictedRowNumber = Math.max(lastEvictedRowNumber, evicted.getKey());
+            processEvictedRow(evicted.getValue());
+        }
+    }
+
+    /**
+     * Called when the row definition leaves the row window and it will never be accessed again.
+     * @param row the evicted row definition
+     */
+    protected void processEvictedRow(AbstractRowDefinition row) {
+        // nothing to do by default
+    }
+
     protected abstract AbstractRowDefinition createRow(int zeroBasedRowNumber);
 
+    /**
+     * Returns the number of the most recent row definitions which are kept in the memory. The older row definitions
+     * are evicted and cannot be accessed any longer.
+     * @return the number of the row definitions kept or negative number if all row definitions should be kept
+     */
+    protected int getRowWindowSize() {
+        return -1;
+    }
+
     @Override
     public final SheetDefinition row(Consumer<RowDefinition> rowDefinition) {
         RowDefinition row = findOrCreateRow(nextRowNumber++);
@@ -161,6 +200,14 @@ public abstract class AbstractSheetDefinition implements SheetDefinition, Resolv
 
     protected abstract void applyRowGroup(int startPosition, int endPosition, boolean collapsed);
 
+    /**
+     * Returns the zero-based number of the first row of the outermost group which is being defined.
+     * @return the first row of the outermost open group or negative number if no group is being defined
+     */
+    protected int getOpenGroupStartPosition() {
+        return startPositions.isEmpty() ? -1 : startPositions.get(0);
+    }
+
     // TODO: make protected again
     public void addAutoColumn(int i) {
         autoColumns.add(i);
@@ -20,9 +20,11 @@ package builders.dsl.spreadsheet.impl;
 import builders.dsl.spreadsheet.builder.api.*;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Consumer;
 
 public abstract class AbstractWorkbookDefinition implements WorkbookDefinition {
@@ -30,7 +32,9 @@ public abstract class AbstractWorkbookDefinition implements WorkbookDefinition {
     private final Map<String, Consumer<CellStyleDefinition>> namedStylesDefinition = new LinkedHashMap<String, Consumer<CellStyleDefinition>>();
     private final Map<String, AbstractCellStyleDefinition> namedStyles = new LinkedHashMap<String, AbstractCellStyleDefinition>();
     private final Map<String, AbstractSheetDefinition> sheets = new LinkedHashMap<String, AbstractSheetDefinition>();
-    private final List<Resolvable> toBeResolved = new ArrayList<Resolvable>();
+    private final Set<String> definedNames = new HashSet<String>();
+    private final List<PendingReference> readyToBeResolved = new ArrayList<PendingReference>();
+    private final Map<String, List<PendingReference>> waitingForName = new LinkedHashMap<String, List<PendingReference>>();
 
     @Override
     public final WorkbookDefinition style(String name, Consumer<CellStyleDefinition> styleDefinition) {
@@ -40,9 +44,15 @@ public abstract class AbstractWorkbookDefinition implements WorkbookDefinition {
 
     // TODO: make package private again
     public final void resolve() {
-        for (Resolvable resolvable : toBeResolved) {
-            resolvable.resolve();
+        resolveReady();
+
+        for (List<PendingReference> waiting : waitingForName.values()) {
+            for (PendingReference reference : waiting) {
+                reference.resolve();
+            }
         }
+
+        waitingForName.clear();
     }
 
     protected abstract AbstractCellStyleDefinition createCellStyle();
@@ -94,10 +104,85 @@ public abstract class AbstractWorkbookDefinition implements WorkbookDefinition {
     }
 
     void addPendingFormula(AbstractPendingFormula formula) {
-        toBeResolved.add(formula);
+        schedule(formula);
     }
 
     protected void addPendingLink(AbstractPendingLink link) {
-        toBeResolved.add(link);
+        schedule(link);
+    }
+
+    /**
+     * Returns true if the name is already defined so the references to it can be resolved.
+     * @param name the name of the cell
+     * @return true if the name is already defined
+     */
+    protected boolean isNameDefined(String name) {
+        return definedNames.contains(name);
+    }
+
+    final void nameDefined(String name) {
+        definedNames.add(name);
+
+        List<PendingReference> waiting = waitingForName.remove(name);
+
+        if (waiting == null) {
+            return;
+        }
+
+        for (PendingReference reference : waiting) {
+            getRow(reference).removeWaitingReference();
+            schedule(reference);
+        }
+    }
+
+    /**
+     * Resolves the pending references which have all the referenced names already defined.
+     */
+    final void resolveReady() {
+        if (readyToBeResolved.isEmpty()) {
+            return;
+        }
+
+        List<PendingReference> ready = new ArrayList<PendingReference>(readyToBeResolved);
+        readyToBeResolved.clear();
+
+        for (PendingReference reference : ready) {
+            reference.resolve();
+        }
+    }
+
+    final void checkNoWaitingReferences(AbstractRowDefinition row) {
+        if (!row.hasWaitingReferences()) {
+            return;
+        }
+
+        for (Map.Entry<String, List<PendingReference>> waiting : waitingForName.entrySet()) {
+            for (PendingReference reference : waiting.getValue()) {
+                if (getRow(reference) == row) {
+                    throw new IllegalStateException("Reference to name '" + waiting.getKey() + "' from " + reference.getCell()
+                        + " cannot be resolved before the row is written. Define the name before the row leaves the streaming window.");
+                }
+            }
+        }
+    }
+
+    private void schedule(PendingReference reference) {
+        for (String name : reference.getReferencedNames()) {
+            if (!isNameDefined(name)) {
+                List<PendingReference> waiting = waitingForName.get(name);
+                if (waiting == null) {
+                    waiting = new ArrayList<PendingReference>();
+                    waitingForName.put(name, waiting);
+                }
+                waiting.add(reference);
+                getRow(reference).addWaitingReference();
+                return;
+            }
+        }
+        readyToBeResolved.add(reference);
+    }
+
+    private static AbstractRowDefinition getRow(PendingReference reference) {
+        return ((AbstractCellDefinition) reference.getCell()).getRow();
     }
 }
@@ -25,7 +25,7 @@ public abstract class AbstractSpreadsheetCriteriaResult implements SpreadsheetCr
 
     @Override
     public Iterator<Cell> iterator() {
-        return getCells().iterator();
+        return stream().iterator();
     }
 
     @Override
@@ -25,6 +25,8 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.Date;
 import java.util.function.Consumer;
+import java.util.function.DoublePredicate;
+import java.util.function.LongPredicate;
 import java.util.function.Predicate;
 
 public interface CellCriterion extends Predicate<Cell> {
@@ -45,6 +47,30 @@ public interface CellCriterion extends Predicate<Cell> {
     CellCriterion number(Double value);
     CellCriterion number(Predicate<Double> predicate);
 
+    /**
+     * Matches the cells holding a number which satisfies given predicate. The number is read without boxing.
+     * @param predicate the predicate on the numeric value
+     * @return self
+     */
+    CellCriterion doubleValue(DoublePredicate predicate);
+
+    /**
+     * Matches the cells holding a number whose value truncated to the whole number satisfies given predicate.
+     * The number is read without boxing.
+     * @param predicate the predicate on the whole number value
+     * @return self
+     */
+    CellCriterion longValue(LongPredicate predicate);
+
+    /**
+     * Matches the cells holding a date whose number of days since 1970-01-01 satisfies given predicate.
+     * The date is read without creating the date object. Every numeric cell is read as a date
+     * regardless of its format.
+     * @param predicate the predicate on the epoch day, see {@link LocalDate#toEpochDay()}
+     * @return self
+     */
+    CellCriterion epochDay(LongPredicate predicate);
+
     CellCriterion string(String value);
     CellCriterion string(Predicate<String> predicate);
 
@@ -0,0 +1,36 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.query.api;
+
+/**
+ * Defines how the criteria are evaluated.
+ */
+public enum ExecutionMode {
+
+    /**
+     * The sheets, rows and cells are evaluated one by one on the current thread, lazily if possible.
+     */
+    SEQUENTIAL,
+
+    /**
+     * The sheets and ranges of rows are evaluated concurrently and the results are merged in the document order.
+     * The predicates must not have any side effects.
+     */
+    PARALLEL
+
+}
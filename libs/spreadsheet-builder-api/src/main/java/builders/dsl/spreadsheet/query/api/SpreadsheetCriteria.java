@@ -34,4 +34,16 @@ public interface SpreadsheetCriteria {
     Cell find(Consumer<WorkbookCriterion> workbookCriterion) throws FileNotFoundException;
     boolean exists(Consumer<WorkbookCriterion> workbookCriterion) throws FileNotFoundException;
 
+    /**
+     * Queries the workbook using given execution mode. The implementations which cannot evaluate the criteria
+     * in parallel fall back to the sequential evaluation.
+     * @param workbookCriterion the criteria
+     * @param mode the execution mode
+     * @return the result of the query
+     * @throws FileNotFoundException if the spreadsheet file does not exist
+     */
+    default SpreadsheetCriteriaResult query(Consumer<WorkbookCriterion> workbookCriterion, ExecutionMode mode) throws FileNotFoundException {
+        return query(workbookCriterion);
+    }
+
 }
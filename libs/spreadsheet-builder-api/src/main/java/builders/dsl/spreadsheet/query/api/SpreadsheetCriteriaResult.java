@@ -22,6 +22,7 @@ import builders.dsl.spreadsheet.api.Row;
 import builders.dsl.spreadsheet.api.Sheet;
 
 import java.util.Collection;
+import java.util.stream.Stream;
 
 public interface SpreadsheetCriteriaResult extends Iterable<Cell> {
 
@@ -63,4 +64,40 @@ public interface SpreadsheetCriteriaResult extends Iterable<Cell> {
      */
     Sheet getSheet();
 
+    /**
+     * Returns the stream of the cells matching the criteria. The cells may be found lazily as the stream
+     * is consumed.
+     * @return the stream of the cells matching the criteria
+     */
+    default Stream<Cell> stream() {
+        return getCells().stream();
+    }
+
+    /**
+     * Returns the stream of the rows matching the criteria. The rows may be found lazily as the stream
+     * is consumed.
+     * @return the stream of the rows matching the criteria
+     */
+    default Stream<Row> rowStream() {
+        return getRows().stream();
+    }
+
+    /**
+     * Returns the stream of the sheets matching the criteria. The sheets may be found lazily as the stream
+     * is consumed.
+     * @return the stream of the sheets matching the criteria
+     */
+    default Stream<Sheet> sheetStream() {
+        return getSheets().stream();
+    }
+
+    /**
+     * Returns the human readable description of how the criteria are evaluated, e.g. which rows and columns are
+     * looked up directly instead of being scanned.
+     * @return the description of how the criteria are evaluated
+     */
+    default String explain() {
+        return "Query plan\n  sheets: scan all\n  rows: scan all\n  cells: scan all";
+    }
+
 }
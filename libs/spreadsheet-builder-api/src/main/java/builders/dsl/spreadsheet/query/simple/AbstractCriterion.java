@@ -28,6 +28,10 @@ abstract class AbstractCriterion<T, C extends Predicate<T>> implements Predicate
     private final List<Predicate<T>> predicates = new ArrayList<>();
     private final boolean disjoint;
 
+    private SimpleBounds allBounds = SimpleBounds.UNBOUNDED;
+    private SimpleBounds anyBounds;
+    private boolean anyUnbounded;
+
     AbstractCriterion() {
         this(false);
     }
@@ -49,12 +53,50 @@ abstract class AbstractCriterion<T, C extends Predicate<T>> implements Predicate
     public AbstractCriterion<T, C> or(Consumer<C> sheetCriterion) {
         C criterion = newDisjointCriterionInstance();
         sheetCriterion.accept(criterion);
-        addCondition(criterion);
+        if (criterion instanceof AbstractCriterion) {
+            addCondition(criterion, ((AbstractCriterion<?, ?>) criterion).getBounds());
+        } else {
+            addCondition(criterion);
+        }
         return this;
     }
 
     void addCondition(Predicate<T> predicate) {
         predicates.add(predicate);
+        anyUnbounded = true;
+    }
+
+    /**
+     * Adds the condition which can only pass for the row or column numbers within given bounds.
+     * @param predicate the condition
+     * @param bounds the bounds of the row or column numbers which can pass the condition
+     */
+    void addCondition(Predicate<T> predicate, SimpleBounds bounds) {
+        predicates.add(predicate);
+        allBounds = allBounds.intersect(bounds);
+        anyBounds = anyBounds == null ? bounds : anyBounds.hull(bounds);
+    }
+
+    boolean isDisjoint() {
+        return disjoint;
+    }
+
+    boolean hasConditions() {
+        return !predicates.isEmpty();
+    }
+
+    /**
+     * Returns the bounds of the row or column numbers which can pass this criterion.
+     * @return the bounds of the row or column numbers which can pass this criterion
+     */
+    SimpleBounds getBounds() {
+        if (!disjoint) {
+            return allBounds;
+        }
+        if (anyUnbounded || anyBounds == null) {
+            return SimpleBounds.UNBOUNDED;
+        }
+        return anyBounds;
     }
 
     private boolean passesAnyCondition(T object) {
@@ -33,11 +33,7 @@ final class SimpleBorderCriterion implements BorderCriterion {
 
     @Override
     public SimpleBorderCriterion style(final BorderStyle borderStyle) {
-        parent.addCondition(o -> {
-            CellStyle style = o.getStyle();
-            if (style == null) {
-                return false;
-            }
+        parent.addStyleCondition(style -> {
             Border border = style.getBorder(side);
             return border != null && borderStyle.equals(border.getStyle());
         });
@@ -46,11 +42,7 @@ final class SimpleBorderCriterion implements BorderCriterion {
 
     @Override
     public SimpleBorderCriterion style(final Predicate<BorderStyle> predicate) {
-        parent.addCondition(o -> {
-            CellStyle style = o.getStyle();
-            if (style == null) {
-                return false;
-            }
+        parent.addStyleCondition(style -> {
             Border border = style.getBorder(side);
             return border != null && predicate.test(border.getStyle());
         });
@@ -65,11 +57,7 @@ final class SimpleBorderCriterion implements BorderCriterion {
 
     @Override
     public SimpleBorderCriterion color(final Color color) {
-        parent.addCondition(o -> {
-            CellStyle style = o.getStyle();
-            if (style == null) {
-                return false;
-            }
+        parent.addStyleCondition(style -> {
             Border border = style.getBorder(side);
             return border != null && color.equals(border.getColor());
         });
@@ -78,11 +66,7 @@ final class SimpleBorderCriterion implements BorderCriterion {
 
     @Override
     public SimpleBorderCriterion color(final Predicate<Color> predicate) {
-        parent.addCondition(o -> {
-            CellStyle style = o.getStyle();
-            if (style == null) {
-                return false;
-            }
+        parent.addStyleCondition(style -> {
             Border border = style.getBorder(side);
             return border != null && predicate.test(border.getColor());
         });
@@ -91,11 +75,7 @@ final class SimpleBorderCriterion implements BorderCriterion {
 
     @Override
     public BorderCriterion having(final Predicate<Border> borderPredicate) {
-        parent.addCondition(o -> {
-            CellStyle style = o.getStyle();
-            if (style == null) {
-                return false;
-            }
+        parent.addStyleCondition(style -> {
             Border border = style.getBorder(side);
             return border != null && borderPredicate.test(border);
         });
@@ -0,0 +1,86 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.query.simple;
+
+/**
+ * Inclusive range of the row or column numbers which can pass a criterion.
+ */
+final class SimpleBounds {
+
+    static final SimpleBounds UNBOUNDED = new SimpleBounds(1, Integer.MAX_VALUE);
+    static final SimpleBounds EMPTY = new SimpleBounds(1, 0);
+
+    static SimpleBounds of(int from, int to) {
+        return new SimpleBounds(Math.max(1, from), to);
+    }
+
+    private SimpleBounds(int from, int to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    SimpleBounds intersect(SimpleBounds other) {
+        return new SimpleBounds(Math.max(from, other.from), Math.min(to, other.to));
+    }
+
+    SimpleBounds hull(SimpleBounds other) {
+        if (isEmpty()) {
+            return other;
+        }
+        if (other.isEmpty()) {
+            return this;
+        }
+        return new SimpleBounds(Math.min(from, other.from), Math.max(to, other.to));
+    }
+
+    boolean isUnbounded() {
+        return from == 1 && to == Integer.MAX_VALUE;
+    }
+
+    boolean isEmpty() {
+        return from > to;
+    }
+
+    int getFrom() {
+        return from;
+    }
+
+    int getTo() {
+        return to;
+    }
+
+    @Override
+    public String toString() {
+        if (isUnbounded()) {
+            return "all";
+        }
+        if (isEmpty()) {
+            return "none";
+        }
+        if (from == to) {
+            return String.valueOf(from);
+        }
+        if (to == Integer.MAX_VALUE) {
+            return from + "..";
+        }
+        return from + ".." + to;
+    }
+
+    private final int from;
+    private final int to;
+}
@@ -18,6 +18,7 @@
 package builders.dsl.spreadsheet.query.simple;
 
 import builders.dsl.spreadsheet.api.Cell;
+import builders.dsl.spreadsheet.api.CellStyle;
 import builders.dsl.spreadsheet.api.Comment;
 import builders.dsl.spreadsheet.query.api.CellCriterion;
 import builders.dsl.spreadsheet.query.api.CellStyleCriterion;
@@ -28,9 +29,14 @@ import java.time.LocalTime;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.function.Consumer;
+import java.util.function.DoublePredicate;
+import java.util.function.LongPredicate;
 
 final class SimpleCellCriterion extends AbstractCriterion<Cell, CellCriterion> implements CellCriterion {
 
+    private String name;
+    private SimpleStyleCondition styleCondition;
+
     SimpleCellCriterion() {}
 
     private SimpleCellCriterion(boolean disjoint) {
@@ -97,6 +103,24 @@ final class SimpleCellCriterion extends AbstractCriterion<Cell, CellCriterion> i
         return this;
     }
 
+    @Override
+    public SimpleCellCriterion doubleValue(final DoublePredicate predicate) {
+        addCondition(o -> o.isNumber() && predicate.test(o.readDouble()));
+        return this;
+    }
+
+    @Override
+    public SimpleCellCriterion longValue(final LongPredicate predicate) {
+        addCondition(o -> o.isNumber() && predicate.test(o.readLong()));
+        return this;
+    }
+
+    @Override
+    public SimpleCellCriterion epochDay(final LongPredicate predicate) {
+        addCondition(o -> o.isNumber() && predicate.test(o.readEpochDay()));
+        return this;
+    }
+
     @Override
     public SimpleCellCriterion string(String value) {
         addValueCondition(value, String.class);
@@ -137,6 +161,9 @@ final class SimpleCellCriterion extends AbstractCriterion<Cell, CellCriterion> i
     @Override
     public SimpleCellCriterion name(final String name) {
         addCondition(o -> name.equals(o.getName()));
+        if (this.name == null) {
+            this.name = name;
+        }
         return this;
     }
 
@@ -197,6 +224,24 @@ final class SimpleCellCriterion extends AbstractCriterion<Cell, CellCriterion> i
         return this;
     }
 
+    /**
+     * Adds the condition on the style of the cell. The style conditions of the conjunctive criterion are tested
+     * together so they are evaluated at most once for each distinct style.
+     * @param predicate the condition on the style which is never null
+     */
+    void addStyleCondition(Predicate<CellStyle> predicate) {
+        if (isDisjoint()) {
+            addCondition(new SimpleStyleCondition(predicate));
+            return;
+        }
+        if (styleCondition == null) {
+            styleCondition = new SimpleStyleCondition(predicate);
+            addCondition(styleCondition);
+            return;
+        }
+        styleCondition.add(predicate);
+    }
+
     private <T> void addValueCondition(final T value, final Class<T> type) {
         addCondition(o -> {
             try {
@@ -232,4 +277,11 @@ final class SimpleCellCriterion extends AbstractCriterion<Cell, CellCriterion> i
     CellCriterion newDisjointCriterionInstance() {
         return new SimpleCellCriterion(true);
     }
+
+    /**
+     * @return the name every matching cell must have or null
+     */
+    String getRequiredName() {
+        return isDisjoint() ? null : name;
+    }
 }
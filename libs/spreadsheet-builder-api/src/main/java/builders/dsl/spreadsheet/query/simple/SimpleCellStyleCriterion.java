@@ -35,85 +35,85 @@ final class SimpleCellStyleCriterion implements CellStyleCriterion {
 
     @Override
     public SimpleCellStyleCriterion background(final String hexColor) {
-        parent.addCondition(o -> o.getStyle() != null && new Color(hexColor).equals(o.getStyle().getBackground()));
+        parent.addStyleCondition(style -> new Color(hexColor).equals(style.getBackground()));
         return this;
     }
 
     @Override
     public SimpleCellStyleCriterion background(final Color color) {
-        parent.addCondition(o -> o.getStyle() != null && color.equals(o.getStyle().getBackground()));
+        parent.addStyleCondition(style -> color.equals(style.getBackground()));
         return this;
     }
 
     @Override
     public SimpleCellStyleCriterion background(final Predicate<Color> predicate) {
-        parent.addCondition(o -> o.getStyle() != null && predicate.test(o.getStyle().getBackground()));
+        parent.addStyleCondition(style -> predicate.test(style.getBackground()));
         return this;
     }
 
     @Override
     public SimpleCellStyleCriterion foreground(final String hexColor) {
-        parent.addCondition(o -> o.getStyle() != null && new Color(hexColor).equals(o.getStyle().getForeground()));
+        parent.addStyleCondition(style -> new Color(hexColor).equals(style.getForeground()));
         return this;
     }
 
     @Override
     public SimpleCellStyleCriterion foreground(final Color color) {
-        parent.addCondition(o -> o.getStyle() != null && color.equals(o.getStyle().getForeground()));
+        parent.addStyleCondition(style -> color.equals(style.getForeground()));
         return this;
     }
 
     @Override
     public SimpleCellStyleCriterion foreground(final Predicate<Color> predicate) {
-        parent.addCondition(o -> o.getStyle() != null && predicate.test(o.getStyle().getForeground()));
+        parent.addStyleCondition(style -> predicate.test(style.getForeground()));
         return this;
     }
 
     @Override
     public SimpleCellStyleCriterion fill(final ForegroundFill fill) {
-        parent.addCondition(o -> o.getStyle() != null && fill.equals(o.getStyle().getFill()));
+        parent.addStyleCondition(style -> fill.equals(style.getFill()));
         return this;
     }
 
     @Override
     public SimpleCellStyleCriterion fill(final Predicate<ForegroundFill> predicate) {
-        parent.addCondition(o -> o.getStyle() != null && predicate.test(o.getStyle().getFill()));
+        parent.addStyleCondition(style -> predicate.test(style.getFill()));
         return this;
     }
 
     @Override
     public SimpleCellStyleCriterion indent(final int indent) {
-        parent.addCondition(o -> o.getStyle() != null && indent == o.getStyle().getIndent());
+        parent.addStyleCondition(style -> indent == style.getIndent());
         return this;
     }
 
     @Override
     public SimpleCellStyleCriterion indent(final Predicate<Integer> predicate) {
-        parent.addCondition(o -> o.getStyle() != null && predicate.test(o.getStyle().getIndent()));
+        parent.addStyleCondition(style -> predicate.test(style.getIndent()));
         return this;
     }
 
     @Override
     public SimpleCellStyleCriterion rotation(final int rotation) {
-        parent.addCondition(o -> o.getStyle() != null && rotation == o.getStyle().getRotation());
+        parent.addStyleCondition(style -> rotation == style.getRotation());
         return this;
     }
 
     @Override
     public SimpleCellStyleCriterion rotation(final Predicate<Integer> predicate) {
-        parent.addCondition(o -> o.getStyle() != null && predicate.test(o.getStyle().getRotation()));
+        parent.addStyleCondition(style -> predicate.test(style.getRotation()));
         return this;
     }
 
     @Override
     public SimpleCellStyleCriterion format(final String format) {
-        parent.addCondition(o -> o.getStyle() != null && format.equals(o.getStyle().getFormat()));
+        parent.addStyleCondition(style -> format.equals(style.getFormat()));
         return this;
     }
 
     @Override
     public SimpleCellStyleCriterion format(final Predicate<String> format) {
-        parent.addCondition(o -> o.getStyle() != null && format.test(o.getStyle().getFormat()));
+        parent.addStyleCondition(style -> format.test(style.getFormat()));
         return this;
     }
 
@@ -150,7 +150,7 @@ final class SimpleCellStyleCriterion implements CellStyleCriterion {
 
     @Override
     public CellStyleCriterion having(final Predicate<CellStyle> cellStylePredicate) {
-        parent.addCondition(o -> o.getStyle() != null && cellStylePredicate.test(o.getStyle()));
+        parent.addStyleCondition(style -> cellStylePredicate.test(style));
         return this;
     }
 
@@ -39,11 +39,7 @@ final class SimpleFontCriterion implements FontCriterion {
 
     @Override
     public SimpleFontCriterion color(final Color color) {
-        parent.addCondition(o -> {
-            CellStyle style = o.getStyle();
-            if (style == null) {
-                return false;
-            }
+        parent.addStyleCondition(style -> {
             Font font = style.getFont();
             return font != null && color.equals(font.getColor());
         });
@@ -52,11 +48,7 @@ final class SimpleFontCriterion implements FontCriterion {
 
     @Override
     public SimpleFontCriterion color(final Predicate<Color> conition) {
-        parent.addCondition(o -> {
-            CellStyle style = o.getStyle();
-            if (style == null) {
-                return false;
-            }
+        parent.addStyleCondition(style -> {
             Font font = style.getFont();
             return font != null && conition.test(font.getColor());
         });
@@ -65,11 +57,7 @@ final class SimpleFontCriterion implements FontCriterion {
 
     @Override
     public SimpleFontCriterion size(final int size) {
-        parent.addCondition(o -> {
-            CellStyle style = o.getStyle();
-            if (style == null) {
-                return false;
-            }
+        parent.addStyleCondition(style -> {
             Font font = style.getFont();
             return font != null && size == font.getSize();
         });
@@ -78,11 +66,7 @@ final class SimpleFontCriterion implements FontCriterion {
 
     @Override
     public SimpleFontCriterion size(final Predicate<Integer> predicate) {
-        parent.addCondition(o -> {
-            CellStyle style = o.getStyle();
-            if (style == null) {
-                return false;
-            }
+        parent.addStyleCondition(style -> {
             Font font = style.getFont();
             return font != null && predicate.test(font.getSize());
         });
@@ -91,11 +75,7 @@ final class SimpleFontCriterion implements FontCriterion {
 
     @Override
     public SimpleFontCriterion name(final String name) {
-        parent.addCondition(o -> {
-            CellStyle style = o.getStyle();
-            if (style == null) {
-                return false;
-            }
+        parent.addStyleCondition(style -> {
             Font font = style.getFont();
             return font != null && name.equals(font.getName());
         });
@@ -104,11 +84,7 @@ final class SimpleFontCriterion implements FontCriterion {
 
     @Override
     public SimpleFontCriterion name(final Predicate<String> predicate) {
-        parent.addCondition(o -> {
-            CellStyle style = o.getStyle();
-            if (style == null) {
-                return false;
-            }
+        parent.addStyleCondition(style -> {
             Font font = style.getFont();
             return font != null && predicate.test(font.getName());
         });
@@ -117,11 +93,7 @@ final class SimpleFontCriterion implements FontCriterion {
 
     @Override
     public SimpleFontCriterion style(final FontStyle first, final FontStyle... other) {
-        parent.addCondition(o -> {
-            CellStyle style = o.getStyle();
-            if (style == null) {
-                return false;
-            }
+        parent.addStyleCondition(style -> {
             Font font = style.getFont();
             if (font == null) {
                 return false;
@@ -143,11 +115,7 @@ final class SimpleFontCriterion implements FontCriterion {
 
     @Override
     public SimpleFontCriterion style(final Predicate<EnumSet<FontStyle>> predicate) {
-        parent.addCondition(o -> {
-            CellStyle style = o.getStyle();
-            if (style == null) {
-                return false;
-            }
+        parent.addStyleCondition(style -> {
             Font font = style.getFont();
             return font != null && predicate.test(font.getStyles());
         });
@@ -156,11 +124,7 @@ final class SimpleFontCriterion implements FontCriterion {
 
     @Override
     public FontCriterion having(final Predicate<Font> fontPredicate) {
-        parent.addCondition(o -> {
-            CellStyle style = o.getStyle();
-            if (style == null) {
-                return false;
-            }
+        parent.addStyleCondition(style -> {
             Font font = style.getFont();
             return font != null && fontPredicate.test(font);
         });
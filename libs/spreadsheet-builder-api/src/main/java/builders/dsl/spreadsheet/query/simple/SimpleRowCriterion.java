@@ -29,6 +29,7 @@ import java.util.function.Consumer;
 final class SimpleRowCriterion extends AbstractCriterion<Cell, RowCriterion> implements RowCriterion {
 
     private final SimpleSheetCriterion parent;
+    private String name;
 
     SimpleRowCriterion(SimpleSheetCriterion parent) {
         this.parent = parent;
@@ -41,7 +42,7 @@ final class SimpleRowCriterion extends AbstractCriterion<Cell, RowCriterion> imp
 
     @Override
     public RowCriterion cell(final int from, final int to) {
-        addCondition(o -> o.getColumn() >= from && o.getColumn() <= to);
+        addCondition(o -> o.getColumn() >= from && o.getColumn() <= to, SimpleBounds.of(from, to));
         return this;
     }
 
@@ -67,13 +68,19 @@ final class SimpleRowCriterion extends AbstractCriterion<Cell, RowCriterion> imp
 
     @Override
     public SimpleRowCriterion cell(final int column) {
-        addCondition(o -> o.getColumn() == column);
+        addCondition(o -> o.getColumn() == column, SimpleBounds.of(column, column));
         return this;
     }
 
     @Override
     public SimpleRowCriterion cell(final String column) {
-        addCondition(o -> o.getColumnAsString().equals(column));
+        if (column.length() > 2) {
+            // the column numbers are only parsed reliably for the first two letters
+            addCondition(o -> o.getColumnAsString().equals(column));
+            return this;
+        }
+        int number = Utils.parseColumn(column);
+        addCondition(o -> o.getColumnAsString().equals(column), SimpleBounds.of(number, number));
         return this;
     }
 
@@ -82,6 +89,9 @@ final class SimpleRowCriterion extends AbstractCriterion<Cell, RowCriterion> imp
         SimpleCellCriterion criterion = new SimpleCellCriterion();
         cellCriterion.accept(criterion);
         addCondition(criterion);
+        if (name == null) {
+            name = criterion.getRequiredName();
+        }
         return this;
     }
 
@@ -114,4 +124,11 @@ final class SimpleRowCriterion extends AbstractCriterion<Cell, RowCriterion> imp
     RowCriterion newDisjointCriterionInstance() {
         return new SimpleRowCriterion(parent, true);
     }
+
+    /**
+     * @return the name every matching cell must have or null
+     */
+    String getRequiredName() {
+        return isDisjoint() ? null : name;
+    }
 }
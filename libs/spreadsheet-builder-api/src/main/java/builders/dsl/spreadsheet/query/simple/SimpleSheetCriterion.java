@@ -28,6 +28,7 @@ import builders.dsl.spreadsheet.query.api.SheetCriterion;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.function.Consumer;
 
 final class SimpleSheetCriterion extends AbstractCriterion<Row, SheetCriterion> implements SheetCriterion {
@@ -68,7 +69,7 @@ final class SimpleSheetCriterion extends AbstractCriterion<Row, SheetCriterion>
 
     @Override
     public SimpleSheetCriterion row(final int row) {
-        addCondition(o -> o.getNumber() == row);
+        addCondition(o -> o.getNumber() == row, SimpleBounds.of(row, row));
         return this;
     }
 
@@ -85,19 +86,55 @@ final class SimpleSheetCriterion extends AbstractCriterion<Row, SheetCriterion>
 
     @Override
     public SheetCriterion row(final int from, final int to) {
-        addCondition(o -> o.getNumber() >= from && o.getNumber() <= to);
+        addCondition(o -> o.getNumber() >= from && o.getNumber() <= to, SimpleBounds.of(from, to));
         return this;
     }
 
     @Override
     public SheetCriterion row(int from, int to, Consumer<RowCriterion> rowCriterion) {
-        return null;
+        row(from, to);
+        row(rowCriterion);
+        return this;
     }
 
     Collection<SimpleRowCriterion> getCriteria() {
         return Collections.unmodifiableCollection(criteria);
     }
 
+    /**
+     * Returns the bounds of the columns which can pass any of the row criteria.
+     * @return the bounds of the columns which can pass any of the row criteria
+     */
+    SimpleBounds getColumnBounds() {
+        if (criteria.isEmpty()) {
+            return SimpleBounds.UNBOUNDED;
+        }
+        SimpleBounds bounds = null;
+        for (SimpleRowCriterion criterion : criteria) {
+            bounds = bounds == null ? criterion.getBounds() : bounds.hull(criterion.getBounds());
+        }
+        return bounds;
+    }
+
+    /**
+     * Returns the names of the cells which can pass the row criteria if each of the row criteria requires
+     * the cells to have a name.
+     * @return the names of the cells which can pass the row criteria or null if any cell can pass them
+     */
+    List<String> getRequiredNames() {
+        if (criteria.isEmpty()) {
+            return null;
+        }
+        List<String> names = new ArrayList<>(criteria.size());
+        for (SimpleRowCriterion criterion : criteria) {
+            if (criterion.getRequiredName() == null) {
+                return null;
+            }
+            names.add(criterion.getRequiredName());
+        }
+        return names;
+    }
+
     @Override
     SheetCriterion newDisjointCriterionInstance() {
         return new SimpleSheetCriterion(true, parent);
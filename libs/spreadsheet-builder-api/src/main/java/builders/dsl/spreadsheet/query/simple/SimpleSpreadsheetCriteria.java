@@ -19,6 +19,7 @@ package builders.dsl.spreadsheet.query.simple;
 
 import builders.dsl.spreadsheet.api.Cell;
 import builders.dsl.spreadsheet.api.Workbook;
+import builders.dsl.spreadsheet.query.api.ExecutionMode;
 import builders.dsl.spreadsheet.query.api.SpreadsheetCriteria;
 import builders.dsl.spreadsheet.query.api.SpreadsheetCriteriaResult;
 import builders.dsl.spreadsheet.query.api.WorkbookCriterion;
@@ -39,7 +40,7 @@ public final class SimpleSpreadsheetCriteria implements SpreadsheetCriteria {
     }
 
     private SpreadsheetCriteriaResult queryInternal(final int max, Consumer<WorkbookCriterion>  workbookCriterion) {
-        return new SimpleSpreadsheetCriteriaResult(workbook, workbookCriterion, max);
+        return new SimpleSpreadsheetCriteriaResult(workbook, workbookCriterion, max, ExecutionMode.SEQUENTIAL);
     }
 
     @Override
@@ -52,6 +53,11 @@ public final class SimpleSpreadsheetCriteria implements SpreadsheetCriteria {
         return queryInternal(Integer.MAX_VALUE, workbookCriterion);
     }
 
+    @Override
+    public SpreadsheetCriteriaResult query(Consumer<WorkbookCriterion> workbookCriterion, ExecutionMode mode) {
+        return new SimpleSpreadsheetCriteriaResult(workbook, workbookCriterion, Integer.MAX_VALUE, mode);
+    }
+
     @Override
     public Cell find(Consumer<WorkbookCriterion> workbookCriterion) {
         SpreadsheetCriteriaResult cells = queryInternal(1, workbookCriterion);
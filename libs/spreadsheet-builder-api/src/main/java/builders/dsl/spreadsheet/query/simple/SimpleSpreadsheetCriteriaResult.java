@@ -22,101 +22,206 @@ import builders.dsl.spreadsheet.api.Row;
 import builders.dsl.spreadsheet.api.Sheet;
 import builders.dsl.spreadsheet.api.Workbook;
 import builders.dsl.spreadsheet.query.api.AbstractSpreadsheetCriteriaResult;
+import builders.dsl.spreadsheet.query.api.ExecutionMode;
 import builders.dsl.spreadsheet.query.api.WorkbookCriterion;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+/**
+ * The result walks the sheets, rows and cells lazily as the streams are consumed. The collections are gathered
+ * from the streams.
+ */
 final class SimpleSpreadsheetCriteriaResult extends AbstractSpreadsheetCriteriaResult {
 
     private final Workbook workbook;
     private final Consumer<WorkbookCriterion> workbookCriterion;
     private final int max;
+    private final ExecutionMode mode;
 
-    SimpleSpreadsheetCriteriaResult(Workbook workbook, Consumer<WorkbookCriterion> workbookCriterion, int max) {
+    SimpleSpreadsheetCriteriaResult(Workbook workbook, Consumer<WorkbookCriterion> workbookCriterion, int max, ExecutionMode mode) {
         this.workbook = workbook;
         this.workbookCriterion = workbookCriterion;
         this.max = max;
+        this.mode = mode;
+    }
+
+    @Override
+    public Stream<Cell> stream() {
+        return stream(max);
+    }
+
+    @Override
+    public Stream<Row> rowStream() {
+        return rowStream(max);
+    }
+
+    @Override
+    public Stream<Sheet> sheetStream() {
+        return sheetStream(max);
+    }
+
+    @Override
+    public Collection<Cell> getCells() {
+        return stream().collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    @Override
+    public Collection<Row> getRows() {
+        return rowStream().collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    @Override
+    public Collection<Sheet> getSheets() {
+        return sheetStream().collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    @Override
+    public Cell getCell() {
+        return stream(1).findFirst().orElse(null);
+    }
+
+    @Override
+    public Row getRow() {
+        return rowStream(1).findFirst().orElse(null);
+    }
+
+    @Override
+    public Sheet getSheet() {
+        return sheetStream(1).findFirst().orElse(null);
+    }
+
+    private Stream<Cell> stream(int limit) {
+        if (mode == ExecutionMode.PARALLEL) {
+            SimpleWorkbookCriterion criterion = createCriterion();
+            boolean distinct = !canProduceDuplicates(criterion);
+            return collectInParallel(criterion, limit, (SheetPlan plan, Row row, List<Cell> cells) -> collectCells(plan, distinct, row, cells)).stream();
+        }
+        return StreamSupport.stream(new CellSpliterator(createCriterion()), false).limit(limit);
+    }
+
+    private Stream<Row> rowStream(int limit) {
+        if (mode == ExecutionMode.PARALLEL) {
+            SimpleWorkbookCriterion criterion = createCriterion();
+            return collectInParallel(criterion, limit, (SheetPlan plan, Row row, List<Row> rows) -> {
+                if (matches(plan, row)) {
+                    rows.add(row);
+                }
+            }).stream();
+        }
+        return StreamSupport.stream(new RowSpliterator(createCriterion()), false).limit(limit);
+    }
+
+    private Stream<Sheet> sheetStream(int limit) {
+        if (mode == ExecutionMode.PARALLEL) {
+            return findSheetsInParallel(createCriterion(), limit).stream();
+        }
+        return StreamSupport.stream(new SheetSpliterator(createCriterion()), false).limit(limit);
+    }
+
+    @Override
+    public String explain() {
+        SimpleWorkbookCriterion criterion = createCriterion();
+        StringBuilder plan = new StringBuilder("Query plan (").append(mode).append(')');
+        plan.append("\n  sheets: ").append(criterion.hasConditions() ? "filter" : "scan all");
+        plan.append("\n  rows: ").append(describe(criterion.getRowBounds()));
+        if (criterion.getCriteria().isEmpty()) {
+            plan.append("\n  cells: scan all");
+        }
+        int index = 1;
+        for (SimpleSheetCriterion sheetCriterion : criterion.getCriteria()) {
+            plan.append("\n  sheet criterion #").append(index++);
+            plan.append(": rows ").append(describe(sheetCriterion.getBounds()));
+            plan.append(", cells ").append(describe(sheetCriterion.getColumnBounds()));
+            if (sheetCriterion.getRequiredNames() != null) {
+                plan.append(", named cells ").append(sheetCriterion.getRequiredNames());
+            }
+        }
+        return plan.toString();
+    }
+
+    private static String describe(SimpleBounds bounds) {
+        return bounds.isUnbounded() ? "scan all" : "seek " + bounds;
     }
 
-    private Collection<Cell> getCellsInternal(int currentMax) {
-        Collection<Cell> cells = new LinkedHashSet<Cell>();
+    private SimpleWorkbookCriterion createCriterion() {
         SimpleWorkbookCriterion criterion = new SimpleWorkbookCriterion();
         workbookCriterion.accept(criterion);
+        return criterion;
+    }
 
-        for (Sheet sheet : workbook.getSheets()) {
-            if (criterion.test(sheet)) {
-                for (Row row : sheet.getRows()) {
-                    if (criterion.getCriteria().isEmpty()) {
-                        cells.addAll(row.getCells());
-                        if (cells.size() >= currentMax) {
-                            return cells;
-                        }
-                    } else {
-                        for (SimpleSheetCriterion sheetCriterion : criterion.getCriteria()) {
-                            if (sheetCriterion.test(row)) {
-                                if (sheetCriterion.getCriteria().isEmpty()) {
-                                    cells.addAll(row.getCells());
-                                    if (cells.size() >= currentMax) {
-                                        return cells;
-                                    }
-                                } else {
-                                    for (Cell cell : row.getCells()) {
-                                        for (SimpleRowCriterion rowCriterion : sheetCriterion.getCriteria()) {
-                                            if (rowCriterion.test(cell)) {
-                                                cells.add(cell);
-                                                if (cells.size() >= currentMax) {
-                                                    return cells;
-                                                }
-                                            }
-                                        }
-                                    }
-                                }
-                            }
+    private static boolean matches(SheetPlan plan, Row row) {
+        if (plan.criterion.getCriteria().isEmpty()) {
+            return true;
+        }
+        for (SimpleSheetCriterion sheetCriterion : plan.criterion.getCriteria()) {
+            if (sheetCriterion.test(row)) {
+                if (sheetCriterion.getCriteria().isEmpty()) {
+                    return true;
+                }
+                for (Cell cell : plan.cells(sheetCriterion, row)) {
+                    for (SimpleRowCriterion rowCriterion : sheetCriterion.getCriteria()) {
+                        if (rowCriterion.test(cell)) {
+                            return true;
                         }
                     }
                 }
             }
         }
+        return false;
+    }
 
-        return cells;
+    /**
+     * The same cell can only be matched more than once if there are more alternative criteria for the rows or cells.
+     * @param criterion the workbook criterion
+     * @return true if any cell can be matched more than once
+     */
+    private static boolean canProduceDuplicates(SimpleWorkbookCriterion criterion) {
+        if (criterion.getCriteria().size() > 1) {
+            return true;
+        }
+        for (SimpleSheetCriterion sheetCriterion : criterion.getCriteria()) {
+            if (sheetCriterion.getCriteria().size() > 1) {
+                return true;
+            }
+        }
+        return false;
     }
 
-    private Collection<Row> getRowsInternal(int currentMax) {
-        Collection<Row> rows = new LinkedHashSet<Row>();
-        SimpleWorkbookCriterion criterion = new SimpleWorkbookCriterion();
-        workbookCriterion.accept(criterion);
+    private static void collectCells(SheetPlan plan, boolean distinct, Row row, Collection<Cell> result) {
+        // duplicates can only come from the same row so only the cells of a single row are ever kept
+        Collection<Cell> cells = distinct ? result : new LinkedHashSet<Cell>();
 
-        for (Sheet sheet : workbook.getSheets()) {
-            if (criterion.test(sheet)) {
-                rows_loop:
-                for (Row row : sheet.getRows()) {
-                    if (criterion.getCriteria().isEmpty()) {
-                        rows.add(row);
-                        if (rows.size() >= currentMax) {
-                            return rows;
-                        }
+        if (plan.criterion.getCriteria().isEmpty()) {
+            cells.addAll(row.getCells());
+        } else {
+            for (SimpleSheetCriterion sheetCriterion : plan.criterion.getCriteria()) {
+                if (sheetCriterion.test(row)) {
+                    if (sheetCriterion.getCriteria().isEmpty()) {
+                        cells.addAll(row.getCells());
                     } else {
-                        for (SimpleSheetCriterion sheetCriterion : criterion.getCriteria()) {
-                            if (sheetCriterion.test(row)) {
-                                if (sheetCriterion.getCriteria().isEmpty()) {
-                                    rows.add(row);
-                                    if (rows.size() >= currentMax) {
-                                        return rows;
-                                    }
-                                } else {
-                                    for (Cell cell : row.getCells()) {
-                                        for (SimpleRowCriterion rowCriterion : sheetCriterion.getCriteria()) {
-                                            if (rowCriterion.test(cell)) {
-                                                rows.add(row);
-                                                if (rows.size() >= currentMax) {
-                                                    return rows;
-                                                }
-                                                continue rows_loop;
-                                            }
-                                        }
-                                    }
+                        for (Cell cell : plan.cells(sheetCriterion, row)) {
+                            for (SimpleRowCriterion rowCriterion : sheetCriterion.getCriteria()) {
+                                if (rowCriterion.test(cell)) {
+                                    cells.add(cell);
                                 }
                             }
                         }
@@ -125,101 +230,330 @@ final class SimpleSpreadsheetCriteriaResult extends AbstractSpreadsheetCriteriaR
             }
         }
 
-        return rows;
+        if (cells != result) {
+            result.addAll(cells);
+        }
     }
 
-    private Collection<Sheet> getSheetsInternal(int currentMax) {
-        Collection<Sheet> sheets = new LinkedHashSet<Sheet>();
-        SimpleWorkbookCriterion criterion = new SimpleWorkbookCriterion();
-        workbookCriterion.accept(criterion);
+    private static boolean matchesAnyRow(SimpleWorkbookCriterion criterion, Sheet sheet) {
+        SheetPlan plan = new SheetPlan(criterion, sheet);
+        Collection<? extends Row> rows = plan.rows();
+        for (Row row : rows) {
+            if (matches(plan, row)) {
+                return true;
+            }
+        }
+        // the sheets without any rows pass as well
+        return rows.isEmpty() && sheet.getRows().isEmpty();
+    }
 
-        sheets_loop:
+    private <T> List<T> collectInParallel(SimpleWorkbookCriterion criterion, int limit, RowCollector<T> collector) {
+        ParallelLimit parallelLimit = new ParallelLimit(limit);
+        List<RowRangeTask<T>> tasks = new ArrayList<RowRangeTask<T>>();
+        long offset = 0;
         for (Sheet sheet : workbook.getSheets()) {
             if (criterion.test(sheet)) {
-                if (sheet.getRows().isEmpty()) {
-                    sheets.add(sheet);
-                    if (sheets.size() >= currentMax) {
-                        return sheets;
-                    }
-                } else {
-                    for (Row row : sheet.getRows()) {
-                        if (criterion.getCriteria().isEmpty()) {
-                            sheets.add(sheet);
-                            if (sheets.size() >= currentMax) {
-                                return sheets;
-                            }
-                        } else {
-                            for (SimpleSheetCriterion sheetCriterion : criterion.getCriteria()) {
-                                if (sheetCriterion.test(row)) {
-                                    if (sheetCriterion.getCriteria().isEmpty()) {
-                                        sheets.add(sheet);
-                                        if (sheets.size() >= currentMax) {
-                                            return sheets;
-                                        }
-                                    } else {
-                                        for (Cell cell : row.getCells()) {
-                                            for (SimpleRowCriterion rowCriterion : sheetCriterion.getCriteria()) {
-                                                if (rowCriterion.test(cell)) {
-                                                    sheets.add(sheet);
-                                                    if (sheets.size() >= currentMax) {
-                                                        return sheets;
-                                                    }
-                                                    continue sheets_loop;
-                                                }
-                                            }
-                                        }
-                                    }
-                                }
-                            }
+                // the rows are read on the current thread as the sheets might load them lazily
+                SheetPlan plan = new SheetPlan(criterion, sheet);
+                List<Row> rows = new ArrayList<Row>(plan.rows());
+                tasks.add(new RowRangeTask<T>(plan, rows, offset, 0, rows.size(), collector, parallelLimit));
+                offset += rows.size();
+            }
+        }
+
+        List<T> result = new ArrayList<T>();
+        for (RowRangeTask<T> task : ForkJoinTask.invokeAll(tasks)) {
+            parallelLimit.append(result, task.join());
+        }
+        return result;
+    }
+
+    private List<Sheet> findSheetsInParallel(SimpleWorkbookCriterion criterion, int limit) {
+        List<Sheet> candidates = new ArrayList<Sheet>();
+        for (Sheet sheet : workbook.getSheets()) {
+            if (criterion.test(sheet)) {
+                candidates.add(sheet);
+            }
+        }
+
+        ParallelLimit parallelLimit = new ParallelLimit(limit);
+        List<ForkJoinTask<Boolean>> tasks = new ArrayList<ForkJoinTask<Boolean>>();
+        for (int i = 0; i < candidates.size(); i++) {
+            int position = i;
+            Sheet sheet = candidates.get(i);
+            tasks.add(ForkJoinPool.commonPool().submit(() -> {
+                if (parallelLimit.isPassed(position)) {
+                    return false;
+                }
+                boolean matches = matchesAnyRow(criterion, sheet);
+                if (matches) {
+                    parallelLimit.found(position, 1);
+                }
+                return matches;
+            }));
+        }
+
+        List<Sheet> sheets = new ArrayList<Sheet>();
+        for (int i = 0; i < candidates.size(); i++) {
+            if (tasks.get(i).join() && sheets.size() < limit) {
+                sheets.add(candidates.get(i));
+            }
+        }
+        return sheets;
+    }
+
+    /**
+     * The bounds of the rows and the cells to be read from a single sheet. The cells required by the names
+     * are looked up once for each sheet.
+     */
+    private static final class SheetPlan {
+
+        SheetPlan(SimpleWorkbookCriterion criterion, Sheet sheet) {
+            this.criterion = criterion;
+            this.sheet = sheet;
+
+            SimpleBounds rowBounds = criterion.getCriteria().isEmpty() ? SimpleBounds.UNBOUNDED : SimpleBounds.EMPTY;
+            for (SimpleSheetCriterion sheetCriterion : criterion.getCriteria()) {
+                SimpleBounds sheetRowBounds = sheetCriterion.getBounds();
+                SimpleBounds sheetColumnBounds = sheetCriterion.getColumnBounds();
+
+                List<String> names = sheetCriterion.getRequiredNames();
+                if (names != null) {
+                    SimpleBounds namedRows = SimpleBounds.EMPTY;
+                    SimpleBounds namedColumns = SimpleBounds.EMPTY;
+                    for (String name : names) {
+                        for (Cell cell : sheet.getNamedCells(name)) {
+                            namedRows = namedRows.hull(SimpleBounds.of(cell.getRow().getNumber(), cell.getRow().getNumber()));
+                            namedColumns = namedColumns.hull(SimpleBounds.of(cell.getColumn(), cell.getColumn()));
                         }
                     }
+                    sheetRowBounds = sheetRowBounds.intersect(namedRows);
+                    sheetColumnBounds = sheetColumnBounds.intersect(namedColumns);
                 }
+
+                rowBounds = rowBounds.hull(sheetRowBounds);
+                columnBounds.put(sheetCriterion, sheetColumnBounds);
             }
+            this.rowBounds = rowBounds;
         }
 
-        return sheets;
+        Collection<? extends Row> rows() {
+            if (rowBounds.isUnbounded()) {
+                return sheet.getRows();
+            }
+            if (rowBounds.isEmpty()) {
+                return Collections.emptyList();
+            }
+            return sheet.getRows(rowBounds.getFrom(), rowBounds.getTo());
+        }
+
+        Collection<? extends Cell> cells(SimpleSheetCriterion sheetCriterion, Row row) {
+            SimpleBounds bounds = columnBounds.get(sheetCriterion);
+            if (bounds.isUnbounded()) {
+                return row.getCells();
+            }
+            if (bounds.isEmpty()) {
+                return Collections.emptyList();
+            }
+            return row.getCells(bounds.getFrom(), bounds.getTo());
+        }
+
+        final SimpleWorkbookCriterion criterion;
+        private final Sheet sheet;
+        private final SimpleBounds rowBounds;
+        private final Map<SimpleSheetCriterion, SimpleBounds> columnBounds = new IdentityHashMap<SimpleSheetCriterion, SimpleBounds>();
     }
 
-    @Override
-    public Collection<Cell> getCells() {
-        return getCellsInternal(max);
+    private interface RowCollector<T> {
+        void collect(SheetPlan plan, Row row, List<T> result);
     }
 
-    @Override
-    public Collection<Row> getRows() {
-        return getRowsInternal(max);
+    /**
+     * Maximal number of results shared by the parallel tasks. The positions are in the document order. Once a single
+     * task finds enough results up to some position, nothing after that position can be part of the result so
+     * the other tasks stop as soon as they get past it. The partial results are truncated when they are joined.
+     */
+    private static final class ParallelLimit {
+
+        ParallelLimit(int limit) {
+            this.limit = limit;
+        }
+
+        boolean isPassed(long position) {
+            return position > cutoff.get();
+        }
+
+        boolean found(long position, int count) {
+            if (count < limit) {
+                return false;
+            }
+            cutoff.accumulateAndGet(position, Math::min);
+            return true;
+        }
+
+        <T> void append(List<T> result, List<T> partial) {
+            int remaining = limit - result.size();
+            if (remaining <= 0) {
+                return;
+            }
+            result.addAll(partial.size() > remaining ? partial.subList(0, remaining) : partial);
+        }
+
+        private final int limit;
+        private final AtomicLong cutoff = new AtomicLong(Long.MAX_VALUE);
     }
 
-    @Override
-    public Collection<Sheet> getSheets() {
-        return getSheetsInternal(max);
+    /**
+     * Evaluates the range of rows, splitting it in halves until it is small enough. The results of the halves
+     * are concatenated so they stay in the document order.
+     */
+    private static final class RowRangeTask<T> extends RecursiveTask<List<T>> {
+
+        private static final int THRESHOLD = 256;
+
+        RowRangeTask(SheetPlan plan, List<Row> rows, long offset, int from, int to, RowCollector<T> collector, ParallelLimit limit) {
+            this.plan = plan;
+            this.rows = rows;
+            this.offset = offset;
+            this.from = from;
+            this.to = to;
+            this.collector = collector;
+            this.limit = limit;
+        }
+
+        @Override
+        protected List<T> compute() {
+            if (to - from <= THRESHOLD) {
+                List<T> result = new ArrayList<T>();
+                for (int i = from; i < to && !limit.isPassed(offset + i); i++) {
+                    collector.collect(plan, rows.get(i), result);
+                    if (limit.found(offset + i, result.size())) {
+                        break;
+                    }
+                }
+                return result;
+            }
+
+            int middle = (from + to) >>> 1;
+            RowRangeTask<T> left = new RowRangeTask<T>(plan, rows, offset, from, middle, collector, limit);
+            RowRangeTask<T> right = new RowRangeTask<T>(plan, rows, offset, middle, to, collector, limit);
+            right.fork();
+            List<T> result = left.compute();
+            limit.append(result, right.join());
+            return result;
+        }
+
+        private final SheetPlan plan;
+        private final List<Row> rows;
+        private final long offset;
+        private final int from;
+        private final int to;
+        private final RowCollector<T> collector;
+        private final ParallelLimit limit;
     }
 
-    @Override
-    public Cell getCell() {
-        Collection<Cell> cells = getCellsInternal(1);
-        if (cells.size() > 0) {
-            return cells.iterator().next();
+    private abstract class AbstractCriteriaSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+        AbstractCriteriaSpliterator(SimpleWorkbookCriterion criterion) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.criterion = criterion;
         }
-        return null;
+
+        Sheet nextSheet() {
+            if (sheets == null) {
+                sheets = workbook.getSheets().iterator();
+            }
+            while (sheets.hasNext()) {
+                Sheet sheet = sheets.next();
+                if (criterion.test(sheet)) {
+                    return sheet;
+                }
+            }
+            return null;
+        }
+
+        Row nextRow() {
+            while (rows == null || !rows.hasNext()) {
+                Sheet sheet = nextSheet();
+                if (sheet == null) {
+                    return null;
+                }
+                plan = new SheetPlan(criterion, sheet);
+                rows = plan.rows().iterator();
+            }
+            return rows.next();
+        }
+
+        final SimpleWorkbookCriterion criterion;
+        SheetPlan plan;
+        private Iterator<? extends Sheet> sheets;
+        private Iterator<? extends Row> rows;
     }
 
-    @Override
-    public Row getRow() {
-        Collection<Row> rows = getRowsInternal(1);
-        if (rows.size() > 0) {
-            return rows.iterator().next();
+    private final class SheetSpliterator extends AbstractCriteriaSpliterator<Sheet> {
+
+        SheetSpliterator(SimpleWorkbookCriterion criterion) {
+            super(criterion);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Sheet> action) {
+            for (Sheet sheet = nextSheet(); sheet != null; sheet = nextSheet()) {
+                if (matchesAnyRow(criterion, sheet)) {
+                    action.accept(sheet);
+                    return true;
+                }
+            }
+            return false;
         }
-        return null;
     }
 
-    @Override
-    public Sheet getSheet() {
-        Collection<Sheet> sheets = getSheetsInternal(1);
-        if (sheets.size() > 0) {
-            return sheets.iterator().next();
+    private final class RowSpliterator extends AbstractCriteriaSpliterator<Row> {
+
+        RowSpliterator(SimpleWorkbookCriterion criterion) {
+            super(criterion);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Row> action) {
+            Row row = nextRow();
+            while (row != null) {
+                if (matches(plan, row)) {
+                    action.accept(row);
+                    return true;
+                }
+                row = nextRow();
+            }
+            return false;
         }
-        return null;
     }
 
-}
\ No newline at end of file
+    private final class CellSpliterator extends AbstractCriteriaSpliterator<Cell> {
+
+        CellSpliterator(SimpleWorkbookCriterion criterion) {
+            super(criterion);
+            this.distinct = !canProduceDuplicates(criterion);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Cell> action) {
+            while (pending.isEmpty()) {
+                Row row = nextRow();
+                if (row == null) {
+                    return false;
+                }
+                collect(row);
+            }
+            action.accept(pending.poll());
+            return true;
+        }
+
+        private void collect(Row row) {
+            collectCells(plan, distinct, row, pending);
+        }
+
+        private final boolean distinct;
+        private final Deque<Cell> pending = new ArrayDeque<Cell>();
+    }
+
+}
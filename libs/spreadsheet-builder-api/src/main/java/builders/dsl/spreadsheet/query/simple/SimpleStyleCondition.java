@@ -0,0 +1,76 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.query.simple;
+
+import builders.dsl.spreadsheet.api.Cell;
+import builders.dsl.spreadsheet.api.CellStyle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Condition on the style of the cell. The cells usually share a handful of styles so the result is remembered
+ * for each style and the predicates are only evaluated once for each of them during the query.
+ */
+final class SimpleStyleCondition implements Predicate<Cell> {
+
+    private static final int MAX_REMEMBERED_STYLES = 1024;
+
+    SimpleStyleCondition(Predicate<CellStyle> predicate) {
+        predicates.add(predicate);
+    }
+
+    void add(Predicate<CellStyle> predicate) {
+        predicates.add(predicate);
+    }
+
+    @Override
+    public boolean test(Cell cell) {
+        CellStyle style = cell.getStyle();
+        if (style == null) {
+            return false;
+        }
+
+        Boolean remembered = results.get(style);
+        if (remembered != null) {
+            return remembered;
+        }
+
+        boolean result = evaluate(style);
+        // the styles which are not shared by the cells would only fill the memory
+        if (results.size() < MAX_REMEMBERED_STYLES) {
+            results.put(style, result);
+        }
+        return result;
+    }
+
+    private boolean evaluate(CellStyle style) {
+        for (Predicate<CellStyle> predicate : predicates) {
+            if (!predicate.test(style)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private final List<Predicate<CellStyle>> predicates = new ArrayList<Predicate<CellStyle>>();
+    private final Map<CellStyle, Boolean> results = new ConcurrentHashMap<CellStyle, Boolean>();
+}
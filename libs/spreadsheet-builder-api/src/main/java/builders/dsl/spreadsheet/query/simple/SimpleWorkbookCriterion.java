@@ -67,6 +67,21 @@ final class SimpleWorkbookCriterion extends AbstractCriterion<Sheet, WorkbookCri
         return Collections.unmodifiableCollection(criteria);
     }
 
+    /**
+     * Returns the bounds of the rows which can pass any of the sheet criteria.
+     * @return the bounds of the rows which can pass any of the sheet criteria
+     */
+    SimpleBounds getRowBounds() {
+        if (criteria.isEmpty()) {
+            return SimpleBounds.UNBOUNDED;
+        }
+        SimpleBounds bounds = null;
+        for (SimpleSheetCriterion criterion : criteria) {
+            bounds = bounds == null ? criterion.getBounds() : bounds.hull(criterion.getBounds());
+        }
+        return bounds;
+    }
+
     @Override
     WorkbookCriterion newDisjointCriterionInstance() {
         return new SimpleWorkbookCriterion(true);
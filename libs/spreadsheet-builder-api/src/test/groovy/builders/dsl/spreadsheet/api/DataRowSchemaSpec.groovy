@@ -0,0 +1,70 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.api
+
+import spock.lang.Specification
+
+class DataRowSchemaSpec extends Specification {
+
+    void "bind rows to the schema from headers"() {
+        given:
+            DataRowSchema schema = DataRowSchema.create(row([1: 'Name', 3: 'Amount', 4: 'Date']))
+
+        when:
+            DataRow first = schema.bind(row([1: 'Foo', 2: 'ignored', 4: 'today']))
+            DataRow second = schema.bind(row([3: 10, 7: 'ignored']))
+
+        then:
+            schema.names == ['Name', 'Amount', 'Date'] as Set
+            first.get('Name').value == 'Foo'
+            first.get('Amount') == null
+            first.get('Date').value == 'today'
+            first.get('Unknown') == null
+            first.schema.is(schema)
+            second.get('Name') == null
+            second.get('Amount').value == 10
+    }
+
+    void "bind rows to the schema from mapping"() {
+        given:
+            DataRowSchema schema = DataRowSchema.create(first: 2, second: 2, invalid: 0)
+
+        when:
+            DataRow dataRow = schema.bind(row([1: 'A', 2: 'B']))
+
+        then:
+            dataRow.get('first').value == 'B'
+            dataRow.get('second').value == 'B'
+            dataRow.get('invalid') == null
+            DataRow.create(row([1: 'A', 2: 'B']), row([1: 'x', 2: 'y'])).get('y').value == 'B'
+    }
+
+    private Row row(Map<Integer, Object> values) {
+        List<Cell> cells = values.collect { Integer column, Object value ->
+            Stub(Cell) {
+                getColumn() >> column
+                getValue() >> value
+            }
+        }
+        return Stub(Row) {
+            getCells() >> cells
+            getCells(_, _) >> { int from, int to -> cells.findAll { it.column >= from && it.column <= to } }
+        }
+    }
+
+}
@@ -19,7 +19,9 @@ package builders.dsl.spreadsheet.builder.data;
 
 import builders.dsl.spreadsheet.builder.api.SpreadsheetBuilder;
 import builders.dsl.spreadsheet.builder.api.WorkbookDefinition;
+import com.fasterxml.jackson.core.JsonFactory;
 
+import java.io.OutputStream;
 import java.util.Map;
 import java.util.function.Consumer;
 
@@ -29,6 +31,19 @@ public class DataSpreadsheetBuilder implements SpreadsheetBuilder {
         return new DataSpreadsheetBuilder();
     }
 
+    /**
+     * Creates builder which writes the definition directly to the output stream as it runs instead of collecting
+     * the data in memory. Only the properties of the current workbook, sheet and row and the current cell are kept.
+     * The properties set after the first child of the node, e.g. after the first row of the sheet, are written
+     * after the children.
+     * @param out the output stream which is closed when the definition is written
+     * @param format the factory of the generator, e.g. <code>JsonFactory</code> or <code>YAMLFactory</code>
+     * @return new builder writing the definition to the output stream
+     */
+    public static SpreadsheetBuilder stream(OutputStream out, JsonFactory format) {
+        return new StreamingDataSpreadsheetBuilder(out, format);
+    }
+
     private WorkbookNode node;
 
     @Override
@@ -0,0 +1,135 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.data;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes the content of the node directly to the generator. The properties are kept in the node until the first
+ * child is written or the node is closed, the children are written as soon as they are defined.
+ *
+ * The items of a list property such as <code>styles</code> cannot be added once the list has been written before
+ * the children, because the same key cannot be written twice.
+ */
+final class NodeWriter {
+
+    private final JsonGenerator generator;
+    private final Map<String, Object> properties;
+    private final String childrenKey;
+    private final boolean group;
+    private final Set<String> writtenLists = new HashSet<>();
+    private boolean children;
+
+    @FunctionalInterface
+    interface WritingOperation {
+        void write() throws IOException;
+    }
+
+    static void unchecked(WritingOperation operation) {
+        try {
+            operation.write();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Creates writer for the regular node which writes both the properties and the children.
+     * @param generator the target generator
+     * @param node the node holding the properties
+     * @param childrenKey the name of the property holding the children
+     * @return writer for the regular node
+     */
+    static NodeWriter node(JsonGenerator generator, AbstractNode node, String childrenKey) {
+        return new NodeWriter(generator, node.getContent(), childrenKey, false);
+    }
+
+    /**
+     * Creates writer for the group which only writes the children.
+     * @param generator the target generator
+     * @param node the node holding the properties which are ignored
+     * @param groupKey the name of the group such as <code>group</code> or <code>collapse</code>
+     * @return writer for the group
+     */
+    static NodeWriter group(JsonGenerator generator, AbstractNode node, String groupKey) {
+        return new NodeWriter(generator, node.getContent(), groupKey, true);
+    }
+
+    private NodeWriter(JsonGenerator generator, Map<String, Object> properties, String childrenKey, boolean group) {
+        this.generator = generator;
+        this.properties = properties;
+        this.childrenKey = childrenKey;
+        this.group = group;
+    }
+
+    JsonGenerator getGenerator() {
+        return generator;
+    }
+
+    void open() {
+        unchecked(generator::writeStartObject);
+    }
+
+    /**
+     * Must be called before each child is written.
+     */
+    void child() {
+        if (children) {
+            return;
+        }
+        unchecked(() -> {
+            writeProperties();
+            generator.writeArrayFieldStart(childrenKey);
+        });
+        children = true;
+    }
+
+    void close() {
+        if (group) {
+            child();
+        }
+        unchecked(() -> {
+            if (children) {
+                generator.writeEndArray();
+            }
+            writeProperties();
+            generator.writeEndObject();
+        });
+    }
+
+    private void writeProperties() throws IOException {
+        if (!group) {
+            for (Map.Entry<String, Object> entry : properties.entrySet()) {
+                if (entry.getValue() instanceof List && !writtenLists.add(entry.getKey())) {
+                    throw new IllegalStateException("All " + entry.getKey() + " must be defined before the first of "
+                        + childrenKey + " when streaming, " + entry.getKey() + " have been already written");
+                }
+                generator.writeObjectField(entry.getKey(), entry.getValue());
+            }
+        }
+        properties.clear();
+    }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.data;
+
+import builders.dsl.spreadsheet.builder.api.SpreadsheetBuilder;
+import builders.dsl.spreadsheet.builder.api.WorkbookDefinition;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.OutputStream;
+import java.util.function.Consumer;
+
+class StreamingDataSpreadsheetBuilder implements SpreadsheetBuilder {
+
+    private final OutputStream out;
+    private final JsonFactory format;
+
+    StreamingDataSpreadsheetBuilder(OutputStream out, JsonFactory format) {
+        this.out = out;
+        this.format = format;
+    }
+
+    @Override
+    public void build(Consumer<WorkbookDefinition> workbookDefinition) {
+        NodeWriter.unchecked(() -> {
+            try (JsonGenerator generator = format.createGenerator(out)) {
+                // the cells and the other small nodes are still written as maps
+                generator.setCodec(new ObjectMapper());
+                StreamingWorkbookNode workbook = new StreamingWorkbookNode(generator);
+                workbook.open();
+                workbookDefinition.accept(workbook);
+                workbook.close();
+            }
+        });
+    }
+
+}
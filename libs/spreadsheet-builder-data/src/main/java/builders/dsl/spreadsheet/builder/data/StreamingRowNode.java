@@ -0,0 +1,90 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.data;
+
+import builders.dsl.spreadsheet.builder.api.CellDefinition;
+import builders.dsl.spreadsheet.builder.api.RowDefinition;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.util.function.Consumer;
+
+/**
+ * Row node which writes each cell to the generator as soon as it is defined.
+ */
+class StreamingRowNode extends RowNode {
+
+    private final NodeWriter writer;
+
+    StreamingRowNode(JsonGenerator generator) {
+        this.writer = NodeWriter.node(generator, this, "cells");
+    }
+
+    private StreamingRowNode(NodeWriter parent, String groupKey) {
+        this.writer = NodeWriter.group(parent.getGenerator(), this, groupKey);
+    }
+
+    @Override
+    public RowDefinition cell(Consumer<CellDefinition> cellDefinition) {
+        CellNode cellNode = new CellNode();
+        cellDefinition.accept(cellNode);
+        writeCell(cellNode);
+        return this;
+    }
+
+    @Override
+    public RowDefinition cell(int column, Consumer<CellDefinition> cellDefinition) {
+        CellNode cellNode = new CellNode();
+        cellNode.setColumn(column);
+        cellDefinition.accept(cellNode);
+        writeCell(cellNode);
+        return this;
+    }
+
+    @Override
+    public RowDefinition group(Consumer<RowDefinition> insideGroupDefinition) {
+        return group("group", insideGroupDefinition);
+    }
+
+    @Override
+    public RowDefinition collapse(Consumer<RowDefinition> insideGroupDefinition) {
+        return group("collapse", insideGroupDefinition);
+    }
+
+    void open() {
+        writer.open();
+    }
+
+    void close() {
+        writer.close();
+    }
+
+    private RowDefinition group(String groupKey, Consumer<RowDefinition> insideGroupDefinition) {
+        writer.child();
+        StreamingRowNode groupNode = new StreamingRowNode(writer, groupKey);
+        groupNode.open();
+        insideGroupDefinition.accept(groupNode);
+        groupNode.close();
+        return this;
+    }
+
+    private void writeCell(CellNode cellNode) {
+        writer.child();
+        NodeWriter.unchecked(() -> writer.getGenerator().writeObject(cellNode.getContent()));
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.data;
+
+import builders.dsl.spreadsheet.builder.api.RowDefinition;
+import builders.dsl.spreadsheet.builder.api.SheetDefinition;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.util.function.Consumer;
+
+/**
+ * Sheet node which writes each row to the generator as soon as it is defined.
+ */
+class StreamingSheetNode extends SheetNode {
+
+    private final NodeWriter writer;
+
+    StreamingSheetNode(JsonGenerator generator, String name) {
+        super(name);
+        this.writer = NodeWriter.node(generator, this, "rows");
+    }
+
+    private StreamingSheetNode(NodeWriter parent, String groupKey) {
+        this.writer = NodeWriter.group(parent.getGenerator(), this, groupKey);
+    }
+
+    @Override
+    public SheetDefinition row(Consumer<RowDefinition> rowDefinition) {
+        writer.child();
+        StreamingRowNode row = new StreamingRowNode(writer.getGenerator());
+        row.open();
+        rowDefinition.accept(row);
+        row.close();
+        return this;
+    }
+
+    @Override
+    public SheetDefinition row(int row, Consumer<RowDefinition> rowDefinition) {
+        writer.child();
+        StreamingRowNode rowNode = new StreamingRowNode(writer.getGenerator());
+        rowNode.open();
+        rowNode.setNumber(row);
+        rowDefinition.accept(rowNode);
+        rowNode.close();
+        return this;
+    }
+
+    @Override
+    public SheetDefinition group(Consumer<SheetDefinition> insideGroupDefinition) {
+        return group("group", insideGroupDefinition);
+    }
+
+    @Override
+    public SheetDefinition collapse(Consumer<SheetDefinition> insideGroupDefinition) {
+        return group("collapse", insideGroupDefinition);
+    }
+
+    void open() {
+        writer.open();
+    }
+
+    void close() {
+        writer.close();
+    }
+
+    private SheetDefinition group(String groupKey, Consumer<SheetDefinition> insideGroupDefinition) {
+        writer.child();
+        StreamingSheetNode groupNode = new StreamingSheetNode(writer, groupKey);
+        groupNode.open();
+        insideGroupDefinition.accept(groupNode);
+        groupNode.close();
+        return this;
+    }
+
+}
@@ -0,0 +1,55 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.data;
+
+import builders.dsl.spreadsheet.builder.api.SheetDefinition;
+import builders.dsl.spreadsheet.builder.api.WorkbookDefinition;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.util.function.Consumer;
+
+/**
+ * Workbook node which writes each sheet to the generator as soon as it is defined.
+ */
+class StreamingWorkbookNode extends WorkbookNode {
+
+    private final NodeWriter writer;
+
+    StreamingWorkbookNode(JsonGenerator generator) {
+        this.writer = NodeWriter.node(generator, this, "sheets");
+    }
+
+    @Override
+    public WorkbookDefinition sheet(String name, Consumer<SheetDefinition> sheetDefinition) {
+        writer.child();
+        StreamingSheetNode sheet = new StreamingSheetNode(writer.getGenerator(), name);
+        sheet.open();
+        sheetDefinition.accept(sheet);
+        sheet.close();
+        return this;
+    }
+
+    void open() {
+        writer.open();
+    }
+
+    void close() {
+        writer.close();
+    }
+
+}
@@ -35,7 +35,11 @@ import builders.dsl.spreadsheet.builder.api.RowDefinition;
 import builders.dsl.spreadsheet.builder.api.SheetDefinition;
 import builders.dsl.spreadsheet.builder.api.SpreadsheetBuilder;
 import builders.dsl.spreadsheet.builder.api.WorkbookDefinition;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -50,6 +54,9 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
@@ -63,18 +70,45 @@ import java.util.regex.Pattern;
 public class DataSpreadsheetParser {
 
     private static final List<String> REQUIRES_NAME = Collections.singletonList("name");
+    private static final String DEFAULT_SHEET_NAME = "Sheet1";
     private static final Pattern DIMENSION_IN_POINTS = Pattern.compile("(\\d+)\\s?(p(oin)?ts?)?");
     private static final Pattern DIMENSION_IN_CM = Pattern.compile("(\\d+)\\s?cm");
     private static final Pattern DIMENSION_IN_INCHES = Pattern.compile("(\\d+)\\s?in(ch(es)?)?");
     private static final Pattern ISO_DATE_PATTERN = Pattern.compile("^(?:[1-9]\\d{3}-(?:(?:0[1-9]|1[0-2])-(?:0[1-9]|1\\d|2[0-8])|(?:0[13-9]|1[0-2])-(?:29|30)|(?:0[13578]|1[02])-31)|(?:[1-9]\\d(?:0[48]|[2468][048]|[13579][26])|(?:[2468][048]|[13579][26])00)-02-29)T(?:[01]\\d|2[0-3]):[0-5]\\d:[0-5]\\d(?:\\.\\d{1,9})?(?:Z|[+-][01]\\d:[0-5]\\d)$");
 
     private final SpreadsheetBuilder builder;
+    private final Executor executor;
+    private final DefinitionRecorder recorder;
 
     public DataSpreadsheetParser(SpreadsheetBuilder builder) {
+        this(builder, null);
+    }
+
+    /**
+     * Creates parser which decodes and validates the sheets of the definition in parallel. The calls of each sheet
+     * are recorded by the workers and then replayed into the builder in the order of the sheets so the builder
+     * is only used from the calling thread. Only the definitions passed as a whole are decoded in parallel,
+     * the streamed ones are always decoded sheet by sheet.
+     * @param builder the target builder
+     * @param executor the executor running the workers or null to decode the sheets on the calling thread
+     */
+    public DataSpreadsheetParser(SpreadsheetBuilder builder, Executor executor) {
         this.builder = builder;
+        this.executor = executor;
+        this.recorder = null;
     }
 
-    private static <T> void doSafe(String entryPath, T value, Consumer<T> operation) {
+    private DataSpreadsheetParser(DefinitionRecorder recorder) {
+        this.builder = null;
+        this.executor = null;
+        this.recorder = recorder;
+    }
+
+    private <T> void doSafe(String entryPath, T value, Consumer<T> operation) {
+        if (recorder != null) {
+            // the calls recorded meanwhile are reported using this entry when they fail during the replay
+            recorder.enter(entryPath, value);
+        }
         try {
             operation.accept(value);
         } catch (InvalidPropertyException e){
@@ -83,6 +117,10 @@ public class DataSpreadsheetParser {
         } catch (Exception e) {
             // wrap any other exception to IPE
             throw new InvalidPropertyException(e, entryPath, value);
+        } finally {
+            if (recorder != null) {
+                recorder.exit();
+            }
         }
     }
 
@@ -128,15 +166,15 @@ public class DataSpreadsheetParser {
         });
     }
 
-    private static void withMap(Object value, String path, Consumer<Map<String, Object>> consumer) {
+    private void withMap(Object value, String path, Consumer<Map<String, Object>> consumer) {
         withMap(value, path, Collections.emptyList(), consumer);
     }
 
-    private static void withMap(Object value, String path, Iterable<String> requiredProperties, Consumer<Map<String, Object>> consumer) {
+    private void withMap(Object value, String path, Iterable<String> requiredProperties, Consumer<Map<String, Object>> consumer) {
         withMap(value, path, requiredProperties, (map, localPath) -> consumer.accept(map));
     }
 
-    private static void withMap(Object value, String path, Iterable<String> requiredProperties, BiConsumer<Map<String, Object>, String> consumer) {
+    private void withMap(Object value, String path, Iterable<String> requiredProperties, BiConsumer<Map<String, Object>, String> consumer) {
         if (!(value instanceof Map)) {
             throw new InvalidPropertyException("Definition must be map", path, value);
         }
@@ -151,7 +189,7 @@ public class DataSpreadsheetParser {
         doSafe(path, map, v -> consumer.accept(checkedMap(v), path));
     }
 
-    private static void handleMap(String path, Map<String, Object> map, MapEntryHandler handler) {
+    private void handleMap(String path, Map<String, Object> map, MapEntryHandler handler) {
         for (Map.Entry<String, Object> entry : map.entrySet()) {
             String entryPath = path + "." + entry.getKey();
             doSafe(entryPath, entry.getValue(), value -> handler.handle(entryPath, entry.getKey(), entry.getValue()));
@@ -166,7 +204,7 @@ public class DataSpreadsheetParser {
         return Collections.checkedMap(map, String.class, Object.class);
     }
 
-    private static void eachItemAsMap(Object value, String path, Iterable<String> requiredProperties, BiConsumer<Map<String, Object>, String> consumer) {
+    private void eachItemAsMap(Object value, String path, Iterable<String> requiredProperties, BiConsumer<Map<String, Object>, String> consumer) {
         eachItemWithPath(value, path, (item, itemPath) -> withMap(item, itemPath, requiredProperties, map -> consumer.accept(map, itemPath)));
     }
 
@@ -192,30 +230,144 @@ public class DataSpreadsheetParser {
         }
     }
 
+    /**
+     * Builds the spreadsheet from the token stream. The rows and the cells are passed to the builder as soon
+     * as they are read so only the currently handled row or cell is kept in memory instead of the whole definition.
+     *
+     * The rows are only streamed if the name of the sheet precedes them and the number of the row must precede
+     * its cells. The sheets whose name follows the rows are read into memory first.
+     *
+     * The YAML aliases and merge keys are resolved against the anchored values read so far. The anchored values
+     * are kept in memory so the anchored sheets, rows and cells are never streamed.
+     *
+     * @param parser the parser of the definition
+     * @throws IOException if the definition cannot be read
+     */
+    public void build(JsonParser parser) throws IOException {
+        DataTokenReader reader = new DataTokenReader(parser);
+        JsonToken token = reader.current() == null ? reader.next() : reader.current();
+        if (token != JsonToken.START_OBJECT && token != JsonToken.START_ARRAY || reader.isAnchored()) {
+            build(token == null ? null : reader.readValue());
+            return;
+        }
+        try {
+            this.builder.build(w -> unchecked(() -> {
+                if (token == JsonToken.START_ARRAY) {
+                    streamSheets(w, reader, "sheets");
+                } else {
+                    streamWorkbook(w, reader);
+                }
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
     private void handleWorkbook(WorkbookDefinition w, Map<String, Object> definitionMap) {
         for (Map.Entry<String, Object> entry : definitionMap.entrySet()) {
-            switch (entry.getKey()) {
-                case "styles":
-                    eachItemAsMap(entry.getValue(), entry.getKey(), REQUIRES_NAME, (map, localPath) -> w.style(String.valueOf(map.get("name")), s -> handleStyle(s, localPath, map)));
-                    break;
-                case "sheets":
-                    eachItemWithPath(entry.getValue(), entry.getKey(), (item, itemPath) -> {
-                        if (item instanceof Map) {
-                            withMap(item, itemPath, REQUIRES_NAME, sheet -> handleSheet(w, itemPath, sheet));
-                        } else {
-                            Map<String, Object> sheet = new HashMap<>();
-                            sheet.put("rows", item);
-                            sheet.put("name", "Sheet1");
-                            handleSheet(w, itemPath, sheet);
-                        }
-                    });
-                    break;
-                default:
-                    throw new InvalidPropertyException("Unknown property: " + entry.getKey(), entry.getKey(), entry.getValue());
+            handleWorkbookEntry(w, entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void handleWorkbookEntry(WorkbookDefinition w, String key, Object value) {
+        switch (key) {
+            case "styles":
+                eachItemAsMap(value, key, REQUIRES_NAME, (map, localPath) -> w.style(String.valueOf(map.get("name")), s -> handleStyle(s, localPath, map)));
+                break;
+            case "sheets":
+                if (executor == null) {
+                    eachItemWithPath(value, key, (item, itemPath) -> handleSheetItem(w, itemPath, item));
+                } else {
+                    handleSheetsInParallel(w, key, value);
+                }
+                break;
+            default:
+                throw new InvalidPropertyException("Unknown property: " + key, key, value);
+        }
+    }
+
+    private void handleSheetsInParallel(WorkbookDefinition w, String path, Object value) {
+        List<CompletableFuture<DefinitionRecorder>> sheets = new ArrayList<>();
+        eachItemWithPath(value, path, (item, itemPath) -> sheets.add(CompletableFuture.supplyAsync(() -> {
+            DefinitionRecorder recorder = new DefinitionRecorder();
+            new DataSpreadsheetParser(recorder).handleSheetItem(recorder.workbook(), itemPath, item);
+            return recorder;
+        }, executor)));
+
+        try {
+            for (CompletableFuture<DefinitionRecorder> sheet : sheets) {
+                sheet.join().replay(w);
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        } finally {
+            for (CompletableFuture<DefinitionRecorder> sheet : sheets) {
+                sheet.cancel(false);
+            }
+        }
+    }
+
+    private void handleSheetItem(WorkbookDefinition w, String itemPath, Object item) {
+        if (item instanceof Map) {
+            withMap(item, itemPath, REQUIRES_NAME, sheet -> handleSheet(w, itemPath, sheet));
+        } else {
+            Map<String, Object> sheet = new HashMap<>();
+            sheet.put("rows", item);
+            sheet.put("name", DEFAULT_SHEET_NAME);
+            handleSheet(w, itemPath, sheet);
+        }
+    }
+
+    private void streamWorkbook(WorkbookDefinition w, DataTokenReader reader) throws IOException {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        while (reader.nextField()) {
+            String key = reader.currentName();
+            if (reader.next() == JsonToken.START_ARRAY && "sheets".equals(key) && !reader.isAnchored()) {
+                streamSheets(w, reader, key);
+            } else {
+                fields.clear();
+                reader.put(fields, key, reader.readValue());
+                fields.forEach((name, value) -> handleWorkbookEntry(w, name, value));
             }
         }
     }
 
+    private void streamSheets(WorkbookDefinition w, DataTokenReader reader, String path) throws IOException {
+        int index = 0;
+        while (reader.nextItem()) {
+            String itemPath = path + "[" + index++ + "]";
+            if (reader.isAnchored()) {
+                handleSheetItem(w, itemPath, reader.readValue());
+            } else if (reader.current() == JsonToken.START_OBJECT) {
+                streamSheet(w, reader, itemPath);
+            } else if (reader.current() == JsonToken.START_ARRAY) {
+                w.sheet(DEFAULT_SHEET_NAME, s -> unchecked(() -> streamRows(s, reader, itemPath)));
+            } else {
+                handleSheetItem(w, itemPath, reader.readValue());
+            }
+        }
+    }
+
+    private void streamSheet(WorkbookDefinition w, DataTokenReader reader, String path) throws IOException {
+        Map<String, Object> sheet = new LinkedHashMap<>();
+        while (reader.nextField()) {
+            String key = reader.currentName();
+            if (reader.next() == JsonToken.START_ARRAY && "rows".equals(key) && sheet.containsKey("name") && !reader.isAnchored()) {
+                w.sheet(String.valueOf(sheet.get("name")), s -> unchecked(() -> {
+                    handleSheet(s, path, sheet);
+                    streamRows(s, reader, path);
+                    handleSheet(s, path, reader.readFields());
+                }));
+                return;
+            }
+            reader.put(sheet, key, reader.readValue());
+        }
+        handleSheetItem(w, path, sheet);
+    }
+
     private void handleSheet(WorkbookDefinition w, String localPath, Map<String, Object> map) {
         w.sheet(String.valueOf(map.get("name")), s -> handleSheet(s, localPath, map));
     }
@@ -255,13 +407,65 @@ public class DataSpreadsheetParser {
     }
 
     private void handleRows(SheetDefinition s, String path, Object value) {
-        eachItemWithPath(value, path, (item, itemPath) -> {
-            if (item instanceof Map) {
-                withMap(item, itemPath, Collections.emptyList(), row -> handleRow(s, itemPath, row));
-            } else if (item instanceof Iterable) {
-                handleRow(s, itemPath, Collections.singletonMap("cells", item));
+        eachItemWithPath(value, path, (item, itemPath) -> handleRowItem(s, itemPath, item));
+    }
+
+    private void handleRowItem(SheetDefinition s, String itemPath, Object item) {
+        if (item instanceof Map) {
+            withMap(item, itemPath, Collections.emptyList(), row -> handleRow(s, itemPath, row));
+        } else if (item instanceof Iterable) {
+            handleRow(s, itemPath, Collections.singletonMap("cells", item));
+        }
+    }
+
+    private void streamRows(SheetDefinition s, DataTokenReader reader, String path) throws IOException {
+        int index = 0;
+        while (reader.nextItem()) {
+            String itemPath = path + "[" + index++ + "]";
+            if (reader.isAnchored()) {
+                handleRowItem(s, itemPath, reader.readValue());
+            } else if (reader.current() == JsonToken.START_OBJECT) {
+                streamRow(s, reader, itemPath);
+            } else if (reader.current() == JsonToken.START_ARRAY) {
+                s.row(r -> unchecked(() -> streamCells(r, reader, itemPath + "." + "cells")));
+            } else {
+                handleRowItem(s, itemPath, reader.readValue());
             }
-        });
+        }
+    }
+
+    private void streamRow(SheetDefinition s, DataTokenReader reader, String path) throws IOException {
+        Map<String, Object> row = new LinkedHashMap<>();
+        while (reader.nextField()) {
+            String key = reader.currentName();
+            if (reader.next() == JsonToken.START_ARRAY && "cells".equals(key) && !reader.isAnchored() && !row.containsKey("group") && !row.containsKey("collapse")) {
+                Consumer<RowDefinition> definition = r -> unchecked(() -> {
+                    handleRow(r, path, row);
+                    streamCells(r, reader, path + "." + "cells");
+                    Map<String, Object> rest = reader.readFields();
+                    if (rest.containsKey("number")) {
+                        throw new InvalidPropertyException("Row number must precede the cells", path + "." + "number", rest.get("number"));
+                    }
+                    handleRow(r, path, rest);
+                });
+                if (row.containsKey("number")) {
+                    handleNumber(path, row.get("number"), number -> s.row(number.intValue(), definition));
+                } else {
+                    s.row(definition);
+                }
+                return;
+            }
+            reader.put(row, key, reader.readValue());
+        }
+        handleRowItem(s, path, row);
+    }
+
+    private void streamCells(RowDefinition r, DataTokenReader reader, String path) throws IOException {
+        int index = 0;
+        while (reader.nextItem()) {
+            String itemPath = path + "[" + index++ + "]";
+            doSafe(itemPath, reader.readValue(), item -> handleCell(r, itemPath, item));
+        }
     }
 
     private void handlePage(PageDefinition p, String path, Map<String, Object> page) {
@@ -836,8 +1040,20 @@ public class DataSpreadsheetParser {
         return String.valueOf(value).replaceAll("(.)(\\p{Upper})", "$1_$2").toUpperCase();
     }
 
+    private static void unchecked(StreamingOperation operation) {
+        try {
+            operation.run();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @FunctionalInterface private interface MapEntryHandler {
         void handle(String entryPath, String key, Object value);
     }
 
+    @FunctionalInterface private interface StreamingOperation {
+        void run() throws IOException;
+    }
+
 }
@@ -0,0 +1,181 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.parser.data;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.yaml.YAMLParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the values of the definition from the token stream.
+ *
+ * The YAML anchors are remembered as they are read so the aliases and the merge keys can refer to them. Only
+ * the anchored values are kept in memory, the rest of the document is read once and discarded.
+ */
+final class DataTokenReader {
+
+    private static final String MERGE_KEY = "<<";
+
+    DataTokenReader(JsonParser parser) {
+        this.parser = parser;
+        this.yaml = parser instanceof YAMLParser;
+    }
+
+    JsonToken next() throws IOException {
+        return parser.nextToken();
+    }
+
+    JsonToken current() {
+        return parser.currentToken();
+    }
+
+    String currentName() throws IOException {
+        return parser.getCurrentName();
+    }
+
+    /**
+     * @return true if the current value has an anchor and therefore cannot be streamed
+     */
+    boolean isAnchored() throws IOException {
+        return parser.canReadObjectId() && parser.getObjectId() != null;
+    }
+
+    /**
+     * Moves to the next field of the current object.
+     * @return true if the parser is at the name of the next field, false if the object has ended
+     */
+    boolean nextField() throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null) {
+            throw new JsonParseException(parser, "Unexpected end of the definition");
+        }
+        return token == JsonToken.FIELD_NAME;
+    }
+
+    /**
+     * Moves to the next item of the current array.
+     * @return true if the parser is at the next item, false if the array has ended
+     */
+    boolean nextItem() throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null) {
+            throw new JsonParseException(parser, "Unexpected end of the definition");
+        }
+        return token != JsonToken.END_ARRAY;
+    }
+
+    /**
+     * Reads the current value including all nested values.
+     * @return the current value as a map, a list or a scalar value
+     */
+    Object readValue() throws IOException {
+        Object anchor = isAnchored() ? parser.getObjectId() : null;
+        Object value = readValueWithoutAnchor();
+        if (anchor != null) {
+            anchors.put(String.valueOf(anchor), value);
+        }
+        return value;
+    }
+
+    /**
+     * Reads the remaining fields of the current object.
+     * @return the remaining fields of the current object
+     */
+    Map<String, Object> readFields() throws IOException {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        while (nextField()) {
+            String key = currentName();
+            parser.nextToken();
+            put(fields, key, readValue());
+        }
+        return fields;
+    }
+
+    /**
+     * Puts the field into the map merging the YAML merge key values into the map.
+     * @param fields the fields of the object
+     * @param key the name of the field
+     * @param value the value of the field
+     */
+    @SuppressWarnings("unchecked")
+    void put(Map<String, Object> fields, String key, Object value) {
+        if (!yaml || !MERGE_KEY.equals(key)) {
+            fields.put(key, value);
+            return;
+        }
+
+        List<Object> merged = value instanceof List ? (List<Object>) value : Collections.singletonList(value);
+        for (Object item : merged) {
+            if (!(item instanceof Map)) {
+                throw new InvalidPropertyException("Merged value must be map", MERGE_KEY, item);
+            }
+            // the explicit fields always take precedence over the merged ones
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) item).entrySet()) {
+                fields.putIfAbsent(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private Object readValueWithoutAnchor() throws IOException {
+        switch (parser.currentToken()) {
+            case START_OBJECT:
+                return readFields();
+            case START_ARRAY:
+                List<Object> items = new ArrayList<>();
+                while (nextItem()) {
+                    items.add(readValue());
+                }
+                return items;
+            case VALUE_STRING:
+                if (yaml && ((YAMLParser) parser).isCurrentAlias()) {
+                    String alias = parser.getText();
+                    if (!anchors.containsKey(alias)) {
+                        throw new InvalidPropertyException("Unknown alias", "*" + alias, alias);
+                    }
+                    return anchors.get(alias);
+                }
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return parser.getNumberValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_EMBEDDED_OBJECT:
+                return parser.getEmbeddedObject();
+            case VALUE_NULL:
+                return null;
+            default:
+                throw new JsonParseException(parser, "Unexpected token " + parser.currentToken());
+        }
+    }
+
+    private final JsonParser parser;
+    private final boolean yaml;
+    private final Map<String, Object> anchors = new HashMap<>();
+}
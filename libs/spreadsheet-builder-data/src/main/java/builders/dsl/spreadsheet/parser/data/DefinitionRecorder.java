@@ -0,0 +1,1016 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.parser.data;
+
+import builders.dsl.spreadsheet.api.BorderStyle;
+import builders.dsl.spreadsheet.api.Color;
+import builders.dsl.spreadsheet.api.FontStyle;
+import builders.dsl.spreadsheet.api.ForegroundFill;
+import builders.dsl.spreadsheet.api.Keywords;
+import builders.dsl.spreadsheet.builder.api.BorderDefinition;
+import builders.dsl.spreadsheet.builder.api.CellDefinition;
+import builders.dsl.spreadsheet.builder.api.CellStyleDefinition;
+import builders.dsl.spreadsheet.builder.api.CommentDefinition;
+import builders.dsl.spreadsheet.builder.api.DimensionModifier;
+import builders.dsl.spreadsheet.builder.api.FitDimension;
+import builders.dsl.spreadsheet.builder.api.FontDefinition;
+import builders.dsl.spreadsheet.builder.api.HasStyle;
+import builders.dsl.spreadsheet.builder.api.ImageCreator;
+import builders.dsl.spreadsheet.builder.api.LinkDefinition;
+import builders.dsl.spreadsheet.builder.api.PageDefinition;
+import builders.dsl.spreadsheet.builder.api.RowDefinition;
+import builders.dsl.spreadsheet.builder.api.SheetDefinition;
+import builders.dsl.spreadsheet.builder.api.WorkbookDefinition;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Records the calls of the definitions so they can be replayed into the real definitions later, possibly
+ * on another thread.
+ *
+ * Every call is kept as an operation code with its operands in the arrays of the recorder. The nested definitions
+ * passed as consumers are recorded immediately so all the work of the consumers is done while recording and
+ * the replay only calls the target definition. The calls of the nested definitions are kept right after the call
+ * which created them. The calls on the values returned from the definitions, e.g. the dimension modifier returned
+ * from the width method, are kept right after the call which returned the value.
+ *
+ * Each operation also keeps the path and the value of the property being handled when it was recorded so
+ * the exceptions thrown by the target definitions during the replay are reported the same way as when
+ * the definition is handled directly.
+ */
+final class DefinitionRecorder {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private static final int SHEET = 0;
+    private static final int STYLE = 1;
+    private static final int ROW = 2;
+    private static final int ROW_AT = 3;
+    private static final int FREEZE = 4;
+    private static final int SHEET_GROUP = 5;
+    private static final int SHEET_COLLAPSE = 6;
+    private static final int STATE = 7;
+    private static final int PASSWORD = 8;
+    private static final int FILTER = 9;
+    private static final int PAGE = 10;
+    private static final int CELL = 11;
+    private static final int CELL_AT = 12;
+    private static final int ROW_GROUP = 13;
+    private static final int ROW_COLLAPSE = 14;
+    private static final int STYLES = 15;
+    private static final int VALUE = 16;
+    private static final int CELL_NAME = 17;
+    private static final int FORMULA = 18;
+    private static final int COMMENT = 19;
+    private static final int LINK = 20;
+    private static final int COLSPAN = 21;
+    private static final int ROWSPAN = 22;
+    private static final int WIDTH = 23;
+    private static final int HEIGHT = 24;
+    private static final int AUTO_WIDTH = 25;
+    private static final int TEXT = 26;
+    private static final int TEXT_WITH_FONT = 27;
+    private static final int PNG = 28;
+    private static final int JPEG = 29;
+    private static final int PICT = 30;
+    private static final int EMF = 31;
+    private static final int WMF = 32;
+    private static final int DIB = 33;
+    private static final int BASE = 34;
+    private static final int BACKGROUND = 35;
+    private static final int BACKGROUND_COLOR = 36;
+    private static final int FOREGROUND = 37;
+    private static final int FOREGROUND_COLOR = 38;
+    private static final int FILL = 39;
+    private static final int FONT = 40;
+    private static final int INDENT = 41;
+    private static final int WRAP = 42;
+    private static final int ROTATION = 43;
+    private static final int FORMAT = 44;
+    private static final int ALIGN = 45;
+    private static final int BORDER = 46;
+    private static final int FONT_COLOR = 47;
+    private static final int FONT_COLOR_VALUE = 48;
+    private static final int FONT_SIZE = 49;
+    private static final int FONT_NAME = 50;
+    private static final int FONT_STYLE = 51;
+    private static final int BORDER_STYLE = 52;
+    private static final int BORDER_COLOR = 53;
+    private static final int BORDER_COLOR_VALUE = 54;
+    private static final int AUTHOR = 55;
+    private static final int COMMENT_TEXT = 56;
+    private static final int ORIENTATION = 57;
+    private static final int PAPER = 58;
+    private static final int FIT = 59;
+    private static final int FIT_TO = 60;
+    private static final int CM = 61;
+    private static final int INCH = 62;
+    private static final int INCHES = 63;
+    private static final int POINTS = 64;
+    private static final int LINK_NAME = 65;
+    private static final int LINK_EMAIL = 66;
+    private static final int LINK_EMAIL_WITH_PARAMETERS = 67;
+    private static final int LINK_URL = 68;
+    private static final int LINK_FILE = 69;
+    private static final int FROM_FILE_OR_URL = 70;
+    private static final int FROM_STREAM = 71;
+    private static final int FROM_DATA = 72;
+
+    private int size;
+    private int[] codes = new int[INITIAL_CAPACITY];
+    private Object[] firstOperands = new Object[INITIAL_CAPACITY];
+    private Object[] secondOperands = new Object[INITIAL_CAPACITY];
+    // the index of the operation following the calls of the nested definitions
+    private int[] ends = new int[INITIAL_CAPACITY];
+    private String[] paths = new String[INITIAL_CAPACITY];
+    private Object[] values = new Object[INITIAL_CAPACITY];
+
+    private int depth;
+
+    private int scopes;
+    private String[] scopePaths = new String[INITIAL_CAPACITY];
+    private Object[] scopeValues = new Object[INITIAL_CAPACITY];
+
+    /**
+     * @return new workbook definition recording the calls into this recorder
+     */
+    WorkbookDefinition workbook() {
+        return new RecordingWorkbook(0);
+    }
+
+    /**
+     * Marks the start of the handling of the property. The calls recorded until the matching {@link #exit()}
+     * report the failures of the replay using the path and the value of the property.
+     * @param path the path of the property
+     * @param value the value of the property
+     */
+    void enter(String path, Object value) {
+        if (scopes == scopePaths.length) {
+            scopePaths = Arrays.copyOf(scopePaths, scopes * 2);
+            scopeValues = Arrays.copyOf(scopeValues, scopes * 2);
+        }
+        scopePaths[scopes] = path;
+        scopeValues[scopes] = value;
+        scopes++;
+    }
+
+    /**
+     * Marks the end of the handling of the property entered last.
+     */
+    void exit() {
+        scopes--;
+        scopePaths[scopes] = null;
+        scopeValues[scopes] = null;
+    }
+
+    /**
+     * Calls the recorded methods on the target definition in the order they were recorded.
+     * @param target the target definition
+     */
+    void replay(WorkbookDefinition target) {
+        replay(target, 0, size);
+    }
+
+    private void replay(Object target, int from, int to) {
+        Object returned = null;
+        for (int i = from; i < to; i = ends[i]) {
+            try {
+                returned = invoke(i, target, returned);
+            } catch (InvalidPropertyException e) {
+                // already reported by the nested definition
+                throw e;
+            } catch (RuntimeException e) {
+                if (paths[i] == null) {
+                    throw e;
+                }
+                throw new InvalidPropertyException(e, paths[i], values[i]);
+            }
+        }
+    }
+
+    private <T> Consumer<T> nested(int index) {
+        int from = index + 1;
+        int to = ends[index];
+        return definition -> replay(definition, from, to);
+    }
+
+    private List<Consumer<CellStyleDefinition>> nestedStyles(int index) {
+        int[] ranges = (int[]) secondOperands[index];
+        List<Consumer<CellStyleDefinition>> styles = new ArrayList<>(ranges.length / 2);
+        for (int i = 0; i < ranges.length; i += 2) {
+            int from = ranges[i];
+            int to = ranges[i + 1];
+            styles.add(definition -> replay(definition, from, to));
+        }
+        return styles;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object invoke(int index, Object target, Object returned) {
+        Object first = firstOperands[index];
+        Object second = secondOperands[index];
+        switch (codes[index]) {
+            case SHEET:
+                return ((WorkbookDefinition) target).sheet((String) first, nested(index));
+            case STYLE:
+                return ((WorkbookDefinition) target).style((String) first, nested(index));
+            case ROW:
+                return ((SheetDefinition) target).row(nested(index));
+            case ROW_AT:
+                return ((SheetDefinition) target).row((Integer) first, nested(index));
+            case FREEZE:
+                return ((SheetDefinition) target).freeze((Integer) first, (Integer) second);
+            case SHEET_GROUP:
+                return ((SheetDefinition) target).group(nested(index));
+            case SHEET_COLLAPSE:
+                return ((SheetDefinition) target).collapse(nested(index));
+            case STATE:
+                return ((SheetDefinition) target).state((Keywords.SheetState) first);
+            case PASSWORD:
+                return ((SheetDefinition) target).password((String) first);
+            case FILTER:
+                return ((SheetDefinition) target).filter((Keywords.Auto) first);
+            case PAGE:
+                return ((SheetDefinition) target).page(nested(index));
+            case CELL:
+                return ((RowDefinition) target).cell(nested(index));
+            case CELL_AT:
+                return ((RowDefinition) target).cell((Integer) first, nested(index));
+            case ROW_GROUP:
+                return ((RowDefinition) target).group(nested(index));
+            case ROW_COLLAPSE:
+                return ((RowDefinition) target).collapse(nested(index));
+            case STYLES:
+                return ((HasStyle) target).styles((List<String>) first, nestedStyles(index));
+            case VALUE:
+                return ((CellDefinition) target).value(first);
+            case CELL_NAME:
+                return ((CellDefinition) target).name((String) first);
+            case FORMULA:
+                return ((CellDefinition) target).formula((String) first);
+            case COMMENT:
+                return ((CellDefinition) target).comment(nested(index));
+            case LINK:
+                return ((CellDefinition) target).link((Keywords.To) first);
+            case COLSPAN:
+                return ((CellDefinition) target).colspan((Integer) first);
+            case ROWSPAN:
+                return ((CellDefinition) target).rowspan((Integer) first);
+            case WIDTH:
+                return ((CellDefinition) target).width((Double) first);
+            case HEIGHT:
+                return ((CellDefinition) target).height((Double) first);
+            case AUTO_WIDTH:
+                return ((CellDefinition) target).width((Keywords.Auto) first);
+            case TEXT:
+                return ((CellDefinition) target).text((String) first);
+            case TEXT_WITH_FONT:
+                return ((CellDefinition) target).text((String) first, nested(index));
+            case PNG:
+                return ((CellDefinition) target).png((Keywords.Image) first);
+            case JPEG:
+                return ((CellDefinition) target).jpeg((Keywords.Image) first);
+            case PICT:
+                return ((CellDefinition) target).pict((Keywords.Image) first);
+            case EMF:
+                return ((CellDefinition) target).emf((Keywords.Image) first);
+            case WMF:
+                return ((CellDefinition) target).wmf((Keywords.Image) first);
+            case DIB:
+                return ((CellDefinition) target).dib((Keywords.Image) first);
+            case BASE:
+                return ((CellStyleDefinition) target).base((String) first);
+            case BACKGROUND:
+                return ((CellStyleDefinition) target).background((String) first);
+            case BACKGROUND_COLOR:
+                return ((CellStyleDefinition) target).background((Color) first);
+            case FOREGROUND:
+                return ((CellStyleDefinition) target).foreground((String) first);
+            case FOREGROUND_COLOR:
+                return ((CellStyleDefinition) target).foreground((Color) first);
+            case FILL:
+                return ((CellStyleDefinition) target).fill((ForegroundFill) first);
+            case FONT:
+                return ((CellStyleDefinition) target).font(nested(index));
+            case INDENT:
+                return ((CellStyleDefinition) target).indent((Integer) first);
+            case WRAP:
+                return ((CellStyleDefinition) target).wrap((Keywords.Text) first);
+            case ROTATION:
+                return ((CellStyleDefinition) target).rotation((Integer) first);
+            case FORMAT:
+                return ((CellStyleDefinition) target).format((String) first);
+            case ALIGN:
+                return ((CellStyleDefinition) target).align((Keywords.VerticalAlignment) first, (Keywords.HorizontalAlignment) second);
+            case BORDER:
+                return border((CellStyleDefinition) target, (Keywords.BorderSide[]) first, nested(index));
+            case FONT_COLOR:
+                return ((FontDefinition) target).color((String) first);
+            case FONT_COLOR_VALUE:
+                return ((FontDefinition) target).color((Color) first);
+            case FONT_SIZE:
+                return ((FontDefinition) target).size((Integer) first);
+            case FONT_NAME:
+                return ((FontDefinition) target).name((String) first);
+            case FONT_STYLE:
+                return ((FontDefinition) target).style((FontStyle) first, (FontStyle[]) second);
+            case BORDER_STYLE:
+                return ((BorderDefinition) target).style((BorderStyle) first);
+            case BORDER_COLOR:
+                return ((BorderDefinition) target).color((String) first);
+            case BORDER_COLOR_VALUE:
+                return ((BorderDefinition) target).color((Color) first);
+            case AUTHOR:
+                return ((CommentDefinition) target).author((String) first);
+            case COMMENT_TEXT:
+                return ((CommentDefinition) target).text((String) first);
+            case ORIENTATION:
+                return ((PageDefinition) target).orientation((Keywords.Orientation) first);
+            case PAPER:
+                return ((PageDefinition) target).paper((Keywords.Paper) first);
+            case FIT:
+                return ((PageDefinition) target).fit((Keywords.Fit) first);
+            case FIT_TO:
+                return ((FitDimension) returned).to((Integer) first);
+            case CM:
+                return ((DimensionModifier) returned).cm();
+            case INCH:
+                return ((DimensionModifier) returned).inch();
+            case INCHES:
+                return ((DimensionModifier) returned).inches();
+            case POINTS:
+                return ((DimensionModifier) returned).points();
+            case LINK_NAME:
+                return ((LinkDefinition) returned).name((String) first);
+            case LINK_EMAIL:
+                return ((LinkDefinition) returned).email((String) first);
+            case LINK_EMAIL_WITH_PARAMETERS:
+                return ((LinkDefinition) returned).email((Map<String, ?>) second, (String) first);
+            case LINK_URL:
+                return ((LinkDefinition) returned).url((String) first);
+            case LINK_FILE:
+                return ((LinkDefinition) returned).file((String) first);
+            case FROM_FILE_OR_URL:
+                return ((ImageCreator) returned).from((String) first);
+            case FROM_STREAM:
+                return ((ImageCreator) returned).from((InputStream) first);
+            case FROM_DATA:
+                return ((ImageCreator) returned).from((byte[]) first);
+            default:
+                throw new IllegalStateException("Unknown operation " + codes[index]);
+        }
+    }
+
+    private static CellStyleDefinition border(CellStyleDefinition target, Keywords.BorderSide[] sides, Consumer<BorderDefinition> border) {
+        switch (sides.length) {
+            case 0:
+                return target.border(border);
+            case 1:
+                return target.border(sides[0], border);
+            case 2:
+                return target.border(sides[0], sides[1], border);
+            default:
+                return target.border(sides[0], sides[1], sides[2], border);
+        }
+    }
+
+    private int add(int level, int code, Object first, Object second) {
+        if (level != depth) {
+            throw new IllegalStateException("The definition can only be used inside its own consumer");
+        }
+        if (size == codes.length) {
+            int capacity = size * 2;
+            codes = Arrays.copyOf(codes, capacity);
+            firstOperands = Arrays.copyOf(firstOperands, capacity);
+            secondOperands = Arrays.copyOf(secondOperands, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            paths = Arrays.copyOf(paths, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        int index = size++;
+        codes[index] = code;
+        firstOperands[index] = first;
+        secondOperands[index] = second;
+        ends[index] = size;
+        if (scopes > 0) {
+            paths[index] = scopePaths[scopes - 1];
+            values[index] = scopeValues[scopes - 1];
+        }
+        return index;
+    }
+
+    private <D> void add(int level, int code, Object first, Object second, D definition, Consumer<D> consumer) {
+        int index = add(level, code, first, second);
+        record(definition, consumer);
+        ends[index] = size;
+    }
+
+    private void addStyles(int level, Iterable<String> names, Iterable<Consumer<CellStyleDefinition>> styles) {
+        List<String> copy = new ArrayList<>();
+        names.forEach(copy::add);
+        int index = add(level, STYLES, copy, null);
+        List<Consumer<CellStyleDefinition>> consumers = new ArrayList<>();
+        styles.forEach(consumers::add);
+        int[] ranges = new int[consumers.size() * 2];
+        for (int i = 0; i < consumers.size(); i++) {
+            ranges[i * 2] = size;
+            record(new RecordingStyle(level + 1), consumers.get(i));
+            ranges[i * 2 + 1] = size;
+        }
+        secondOperands[index] = ranges;
+        ends[index] = size;
+    }
+
+    private <D> void record(D definition, Consumer<D> consumer) {
+        depth++;
+        try {
+            consumer.accept(definition);
+        } finally {
+            depth--;
+        }
+    }
+
+    private final class RecordingWorkbook implements WorkbookDefinition {
+
+        private final int level;
+
+        RecordingWorkbook(int level) {
+            this.level = level;
+        }
+
+        @Override
+        public WorkbookDefinition sheet(String name, Consumer<SheetDefinition> sheetDefinition) {
+            add(level, SHEET, name, null, new RecordingSheet(level + 1), sheetDefinition);
+            return this;
+        }
+
+        @Override
+        public WorkbookDefinition style(String name, Consumer<CellStyleDefinition> styleDefinition) {
+            add(level, STYLE, name, null, new RecordingStyle(level + 1), styleDefinition);
+            return this;
+        }
+
+    }
+
+    private final class RecordingSheet implements SheetDefinition {
+
+        private final int level;
+
+        RecordingSheet(int level) {
+            this.level = level;
+        }
+
+        @Override
+        public SheetDefinition row(Consumer<RowDefinition> rowDefinition) {
+            add(level, ROW, null, null, new RecordingRow(level + 1), rowDefinition);
+            return this;
+        }
+
+        @Override
+        public SheetDefinition row(int row, Consumer<RowDefinition> rowDefinition) {
+            add(level, ROW_AT, row, null, new RecordingRow(level + 1), rowDefinition);
+            return this;
+        }
+
+        @Override
+        public SheetDefinition freeze(int column, int row) {
+            add(level, FREEZE, column, row);
+            return this;
+        }
+
+        @Override
+        public SheetDefinition group(Consumer<SheetDefinition> insideGroupDefinition) {
+            add(level, SHEET_GROUP, null, null, new RecordingSheet(level + 1), insideGroupDefinition);
+            return this;
+        }
+
+        @Override
+        public SheetDefinition collapse(Consumer<SheetDefinition> insideGroupDefinition) {
+            add(level, SHEET_COLLAPSE, null, null, new RecordingSheet(level + 1), insideGroupDefinition);
+            return this;
+        }
+
+        @Override
+        public SheetDefinition state(Keywords.SheetState state) {
+            add(level, STATE, state, null);
+            return this;
+        }
+
+        @Override
+        public SheetDefinition password(String password) {
+            add(level, PASSWORD, password, null);
+            return this;
+        }
+
+        @Override
+        public SheetDefinition filter(Keywords.Auto auto) {
+            add(level, FILTER, auto, null);
+            return this;
+        }
+
+        @Override
+        public SheetDefinition page(Consumer<PageDefinition> pageDefinition) {
+            add(level, PAGE, null, null, new RecordingPage(level + 1), pageDefinition);
+            return this;
+        }
+
+    }
+
+    private final class RecordingRow implements RowDefinition {
+
+        private final int level;
+
+        RecordingRow(int level) {
+            this.level = level;
+        }
+
+        @Override
+        public RowDefinition cell(Consumer<CellDefinition> cellDefinition) {
+            add(level, CELL, null, null, new RecordingCell(level + 1), cellDefinition);
+            return this;
+        }
+
+        @Override
+        public RowDefinition cell(int column, Consumer<CellDefinition> cellDefinition) {
+            add(level, CELL_AT, column, null, new RecordingCell(level + 1), cellDefinition);
+            return this;
+        }
+
+        @Override
+        public RowDefinition group(Consumer<RowDefinition> insideGroupDefinition) {
+            add(level, ROW_GROUP, null, null, new RecordingRow(level + 1), insideGroupDefinition);
+            return this;
+        }
+
+        @Override
+        public RowDefinition collapse(Consumer<RowDefinition> insideGroupDefinition) {
+            add(level, ROW_COLLAPSE, null, null, new RecordingRow(level + 1), insideGroupDefinition);
+            return this;
+        }
+
+        @Override
+        public RowDefinition styles(Iterable<String> styles, Iterable<Consumer<CellStyleDefinition>> styleDefinitions) {
+            addStyles(level, styles, styleDefinitions);
+            return this;
+        }
+
+    }
+
+    private final class RecordingCell implements CellDefinition {
+
+        private final int level;
+
+        RecordingCell(int level) {
+            this.level = level;
+        }
+
+        @Override
+        public CellDefinition value(Object value) {
+            add(level, VALUE, value, null);
+            return this;
+        }
+
+        @Override
+        public CellDefinition name(String name) {
+            add(level, CELL_NAME, name, null);
+            return this;
+        }
+
+        @Override
+        public CellDefinition formula(String formula) {
+            add(level, FORMULA, formula, null);
+            return this;
+        }
+
+        @Override
+        public CellDefinition comment(Consumer<CommentDefinition> commentDefinition) {
+            add(level, COMMENT, null, null, new RecordingComment(level + 1), commentDefinition);
+            return this;
+        }
+
+        @Override
+        public LinkDefinition link(Keywords.To to) {
+            add(level, LINK, to, null);
+            return new RecordingResult(level, this, null);
+        }
+
+        @Override
+        public CellDefinition colspan(int span) {
+            add(level, COLSPAN, span, null);
+            return this;
+        }
+
+        @Override
+        public CellDefinition rowspan(int span) {
+            add(level, ROWSPAN, span, null);
+            return this;
+        }
+
+        @Override
+        public DimensionModifier width(double width) {
+            add(level, WIDTH, width, null);
+            return new RecordingResult(level, this, null);
+        }
+
+        @Override
+        public DimensionModifier height(double height) {
+            add(level, HEIGHT, height, null);
+            return new RecordingResult(level, this, null);
+        }
+
+        @Override
+        public CellDefinition width(Keywords.Auto auto) {
+            add(level, AUTO_WIDTH, auto, null);
+            return this;
+        }
+
+        @Override
+        public CellDefinition text(String text) {
+            add(level, TEXT, text, null);
+            return this;
+        }
+
+        @Override
+        public CellDefinition text(String text, Consumer<FontDefinition> fontConfiguration) {
+            add(level, TEXT_WITH_FONT, text, null, new RecordingFont(level + 1), fontConfiguration);
+            return this;
+        }
+
+        @Override
+        public ImageCreator png(Keywords.Image image) {
+            return image(PNG, image);
+        }
+
+        @Override
+        public ImageCreator jpeg(Keywords.Image image) {
+            return image(JPEG, image);
+        }
+
+        @Override
+        public ImageCreator pict(Keywords.Image image) {
+            return image(PICT, image);
+        }
+
+        @Override
+        public ImageCreator emf(Keywords.Image image) {
+            return image(EMF, image);
+        }
+
+        @Override
+        public ImageCreator wmf(Keywords.Image image) {
+            return image(WMF, image);
+        }
+
+        @Override
+        public ImageCreator dib(Keywords.Image image) {
+            return image(DIB, image);
+        }
+
+        @Override
+        public CellDefinition styles(Iterable<String> styles, Iterable<Consumer<CellStyleDefinition>> styleDefinitions) {
+            addStyles(level, styles, styleDefinitions);
+            return this;
+        }
+
+        private ImageCreator image(int code, Keywords.Image image) {
+            add(level, code, image, null);
+            return new RecordingResult(level, this, null);
+        }
+
+    }
+
+    private final class RecordingStyle implements CellStyleDefinition {
+
+        private final int level;
+
+        RecordingStyle(int level) {
+            this.level = level;
+        }
+
+        @Override
+        public CellStyleDefinition base(String stylename) {
+            add(level, BASE, stylename, null);
+            return this;
+        }
+
+        @Override
+        public CellStyleDefinition background(String hexColor) {
+            add(level, BACKGROUND, hexColor, null);
+            return this;
+        }
+
+        @Override
+        public CellStyleDefinition background(Color color) {
+            add(level, BACKGROUND_COLOR, color, null);
+            return this;
+        }
+
+        @Override
+        public CellStyleDefinition foreground(String hexColor) {
+            add(level, FOREGROUND, hexColor, null);
+            return this;
+        }
+
+        @Override
+        public CellStyleDefinition foreground(Color color) {
+            add(level, FOREGROUND_COLOR, color, null);
+            return this;
+        }
+
+        @Override
+        public CellStyleDefinition fill(ForegroundFill fill) {
+            add(level, FILL, fill, null);
+            return this;
+        }
+
+        @Override
+        public CellStyleDefinition font(Consumer<FontDefinition> fontConfiguration) {
+            add(level, FONT, null, null, new RecordingFont(level + 1), fontConfiguration);
+            return this;
+        }
+
+        @Override
+        public CellStyleDefinition indent(int indent) {
+            add(level, INDENT, indent, null);
+            return this;
+        }
+
+        @Override
+        public CellStyleDefinition wrap(Keywords.Text text) {
+            add(level, WRAP, text, null);
+            return this;
+        }
+
+        @Override
+        public CellStyleDefinition rotation(int rotation) {
+            add(level, ROTATION, rotation, null);
+            return this;
+        }
+
+        @Override
+        public CellStyleDefinition format(String format) {
+            add(level, FORMAT, format, null);
+            return this;
+        }
+
+        @Override
+        public CellStyleDefinition align(Keywords.VerticalAlignment verticalAlignment, Keywords.HorizontalAlignment horizontalAlignment) {
+            add(level, ALIGN, verticalAlignment, horizontalAlignment);
+            return this;
+        }
+
+        @Override
+        public CellStyleDefinition border(Consumer<BorderDefinition> borderConfiguration) {
+            return border(new Keywords.BorderSide[0], borderConfiguration);
+        }
+
+        @Override
+        public CellStyleDefinition border(Keywords.BorderSide location, Consumer<BorderDefinition> borderConfiguration) {
+            return border(new Keywords.BorderSide[] { location }, borderConfiguration);
+        }
+
+        @Override
+        public CellStyleDefinition border(Keywords.BorderSide first, Keywords.BorderSide second, Consumer<BorderDefinition> borderConfiguration) {
+            return border(new Keywords.BorderSide[] { first, second }, borderConfiguration);
+        }
+
+        @Override
+        public CellStyleDefinition border(Keywords.BorderSide first, Keywords.BorderSide second, Keywords.BorderSide third, Consumer<BorderDefinition> borderConfiguration) {
+            return border(new Keywords.BorderSide[] { first, second, third }, borderConfiguration);
+        }
+
+        private CellStyleDefinition border(Keywords.BorderSide[] sides, Consumer<BorderDefinition> borderConfiguration) {
+            add(level, BORDER, sides, null, new RecordingBorder(level + 1), borderConfiguration);
+            return this;
+        }
+
+    }
+
+    private final class RecordingFont implements FontDefinition {
+
+        private final int level;
+
+        RecordingFont(int level) {
+            this.level = level;
+        }
+
+        @Override
+        public FontDefinition color(String hexColor) {
+            add(level, FONT_COLOR, hexColor, null);
+            return this;
+        }
+
+        @Override
+        public FontDefinition color(Color color) {
+            add(level, FONT_COLOR_VALUE, color, null);
+            return this;
+        }
+
+        @Override
+        public FontDefinition size(int size) {
+            add(level, FONT_SIZE, size, null);
+            return this;
+        }
+
+        @Override
+        public FontDefinition name(String name) {
+            add(level, FONT_NAME, name, null);
+            return this;
+        }
+
+        @Override
+        public FontDefinition style(FontStyle first, FontStyle... other) {
+            add(level, FONT_STYLE, first, other);
+            return this;
+        }
+
+    }
+
+    private final class RecordingBorder implements BorderDefinition {
+
+        private final int level;
+
+        RecordingBorder(int level) {
+            this.level = level;
+        }
+
+        @Override
+        public BorderDefinition style(BorderStyle style) {
+            add(level, BORDER_STYLE, style, null);
+            return this;
+        }
+
+        @Override
+        public BorderDefinition color(String hexColor) {
+            add(level, BORDER_COLOR, hexColor, null);
+            return this;
+        }
+
+        @Override
+        public BorderDefinition color(Color color) {
+            add(level, BORDER_COLOR_VALUE, color, null);
+            return this;
+        }
+
+    }
+
+    private final class RecordingComment implements CommentDefinition {
+
+        private final int level;
+
+        RecordingComment(int level) {
+            this.level = level;
+        }
+
+        @Override
+        public CommentDefinition author(String author) {
+            add(level, AUTHOR, author, null);
+            return this;
+        }
+
+        @Override
+        public CommentDefinition text(String text) {
+            add(level, COMMENT_TEXT, text, null);
+            return this;
+        }
+
+    }
+
+    private final class RecordingPage implements PageDefinition {
+
+        private final int level;
+
+        RecordingPage(int level) {
+            this.level = level;
+        }
+
+        @Override
+        public PageDefinition orientation(Keywords.Orientation orientation) {
+            add(level, ORIENTATION, orientation, null);
+            return this;
+        }
+
+        @Override
+        public PageDefinition paper(Keywords.Paper paper) {
+            add(level, PAPER, paper, null);
+            return this;
+        }
+
+        @Override
+        public FitDimension fit(Keywords.Fit widthOrHeight) {
+            add(level, FIT, widthOrHeight, null);
+            return new RecordingResult(level, null, this);
+        }
+
+    }
+
+    /**
+     * Records the calls on the values returned from the definitions. The calls are replayed on the value returned
+     * by the previous operation.
+     */
+    private final class RecordingResult implements DimensionModifier, LinkDefinition, ImageCreator, FitDimension {
+
+        private final int level;
+        private final CellDefinition cell;
+        private final PageDefinition page;
+
+        RecordingResult(int level, CellDefinition cell, PageDefinition page) {
+            this.level = level;
+            this.cell = cell;
+            this.page = page;
+        }
+
+        @Override
+        public CellDefinition cm() {
+            return addToCell(CM, null, null);
+        }
+
+        @Override
+        public CellDefinition inch() {
+            return addToCell(INCH, null, null);
+        }
+
+        @Override
+        public CellDefinition inches() {
+            return addToCell(INCHES, null, null);
+        }
+
+        @Override
+        public CellDefinition points() {
+            return addToCell(POINTS, null, null);
+        }
+
+        @Override
+        public CellDefinition name(String name) {
+            return addToCell(LINK_NAME, name, null);
+        }
+
+        @Override
+        public CellDefinition email(String email) {
+            return addToCell(LINK_EMAIL, email, null);
+        }
+
+        @Override
+        public CellDefinition email(Map<String, ?> parameters, String email) {
+            return addToCell(LINK_EMAIL_WITH_PARAMETERS, email, parameters);
+        }
+
+        @Override
+        public CellDefinition url(String url) {
+            return addToCell(LINK_URL, url, null);
+        }
+
+        @Override
+        public CellDefinition file(String path) {
+            return addToCell(LINK_FILE, path, null);
+        }
+
+        @Override
+        public CellDefinition from(String fileOrUrl) {
+            return addToCell(FROM_FILE_OR_URL, fileOrUrl, null);
+        }
+
+        @Override
+        public CellDefinition from(InputStream stream) {
+            return addToCell(FROM_STREAM, stream, null);
+        }
+
+        @Override
+        public CellDefinition from(byte[] imageData) {
+            return addToCell(FROM_DATA, imageData, null);
+        }
+
+        @Override
+        public PageDefinition to(int numberOfPages) {
+            add(level, FIT_TO, numberOfPages, null);
+            return page;
+        }
+
+        private CellDefinition addToCell(int code, Object first, Object second) {
+            add(level, code, first, second);
+            return cell;
+        }
+
+    }
+
+}
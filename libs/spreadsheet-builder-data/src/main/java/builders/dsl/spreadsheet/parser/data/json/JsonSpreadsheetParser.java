@@ -18,6 +18,8 @@
 package builders.dsl.spreadsheet.parser.data.json;
 
 import builders.dsl.spreadsheet.parser.data.DataSpreadsheetParser;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import builders.dsl.spreadsheet.builder.api.SpreadsheetBuilder;
 
@@ -36,4 +38,16 @@ public class JsonSpreadsheetParser {
         facade.build(new ObjectMapper().readValue(json, Object.class));
     }
 
+    /**
+     * Parses the JSON definition passing the rows and the cells to the builder as they are read. Combined with
+     * the streaming builder the whole document never has to fit into the memory.
+     * @param json the JSON definition
+     * @throws IOException if the definition cannot be read
+     */
+    public void stream(InputStream json) throws IOException {
+        try (JsonParser parser = new JsonFactory().createParser(json)) {
+            facade.build(parser);
+        }
+    }
+
 }
@@ -0,0 +1,56 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.parser.data.smile;
+
+import builders.dsl.spreadsheet.parser.data.DataSpreadsheetParser;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import builders.dsl.spreadsheet.builder.api.SpreadsheetBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads the definition in the binary Smile format which is cheaper to parse than the JSON. The definition can be
+ * written using <code>DataSpreadsheetBuilder.stream(out, new SmileFactory())</code>.
+ */
+public class SmileSpreadsheetParser {
+
+    private final DataSpreadsheetParser facade;
+
+    public SmileSpreadsheetParser(SpreadsheetBuilder builder) {
+        facade = new DataSpreadsheetParser(builder);
+    }
+
+    public void parse(InputStream smile) throws IOException {
+        facade.build(new ObjectMapper(new SmileFactory()).readValue(smile, Object.class));
+    }
+
+    /**
+     * Parses the Smile definition passing the rows and the cells to the builder as they are read.
+     * @param smile the Smile definition
+     * @throws IOException if the definition cannot be read
+     */
+    public void stream(InputStream smile) throws IOException {
+        try (JsonParser parser = new SmileFactory().createParser(smile)) {
+            facade.build(parser);
+        }
+    }
+
+}
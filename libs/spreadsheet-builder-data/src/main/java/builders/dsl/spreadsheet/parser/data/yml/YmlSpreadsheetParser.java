@@ -18,6 +18,7 @@
 package builders.dsl.spreadsheet.parser.data.yml;
 
 import builders.dsl.spreadsheet.parser.data.DataSpreadsheetParser;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import builders.dsl.spreadsheet.builder.api.SpreadsheetBuilder;
@@ -35,4 +36,16 @@ public class YmlSpreadsheetParser {
     public void parse(InputStream json) throws IOException {
         facade.build(new ObjectMapper(new YAMLFactory()).readValue(json, Object.class));
     }
+
+    /**
+     * Parses the YAML definition from the event stream passing the rows and the cells to the builder as they are
+     * read. The anchors can be referenced by the aliases and the merge keys, e.g. to share the style blocks.
+     * @param yml the YAML definition
+     * @throws IOException if the definition cannot be read
+     */
+    public void stream(InputStream yml) throws IOException {
+        try (JsonParser parser = new YAMLFactory().createParser(yml)) {
+            facade.build(parser);
+        }
+    }
 }
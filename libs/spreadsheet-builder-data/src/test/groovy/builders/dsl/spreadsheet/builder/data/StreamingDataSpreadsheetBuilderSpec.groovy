@@ -0,0 +1,104 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.data
+
+import builders.dsl.spreadsheet.builder.api.SpreadsheetBuilder
+import builders.dsl.spreadsheet.builder.poi.PoiSpreadsheetBuilder
+import builders.dsl.spreadsheet.builder.tck.AbstractBuilderSpec
+import builders.dsl.spreadsheet.parser.data.json.JsonSpreadsheetParser
+import builders.dsl.spreadsheet.query.api.SpreadsheetCriteria
+import builders.dsl.spreadsheet.query.poi.PoiSpreadsheetCriteria
+import com.fasterxml.jackson.core.JsonFactory
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+
+class StreamingDataSpreadsheetBuilderSpec extends AbstractBuilderSpec {
+
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    File spreadsheetFile
+    File jsonFile
+
+    void setup() {
+        spreadsheetFile = tmp.newFile("sample${System.currentTimeMillis()}.xlsx")
+        jsonFile = tmp.newFile("sample${System.currentTimeMillis()}.json")
+    }
+
+    void 'streamed yaml matches the collected data'() {
+        given:
+            ByteArrayOutputStream out = new ByteArrayOutputStream()
+            DataSpreadsheetBuilder collected = DataSpreadsheetBuilder.create()
+            Closure definition = {
+                style 'big', { font { size 12 } }
+                sheet('Sample') {
+                    row {
+                        cell 'A'
+                        cell {
+                            value 10
+                            width(2).cm()
+                        }
+                    }
+                    group {
+                        row(5) {
+                            style 'big'
+                            cell 'B'
+                        }
+                    }
+                    freeze 1, 1
+                }
+            }
+        when:
+            collected.build definition
+            DataSpreadsheetBuilder.stream(out, new YAMLFactory()).build definition
+        then:
+            new ObjectMapper(new YAMLFactory()).readValue(out.toByteArray(), Map) == collected.data
+    }
+
+    void 'styles cannot be added once they have been streamed'() {
+        when:
+            DataSpreadsheetBuilder.stream(new ByteArrayOutputStream(), new JsonFactory()).build definition
+        then:
+            IllegalStateException e = thrown(IllegalStateException)
+            e.message.startsWith("All styles must be defined before the first of ${children} when streaming")
+        where:
+            children | definition
+            'sheets' | { style 'a', { font { size 12 } }; sheet('Sample') { row { cell 'A' } }; style 'b', { font { size 14 } } }
+            'cells'  | { sheet('Sample') { row { style 'a'; cell 'A'; style 'b' } } }
+    }
+
+    @Override
+    protected SpreadsheetCriteria createCriteria() {
+        return PoiSpreadsheetCriteria.FACTORY.forFile(spreadsheetFile)
+    }
+
+    @Override
+    protected SpreadsheetBuilder createSpreadsheetBuilder() {
+        return DataSpreadsheetBuilder.stream(jsonFile.newOutputStream(), new JsonFactory())
+    }
+
+    @Override
+    protected void openSpreadsheet() {
+        SpreadsheetBuilder poiBuilder = PoiSpreadsheetBuilder.create(spreadsheetFile)
+        new JsonSpreadsheetParser(poiBuilder).stream(jsonFile.newInputStream())
+
+        open spreadsheetFile
+    }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.parser.data
+
+import builders.dsl.spreadsheet.builder.api.SpreadsheetBuilder
+import builders.dsl.spreadsheet.builder.data.DataSpreadsheetBuilder
+import builders.dsl.spreadsheet.parser.data.cbor.CborSpreadsheetParser
+import builders.dsl.spreadsheet.parser.data.json.JsonSpreadsheetParser
+import builders.dsl.spreadsheet.parser.data.smile.SmileSpreadsheetParser
+import com.fasterxml.jackson.core.JsonFactory
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory
+import com.fasterxml.jackson.dataformat.smile.SmileFactory
+import spock.lang.Requires
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class BinaryDataFormatsSpec extends Specification {
+
+    @Unroll
+    void "#format definition is read the same as the json one"() {
+        given:
+            byte[] payload = write(factory, 10, 10)
+            DataSpreadsheetBuilder expected = DataSpreadsheetBuilder.create()
+            DataSpreadsheetBuilder parsed = DataSpreadsheetBuilder.create()
+            DataSpreadsheetBuilder streamed = DataSpreadsheetBuilder.create()
+
+        when:
+            new JsonSpreadsheetParser(expected).parse(new ByteArrayInputStream(write(new JsonFactory(), 10, 10)))
+            parse(format, parsed, payload, false)
+            parse(format, streamed, payload, true)
+
+        then:
+            parsed.data == expected.data
+            streamed.data == expected.data
+
+        where:
+            format  | factory
+            'smile' | new SmileFactory()
+            'cbor'  | new CBORFactory()
+    }
+
+    @Requires({ sys['benchmark'] })
+    void "benchmark binary formats against json"() {
+        given:
+            Map<String, byte[]> payloads = [
+                json : write(new JsonFactory(), 1000, 1000),
+                smile: write(new SmileFactory(), 1000, 1000),
+                cbor : write(new CBORFactory(), 1000, 1000),
+            ]
+
+        when:
+            payloads.each { String format, byte[] payload ->
+                for (boolean stream in [false, true]) {
+                    long best = Long.MAX_VALUE
+                    3.times {
+                        // the parsed definition is discarded so the target costs the same for each format
+                        SpreadsheetBuilder builder = DataSpreadsheetBuilder.stream(new OutputStream() {
+                            @Override
+                            void write(int b) { }
+                        }, new SmileFactory())
+                        long start = System.nanoTime()
+                        parse(format, builder, payload, stream)
+                        best = Math.min(best, System.nanoTime() - start)
+                    }
+                    println "Reading 1M cells from ${format}${stream ? ' stream' : ''}: ${payload.length} bytes, ${best / 1000000} ms"
+                }
+            }
+
+        then:
+            payloads.smile.length < payloads.json.length
+            payloads.cbor.length < payloads.json.length
+    }
+
+    private static void parse(String format, SpreadsheetBuilder builder, byte[] payload, boolean stream) {
+        InputStream input = new ByteArrayInputStream(payload)
+        Object parser
+        switch (format) {
+            case 'smile':
+                parser = new SmileSpreadsheetParser(builder)
+                break
+            case 'cbor':
+                parser = new CborSpreadsheetParser(builder)
+                break
+            default:
+                parser = new JsonSpreadsheetParser(builder)
+        }
+        if (stream) {
+            parser.stream(input)
+        } else {
+            parser.parse(input)
+        }
+    }
+
+    private static byte[] write(JsonFactory factory, int rows, int columns) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream()
+        DataSpreadsheetBuilder.stream(out, factory).build { w ->
+            w.style('highlighted') { s -> s.background('#ffff00') }
+            w.sheet('Data') { s ->
+                for (int r = 1; r <= rows; r++) {
+                    int row = r
+                    s.row { rd ->
+                        rd.cell { cd -> cd.value("Row ${row}".toString()).style('highlighted') }
+                        for (int column = 2; column <= columns; column++) {
+                            rd.cell(column % 3 == 0 ? (Object) (row * column) : (Object) (row * column / 7d))
+                        }
+                    }
+                }
+            }
+        }
+        return out.toByteArray()
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.parser.data
+
+import builders.dsl.spreadsheet.builder.data.DataSpreadsheetBuilder
+import builders.dsl.spreadsheet.parser.data.json.JsonSpreadsheetParser
+import com.fasterxml.jackson.databind.ObjectMapper
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+
+class ParallelDataSpreadsheetParserSpec extends Specification {
+
+    @Shared @AutoCleanup('shutdown') ExecutorService executor = Executors.newFixedThreadPool(4)
+
+    void 'sheets decoded in parallel are built the same as the sequential ones'() {
+        given:
+            Object definition = new ObjectMapper().readValue(JsonSpreadsheetParser.getResourceAsStream('sheet.json'), Object)
+            DataSpreadsheetBuilder sequential = DataSpreadsheetBuilder.create()
+            DataSpreadsheetBuilder parallel = DataSpreadsheetBuilder.create()
+
+        when:
+            new DataSpreadsheetParser(sequential).build(definition)
+            new DataSpreadsheetParser(parallel, executor).build(definition)
+
+        then:
+            parallel.data.sheets.size() == 21
+            parallel.data == sequential.data
+    }
+
+    void 'errors of the sheets decoded in parallel are reported with the path'() {
+        given:
+            Map<String, Object> definition = [sheets: [
+                [name: 'First', rows: [[cells: ['A']]]],
+                [name: 'Second', rows: [[cells: [[bogus: 2]]]]],
+            ]]
+            DataSpreadsheetBuilder builder = DataSpreadsheetBuilder.create()
+
+        when:
+            new DataSpreadsheetParser(builder, executor).build(definition)
+
+        then:
+            InvalidPropertyException e = thrown(InvalidPropertyException)
+            e.path == 'sheets[1][0].cells[0]'
+    }
+
+    void 'errors of the builder replaying the sheets decoded in parallel are reported with the path'() {
+        given:
+            Map<String, Object> definition = [sheets: [
+                [name: 'First', rows: [[cells: ['A']]]],
+                [name: 'Second', rows: [[cells: ['B', [value: 'C', image: 'file:///nonexistent/missing.png']]]]],
+            ]]
+            DataSpreadsheetBuilder builder = DataSpreadsheetBuilder.create()
+
+        when:
+            new DataSpreadsheetParser(builder, executor).build(definition)
+
+        then:
+            InvalidPropertyException e = thrown(InvalidPropertyException)
+            e.path == 'sheets[1][0].cells[1].image'
+            e.value == 'file:///nonexistent/missing.png'
+            e.cause.message == 'Exception reading file: file:///nonexistent/missing.png'
+    }
+
+}
@@ -0,0 +1,29 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.parser.data.cbor;
+
+import builders.dsl.spreadsheet.builder.api.SpreadsheetBuilder;
+import builders.dsl.spreadsheet.parser.data.AbstractBuilderTest;
+
+public class CborStreamingSpreadsheetParserTest extends AbstractBuilderTest {
+
+    @Override
+    protected void build(SpreadsheetBuilder builder, String sheet) throws Exception {
+        new CborSpreadsheetParser(builder).stream(CborSpreadsheetParserTest.load(sheet));
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.parser.data.smile;
+
+import builders.dsl.spreadsheet.builder.api.SpreadsheetBuilder;
+import builders.dsl.spreadsheet.parser.data.AbstractBuilderTest;
+import builders.dsl.spreadsheet.parser.data.json.JsonSpreadsheetParserTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+public class SmileSpreadsheetParserTest extends AbstractBuilderTest {
+
+    @Override
+    protected void build(SpreadsheetBuilder builder, String sheet) throws Exception {
+        new SmileSpreadsheetParser(builder).parse(load(sheet));
+    }
+
+    /**
+     * Converts the JSON test definition so the same definitions are used for all the formats.
+     * @param sheet the name of the JSON definition
+     * @return the definition converted into the Smile format
+     * @throws IOException if the definition cannot be read
+     */
+    static InputStream load(String sheet) throws IOException {
+        Object definition = new ObjectMapper().readValue(JsonSpreadsheetParserTest.class.getResourceAsStream(sheet + ".json"), Object.class);
+        return new ByteArrayInputStream(new ObjectMapper(new SmileFactory()).writeValueAsBytes(definition));
+    }
+}
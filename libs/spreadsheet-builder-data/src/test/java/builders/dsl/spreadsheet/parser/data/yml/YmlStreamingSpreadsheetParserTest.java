@@ -0,0 +1,50 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.parser.data.yml;
+
+import builders.dsl.spreadsheet.builder.api.SpreadsheetBuilder;
+import builders.dsl.spreadsheet.builder.poi.PoiSpreadsheetBuilder;
+import builders.dsl.spreadsheet.parser.data.AbstractBuilderTest;
+import builders.dsl.spreadsheet.query.api.SpreadsheetCriteria;
+import builders.dsl.spreadsheet.query.poi.PoiSpreadsheetCriteria;
+import org.junit.Test;
+
+import java.io.File;
+
+import static builders.dsl.spreadsheet.api.Color.red;
+import static org.junit.Assert.assertEquals;
+
+public class YmlStreamingSpreadsheetParserTest extends AbstractBuilderTest {
+
+    @Override
+    protected void build(SpreadsheetBuilder builder, String sheet) throws Exception {
+        new YmlSpreadsheetParser(builder).stream(YmlStreamingSpreadsheetParserTest.class.getResourceAsStream(sheet + ".yml"));
+    }
+
+    @Test public void testAnchorsAndAliases() throws Exception {
+        File excel = tmp.newFile();
+        build(PoiSpreadsheetBuilder.create(excel), "anchors");
+
+        SpreadsheetCriteria matcher = PoiSpreadsheetCriteria.FACTORY.forFile(excel);
+
+        assertEquals(3, matcher.all().getCells().size());
+        assertEquals(2, matcher.query(w -> w.sheet(s -> s.row(r -> r.cell(c -> c.string("Hello"))))).getCells().size());
+        assertEquals(1, matcher.query(w -> w.sheet(s -> s.row(r -> r.cell(c -> c.string("World"))))).getCells().size());
+        assertEquals(3, matcher.query(w -> w.sheet(s -> s.row(r -> r.cell(c -> c.style(st -> st.font(f -> f.color(red))))))).getCells().size());
+    }
+}
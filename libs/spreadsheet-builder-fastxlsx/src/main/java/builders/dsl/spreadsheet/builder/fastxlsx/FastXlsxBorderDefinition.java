@@ -0,0 +1,59 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.fastxlsx;
+
+import builders.dsl.spreadsheet.api.Keywords;
+import builders.dsl.spreadsheet.builder.api.BorderDefinition;
+import builders.dsl.spreadsheet.impl.AbstractBorderDefinition;
+
+class FastXlsxBorderDefinition extends AbstractBorderDefinition {
+
+    // in the order of the BorderStyle constants
+    private static final String[] STYLES = {
+        "none", "thin", "medium", "dashed", "dotted", "thick", "double", "hair", "mediumDashed", "dashDot",
+        "mediumDashDot", "dashDotDot", "mediumDashDotDot", "slantDashDot"
+    };
+
+    FastXlsxBorderDefinition(FastXlsxCellStyleDefinition style) {
+        this.style = style;
+    }
+
+    @Override
+    public BorderDefinition color(String hexColor) {
+        color = FastXlsxUtils.parseColor(hexColor);
+        return this;
+    }
+
+    protected void applyTo(Keywords.BorderSide location) {
+        String styleName = borderStyle == null ? null : STYLES[borderStyle.ordinal()];
+        if (Keywords.BorderSideAndVerticalAlignment.BOTTOM.equals(location)) {
+            style.setBorder(FastXlsxCellStyleDefinition.BOTTOM, styleName, color);
+        } else if (Keywords.BorderSideAndVerticalAlignment.TOP.equals(location)) {
+            style.setBorder(FastXlsxCellStyleDefinition.TOP, styleName, color);
+        } else if (Keywords.BorderSideAndHorizontalAlignment.LEFT.equals(location)) {
+            style.setBorder(FastXlsxCellStyleDefinition.LEFT, styleName, color);
+        } else if (Keywords.BorderSideAndHorizontalAlignment.RIGHT.equals(location)) {
+            style.setBorder(FastXlsxCellStyleDefinition.RIGHT, styleName, color);
+        } else {
+            throw new IllegalArgumentException(String.valueOf(location) + " is not supported!");
+        }
+    }
+
+    private final FastXlsxCellStyleDefinition style;
+    private String color;
+}
@@ -0,0 +1,317 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.fastxlsx;
+
+import builders.dsl.spreadsheet.api.Keywords;
+import builders.dsl.spreadsheet.builder.api.CellStyleDefinition;
+import builders.dsl.spreadsheet.builder.api.DimensionModifier;
+import builders.dsl.spreadsheet.builder.api.FontDefinition;
+import builders.dsl.spreadsheet.builder.api.ImageCreator;
+import builders.dsl.spreadsheet.builder.api.LinkDefinition;
+import builders.dsl.spreadsheet.impl.AbstractCellDefinition;
+import builders.dsl.spreadsheet.impl.AbstractCellStyleDefinition;
+import builders.dsl.spreadsheet.impl.AbstractPendingFormula;
+import builders.dsl.spreadsheet.impl.DefaultCommentDefinition;
+import builders.dsl.spreadsheet.impl.HeightModifier;
+import builders.dsl.spreadsheet.impl.RichTextPart;
+import builders.dsl.spreadsheet.impl.WidthModifier;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Calendar;
+import java.util.Date;
+
+class FastXlsxCellDefinition extends AbstractCellDefinition {
+
+    FastXlsxCellDefinition(FastXlsxRowDefinition row, int column) {
+        super(row);
+        this.column = column;
+    }
+
+    @Override
+    public FastXlsxCellDefinition value(Object value) {
+        if (value == null) {
+            this.value = null;
+            return this;
+        }
+
+        if (value instanceof Number) {
+            this.value = ((Number) value).doubleValue();
+            return this;
+        }
+
+        if (value instanceof Date) {
+            this.value = FastXlsxUtils.toExcelDate(LocalDateTime.ofInstant(((Date) value).toInstant(), ZoneId.systemDefault()));
+            return this;
+        }
+
+        if (value instanceof Calendar) {
+            Calendar calendar = (Calendar) value;
+            this.value = FastXlsxUtils.toExcelDate(LocalDateTime.ofInstant(calendar.toInstant(), calendar.getTimeZone().toZoneId()));
+            return this;
+        }
+
+        if (value instanceof LocalDate) {
+            this.value = FastXlsxUtils.toExcelDate(((LocalDate) value).atStartOfDay());
+            return this;
+        }
+
+        if (value instanceof LocalTime) {
+            this.value = FastXlsxUtils.toExcelDate(LocalDateTime.of(LocalDate.of(1900, 1, 1), (LocalTime) value));
+            return this;
+        }
+
+        if (value instanceof LocalDateTime) {
+            this.value = FastXlsxUtils.toExcelDate((LocalDateTime) value);
+            return this;
+        }
+
+        if (value instanceof Boolean) {
+            this.value = value;
+            return this;
+        }
+
+        this.value = value.toString();
+        return this;
+    }
+
+    @Override
+    protected AbstractPendingFormula createPendingFormula(String formula) {
+        return new FastXlsxPendingFormula(this, formula);
+    }
+
+    @Override
+    protected AbstractCellStyleDefinition createCellStyle() {
+        return new FastXlsxCellStyleDefinition(getRow().getSheet().getWorkbook());
+    }
+
+    @Override
+    protected void assignStyle(CellStyleDefinition cellStyle) {
+        if (cellStyle instanceof FastXlsxCellStyleDefinition) {
+            ((FastXlsxCellStyleDefinition) cellStyle).assignTo(this);
+        } else {
+            throw new IllegalArgumentException("Unsupported style: " + cellStyle);
+        }
+    }
+
+    @Override
+    protected void doName(String name) {
+        FastXlsxSheetDefinition sheet = getRow().getSheet();
+        sheet.getWorkbook().defineName(name, FastXlsxUtils.absoluteReference(sheet.getName(), getRowIndex(), column));
+    }
+
+    @Override
+    protected LinkDefinition createLinkDefinition() {
+        return new FastXlsxLinkDefinition(this);
+    }
+
+    @Override
+    protected FontDefinition createFontDefinition() {
+        return new FastXlsxFontDefinition();
+    }
+
+    @Override
+    protected void applyComment(DefaultCommentDefinition comment) {
+        throw new UnsupportedOperationException("Comments are not supported by the fast XLSX builder");
+    }
+
+    @Override
+    public DimensionModifier width(double width) {
+        getRow().getSheet().setColumnWidth(column, Math.round(width * 255D) / 256D);
+        return new WidthModifier(this, width, WIDTH_POINTS_PER_CM, WIDTH_POINTS_PER_INCH);
+    }
+
+    @Override
+    public DimensionModifier height(double height) {
+        getRow().setHeight(height);
+        return new HeightModifier(this, height, HEIGHT_POINTS_PER_CM, HEIGHT_POINTS_PER_INCH);
+    }
+
+    @Override
+    public FastXlsxCellDefinition width(Keywords.Auto auto) {
+        getRow().getSheet().addAutoColumn(column);
+        return this;
+    }
+
+    @Override
+    public ImageCreator png(Keywords.Image image) {
+        throw unsupportedImages();
+    }
+
+    @Override
+    public ImageCreator jpeg(Keywords.Image image) {
+        throw unsupportedImages();
+    }
+
+    @Override
+    public ImageCreator pict(Keywords.Image image) {
+        throw unsupportedImages();
+    }
+
+    @Override
+    public ImageCreator emf(Keywords.Image image) {
+        throw unsupportedImages();
+    }
+
+    @Override
+    public ImageCreator wmf(Keywords.Image image) {
+        throw unsupportedImages();
+    }
+
+    @Override
+    public ImageCreator dib(Keywords.Image image) {
+        throw unsupportedImages();
+    }
+
+    private static UnsupportedOperationException unsupportedImages() {
+        return new UnsupportedOperationException("Images are not supported by the fast XLSX builder");
+    }
+
+    @Override
+    public void resolve() {
+        if (cellStyle != null) {
+            // inline styles are only registered when finished so the cells can share the same format
+            assignStyle(cellStyle);
+        }
+    }
+
+    void setStyleIndex(int styleIndex) {
+        this.styleIndex = styleIndex;
+    }
+
+    void setFormula(String formula) {
+        this.formula = formula;
+    }
+
+    int getColumn() {
+        return column;
+    }
+
+    int getRowIndex() {
+        return getRow().getNumber() - 1;
+    }
+
+    String getReference() {
+        return FastXlsxUtils.reference(getRowIndex(), column);
+    }
+
+    /**
+     * Writes the cell to the sheet data.
+     * @param out the sheet data writer
+     * @param sharedStrings the shared strings table of the workbook
+     * @return the length of the displayed text used to guess the width of the column
+     */
+    int writeTo(Writer out, FastXlsxSharedStrings sharedStrings) throws IOException {
+        out.write("<c r=\"");
+        out.write(getReference());
+        out.write('"');
+
+        if (styleIndex > 0) {
+            out.write(" s=\"");
+            out.write(Integer.toString(styleIndex));
+            out.write('"');
+        }
+
+        if (formula != null) {
+            out.write("><f>");
+            out.write(FastXlsxUtils.escape(formula));
+            out.write("</f></c>");
+            return 0;
+        }
+
+        if (richTextParts != null && !richTextParts.isEmpty()) {
+            StringBuilder runs = new StringBuilder();
+            int length = 0;
+            for (RichTextPart part : richTextParts) {
+                runs.append("<r>");
+                if (part.getFont() instanceof FastXlsxFontDefinition) {
+                    runs.append(((FastXlsxFontDefinition) part.getFont()).toRunProperties());
+                }
+                runs.append("<t xml:space=\"preserve\">").append(FastXlsxUtils.escape(part.getText())).append("</t></r>");
+                length += part.getText().length();
+            }
+            writeValue(out, "s", Integer.toString(sharedStrings.addRichText(runs.toString())));
+            return length;
+        }
+
+        if (value instanceof String) {
+            String text = (String) value;
+            writeValue(out, "s", Integer.toString(sharedStrings.add(text)));
+            return text.length();
+        }
+
+        if (value instanceof Double) {
+            double number = (Double) value;
+            if (Double.isNaN(number)) {
+                writeValue(out, "e", "#NUM!");
+                return 0;
+            }
+            if (Double.isInfinite(number)) {
+                writeValue(out, "e", "#DIV/0!");
+                return 0;
+            }
+            String formatted = FastXlsxUtils.formatNumber(number);
+            writeValue(out, null, formatted);
+            return formatted.length();
+        }
+
+        if (value instanceof Boolean) {
+            boolean bool = (Boolean) value;
+            writeValue(out, "b", bool ? "1" : "0");
+            return bool ? 4 : 5;
+        }
+
+        out.write("/>");
+        return 0;
+    }
+
+    private static void writeValue(Writer out, String type, String value) throws IOException {
+        if (type != null) {
+            out.write(" t=\"");
+            out.write(type);
+            out.write('"');
+        }
+        out.write("><v>");
+        out.write(value);
+        out.write("</v></c>");
+    }
+
+    @Override
+    public FastXlsxRowDefinition getRow() {
+        return (FastXlsxRowDefinition) super.getRow();
+    }
+
+    @Override
+    public String toString() {
+        return "Cell[" + getRow().getSheet().getName() + "!" + getReference() + "]=" + value;
+    }
+
+    private static final double WIDTH_POINTS_PER_CM = 4.6666666666666666666667;
+    private static final double WIDTH_POINTS_PER_INCH = 12;
+    private static final double HEIGHT_POINTS_PER_CM = 28;
+    private static final double HEIGHT_POINTS_PER_INCH = 72;
+
+    private final int column;
+    private Object value;
+    private String formula;
+    private int styleIndex;
+}
@@ -0,0 +1,191 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.fastxlsx;
+
+import builders.dsl.spreadsheet.api.ForegroundFill;
+import builders.dsl.spreadsheet.api.Keywords;
+import builders.dsl.spreadsheet.builder.api.FontDefinition;
+import builders.dsl.spreadsheet.impl.AbstractBorderDefinition;
+import builders.dsl.spreadsheet.impl.AbstractCellDefinition;
+import builders.dsl.spreadsheet.impl.AbstractCellStyleDefinition;
+
+class FastXlsxCellStyleDefinition extends AbstractCellStyleDefinition {
+
+    // in the order of the ForegroundFill constants
+    private static final String[] PATTERNS = {
+        "none", "solid", "mediumGray", "darkGray", "lightGray", "darkHorizontal", "darkVertical", "darkDown", "darkUp",
+        "darkGrid", "darkTrellis", "lightHorizontal", "lightVertical", "lightDown", "lightUp", "lightGrid", "lightTrellis"
+    };
+
+    static final int LEFT = 0;
+    static final int RIGHT = 1;
+    static final int TOP = 2;
+    static final int BOTTOM = 3;
+
+    FastXlsxCellStyleDefinition(FastXlsxWorkbookDefinition workbook) {
+        super(workbook);
+    }
+
+    @Override
+    protected void doBackground(String hexColor) {
+        if (foreground == null) {
+            doForeground(hexColor);
+        } else {
+            background = FastXlsxUtils.parseColor(hexColor);
+        }
+    }
+
+    @Override
+    protected void doForeground(String hexColor) {
+        if (foreground != null) {
+            // already set as background color
+            background = foreground;
+        }
+
+        foreground = FastXlsxUtils.parseColor(hexColor);
+
+        if (fill == null || ForegroundFill.NO_FILL.equals(fill)) {
+            fill = ForegroundFill.SOLID_FOREGROUND;
+        }
+    }
+
+    @Override
+    protected void doFill(ForegroundFill fill) {
+        this.fill = fill;
+    }
+
+    @Override
+    protected FontDefinition createFont() {
+        fontDefinition = new FastXlsxFontDefinition();
+        return fontDefinition;
+    }
+
+    @Override
+    protected void doIndent(int indent) {
+        this.indent = indent;
+    }
+
+    @Override
+    protected void doWrapText() {
+        this.wrap = true;
+    }
+
+    @Override
+    protected void doRotation(int rotation) {
+        if (rotation < 0 && rotation >= -90) {
+            // negative angles are stored as values above 90 degrees
+            this.rotation = 90 - rotation;
+        } else {
+            this.rotation = rotation;
+        }
+    }
+
+    @Override
+    protected void doFormat(String format) {
+        this.format = format;
+    }
+
+    @Override
+    protected void doAlign(Keywords.VerticalAlignment verticalAlignment, Keywords.HorizontalAlignment horizontalAlignment) {
+        if (Keywords.VerticalAndHorizontalAlignment.CENTER.equals(verticalAlignment)) {
+            vertical = "center";
+        } else if (Keywords.PureVerticalAlignment.DISTRIBUTED.equals(verticalAlignment)) {
+            vertical = "distributed";
+        } else if (Keywords.VerticalAndHorizontalAlignment.JUSTIFY.equals(verticalAlignment)) {
+            vertical = "justify";
+        } else if (Keywords.BorderSideAndVerticalAlignment.TOP.equals(verticalAlignment)) {
+            vertical = "top";
+        } else if (Keywords.BorderSideAndVerticalAlignment.BOTTOM.equals(verticalAlignment)) {
+            vertical = "bottom";
+        } else {
+            throw new IllegalArgumentException(String.valueOf(verticalAlignment) + " is not supported!");
+        }
+        if (Keywords.BorderSideAndHorizontalAlignment.RIGHT.equals(horizontalAlignment)) {
+            horizontal = "right";
+        } else if (Keywords.BorderSideAndHorizontalAlignment.LEFT.equals(horizontalAlignment)) {
+            horizontal = "left";
+        } else if (Keywords.PureHorizontalAlignment.GENERAL.equals(horizontalAlignment)) {
+            horizontal = "general";
+        } else if (Keywords.VerticalAndHorizontalAlignment.CENTER.equals(horizontalAlignment)) {
+            horizontal = "center";
+        } else if (Keywords.PureHorizontalAlignment.FILL.equals(horizontalAlignment)) {
+            horizontal = "fill";
+        } else if (Keywords.VerticalAndHorizontalAlignment.JUSTIFY.equals(horizontalAlignment)) {
+            horizontal = "justify";
+        } else if (Keywords.PureHorizontalAlignment.CENTER_SELECTION.equals(horizontalAlignment)) {
+            horizontal = "centerContinuous";
+        }
+    }
+
+    @Override
+    protected AbstractBorderDefinition createBorder() {
+        return new FastXlsxBorderDefinition(this);
+    }
+
+    @Override
+    protected void assignTo(AbstractCellDefinition cell) {
+        if (cell instanceof FastXlsxCellDefinition) {
+            ((FastXlsxCellDefinition) cell).setStyleIndex(getIndex());
+        } else {
+            throw new IllegalArgumentException("Cell not supported: " + cell);
+        }
+    }
+
+    void setBorder(int side, String style, String color) {
+        if (style != null) {
+            borderStyles[side] = style;
+        }
+        if (color != null) {
+            borderColors[side] = color;
+        }
+    }
+
+    /**
+     * @return the index of the cell format in the styles table, sealed styles are only registered once
+     */
+    int getIndex() {
+        if (isSealed() && index >= 0) {
+            return index;
+        }
+
+        FastXlsxStylesTable styles = ((FastXlsxWorkbookDefinition) workbook).getStylesTable();
+
+        int numberFormatId = format == null ? 0 : styles.numberFormat(format);
+        int fontId = fontDefinition == null ? 0 : styles.font(fontDefinition.toFont());
+        int fillId = styles.fill(FastXlsxStylesTable.fill(fill == null ? PATTERNS[0] : PATTERNS[fill.ordinal()], foreground, background));
+        int borderId = styles.border(FastXlsxStylesTable.border(borderStyles, borderColors));
+
+        index = styles.format(FastXlsxStylesTable.xf(numberFormatId, fontId, fillId, borderId, horizontal, vertical, wrap, indent, rotation));
+
+        return index;
+    }
+
+    private FastXlsxFontDefinition fontDefinition;
+    private ForegroundFill fill;
+    private String foreground;
+    private String background;
+    private String format;
+    private String horizontal;
+    private String vertical;
+    private boolean wrap;
+    private int indent;
+    private int rotation;
+    private final String[] borderStyles = new String[4];
+    private final String[] borderColors = new String[4];
+    private int index = -1;
+}
@@ -0,0 +1,45 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.fastxlsx;
+
+import builders.dsl.spreadsheet.api.Keywords;
+import builders.dsl.spreadsheet.builder.api.FitDimension;
+
+class FastXlsxFitDimension implements FitDimension {
+
+    FastXlsxFitDimension(FastXlsxPageDefinition pageDefinition, Keywords.Fit fit) {
+        this.pageDefinition = pageDefinition;
+        this.fit = fit;
+    }
+
+    @Override
+    public FastXlsxPageDefinition to(int numberOfPages) {
+        if (Keywords.Fit.HEIGHT.equals(fit)) {
+            pageDefinition.getSheet().setFitHeight(numberOfPages);
+            return pageDefinition;
+        }
+        if (Keywords.Fit.WIDTH.equals(fit)) {
+            pageDefinition.getSheet().setFitWidth(numberOfPages);
+            return pageDefinition;
+        }
+        throw new IllegalStateException();
+    }
+
+    private final FastXlsxPageDefinition pageDefinition;
+    private final Keywords.Fit fit;
+}
@@ -0,0 +1,98 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.fastxlsx;
+
+import builders.dsl.spreadsheet.api.Color;
+import builders.dsl.spreadsheet.api.FontStyle;
+import builders.dsl.spreadsheet.builder.api.FontDefinition;
+
+import java.util.EnumSet;
+
+class FastXlsxFontDefinition implements FontDefinition {
+
+    static final String DEFAULT_NAME = "Calibri";
+    static final int DEFAULT_SIZE = 11;
+
+    @Override
+    public FastXlsxFontDefinition color(String hexColor) {
+        color = FastXlsxUtils.parseColor(hexColor);
+        return this;
+    }
+
+    @Override
+    public FastXlsxFontDefinition color(Color colorPreset) {
+        color(colorPreset.getHex());
+        return this;
+    }
+
+    @Override
+    public FastXlsxFontDefinition size(int size) {
+        this.size = size;
+        return this;
+    }
+
+    @Override
+    public FastXlsxFontDefinition name(String name) {
+        this.name = name;
+        return this;
+    }
+
+    @Override
+    public FastXlsxFontDefinition style(FontStyle first, FontStyle... other) {
+        EnumSet<FontStyle> enumSet = EnumSet.of(first, other);
+        if (enumSet.contains(FontStyle.ITALIC)) {
+            italic = true;
+        }
+
+        if (enumSet.contains(FontStyle.BOLD)) {
+            bold = true;
+        }
+
+        if (enumSet.contains(FontStyle.STRIKEOUT)) {
+            strikeout = true;
+        }
+
+        if (enumSet.contains(FontStyle.UNDERLINE)) {
+            underline = true;
+        }
+
+        return this;
+    }
+
+    /**
+     * @return the font record for the styles table
+     */
+    String toFont() {
+        return FastXlsxStylesTable.font("font", "name", name, size, color, bold, italic, strikeout, underline);
+    }
+
+    /**
+     * @return the run properties for the rich text
+     */
+    String toRunProperties() {
+        return FastXlsxStylesTable.font("rPr", "rFont", name, size, color, bold, italic, strikeout, underline);
+    }
+
+    private String name = DEFAULT_NAME;
+    private int size = DEFAULT_SIZE;
+    private String color;
+    private boolean bold;
+    private boolean italic;
+    private boolean strikeout;
+    private boolean underline;
+}
@@ -0,0 +1,82 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.fastxlsx;
+
+import builders.dsl.spreadsheet.builder.api.LinkDefinition;
+import builders.dsl.spreadsheet.impl.Utils;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+class FastXlsxLinkDefinition implements LinkDefinition {
+
+    FastXlsxLinkDefinition(FastXlsxCellDefinition cell) {
+        this.cell = cell;
+    }
+
+    @Override
+    public FastXlsxCellDefinition name(String name) {
+        cell.getRow().getSheet().getWorkbook().addPendingLink(name, cell);
+        return cell;
+    }
+
+    @Override
+    public FastXlsxCellDefinition email(String email) {
+        addExternalLink("mailto:" + email);
+        return cell;
+    }
+
+    @Override
+    public FastXlsxCellDefinition email(Map<String, ?> parameters, String email) {
+        try {
+            List<String> params = new ArrayList<String>();
+            for (Map.Entry<String, ?> parameter: parameters.entrySet()) {
+                if (parameter.getValue() != null) {
+                    params.add(URLEncoder.encode(parameter.getKey(), "UTF-8") + "=" + URLEncoder.encode(parameter.getValue().toString(), "UTF-8"));
+                } else {
+                    params.add(URLEncoder.encode(parameter.getKey(), "UTF-8"));
+                }
+            }
+            addExternalLink("mailto:" + email + "?" + Utils.join(params, "&"));
+            return cell;
+        } catch (UnsupportedEncodingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public FastXlsxCellDefinition url(String url) {
+        addExternalLink(url);
+        return cell;
+    }
+
+    @Override
+    public FastXlsxCellDefinition file(String path) {
+        addExternalLink(path);
+        return cell;
+    }
+
+    private void addExternalLink(String target) {
+        cell.getRow().getSheet().addHyperlink(cell.getReference(), target, null);
+    }
+
+    private final FastXlsxCellDefinition cell;
+}
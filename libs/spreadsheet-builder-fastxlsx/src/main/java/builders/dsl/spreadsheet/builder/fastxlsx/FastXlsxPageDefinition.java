@@ -0,0 +1,53 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.fastxlsx;
+
+import builders.dsl.spreadsheet.api.Keywords;
+import builders.dsl.spreadsheet.builder.api.FitDimension;
+import builders.dsl.spreadsheet.builder.api.PageDefinition;
+
+class FastXlsxPageDefinition implements PageDefinition {
+
+    FastXlsxPageDefinition(FastXlsxSheetDefinition sheet) {
+        this.sheet = sheet;
+    }
+
+    @Override
+    public FastXlsxPageDefinition orientation(Keywords.Orientation orientation) {
+        sheet.setLandscape(Keywords.Orientation.LANDSCAPE.equals(orientation));
+        return this;
+    }
+
+    @Override
+    public FastXlsxPageDefinition paper(Keywords.Paper paper) {
+        // the paper constants are declared in the order of their codes
+        sheet.setPaperSize(paper.ordinal() + 1);
+        return this;
+    }
+
+    @Override
+    public FitDimension fit(Keywords.Fit widthOrHeight) {
+        return new FastXlsxFitDimension(this, widthOrHeight);
+    }
+
+    final FastXlsxSheetDefinition getSheet() {
+        return sheet;
+    }
+
+    private final FastXlsxSheetDefinition sheet;
+}
@@ -0,0 +1,42 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.fastxlsx;
+
+import builders.dsl.spreadsheet.impl.AbstractPendingLink;
+
+/**
+ * Pending link is a link which needs to be resolved when the named reference is known.
+ */
+class FastXlsxPendingLink extends AbstractPendingLink {
+
+    FastXlsxPendingLink(FastXlsxCellDefinition cell, final String name) {
+        super(cell, name);
+    }
+
+    public void resolve() {
+        FastXlsxCellDefinition cell = (FastXlsxCellDefinition) getCell();
+        String refersTo = cell.getRow().getSheet().getWorkbook().getRefersToFormula(getName());
+
+        if (refersTo == null) {
+            throw new IllegalArgumentException("Name " + getName() + " does not exist!");
+        }
+
+        cell.getRow().getSheet().addHyperlink(cell.getReference(), null, refersTo);
+    }
+
+}
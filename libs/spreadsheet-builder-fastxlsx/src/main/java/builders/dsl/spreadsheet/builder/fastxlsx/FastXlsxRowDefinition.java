@@ -0,0 +1,142 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.fastxlsx;
+
+import builders.dsl.spreadsheet.builder.api.RowDefinition;
+import builders.dsl.spreadsheet.impl.AbstractCellDefinition;
+import builders.dsl.spreadsheet.impl.AbstractRowDefinition;
+
+import java.io.IOException;
+import java.io.Writer;
+
+class FastXlsxRowDefinition extends AbstractRowDefinition implements RowDefinition {
+
+    FastXlsxRowDefinition(FastXlsxSheetDefinition sheet, int zeroBasedRowNumber) {
+        super(sheet);
+        this.zeroBasedRowNumber = zeroBasedRowNumber;
+    }
+
+    @Override
+    protected AbstractCellDefinition createCell(int zeroBasedCellNumber) {
+        return new FastXlsxCellDefinition(this, zeroBasedCellNumber);
+    }
+
+    @Override
+    protected void handleSpans(AbstractCellDefinition cell) {
+        if (cell instanceof FastXlsxCellDefinition) {
+            FastXlsxCellDefinition fastCell = (FastXlsxCellDefinition) cell;
+            if (fastCell.getColspan() > 1 || fastCell.getRowspan() > 1) {
+                getSheet().addMergedRegion(FastXlsxUtils.reference(
+                    zeroBasedRowNumber,
+                    fastCell.getColumn(),
+                    zeroBasedRowNumber + fastCell.getRowspan() - 1,
+                    fastCell.getColumn() + fastCell.getColspan() - 1
+                ));
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported cell: " + cell);
+        }
+    }
+
+    @Override
+    public int getNumber() {
+        return zeroBasedRowNumber + 1;
+    }
+
+    public FastXlsxSheetDefinition getSheet() {
+        return (FastXlsxSheetDefinition) sheet;
+    }
+
+    @Override
+    protected void doCreateGroup(int startPosition, int endPosition, boolean collapsed) {
+        getSheet().groupColumns(startPosition, endPosition, collapsed);
+    }
+
+    void setHeight(double height) {
+        this.height = height;
+    }
+
+    void group(boolean collapsed) {
+        outlineLevel++;
+        if (collapsed) {
+            hidden = true;
+        }
+    }
+
+    void collapse() {
+        this.collapsed = true;
+    }
+
+    int getOutlineLevel() {
+        return outlineLevel;
+    }
+
+    boolean isEmpty() {
+        return getCells().isEmpty();
+    }
+
+    int getFirstColumn() {
+        return getCells().firstKey() - 1;
+    }
+
+    int getLastColumn() {
+        return getCells().lastKey() - 1;
+    }
+
+    void writeTo(Writer out, FastXlsxSheetDefinition sheet, FastXlsxSharedStrings sharedStrings) throws IOException {
+        out.write("<row r=\"");
+        out.write(Integer.toString(getNumber()));
+        out.write('"');
+
+        if (height > 0) {
+            out.write(" ht=\"");
+            out.write(Double.toString(height));
+            out.write("\" customHeight=\"1\"");
+        }
+
+        if (hidden) {
+            out.write(" hidden=\"1\"");
+        }
+
+        if (outlineLevel > 0) {
+            out.write(" outlineLevel=\"");
+            out.write(Integer.toString(outlineLevel));
+            out.write('"');
+        }
+
+        if (collapsed) {
+            out.write(" collapsed=\"1\"");
+        }
+
+        out.write('>');
+
+        for (AbstractCellDefinition cell : getCells().values()) {
+            FastXlsxCellDefinition fastCell = (FastXlsxCellDefinition) cell;
+            int length = fastCell.writeTo(out, sharedStrings);
+            sheet.updateContentLength(fastCell.getColumn(), length);
+        }
+
+        out.write("</row>");
+    }
+
+    private final int zeroBasedRowNumber;
+    private double height;
+    private int outlineLevel;
+    private boolean hidden;
+    private boolean collapsed;
+}
@@ -0,0 +1,70 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.fastxlsx;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shared strings table. The plain strings are deduplicated, the rich text strings are always added as new entries.
+ */
+final class FastXlsxSharedStrings {
+
+    int add(String text) {
+        count++;
+
+        Integer index = indices.get(text);
+
+        if (index == null) {
+            index = entries.size();
+            indices.put(text, index);
+            entries.add("<t xml:space=\"preserve\">" + FastXlsxUtils.escape(text) + "</t>");
+        }
+
+        return index;
+    }
+
+    /**
+     * @param runs the rich text runs already rendered as <code>r</code> elements
+     * @return the index of the new entry
+     */
+    int addRichText(String runs) {
+        count++;
+        entries.add(runs);
+        return entries.size() - 1;
+    }
+
+    void writeTo(Writer out) throws IOException {
+        out.write(FastXlsxUtils.XML_DECLARATION);
+        out.write("<sst xmlns=\"" + FastXlsxUtils.MAIN_NAMESPACE + "\" count=\"" + count + "\" uniqueCount=\"" + entries.size() + "\">");
+        for (String entry : entries) {
+            out.write("<si>");
+            out.write(entry);
+            out.write("</si>");
+        }
+        out.write("</sst>");
+    }
+
+    private final Map<String, Integer> indices = new HashMap<String, Integer>();
+    private final List<String> entries = new ArrayList<String>();
+    private int count;
+}
@@ -0,0 +1,534 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.fastxlsx;
+
+import builders.dsl.spreadsheet.builder.api.PageDefinition;
+import builders.dsl.spreadsheet.builder.api.SheetDefinition;
+import builders.dsl.spreadsheet.impl.AbstractRowDefinition;
+import builders.dsl.spreadsheet.impl.AbstractSheetDefinition;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Sheet definition which writes the rows to a temporary file as soon as they leave the row window. The rows inside
+ * a group which is still being defined are kept until the group is closed. The rest of the worksheet part is
+ * assembled when the workbook is written because the column settings must precede the sheet data.
+ */
+class FastXlsxSheetDefinition extends AbstractSheetDefinition implements SheetDefinition {
+
+    private static final int WIDTH_ARROW_BUTTON = 2;
+    private static final int MAX_COLUMN_WIDTH = 255;
+    private static final String DEFAULT_COLUMN_WIDTH = "9.140625";
+
+    FastXlsxSheetDefinition(FastXlsxWorkbookDefinition workbook, String name, int index) {
+        super(workbook);
+        this.name = name;
+        this.index = index;
+    }
+
+    @Override
+    protected FastXlsxRowDefinition createRow(int zeroBasedRowNumber) {
+        FastXlsxRowDefinition row = new FastXlsxRowDefinition(this, zeroBasedRowNumber);
+        if (collapsedRows.remove(zeroBasedRowNumber)) {
+            row.collapse();
+        }
+        rows.put(zeroBasedRowNumber, row);
+        return row;
+    }
+
+    @Override
+    protected int getRowWindowSize() {
+        return getWorkbook().getRowWindowSize();
+    }
+
+    @Override
+    protected void processEvictedRow(AbstractRowDefinition row) {
+        int zeroBasedRowNumber = ((FastXlsxRowDefinition) row).getNumber() - 1;
+        lastEvictedRowNumber = Math.max(lastEvictedRowNumber, zeroBasedRowNumber);
+
+        int groupStart = getOpenGroupStartPosition();
+        if (groupStart >= 0 && zeroBasedRowNumber >= groupStart) {
+            // the outline level is not known until the group is closed so the row stays in the memory until then
+            return;
+        }
+
+        FastXlsxRowDefinition fastRow = rows.remove(zeroBasedRowNumber);
+        if (fastRow != null) {
+            writeRow(fastRow);
+        }
+    }
+
+    @Override
+    protected PageDefinition createPageDefinition() {
+        return new FastXlsxPageDefinition(this);
+    }
+
+    @Override
+    protected void applyRowGroup(int startPosition, int endPosition, boolean collapsed) {
+        // the rows evicted while the group was open are still kept in the memory
+        for (FastXlsxRowDefinition row : rows.subMap(startPosition, true, endPosition, true).values()) {
+            row.group(collapsed);
+        }
+        if (collapsed) {
+            FastXlsxRowDefinition next = rows.get(endPosition + 1);
+            if (next != null) {
+                next.collapse();
+            } else {
+                collapsedRows.add(endPosition + 1);
+            }
+        }
+        writeRetainedRows();
+    }
+
+    private void writeRetainedRows() {
+        int groupStart = getOpenGroupStartPosition();
+        int writeUpTo = groupStart < 0 ? lastEvictedRowNumber : Math.min(lastEvictedRowNumber, groupStart - 1);
+        while (!rows.isEmpty() && rows.firstKey() <= writeUpTo) {
+            writeRow(rows.pollFirstEntry().getValue());
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public FastXlsxWorkbookDefinition getWorkbook() {
+        return (FastXlsxWorkbookDefinition) super.getWorkbook();
+    }
+
+    @Override
+    protected void doFreeze(int column, int row) {
+        this.freezeColumn = column;
+        this.freezeRow = row;
+    }
+
+    @Override
+    protected void doLock() {
+        locked = true;
+    }
+
+    @Override
+    protected void doHide() {
+        state = "hidden";
+    }
+
+    @Override
+    protected void doHideCompletely() {
+        state = "veryHidden";
+    }
+
+    @Override
+    protected void doShow() {
+        state = "visible";
+    }
+
+    @Override
+    protected void doPassword(String password) {
+        locked = true;
+        passwordHash = FastXlsxUtils.passwordHash(password);
+    }
+
+    @Override
+    protected void processAutoColumns() {
+        // the widths are computed from the written content when the sheet is finished
+    }
+
+    @Override
+    protected void processAutomaticFilter() {
+        // the range is known only when all the rows are written
+    }
+
+    void setColumnWidth(int column, double width) {
+        getColumn(column).width = width;
+    }
+
+    void groupColumns(int first, int last, boolean collapsed) {
+        for (int i = first; i <= last; i++) {
+            Column column = getColumn(i);
+            column.outlineLevel++;
+            if (collapsed) {
+                column.hidden = true;
+            }
+        }
+        if (collapsed) {
+            getColumn(last + 1).collapsed = true;
+        }
+    }
+
+    void addMergedRegion(String reference) {
+        mergedRegions.add(reference);
+    }
+
+    void addHyperlink(String reference, String target, String location) {
+        hyperlinks.add(new Hyperlink(reference, target, location));
+    }
+
+    void updateContentLength(int column, int length) {
+        if (length > 0 && autoColumns.contains(column)) {
+            Column info = getColumn(column);
+            info.contentLength = Math.max(info.contentLength, length);
+        }
+    }
+
+    void setLandscape(boolean landscape) {
+        this.orientation = landscape ? "landscape" : "portrait";
+    }
+
+    void setPaperSize(int paperSize) {
+        this.paperSize = paperSize;
+    }
+
+    void setFitWidth(int fitWidth) {
+        this.fitWidth = fitWidth;
+    }
+
+    void setFitHeight(int fitHeight) {
+        this.fitHeight = fitHeight;
+    }
+
+    int getIndex() {
+        return index;
+    }
+
+    String getState() {
+        return state;
+    }
+
+    /**
+     * @return the range of the automatic filter or <code>null</code> if there is no filter
+     */
+    String getFilterReference() {
+        if (!automaticFilter || lastRow <= 0 || firstRowFirstColumn < 0) {
+            return null;
+        }
+        return FastXlsxUtils.reference(firstRow, firstRowFirstColumn, lastRow, firstRowLastColumn);
+    }
+
+    String getFilterDatabase() {
+        if (getFilterReference() == null) {
+            return null;
+        }
+        return FastXlsxUtils.absoluteReference(name, firstRow, firstRowFirstColumn, lastRow, firstRowLastColumn);
+    }
+
+    boolean hasRelationships() {
+        for (Hyperlink hyperlink : hyperlinks) {
+            if (hyperlink.target != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes the rows which are still kept in the memory.
+     */
+    void finish() {
+        for (FastXlsxRowDefinition row : rows.values()) {
+            writeRow(row);
+        }
+        rows.clear();
+
+        if (sheetData != null) {
+            try {
+                sheetData.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    void writeTo(OutputStream part, boolean selected) throws IOException {
+        Writer out = new BufferedWriter(new OutputStreamWriter(part, StandardCharsets.UTF_8));
+        out.write(FastXlsxUtils.XML_DECLARATION);
+        out.write("<worksheet xmlns=\"" + FastXlsxUtils.MAIN_NAMESPACE + "\" xmlns:r=\"" + FastXlsxUtils.RELATIONSHIPS_NAMESPACE + "\">");
+
+        if (fitWidth >= 0 || fitHeight >= 0) {
+            out.write("<sheetPr><pageSetUpPr fitToPage=\"1\"/></sheetPr>");
+        }
+
+        writeSheetView(out, selected);
+        writeSheetFormat(out);
+        writeColumns(out);
+
+        out.write("<sheetData>");
+        if (sheetDataFile != null) {
+            out.flush();
+            Files.copy(sheetDataFile.toPath(), part);
+        }
+        out.write("</sheetData>");
+
+        if (locked) {
+            out.write("<sheetProtection");
+            if (passwordHash != null) {
+                out.write(" password=\"" + passwordHash + "\" objects=\"1\" scenarios=\"1\"");
+            }
+            out.write(" sheet=\"1\"/>");
+        }
+
+        String filter = getFilterReference();
+        if (filter != null) {
+            out.write("<autoFilter ref=\"" + filter + "\"/>");
+        }
+
+        if (!mergedRegions.isEmpty()) {
+            out.write("<mergeCells count=\"" + mergedRegions.size() + "\">");
+            for (String region : mergedRegions) {
+                out.write("<mergeCell ref=\"" + region + "\"/>");
+            }
+            out.write("</mergeCells>");
+        }
+
+        writeHyperlinks(out);
+
+        out.write("<pageMargins left=\"0.7\" right=\"0.7\" top=\"0.75\" bottom=\"0.75\" header=\"0.3\" footer=\"0.3\"/>");
+
+        if (orientation != null || paperSize > 0 || fitWidth >= 0 || fitHeight >= 0) {
+            out.write("<pageSetup");
+            if (paperSize > 0) {
+                out.write(" paperSize=\"" + paperSize + "\"");
+            }
+            if (fitWidth >= 0) {
+                out.write(" fitToWidth=\"" + fitWidth + "\"");
+            }
+            if (fitHeight >= 0) {
+                out.write(" fitToHeight=\"" + fitHeight + "\"");
+            }
+            if (orientation != null) {
+                out.write(" orientation=\"" + orientation + "\"");
+            }
+            out.write("/>");
+        }
+
+        out.write("</worksheet>");
+        out.flush();
+    }
+
+    void writeRelationshipsTo(Writer out) throws IOException {
+        out.write(FastXlsxUtils.XML_DECLARATION);
+        out.write("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">");
+        int id = 1;
+        for (Hyperlink hyperlink : hyperlinks) {
+            if (hyperlink.target != null) {
+                out.write("<Relationship Id=\"rId" + id++ + "\" Type=\"" + FastXlsxUtils.RELATIONSHIPS_NAMESPACE + "/hyperlink\" Target=\""
+                    + FastXlsxUtils.escape(hyperlink.target) + "\" TargetMode=\"External\"/>");
+            }
+        }
+        out.write("</Relationships>");
+    }
+
+    void dispose() {
+        if (sheetDataFile != null && !sheetDataFile.delete()) {
+            sheetDataFile.deleteOnExit();
+        }
+    }
+
+    private void writeRow(FastXlsxRowDefinition row) {
+        try {
+            if (sheetData == null) {
+                sheetDataFile = File.createTempFile("fastxlsx-sheet", ".xml");
+                sheetData = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(sheetDataFile), StandardCharsets.UTF_8), BUFFER_SIZE);
+            }
+
+            row.writeTo(sheetData, this, getWorkbook().getSharedStrings());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Exception writing " + row, e);
+        }
+
+        int rowIndex = row.getNumber() - 1;
+
+        if (firstRow < 0) {
+            firstRow = rowIndex;
+            if (!row.isEmpty()) {
+                firstRowFirstColumn = row.getFirstColumn();
+                firstRowLastColumn = row.getLastColumn();
+            }
+        }
+
+        lastRow = rowIndex;
+        maxRowOutlineLevel = Math.max(maxRowOutlineLevel, row.getOutlineLevel());
+    }
+
+    private void writeSheetView(Writer out, boolean selected) throws IOException {
+        out.write("<sheetViews><sheetView workbookViewId=\"0\"");
+        if (selected) {
+            out.write(" tabSelected=\"1\"");
+        }
+
+        if (freezeColumn <= 0 && freezeRow <= 0) {
+            out.write("/></sheetViews>");
+            return;
+        }
+
+        out.write("><pane");
+        if (freezeColumn > 0) {
+            out.write(" xSplit=\"" + freezeColumn + "\"");
+        }
+        if (freezeRow > 0) {
+            out.write(" ySplit=\"" + freezeRow + "\"");
+        }
+        String activePane = freezeColumn > 0 ? (freezeRow > 0 ? "bottomRight" : "topRight") : "bottomLeft";
+        out.write(" topLeftCell=\"" + FastXlsxUtils.reference(freezeRow, freezeColumn) + "\" activePane=\"" + activePane + "\" state=\"frozen\"/>");
+        out.write("</sheetView></sheetViews>");
+    }
+
+    private void writeSheetFormat(Writer out) throws IOException {
+        out.write("<sheetFormatPr defaultRowHeight=\"15\"");
+        if (maxRowOutlineLevel > 0) {
+            out.write(" outlineLevelRow=\"" + maxRowOutlineLevel + "\"");
+        }
+        int maxColumnOutlineLevel = 0;
+        for (Column column : columns.values()) {
+            maxColumnOutlineLevel = Math.max(maxColumnOutlineLevel, column.outlineLevel);
+        }
+        if (maxColumnOutlineLevel > 0) {
+            out.write(" outlineLevelCol=\"" + maxColumnOutlineLevel + "\"");
+        }
+        out.write("/>");
+    }
+
+    private void writeColumns(Writer out) throws IOException {
+        if (columns.isEmpty()) {
+            return;
+        }
+
+        out.write("<cols>");
+        for (Map.Entry<Integer, Column> entry : columns.entrySet()) {
+            Column column = entry.getValue();
+            int number = entry.getKey() + 1;
+            out.write("<col min=\"" + number + "\" max=\"" + number + "\"");
+
+            if (column.contentLength > 0) {
+                int width = column.contentLength + WIDTH_ARROW_BUTTON + (automaticFilter ? WIDTH_ARROW_BUTTON : 0);
+                out.write(" width=\"" + Math.min(width, MAX_COLUMN_WIDTH) + "\" customWidth=\"1\"");
+            } else if (column.width != null) {
+                out.write(" width=\"" + column.width + "\" customWidth=\"1\"");
+            } else {
+                out.write(" width=\"" + DEFAULT_COLUMN_WIDTH + "\"");
+            }
+
+            if (column.hidden) {
+                out.write(" hidden=\"1\"");
+            }
+            if (column.outlineLevel > 0) {
+                out.write(" outlineLevel=\"" + column.outlineLevel + "\"");
+            }
+            if (column.collapsed) {
+                out.write(" collapsed=\"1\"");
+            }
+            out.write("/>");
+        }
+        out.write("</cols>");
+    }
+
+    private void writeHyperlinks(Writer out) throws IOException {
+        if (hyperlinks.isEmpty()) {
+            return;
+        }
+
+        out.write("<hyperlinks>");
+        int id = 1;
+        for (Hyperlink hyperlink : hyperlinks) {
+            out.write("<hyperlink ref=\"" + hyperlink.reference + "\"");
+            if (hyperlink.target != null) {
+                out.write(" r:id=\"rId" + id++ + "\"");
+            }
+            if (hyperlink.location != null) {
+                out.write(" location=\"" + FastXlsxUtils.escape(hyperlink.location) + "\"");
+            }
+            out.write("/>");
+        }
+        out.write("</hyperlinks>");
+    }
+
+    private Column getColumn(int index) {
+        Column column = columns.get(index);
+        if (column == null) {
+            column = new Column();
+            columns.put(index, column);
+        }
+        return column;
+    }
+
+    private static final class Column {
+        Double width;
+        int contentLength;
+        int outlineLevel;
+        boolean hidden;
+        boolean collapsed;
+    }
+
+    private static final class Hyperlink {
+        Hyperlink(String reference, String target, String location) {
+            this.reference = reference;
+            this.target = target;
+            this.location = location;
+        }
+
+        final String reference;
+        final String target;
+        final String location;
+    }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final String name;
+    private final int index;
+    private final TreeMap<Integer, FastXlsxRowDefinition> rows = new TreeMap<Integer, FastXlsxRowDefinition>();
+    private final Set<Integer> collapsedRows = new HashSet<Integer>();
+    private final TreeMap<Integer, Column> columns = new TreeMap<Integer, Column>();
+    private final List<String> mergedRegions = new ArrayList<String>();
+    private final List<Hyperlink> hyperlinks = new ArrayList<Hyperlink>();
+
+    private int lastEvictedRowNumber = -1;
+    private File sheetDataFile;
+    private Writer sheetData;
+
+    private String state = "visible";
+    private boolean locked;
+    private String passwordHash;
+    private int freezeColumn;
+    private int freezeRow;
+    private String orientation;
+    private int paperSize;
+    private int fitWidth = -1;
+    private int fitHeight = -1;
+
+    private int firstRow = -1;
+    private int lastRow = -1;
+    private int firstRowFirstColumn = -1;
+    private int firstRowLastColumn = -1;
+    private int maxRowOutlineLevel;
+}
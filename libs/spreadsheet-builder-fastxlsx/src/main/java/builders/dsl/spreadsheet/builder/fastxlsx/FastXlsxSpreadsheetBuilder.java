@@ -0,0 +1,86 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.fastxlsx;
+
+import builders.dsl.spreadsheet.builder.api.SpreadsheetBuilder;
+import builders.dsl.spreadsheet.builder.api.WorkbookDefinition;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.Consumer;
+
+/**
+ * Spreadsheet builder which writes the XLSX package directly without Apache POI. Only the last rows of each sheet
+ * are kept in the memory, the older rows are written as soon as they leave the row window.
+ *
+ * Images and comments are not supported.
+ */
+public class FastXlsxSpreadsheetBuilder implements SpreadsheetBuilder {
+
+    public static final int DEFAULT_ROW_WINDOW_SIZE = 100;
+
+    public static SpreadsheetBuilder create(OutputStream out) {
+        return new FastXlsxSpreadsheetBuilder(out, DEFAULT_ROW_WINDOW_SIZE);
+    }
+
+    public static SpreadsheetBuilder create(File file) throws FileNotFoundException {
+        return new FastXlsxSpreadsheetBuilder(new FileOutputStream(file), DEFAULT_ROW_WINDOW_SIZE);
+    }
+
+    public static SpreadsheetBuilder create(OutputStream out, int rowWindowSize) {
+        return new FastXlsxSpreadsheetBuilder(out, rowWindowSize);
+    }
+
+    public static SpreadsheetBuilder create(File file, int rowWindowSize) throws FileNotFoundException {
+        return new FastXlsxSpreadsheetBuilder(new FileOutputStream(file), rowWindowSize);
+    }
+
+    private final OutputStream outputStream;
+    private final int rowWindowSize;
+
+    private FastXlsxSpreadsheetBuilder(OutputStream outputStream, int rowWindowSize) {
+        if (rowWindowSize <= 0) {
+            throw new IllegalArgumentException("Row window size must be positive. Got: " + rowWindowSize);
+        }
+        this.outputStream = outputStream;
+        this.rowWindowSize = rowWindowSize;
+    }
+
+    @Override
+    public void build(Consumer<WorkbookDefinition> workbookDefinition) {
+        FastXlsxWorkbookDefinition workbook = new FastXlsxWorkbookDefinition(rowWindowSize);
+        try {
+            workbookDefinition.accept(workbook);
+            workbook.resolve();
+            workbook.writeTo(outputStream);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            workbook.dispose();
+            try {
+                outputStream.close();
+            } catch (IOException ignored) {
+                // do nothing
+            }
+        }
+    }
+
+}
@@ -0,0 +1,233 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.fastxlsx;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Styles table keeps the fonts, fills, borders, number formats and cell formats written to the styles part.
+ * The records are keyed by their XML representation so the definitions with the same attributes share the same
+ * record.
+ */
+final class FastXlsxStylesTable {
+
+    private static final int FIRST_CUSTOM_NUMBER_FORMAT = 164;
+    private static final String[] BORDER_SIDES = { "left", "right", "top", "bottom" };
+
+    static final String DEFAULT_FONT = font("font", "name", FastXlsxFontDefinition.DEFAULT_NAME, FastXlsxFontDefinition.DEFAULT_SIZE, null, false, false, false, false);
+    static final String NO_FILL = fill("none", null, null);
+    static final String GRAY_FILL = fill("gray125", null, null);
+    static final String NO_BORDER = border(new String[4], new String[4]);
+    static final String DEFAULT_FORMAT = xf(0, 0, 0, 0, null, null, false, 0, 0);
+
+    FastXlsxStylesTable() {
+        register(fonts, DEFAULT_FONT);
+        register(fills, NO_FILL);
+        register(fills, GRAY_FILL);
+        register(borders, NO_BORDER);
+        register(formats, DEFAULT_FORMAT);
+    }
+
+    int font(String font) {
+        return register(fonts, font);
+    }
+
+    int fill(String fill) {
+        return register(fills, fill);
+    }
+
+    int border(String border) {
+        return register(borders, border);
+    }
+
+    int numberFormat(String formatCode) {
+        if ("General".equals(formatCode)) {
+            return 0;
+        }
+
+        Integer id = numberFormats.get(formatCode);
+
+        if (id == null) {
+            id = FIRST_CUSTOM_NUMBER_FORMAT + numberFormats.size();
+            numberFormats.put(formatCode, id);
+        }
+
+        return id;
+    }
+
+    int format(String xf) {
+        return register(formats, xf);
+    }
+
+    int size() {
+        return formats.size();
+    }
+
+    void writeTo(Writer out) throws IOException {
+        out.write(FastXlsxUtils.XML_DECLARATION);
+        out.write("<styleSheet xmlns=\"" + FastXlsxUtils.MAIN_NAMESPACE + "\">");
+
+        if (!numberFormats.isEmpty()) {
+            out.write("<numFmts count=\"" + numberFormats.size() + "\">");
+            for (Map.Entry<String, Integer> format : numberFormats.entrySet()) {
+                out.write("<numFmt numFmtId=\"" + format.getValue() + "\" formatCode=\"" + FastXlsxUtils.escape(format.getKey()) + "\"/>");
+            }
+            out.write("</numFmts>");
+        }
+
+        writeRecords(out, "fonts", fonts);
+        writeRecords(out, "fills", fills);
+        writeRecords(out, "borders", borders);
+
+        out.write("<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>");
+
+        writeRecords(out, "cellXfs", formats);
+
+        out.write("<cellStyles count=\"1\"><cellStyle name=\"Normal\" xfId=\"0\" builtinId=\"0\"/></cellStyles>");
+        out.write("</styleSheet>");
+    }
+
+    static String font(String element, String nameElement, String name, int size, String color, boolean bold, boolean italic, boolean strikeout, boolean underline) {
+        StringBuilder font = new StringBuilder("<").append(element).append('>');
+        if (bold) {
+            font.append("<b/>");
+        }
+        if (italic) {
+            font.append("<i/>");
+        }
+        if (strikeout) {
+            font.append("<strike/>");
+        }
+        if (underline) {
+            font.append("<u/>");
+        }
+        font.append("<sz val=\"").append(size).append("\"/>");
+        if (color != null) {
+            font.append("<color rgb=\"").append(color).append("\"/>");
+        }
+        font.append('<').append(nameElement).append(" val=\"").append(FastXlsxUtils.escape(name)).append("\"/>");
+        return font.append("</").append(element).append('>').toString();
+    }
+
+    static String fill(String pattern, String foreground, String background) {
+        StringBuilder fill = new StringBuilder("<fill><patternFill patternType=\"").append(pattern).append('"');
+        if (foreground == null && background == null) {
+            return fill.append("/></fill>").toString();
+        }
+        fill.append('>');
+        if (foreground != null) {
+            fill.append("<fgColor rgb=\"").append(foreground).append("\"/>");
+        }
+        if (background != null) {
+            fill.append("<bgColor rgb=\"").append(background).append("\"/>");
+        }
+        return fill.append("</patternFill></fill>").toString();
+    }
+
+    /**
+     * @param styles the border styles in order left, right, top and bottom
+     * @param colors the border colors in order left, right, top and bottom
+     * @return the border record
+     */
+    static String border(String[] styles, String[] colors) {
+        StringBuilder border = new StringBuilder("<border>");
+        for (int i = 0; i < BORDER_SIDES.length; i++) {
+            border.append('<').append(BORDER_SIDES[i]);
+            if (styles[i] != null) {
+                border.append(" style=\"").append(styles[i]).append('"');
+            }
+            if (colors[i] != null) {
+                border.append("><color rgb=\"").append(colors[i]).append("\"/></").append(BORDER_SIDES[i]).append('>');
+            } else {
+                border.append("/>");
+            }
+        }
+        return border.append("<diagonal/></border>").toString();
+    }
+
+    static String xf(int numberFormatId, int fontId, int fillId, int borderId, String horizontal, String vertical, boolean wrap, int indent, int rotation) {
+        StringBuilder xf = new StringBuilder("<xf numFmtId=\"").append(numberFormatId)
+            .append("\" fontId=\"").append(fontId)
+            .append("\" fillId=\"").append(fillId)
+            .append("\" borderId=\"").append(borderId)
+            .append("\" xfId=\"0\"");
+
+        if (numberFormatId != 0) {
+            xf.append(" applyNumberFormat=\"1\"");
+        }
+        if (fontId != 0) {
+            xf.append(" applyFont=\"1\"");
+        }
+        if (fillId != 0) {
+            xf.append(" applyFill=\"1\"");
+        }
+        if (borderId != 0) {
+            xf.append(" applyBorder=\"1\"");
+        }
+
+        if (horizontal == null && vertical == null && !wrap && indent == 0 && rotation == 0) {
+            return xf.append("/>").toString();
+        }
+
+        xf.append(" applyAlignment=\"1\"><alignment");
+        if (horizontal != null) {
+            xf.append(" horizontal=\"").append(horizontal).append('"');
+        }
+        if (vertical != null) {
+            xf.append(" vertical=\"").append(vertical).append('"');
+        }
+        if (rotation != 0) {
+            xf.append(" textRotation=\"").append(rotation).append('"');
+        }
+        if (wrap) {
+            xf.append(" wrapText=\"1\"");
+        }
+        if (indent != 0) {
+            xf.append(" indent=\"").append(indent).append('"');
+        }
+        return xf.append("/></xf>").toString();
+    }
+
+    private static int register(Map<String, Integer> records, String record) {
+        Integer id = records.get(record);
+
+        if (id == null) {
+            id = records.size();
+            records.put(record, id);
+        }
+
+        return id;
+    }
+
+    private static void writeRecords(Writer out, String element, Map<String, Integer> records) throws IOException {
+        out.write("<" + element + " count=\"" + records.size() + "\">");
+        for (String record : records.keySet()) {
+            out.write(record);
+        }
+        out.write("</" + element + ">");
+    }
+
+    private final Map<String, Integer> fonts = new LinkedHashMap<String, Integer>();
+    private final Map<String, Integer> fills = new LinkedHashMap<String, Integer>();
+    private final Map<String, Integer> borders = new LinkedHashMap<String, Integer>();
+    private final Map<String, Integer> numberFormats = new LinkedHashMap<String, Integer>();
+    private final Map<String, Integer> formats = new LinkedHashMap<String, Integer>();
+}
@@ -0,0 +1,228 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.fastxlsx;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Helper methods for writing the SpreadsheetML parts.
+ */
+final class FastXlsxUtils {
+
+    static final String MAIN_NAMESPACE = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    static final String RELATIONSHIPS_NAMESPACE = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+
+    private static final int MAX_SHEET_NAME_LENGTH = 31;
+    private static final LocalDate EXCEL_EPOCH = LocalDate.of(1899, 12, 31);
+    private static final LocalDate EXCEL_LEAP_YEAR_BUG = LocalDate.of(1900, 3, 1);
+    private static final double NANOS_PER_DAY = 24D * 60 * 60 * 1000 * 1000 * 1000;
+    private static final Pattern COLOR = Pattern.compile("#([\\dA-F]{2})([\\dA-F]{2})([\\dA-F]{2})");
+
+    private FastXlsxUtils() { }
+
+    static String escape(String text) {
+        int first = 0;
+        while (first < text.length() && !needsEscaping(text.charAt(first))) {
+            first++;
+        }
+        if (first == text.length()) {
+            return text;
+        }
+        StringBuilder builder = new StringBuilder(text.length() + 16).append(text, 0, first);
+        for (int i = first; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&':
+                    builder.append("&amp;");
+                    break;
+                case '<':
+                    builder.append("&lt;");
+                    break;
+                case '>':
+                    builder.append("&gt;");
+                    break;
+                case '"':
+                    builder.append("&quot;");
+                    break;
+                case '\t':
+                case '\n':
+                case '\r':
+                    builder.append(c);
+                    break;
+                default:
+                    if (c < 0x20 || c == 0xFFFE || c == 0xFFFF) {
+                        // characters not allowed in XML are encoded the same way as Excel does
+                        builder.append(String.format("_x%04X_", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+            }
+        }
+        return builder.toString();
+    }
+
+    private static boolean needsEscaping(char c) {
+        return c == '&' || c == '<' || c == '>' || c == '"' || c < 0x20 && c != '\t' && c != '\n' && c != '\r' || c == 0xFFFE || c == 0xFFFF;
+    }
+
+    /**
+     * @param zeroBasedColumn the index of the column
+     * @return the column letters such as <code>A</code> or <code>AB</code>
+     */
+    static String column(int zeroBasedColumn) {
+        StringBuilder letters = new StringBuilder(3);
+        int remaining = zeroBasedColumn + 1;
+        while (remaining > 0) {
+            int modulo = (remaining - 1) % 26;
+            letters.insert(0, (char) ('A' + modulo));
+            remaining = (remaining - modulo) / 26;
+        }
+        return letters.toString();
+    }
+
+    static String reference(int zeroBasedRow, int zeroBasedColumn) {
+        return column(zeroBasedColumn) + (zeroBasedRow + 1);
+    }
+
+    static String reference(int firstRow, int firstColumn, int lastRow, int lastColumn) {
+        return reference(firstRow, firstColumn) + ":" + reference(lastRow, lastColumn);
+    }
+
+    static String absoluteReference(String sheetName, int zeroBasedRow, int zeroBasedColumn) {
+        return quote(sheetName) + "!$" + column(zeroBasedColumn) + "$" + (zeroBasedRow + 1);
+    }
+
+    static String absoluteReference(String sheetName, int firstRow, int firstColumn, int lastRow, int lastColumn) {
+        return absoluteReference(sheetName, firstRow, firstColumn) + ":$" + column(lastColumn) + "$" + (lastRow + 1);
+    }
+
+    private static String quote(String sheetName) {
+        return "'" + sheetName.replace("'", "''") + "'";
+    }
+
+    /**
+     * Replaces the characters which are not allowed in the sheet names the same way as POI's
+     * <code>WorkbookUtil.createSafeSheetName</code> does.
+     * @param name the desired name of the sheet
+     * @return the name which can be used as the sheet name
+     */
+    static String safeSheetName(String name) {
+        if (name == null || name.isEmpty()) {
+            return "null";
+        }
+        StringBuilder safe = new StringBuilder(Math.min(MAX_SHEET_NAME_LENGTH, name.length()));
+        for (int i = 0; i < name.length() && safe.length() < MAX_SHEET_NAME_LENGTH; i++) {
+            char c = name.charAt(i);
+            switch (c) {
+                case '/':
+                case '\\':
+                case '?':
+                case '*':
+                case ']':
+                case '[':
+                case ':':
+                    safe.append(' ');
+                    break;
+                case '\'':
+                    if (i == 0 || i == name.length() - 1 || safe.length() == MAX_SHEET_NAME_LENGTH - 1) {
+                        safe.append(' ');
+                    } else {
+                        safe.append(c);
+                    }
+                    break;
+                default:
+                    safe.append(c);
+            }
+        }
+        return safe.toString();
+    }
+
+    /**
+     * Computes the legacy password verifier used by the sheet protection.
+     * @param password the password
+     * @return the four digit hexadecimal verifier
+     */
+    static String passwordHash(String password) {
+        int verifier = 0;
+        if (password.isEmpty()) {
+            return "0000";
+        }
+        for (int i = password.length() - 1; i >= 0; i--) {
+            verifier = rotateLeftBase15Bit(verifier);
+            verifier ^= ansiByte(password.charAt(i));
+        }
+        verifier = rotateLeftBase15Bit(verifier);
+        verifier ^= password.length();
+        verifier ^= 0x8000 | ('N' << 8) | 'K';
+        return String.format("%04X", verifier & 0xFFFF);
+    }
+
+    private static int ansiByte(char c) {
+        int low = c & 0xFF;
+        return low != 0 ? low : (c >>> 8) & 0xFF;
+    }
+
+    private static int rotateLeftBase15Bit(int value) {
+        return ((value & 0x4000) == 0 ? 0 : 1) | ((value << 1) & 0x7FFF);
+    }
+
+    /**
+     * Converts the date and time to the serial number used by Excel in the default 1900 date system.
+     * @param dateTime the date and time
+     * @return the serial number or <code>-1</code> for the dates before the year 1900
+     */
+    static double toExcelDate(LocalDateTime dateTime) {
+        LocalDate date = dateTime.toLocalDate();
+        if (date.getYear() < 1900) {
+            return -1;
+        }
+        long days = ChronoUnit.DAYS.between(EXCEL_EPOCH, date);
+        if (!date.isBefore(EXCEL_LEAP_YEAR_BUG)) {
+            // Excel treats 1900 as a leap year
+            days++;
+        }
+        return days + dateTime.toLocalTime().toNanoOfDay() / NANOS_PER_DAY;
+    }
+
+    static String formatNumber(double number) {
+        if (number == Math.rint(number) && Math.abs(number) < 1e15) {
+            return Long.toString((long) number);
+        }
+        return Double.toString(number);
+    }
+
+    static String parseColor(String hex) {
+        if (hex == null) {
+            throw new IllegalArgumentException("Please, provide the color in '#abcdef' hex string format");
+        }
+
+        Matcher match = COLOR.matcher(hex.toUpperCase());
+
+        if (!match.matches()) {
+            throw new IllegalArgumentException("Cannot parse color " + hex + ". Please, provide the color in '#abcdef' hex string format");
+        }
+
+        return "FF" + match.group(1) + match.group(2) + match.group(3);
+    }
+
+}
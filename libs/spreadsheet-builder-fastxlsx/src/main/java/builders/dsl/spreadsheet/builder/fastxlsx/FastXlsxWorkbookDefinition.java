@@ -0,0 +1,243 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.fastxlsx;
+
+import builders.dsl.spreadsheet.builder.api.WorkbookDefinition;
+import builders.dsl.spreadsheet.impl.AbstractWorkbookDefinition;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+class FastXlsxWorkbookDefinition extends AbstractWorkbookDefinition implements WorkbookDefinition {
+
+    private static final String FILTER_DATABASE = "_xlnm._FilterDatabase";
+
+    private final int rowWindowSize;
+    private final FastXlsxStylesTable stylesTable = new FastXlsxStylesTable();
+    private final FastXlsxSharedStrings sharedStrings = new FastXlsxSharedStrings();
+    private final Map<String, FastXlsxSheetDefinition> sheets = new LinkedHashMap<String, FastXlsxSheetDefinition>();
+    private final Map<String, String> names = new LinkedHashMap<String, String>();
+
+    FastXlsxWorkbookDefinition(int rowWindowSize) {
+        this.rowWindowSize = rowWindowSize;
+    }
+
+    @Override
+    protected FastXlsxSheetDefinition createSheet(String name) {
+        String safeName = FastXlsxUtils.safeSheetName(name);
+        FastXlsxSheetDefinition sheet = sheets.get(safeName);
+        if (sheet == null) {
+            sheet = new FastXlsxSheetDefinition(this, safeName, sheets.size());
+            sheets.put(safeName, sheet);
+        }
+        return sheet;
+    }
+
+    @Override
+    protected FastXlsxCellStyleDefinition createCellStyle() {
+        return new FastXlsxCellStyleDefinition(this);
+    }
+
+    int getRowWindowSize() {
+        return rowWindowSize;
+    }
+
+    FastXlsxStylesTable getStylesTable() {
+        return stylesTable;
+    }
+
+    FastXlsxSharedStrings getSharedStrings() {
+        return sharedStrings;
+    }
+
+    void defineName(String name, String refersTo) {
+        if (names.containsKey(name)) {
+            throw new IllegalArgumentException("The workbook already contains this name: " + name);
+        }
+        names.put(name, refersTo);
+    }
+
+    String getRefersToFormula(String name) {
+        return names.get(name);
+    }
+
+    void addPendingLink(String ref, FastXlsxCellDefinition cell) {
+        addPendingLink(new FastXlsxPendingLink(cell, ref));
+    }
+
+    void writeTo(OutputStream outputStream) throws IOException {
+        List<FastXlsxSheetDefinition> sheetList = new ArrayList<FastXlsxSheetDefinition>(sheets.values());
+
+        for (FastXlsxSheetDefinition sheet : sheetList) {
+            sheet.finish();
+        }
+
+        int activeSheet = 0;
+        for (FastXlsxSheetDefinition sheet : sheetList) {
+            if ("visible".equals(sheet.getState())) {
+                activeSheet = sheet.getIndex();
+                break;
+            }
+        }
+
+        ZipOutputStream zip = new ZipOutputStream(outputStream);
+
+        for (FastXlsxSheetDefinition sheet : sheetList) {
+            zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + (sheet.getIndex() + 1) + ".xml"));
+            sheet.writeTo(zip, sheet.getIndex() == activeSheet);
+            zip.closeEntry();
+
+            if (sheet.hasRelationships()) {
+                zip.putNextEntry(new ZipEntry("xl/worksheets/_rels/sheet" + (sheet.getIndex() + 1) + ".xml.rels"));
+                Writer out = createWriter(zip);
+                sheet.writeRelationshipsTo(out);
+                out.flush();
+                zip.closeEntry();
+            }
+        }
+
+        zip.putNextEntry(new ZipEntry("xl/sharedStrings.xml"));
+        Writer out = createWriter(zip);
+        sharedStrings.writeTo(out);
+        out.flush();
+        zip.closeEntry();
+
+        zip.putNextEntry(new ZipEntry("xl/styles.xml"));
+        out = createWriter(zip);
+        stylesTable.writeTo(out);
+        out.flush();
+        zip.closeEntry();
+
+        zip.putNextEntry(new ZipEntry("xl/workbook.xml"));
+        out = createWriter(zip);
+        writeWorkbook(out, sheetList, activeSheet);
+        out.flush();
+        zip.closeEntry();
+
+        zip.putNextEntry(new ZipEntry("xl/_rels/workbook.xml.rels"));
+        out = createWriter(zip);
+        writeWorkbookRelationships(out, sheetList);
+        out.flush();
+        zip.closeEntry();
+
+        zip.putNextEntry(new ZipEntry("_rels/.rels"));
+        out = createWriter(zip);
+        out.write(FastXlsxUtils.XML_DECLARATION);
+        out.write("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">");
+        out.write("<Relationship Id=\"rId1\" Type=\"" + FastXlsxUtils.RELATIONSHIPS_NAMESPACE + "/officeDocument\" Target=\"xl/workbook.xml\"/>");
+        out.write("</Relationships>");
+        out.flush();
+        zip.closeEntry();
+
+        zip.putNextEntry(new ZipEntry("[Content_Types].xml"));
+        out = createWriter(zip);
+        writeContentTypes(out, sheetList);
+        out.flush();
+        zip.closeEntry();
+
+        zip.finish();
+    }
+
+    /**
+     * Deletes the temporary files created while building the workbook.
+     */
+    void dispose() {
+        for (FastXlsxSheetDefinition sheet : sheets.values()) {
+            sheet.dispose();
+        }
+    }
+
+    private void writeWorkbook(Writer out, List<FastXlsxSheetDefinition> sheetList, int activeSheet) throws IOException {
+        out.write(FastXlsxUtils.XML_DECLARATION);
+        out.write("<workbook xmlns=\"" + FastXlsxUtils.MAIN_NAMESPACE + "\" xmlns:r=\"" + FastXlsxUtils.RELATIONSHIPS_NAMESPACE + "\">");
+        out.write("<bookViews><workbookView activeTab=\"" + activeSheet + "\"/></bookViews>");
+
+        out.write("<sheets>");
+        for (FastXlsxSheetDefinition sheet : sheetList) {
+            out.write("<sheet name=\"" + FastXlsxUtils.escape(sheet.getName()) + "\" sheetId=\"" + (sheet.getIndex() + 1) + "\"");
+            if (!"visible".equals(sheet.getState())) {
+                out.write(" state=\"" + sheet.getState() + "\"");
+            }
+            out.write(" r:id=\"rId" + (sheet.getIndex() + 1) + "\"/>");
+        }
+        out.write("</sheets>");
+
+        List<String> definedNames = new ArrayList<String>();
+        for (FastXlsxSheetDefinition sheet : sheetList) {
+            String filterDatabase = sheet.getFilterDatabase();
+            if (filterDatabase != null) {
+                definedNames.add("<definedName name=\"" + FILTER_DATABASE + "\" localSheetId=\"" + sheet.getIndex() + "\" hidden=\"1\">" + FastXlsxUtils.escape(filterDatabase) + "</definedName>");
+            }
+        }
+        for (Map.Entry<String, String> name : names.entrySet()) {
+            definedNames.add("<definedName name=\"" + FastXlsxUtils.escape(name.getKey()) + "\">" + FastXlsxUtils.escape(name.getValue()) + "</definedName>");
+        }
+
+        if (!definedNames.isEmpty()) {
+            out.write("<definedNames>");
+            for (String definedName : definedNames) {
+                out.write(definedName);
+            }
+            out.write("</definedNames>");
+        }
+
+        out.write("<calcPr fullCalcOnLoad=\"1\"/>");
+        out.write("</workbook>");
+    }
+
+    private void writeWorkbookRelationships(Writer out, List<FastXlsxSheetDefinition> sheetList) throws IOException {
+        out.write(FastXlsxUtils.XML_DECLARATION);
+        out.write("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">");
+        for (FastXlsxSheetDefinition sheet : sheetList) {
+            int number = sheet.getIndex() + 1;
+            out.write("<Relationship Id=\"rId" + number + "\" Type=\"" + FastXlsxUtils.RELATIONSHIPS_NAMESPACE + "/worksheet\" Target=\"worksheets/sheet" + number + ".xml\"/>");
+        }
+        out.write("<Relationship Id=\"rId" + (sheetList.size() + 1) + "\" Type=\"" + FastXlsxUtils.RELATIONSHIPS_NAMESPACE + "/styles\" Target=\"styles.xml\"/>");
+        out.write("<Relationship Id=\"rId" + (sheetList.size() + 2) + "\" Type=\"" + FastXlsxUtils.RELATIONSHIPS_NAMESPACE + "/sharedStrings\" Target=\"sharedStrings.xml\"/>");
+        out.write("</Relationships>");
+    }
+
+    private static void writeContentTypes(Writer out, List<FastXlsxSheetDefinition> sheetList) throws IOException {
+        out.write(FastXlsxUtils.XML_DECLARATION);
+        out.write("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">");
+        out.write("<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>");
+        out.write("<Default Extension=\"xml\" ContentType=\"application/xml\"/>");
+        out.write("<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>");
+        for (FastXlsxSheetDefinition sheet : sheetList) {
+            out.write("<Override PartName=\"/xl/worksheets/sheet" + (sheet.getIndex() + 1) + ".xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+        }
+        out.write("<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>");
+        out.write("<Override PartName=\"/xl/sharedStrings.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sharedStrings+xml\"/>");
+        out.write("</Types>");
+    }
+
+    private static Writer createWriter(OutputStream part) {
+        // the writer is only flushed, closing it would close the whole archive
+        return new BufferedWriter(new OutputStreamWriter(part, StandardCharsets.UTF_8));
+    }
+}
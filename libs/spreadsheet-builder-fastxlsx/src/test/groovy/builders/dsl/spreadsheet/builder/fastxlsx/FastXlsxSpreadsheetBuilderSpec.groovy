@@ -0,0 +1,286 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.fastxlsx
+
+import builders.dsl.spreadsheet.builder.api.SpreadsheetBuilder
+import builders.dsl.spreadsheet.builder.tck.AbstractBuilderSpec
+import builders.dsl.spreadsheet.query.api.SpreadsheetCriteria
+import builders.dsl.spreadsheet.query.poi.PoiSpreadsheetCriteria
+import org.apache.poi.ss.usermodel.CellType
+import org.apache.poi.ss.usermodel.FillPatternType
+import org.apache.poi.ss.usermodel.HorizontalAlignment
+import org.apache.poi.ss.usermodel.SheetVisibility
+import org.apache.poi.xssf.usermodel.XSSFSheet
+import org.apache.poi.xssf.usermodel.XSSFWorkbook
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+
+import java.time.LocalDate
+
+class FastXlsxSpreadsheetBuilderSpec extends AbstractBuilderSpec {
+
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    File tmpFile
+
+    void setup() {
+        tmpFile = tmp.newFile("sample${System.currentTimeMillis()}.xlsx")
+    }
+
+    @Override
+    protected SpreadsheetCriteria createCriteria() {
+        return PoiSpreadsheetCriteria.FACTORY.forFile(tmpFile)
+    }
+
+    @Override
+    protected SpreadsheetBuilder createSpreadsheetBuilder() {
+        return FastXlsxSpreadsheetBuilder.create(tmpFile)
+    }
+
+    @Override
+    protected void openSpreadsheet() {
+        open tmpFile
+    }
+
+    @Override
+    protected boolean isCommentSupported() {
+        return false
+    }
+
+    void "written workbook can be read by poi"() {
+        given:
+            ByteArrayOutputStream out = new ByteArrayOutputStream()
+
+        when:
+            FastXlsxSpreadsheetBuilder.create(out, 10).build {
+                style 'header', {
+                    foreground '#ff0000'
+                    align center, center
+                    font {
+                        style bold
+                        size 14
+                    }
+                    border(bottom) {
+                        style thin
+                        color '#000000'
+                    }
+                }
+                sheet('Data') {
+                    freeze 0, 1
+                    filter auto
+                    row {
+                        cell {
+                            value 'Name'
+                            styles 'header'
+                            width auto
+                        }
+                        cell {
+                            value 'Value'
+                            styles 'header'
+                        }
+                        cell {
+                            value 'Date'
+                            styles 'header'
+                            width 20
+                        }
+                    }
+                    (1..50).each { int i ->
+                        row {
+                            cell "Row & <$i>"
+                            cell i * 1.5
+                            cell {
+                                value LocalDate.of(2020, 1, i % 28 + 1)
+                                style {
+                                    format 'd.m.y'
+                                }
+                            }
+                        }
+                    }
+                    row {
+                        cell {
+                            value 10
+                            name '_Total'
+                        }
+                        cell {
+                            formula 'SUM(#{_Total},1)'
+                            colspan 2
+                        }
+                    }
+                    row {
+                        cell {
+                            value 'Documentation'
+                            link to url 'https://example.com/?a=1&b=2'
+                        }
+                        cell {
+                            value 'Total'
+                            link to name '_Total'
+                        }
+                        cell {
+                            text 'Rich'
+                            text ' Text', {
+                                style italic
+                            }
+                        }
+                    }
+                    group {
+                        row {
+                            cell true
+                        }
+                        row {
+                            cell false
+                        }
+                    }
+                    page {
+                        orientation landscape
+                        paper a4
+                    }
+                }
+                sheet('Secret') {
+                    state hidden
+                    password 'secret'
+                    row {
+                        cell 'hidden'
+                    }
+                }
+            }
+
+            XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))
+            XSSFSheet sheet = workbook.getSheet('Data')
+
+        then:
+            sheet.lastRowNum == 54
+
+            sheet.getRow(0).getCell(0).stringCellValue == 'Name'
+            sheet.getRow(0).getCell(0).cellStyle.font.bold
+            sheet.getRow(0).getCell(0).cellStyle.font.fontHeightInPoints == 14
+            sheet.getRow(0).getCell(0).cellStyle.fillPattern == FillPatternType.SOLID_FOREGROUND
+            sheet.getRow(0).getCell(0).cellStyle.fillForegroundColorColor.ARGBHex == 'FFFF0000'
+            sheet.getRow(0).getCell(0).cellStyle.alignment == HorizontalAlignment.CENTER
+            sheet.getRow(0).getCell(0).cellStyle.index == sheet.getRow(0).getCell(2).cellStyle.index
+            sheet.getColumnWidth(2) == 20 * 255
+
+            sheet.getRow(1).getCell(0).stringCellValue == 'Row & <1>'
+            sheet.getRow(1).getCell(1).numericCellValue == 1.5d
+            sheet.getRow(1).getCell(2).localDateTimeCellValue.toLocalDate() == LocalDate.of(2020, 1, 2)
+            sheet.getRow(1).getCell(2).cellStyle.dataFormatString == 'd.m.y'
+            sheet.getRow(1).getCell(2).cellStyle.index == sheet.getRow(50).getCell(2).cellStyle.index
+
+            sheet.getRow(51).getCell(1).cellType == CellType.FORMULA
+            sheet.getRow(51).getCell(1).cellFormula == "SUM('Data'!\$A\$52,1)"
+            workbook.getName('_Total').refersToFormula == "'Data'!\$A\$52"
+            sheet.mergedRegions*.formatAsString() == ['B52:C52']
+
+            sheet.getRow(52).getCell(0).hyperlink.address == 'https://example.com/?a=1&b=2'
+            sheet.getRow(52).getCell(1).hyperlink.address == "'Data'!\$A\$52"
+            sheet.getRow(52).getCell(2).richStringCellValue.string == 'Rich Text'
+            sheet.getRow(52).getCell(2).richStringCellValue.numFormattingRuns() == 2
+
+            sheet.getRow(53).outlineLevel == 1
+            sheet.getRow(54).getCell(0).booleanCellValue == false
+
+            sheet.paneInformation.frozen
+            sheet.CTWorksheet.autoFilter.ref == 'A1:C55'
+            sheet.printSetup.landscape
+
+            workbook.getSheetVisibility(workbook.getSheetIndex('Secret')) == SheetVisibility.HIDDEN
+            workbook.getSheet('Secret').protect
+            workbook.getSheet('Secret').validateSheetPassword('secret')
+    }
+
+    void "rows outside of the row window cannot be accessed"() {
+        when:
+            FastXlsxSpreadsheetBuilder.create(new ByteArrayOutputStream(), 10).build {
+                sheet('Window') {
+                    20.times { int i ->
+                        row {
+                            cell i
+                        }
+                    }
+                    row(1) {
+                        cell 'already written'
+                    }
+                }
+            }
+        then:
+            IllegalStateException e = thrown(IllegalStateException)
+            e.message.startsWith('Row 1 of Sheet[Window] is no longer available')
+    }
+
+    void "rows leaving the row window inside a group are grouped"() {
+        given:
+            ByteArrayOutputStream out = new ByteArrayOutputStream()
+        when:
+            FastXlsxSpreadsheetBuilder.create(out, 10).build {
+                sheet('Groups') {
+                    row {
+                        cell 'Header'
+                    }
+                    collapse {
+                        30.times { int i ->
+                            row {
+                                cell i
+                            }
+                        }
+                    }
+                    row {
+                        cell 'Footer'
+                    }
+                }
+            }
+            XSSFSheet sheet = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray())).getSheet('Groups')
+        then:
+            sheet.getRow(0).outlineLevel == 0
+            (1..30).every { int i ->
+                sheet.getRow(i).outlineLevel == 1 && sheet.getRow(i).zeroHeight && sheet.getRow(i).getCell(0).numericCellValue == i - 1
+            }
+            sheet.getRow(31).outlineLevel == 0
+            sheet.getRow(31).CTRow.collapsed
+    }
+
+    void "images are not supported"() {
+        when:
+            FastXlsxSpreadsheetBuilder.create(new ByteArrayOutputStream()).build {
+                sheet('Images') {
+                    row {
+                        cell {
+                            png image from 'https://goo.gl/UcXRRB'
+                        }
+                    }
+                }
+            }
+        then:
+            thrown(UnsupportedOperationException)
+    }
+
+    void "comments are not supported"() {
+        when:
+            FastXlsxSpreadsheetBuilder.create(new ByteArrayOutputStream()).build {
+                sheet('Comments') {
+                    row {
+                        cell {
+                            value 'Commented'
+                            comment 'Not supported'
+                        }
+                    }
+                }
+            }
+        then:
+            thrown(UnsupportedOperationException)
+    }
+
+}
@@ -22,6 +22,7 @@ import builders.dsl.spreadsheet.builder.api.*;
 import builders.dsl.spreadsheet.impl.*;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -114,7 +115,7 @@ class PoiCellDefinition extends AbstractCellDefinition {
 
     @Override
     protected FontDefinition createFontDefinition() {
-        return new PoiFontDefinition(this.getRow().getSheet().getWorkbook().getWorkbook());
+        return new PoiFontDefinition(this.getRow().getSheet().getWorkbook().getFontRegistry());
     }
 
     @Override
@@ -184,6 +185,11 @@ class PoiCellDefinition extends AbstractCellDefinition {
 
     @Override
     public void resolve() {
+        if (cellStyle instanceof PoiCellStyleDefinition && !cellStyle.isSealed()) {
+            // inline styles are only assigned when finished so the cells can share the pooled style
+            ((PoiCellStyleDefinition) cellStyle).assignTo(this);
+        }
+
         if (richTextParts != null && richTextParts.size() > 0) {
 
             List<String> texts = new ArrayList<String>();
@@ -206,9 +212,8 @@ class PoiCellDefinition extends AbstractCellDefinition {
         }
 
         if ((getColspan() > 1 || getRowspan() > 1) && cellStyle != null && cellStyle instanceof PoiCellStyleDefinition) {
-            ((PoiCellStyleDefinition) cellStyle).setBorderTo(getCellRangeAddress(), getRow().getSheet());
-            // XXX: setting border messes up the style of the cell
-            ((PoiCellStyleDefinition) cellStyle).assignTo(this);
+            // the borders of all the merged regions are applied at once when the sheet is resolved
+            getRow().getSheet().addMergedBorder(getCellRangeAddress(), (XSSFCellStyle) cell.getCellStyle());
         }
 
     }
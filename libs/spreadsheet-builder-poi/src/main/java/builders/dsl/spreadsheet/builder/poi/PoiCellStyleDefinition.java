@@ -24,8 +24,6 @@ import builders.dsl.spreadsheet.impl.AbstractBorderDefinition;
 import builders.dsl.spreadsheet.impl.AbstractCellDefinition;
 import builders.dsl.spreadsheet.impl.AbstractCellStyleDefinition;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.ss.util.CellRangeAddress;
-import org.apache.poi.ss.util.RegionUtil;
 import org.apache.poi.xssf.usermodel.DefaultIndexedColorMap;
 import org.apache.poi.xssf.usermodel.XSSFCellStyle;
 import org.apache.poi.xssf.usermodel.XSSFColor;
@@ -39,18 +37,14 @@ class PoiCellStyleDefinition extends AbstractCellStyleDefinition {
 
     PoiCellStyleDefinition(PoiCellDefinition cell) {
         super(cell.getRow().getSheet().getWorkbook());
-        Workbook workbook = cell.getCell().getSheet().getWorkbook();
-        if (cell.getCell().getCellStyle().equals(workbook.getCellStyleAt(0))) {
-            style = (XSSFCellStyle) workbook.createCellStyle();
-            cell.getCell().setCellStyle(style);
-        } else {
-            style = (XSSFCellStyle) cell.getCell().getCellStyle();
-        }
+        this.style = getWorkbook().getCellStylePool().draft(cell.getCell().getCellStyle());
+        this.pooled = true;
     }
 
     PoiCellStyleDefinition(PoiWorkbookDefinition workbook) {
         super(workbook);
         this.style = (XSSFCellStyle) workbook.getWorkbook().createCellStyle();
+        this.pooled = false;
     }
 
     @Override
@@ -134,7 +128,8 @@ class PoiCellStyleDefinition extends AbstractCellStyleDefinition {
 
     @Override
     protected FontDefinition createFont() {
-        return new PoiFontDefinition(getWorkbook().getWorkbook(), style);
+        fontDefinition = new PoiFontDefinition(getWorkbook().getFontRegistry());
+        return fontDefinition;
     }
 
     @Override
@@ -203,7 +198,14 @@ class PoiCellStyleDefinition extends AbstractCellStyleDefinition {
     protected void assignTo(AbstractCellDefinition cell) {
         if (cell instanceof PoiCellDefinition) {
             PoiCellDefinition poiCellDefinition = (PoiCellDefinition) cell;
-            poiCellDefinition.getCell().setCellStyle(style);
+            if (fontDefinition != null) {
+                style.setFont(fontDefinition.getFont());
+            }
+            if (pooled) {
+                poiCellDefinition.getCell().setCellStyle(getWorkbook().getCellStylePool().intern(style));
+            } else {
+                poiCellDefinition.getCell().setCellStyle(style);
+            }
         } else {
             throw new IllegalArgumentException("Cell not supported: " + cell);
         }
@@ -229,16 +231,7 @@ class PoiCellStyleDefinition extends AbstractCellStyleDefinition {
         return new XSSFColor(new byte[]{red, green, blue}, INDEXED_COLOR_MAP);
     }
 
-    void setBorderTo(CellRangeAddress address, PoiSheetDefinition sheet) {
-        RegionUtil.setBorderBottom(style.getBorderBottom(), address, sheet.getSheet());
-        RegionUtil.setBorderLeft(style.getBorderLeft(), address, sheet.getSheet());
-        RegionUtil.setBorderRight(style.getBorderRight(), address, sheet.getSheet());
-        RegionUtil.setBorderTop(style.getBorderTop(), address, sheet.getSheet());
-        RegionUtil.setBottomBorderColor(style.getBottomBorderColor(), address, sheet.getSheet());
-        RegionUtil.setLeftBorderColor(style.getLeftBorderColor(), address, sheet.getSheet());
-        RegionUtil.setRightBorderColor(style.getRightBorderColor(), address, sheet.getSheet());
-        RegionUtil.setTopBorderColor(style.getTopBorderColor(), address, sheet.getSheet());
-    }
-
     private final XSSFCellStyle style;
+    private final boolean pooled;
+    private PoiFontDefinition fontDefinition;
 }
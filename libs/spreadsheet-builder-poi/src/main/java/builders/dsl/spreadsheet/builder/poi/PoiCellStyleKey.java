@@ -0,0 +1,111 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.poi;
+
+import org.apache.poi.ss.usermodel.HorizontalAlignment;
+import org.apache.poi.ss.usermodel.VerticalAlignment;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTXf;
+
+import java.util.Objects;
+
+/**
+ * Value key of the finished cell style.
+ * <p>
+ * Fills, borders and number formats are already deduplicated by the styles table and fonts are deduplicated by
+ * {@link PoiFontRegistry} so their indices are sufficient.
+ */
+final class PoiCellStyleKey {
+
+    static PoiCellStyleKey of(XSSFCellStyle style) {
+        CTXf xf = style.getCoreXf();
+        return new PoiCellStyleKey(
+                style.getDataFormat(),
+                xf.getFontId(),
+                xf.getFillId(),
+                xf.getBorderId(),
+                style.getAlignment(),
+                style.getVerticalAlignment(),
+                style.getWrapText(),
+                style.getIndention(),
+                style.getRotation(),
+                style.getLocked(),
+                style.getHidden()
+        );
+    }
+
+    private PoiCellStyleKey(short format, long font, long fill, long border, HorizontalAlignment horizontalAlignment, VerticalAlignment verticalAlignment, boolean wrap, short indent, short rotation, boolean locked, boolean hidden) {
+        this.format = format;
+        this.font = font;
+        this.fill = fill;
+        this.border = border;
+        this.horizontalAlignment = horizontalAlignment;
+        this.verticalAlignment = verticalAlignment;
+        this.wrap = wrap;
+        this.indent = indent;
+        this.rotation = rotation;
+        this.locked = locked;
+        this.hidden = hidden;
+        this.hashCode = Objects.hash(format, font, fill, border, horizontalAlignment, verticalAlignment, wrap, indent, rotation, locked, hidden);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PoiCellStyleKey)) {
+            return false;
+        }
+        PoiCellStyleKey other = (PoiCellStyleKey) o;
+        return format == other.format
+                && font == other.font
+                && fill == other.fill
+                && border == other.border
+                && wrap == other.wrap
+                && indent == other.indent
+                && rotation == other.rotation
+                && locked == other.locked
+                && hidden == other.hidden
+                && horizontalAlignment == other.horizontalAlignment
+                && verticalAlignment == other.verticalAlignment;
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return "CellStyle[format=" + format + ", font=" + font + ", fill=" + fill + ", border=" + border + ", align=" + verticalAlignment + "/" + horizontalAlignment + ", wrap=" + wrap + ", indent=" + indent + ", rotation=" + rotation + "]";
+    }
+
+    private final short format;
+    private final long font;
+    private final long fill;
+    private final long border;
+    private final HorizontalAlignment horizontalAlignment;
+    private final VerticalAlignment verticalAlignment;
+    private final boolean wrap;
+    private final short indent;
+    private final short rotation;
+    private final boolean locked;
+    private final boolean hidden;
+    private final int hashCode;
+}
@@ -0,0 +1,144 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.poi;
+
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTXf;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Pool of the cell styles created from inline style definitions.
+ * <p>
+ * Inline definitions are written into detached draft styles which are not part of the workbook. Once the cell
+ * is resolved the draft is interned and the cell receives the existing style with the same structure or new style
+ * is created in the workbook if none such exists yet.
+ */
+class PoiCellStylePool {
+
+    PoiCellStylePool(Workbook workbook) {
+        this.workbook = workbook;
+        this.stylesTable = getStylesTable(workbook);
+    }
+
+    /**
+     * Creates new draft style which is not registered in the workbook.
+     * @param base the current style of the cell which is going to be the base of the draft
+     * @return new draft style
+     */
+    XSSFCellStyle draft(CellStyle base) {
+        XSSFCellStyle draft = new XSSFCellStyle(stylesTable);
+        CTXf xf = draft.getCoreXf();
+
+        if (base instanceof XSSFCellStyle && base.getIndex() != 0) {
+            xf.set(((XSSFCellStyle) base).getCoreXf());
+            return draft;
+        }
+
+        xf.setNumFmtId(0);
+        xf.setFontId(0);
+        xf.setFillId(0);
+        xf.setBorderId(0);
+        xf.setXfId(0);
+        return draft;
+    }
+
+    /**
+     * Returns the workbook style structurally equal to the given draft, creating one if necessary.
+     * @param draft the finished draft style
+     * @return style registered within the workbook
+     */
+    XSSFCellStyle intern(XSSFCellStyle draft) {
+        PoiCellStyleKey key = PoiCellStyleKey.of(draft);
+        XSSFCellStyle style = styles.get(key);
+
+        if (style != null) {
+            return style;
+        }
+
+        style = (XSSFCellStyle) workbook.createCellStyle();
+        style.getCoreXf().set(draft.getCoreXf());
+        styles.put(key, style);
+        return style;
+    }
+
+    /**
+     * Returns the pooled style equal to the base style with the borders of the given style on the selected sides.
+     * @param base the current style of the cell
+     * @param borders the style carrying the borders
+     * @param sides the sides as the combination of {@link PoiMergedBorders#TOP}, {@link PoiMergedBorders#BOTTOM},
+     *              {@link PoiMergedBorders#LEFT} and {@link PoiMergedBorders#RIGHT}
+     * @return style registered within the workbook
+     */
+    XSSFCellStyle withBorders(XSSFCellStyle base, XSSFCellStyle borders, int sides) {
+        Long key = ((long) (base.getIndex() & 0xFFFF) << 40) | (borders.getCoreXf().getBorderId() << 4) | sides;
+        XSSFCellStyle style = bordered.get(key);
+
+        if (style != null) {
+            return style;
+        }
+
+        XSSFCellStyle draft = draft(base);
+        if ((sides & PoiMergedBorders.TOP) != 0) {
+            draft.setBorderTop(borders.getBorderTop());
+            draft.setTopBorderColor(borders.getTopBorderXSSFColor());
+        }
+        if ((sides & PoiMergedBorders.BOTTOM) != 0) {
+            draft.setBorderBottom(borders.getBorderBottom());
+            draft.setBottomBorderColor(borders.getBottomBorderXSSFColor());
+        }
+        if ((sides & PoiMergedBorders.LEFT) != 0) {
+            draft.setBorderLeft(borders.getBorderLeft());
+            draft.setLeftBorderColor(borders.getLeftBorderXSSFColor());
+        }
+        if ((sides & PoiMergedBorders.RIGHT) != 0) {
+            draft.setBorderRight(borders.getBorderRight());
+            draft.setRightBorderColor(borders.getRightBorderXSSFColor());
+        }
+
+        // keep the current style if the borders are the same already
+        style = draft.getCoreXf().getBorderId() == base.getCoreXf().getBorderId() ? base : intern(draft);
+        bordered.put(key, style);
+        return style;
+    }
+
+    int size() {
+        return styles.size();
+    }
+
+    private static StylesTable getStylesTable(Workbook workbook) {
+        if (workbook instanceof SXSSFWorkbook) {
+            return ((SXSSFWorkbook) workbook).getXSSFWorkbook().getStylesSource();
+        }
+        if (workbook instanceof XSSFWorkbook) {
+            return ((XSSFWorkbook) workbook).getStylesSource();
+        }
+        throw new IllegalArgumentException("Only XSSF and SXSSF workbooks are supported");
+    }
+
+    private final Workbook workbook;
+    private final StylesTable stylesTable;
+    private final Map<PoiCellStyleKey, XSSFCellStyle> styles = new HashMap<PoiCellStyleKey, XSSFCellStyle>();
+    private final Map<Long, XSSFCellStyle> bordered = new HashMap<Long, XSSFCellStyle>();
+}
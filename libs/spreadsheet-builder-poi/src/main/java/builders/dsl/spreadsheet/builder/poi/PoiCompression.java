@@ -0,0 +1,111 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.poi;
+
+import java.util.zip.Deflater;
+
+/**
+ * Compression settings for writing the workbook parts in parallel.
+ *
+ * The parts are compressed concurrently and the large parts are split into chunks which are deflated independently
+ * (using the tail of the previous chunk as the dictionary) so even a single large sheet can use all the threads.
+ */
+public final class PoiCompression {
+
+    public static final int DEFAULT_CHUNK_SIZE = 128 * 1024;
+
+    /**
+     * @param level the deflate compression level from 0 to 9 or {@link Deflater#DEFAULT_COMPRESSION}
+     * @return settings deflating the parts with the given level using all available processors
+     */
+    public static PoiCompression deflate(int level) {
+        if ((level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION) && level != Deflater.DEFAULT_COMPRESSION) {
+            throw new IllegalArgumentException("Compression level must be between 0 and 9 or -1 for the default level. Got: " + level);
+        }
+        return new PoiCompression(false, level, Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @return settings deflating the parts with the default level using all available processors
+     */
+    public static PoiCompression deflate() {
+        return deflate(Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * @return settings storing the parts without any compression, useful if the file is compressed later anyway
+     */
+    public static PoiCompression stored() {
+        return new PoiCompression(true, Deflater.NO_COMPRESSION, 1, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param threads the number of threads used to compress the parts
+     * @return new settings using given number of threads
+     */
+    public PoiCompression threads(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Number of threads must be positive. Got: " + threads);
+        }
+        return new PoiCompression(stored, level, threads, chunkSize);
+    }
+
+    /**
+     * @param chunkSize the number of uncompressed bytes deflated by a single task
+     * @return new settings using given chunk size
+     */
+    public PoiCompression chunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive. Got: " + chunkSize);
+        }
+        return new PoiCompression(stored, level, threads, chunkSize);
+    }
+
+    public boolean isStored() {
+        return stored;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    @Override
+    public String toString() {
+        return "PoiCompression[" + (stored ? "stored" : "level=" + level) + ", threads=" + threads + ", chunkSize=" + chunkSize + "]";
+    }
+
+    private PoiCompression(boolean stored, int level, int threads, int chunkSize) {
+        this.stored = stored;
+        this.level = level;
+        this.threads = threads;
+        this.chunkSize = chunkSize;
+    }
+
+    private final boolean stored;
+    private final int level;
+    private final int threads;
+    private final int chunkSize;
+}
@@ -21,26 +21,24 @@ import builders.dsl.spreadsheet.api.Color;
 import builders.dsl.spreadsheet.api.FontStyle;
 import builders.dsl.spreadsheet.builder.api.FontDefinition;
 import org.apache.poi.ss.usermodel.FontUnderline;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFCellStyle;
 import org.apache.poi.xssf.usermodel.XSSFFont;
 
 import java.util.EnumSet;
 
+/**
+ * Font definition collects the attributes in a detached draft font. The font record is looked up in the registry
+ * only when the font is requested so the definitions with the same attributes share the same font.
+ */
 class PoiFontDefinition implements FontDefinition {
 
-    PoiFontDefinition(Workbook workbook) {
-        font = (XSSFFont) workbook.createFont();
-    }
-
-    PoiFontDefinition(Workbook workbook, XSSFCellStyle style) {
-        font = (XSSFFont) workbook.createFont();
-        style.setFont(font);
+    PoiFontDefinition(PoiFontRegistry registry) {
+        this.registry = registry;
     }
 
     @Override
     public PoiFontDefinition color(String hexColor) {
-        font.setColor(PoiCellStyleDefinition.parseColor(hexColor));
+        draft.setColor(PoiCellStyleDefinition.parseColor(hexColor));
+        font = null;
         return this;
     }
 
@@ -52,13 +50,15 @@ class PoiFontDefinition implements FontDefinition {
 
     @Override
     public PoiFontDefinition size(int size) {
-        font.setFontHeightInPoints((short) size);
+        draft.setFontHeightInPoints((short) size);
+        font = null;
         return this;
     }
 
     @Override
     public PoiFontDefinition name(String name) {
-        font.setFontName(name);
+        draft.setFontName(name);
+        font = null;
         return this;
     }
 
@@ -66,30 +66,36 @@ class PoiFontDefinition implements FontDefinition {
     public PoiFontDefinition style(FontStyle first, FontStyle... other) {
         EnumSet<FontStyle> enumSet = EnumSet.of(first, other);
         if (enumSet.contains(FontStyle.ITALIC)){
-            font.setItalic(true);
+            draft.setItalic(true);
         }
 
 
         if (enumSet.contains(FontStyle.BOLD)){
-            font.setBold(true);
+            draft.setBold(true);
         }
 
 
         if (enumSet.contains(FontStyle.STRIKEOUT)){
-            font.setStrikeout(true);
+            draft.setStrikeout(true);
         }
 
 
         if (enumSet.contains(FontStyle.UNDERLINE)){
-            font.setUnderline(FontUnderline.SINGLE);
+            draft.setUnderline(FontUnderline.SINGLE);
         }
 
+        font = null;
         return this;
     }
 
     XSSFFont getFont() {
+        if (font == null) {
+            font = registry.register(draft);
+        }
         return font;
     }
 
-    private final XSSFFont font;
+    private final PoiFontRegistry registry;
+    private final XSSFFont draft = new XSSFFont();
+    private XSSFFont font;
 }
@@ -0,0 +1,97 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.poi;
+
+import org.apache.poi.xssf.usermodel.XSSFColor;
+import org.apache.poi.xssf.usermodel.XSSFFont;
+
+import java.util.Objects;
+
+/**
+ * Value key capturing the attributes of the font which are configurable using the builder.
+ */
+final class PoiFontKey {
+
+    static PoiFontKey of(XSSFFont font) {
+        return new PoiFontKey(
+                font.getFontName(),
+                font.getFontHeight(),
+                getColor(font),
+                font.getBold(),
+                font.getItalic(),
+                font.getUnderline(),
+                font.getStrikeout()
+        );
+    }
+
+    private static String getColor(XSSFFont font) {
+        XSSFColor color = font.getXSSFColor();
+        if (color != null && color.getARGBHex() != null) {
+            return color.getARGBHex();
+        }
+        return String.valueOf(font.getColor());
+    }
+
+    private PoiFontKey(String name, short height, String color, boolean bold, boolean italic, byte underline, boolean strikeout) {
+        this.name = name;
+        this.height = height;
+        this.color = color;
+        this.bold = bold;
+        this.italic = italic;
+        this.underline = underline;
+        this.strikeout = strikeout;
+        this.hashCode = Objects.hash(name, height, color, bold, italic, underline, strikeout);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PoiFontKey)) {
+            return false;
+        }
+        PoiFontKey other = (PoiFontKey) o;
+        return height == other.height
+                && bold == other.bold
+                && italic == other.italic
+                && underline == other.underline
+                && strikeout == other.strikeout
+                && Objects.equals(name, other.name)
+                && Objects.equals(color, other.color);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return "Font[" + name + ", " + height + ", " + color + ", bold=" + bold + ", italic=" + italic + ", underline=" + underline + ", strikeout=" + strikeout + "]";
+    }
+
+    private final String name;
+    private final short height;
+    private final String color;
+    private final boolean bold;
+    private final boolean italic;
+    private final byte underline;
+    private final boolean strikeout;
+    private final int hashCode;
+}
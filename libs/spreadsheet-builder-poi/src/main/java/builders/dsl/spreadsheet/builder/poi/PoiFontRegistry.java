@@ -0,0 +1,72 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.poi;
+
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFColor;
+import org.apache.poi.xssf.usermodel.XSSFFont;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Registry of the fonts created by the builder so the fonts with the same attributes share a single font record.
+ */
+class PoiFontRegistry {
+
+    PoiFontRegistry(Workbook workbook) {
+        this.workbook = workbook;
+    }
+
+    /**
+     * Returns the workbook font having the same attributes as the given draft, creating one if necessary.
+     * @param draft the font which is not registered within the workbook
+     * @return font registered within the workbook
+     */
+    XSSFFont register(XSSFFont draft) {
+        PoiFontKey key = PoiFontKey.of(draft);
+        XSSFFont font = fonts.get(key);
+
+        if (font != null) {
+            return font;
+        }
+
+        font = (XSSFFont) workbook.createFont();
+        font.setFontName(draft.getFontName());
+        font.setFontHeight(draft.getFontHeight());
+        font.setBold(draft.getBold());
+        font.setItalic(draft.getItalic());
+        font.setUnderline(draft.getUnderline());
+        font.setStrikeout(draft.getStrikeout());
+
+        XSSFColor color = draft.getXSSFColor();
+        if (color != null) {
+            font.setColor(color);
+        }
+
+        fonts.put(key, font);
+        return font;
+    }
+
+    int size() {
+        return fonts.size();
+    }
+
+    private final Workbook workbook;
+    private final Map<PoiFontKey, XSSFFont> fonts = new HashMap<PoiFontKey, XSSFFont>();
+}
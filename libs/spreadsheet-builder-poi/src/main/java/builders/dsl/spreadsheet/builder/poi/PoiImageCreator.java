@@ -25,58 +25,66 @@ import org.apache.poi.ss.usermodel.Drawing;
 import org.apache.poi.ss.usermodel.Picture;
 import org.apache.poi.util.IOUtils;
 
-import java.io.*;
-import java.net.URL;
+import java.io.IOException;
+import java.io.InputStream;
 
 class PoiImageCreator implements ImageCreator {
 
     PoiImageCreator(PoiCellDefinition poiCell, int type) {
         this.cell = poiCell;
         this.type = type;
+        this.column = poiCell.getCell().getColumnIndex();
+        this.row = poiCell.getCell().getRowIndex();
     }
 
     @Override
     public CellDefinition from(String fileOrUrl) {
-        if (fileOrUrl.startsWith("https://") || fileOrUrl.startsWith("http://")) {
-            try {
-                from(new BufferedInputStream(new URL(fileOrUrl).openStream()));
-            } catch (IOException e) {
-                throw new RuntimeException("Exception opening image stream: " + fileOrUrl, e);
-            }
+        PoiSheetDefinition sheet = cell.getRow().getSheet();
+        PoiPictureRegistry pictures = sheet.getWorkbook().getPictureRegistry();
+
+        Integer pictureIdx = pictures.findPicture(fileOrUrl, type);
+        if (pictureIdx != null) {
+            addPicture(pictureIdx);
             return cell;
         }
 
-        try {
-            from(new FileInputStream(new File(fileOrUrl)));
-        } catch (FileNotFoundException e) {
-            throw new RuntimeException("Image file not found: " + fileOrUrl, e);
+        if (PoiPictureRegistry.isUrl(fileOrUrl)) {
+            // the picture is placed once downloaded, the download runs in the background meanwhile
+            sheet.addPendingPicture(row, new PoiPendingPicture(this, fileOrUrl, pictures.load(fileOrUrl)));
+            return cell;
         }
+
+        // local files are read straight away, only once per path
+        new PoiPendingPicture(this, fileOrUrl, pictures.load(fileOrUrl)).resolve();
         return cell;
     }
 
     @Override
     public CellDefinition from(InputStream stream) {
         try {
-            addPicture(cell.getRow().getSheet().getSheet().getWorkbook().addPicture(IOUtils.toByteArray(stream), type));
+            return from(IOUtils.toByteArray(stream));
         } catch (IOException e) {
             throw new RuntimeException("Exception adding image from stream: " + stream, e);
         }
-        return cell;
     }
 
     @Override
     public CellDefinition from(byte[] imageData) {
-        addPicture(cell.getRow().getSheet().getSheet().getWorkbook().addPicture(imageData, type));
+        addPicture(cell.getRow().getSheet().getWorkbook().getPictureRegistry().addPicture(imageData, type));
         return cell;
     }
 
+    void from(String fileOrUrl, byte[] imageData) {
+        addPicture(cell.getRow().getSheet().getWorkbook().getPictureRegistry().addPicture(fileOrUrl, imageData, type));
+    }
+
     private void addPicture(int pictureIdx) {
         Drawing<?> drawing = cell.getRow().getSheet().getSheet().createDrawingPatriarch();
 
         CreationHelper helper = cell.getRow().getSheet().getSheet().getWorkbook().getCreationHelper();
         ClientAnchor anchor = helper.createClientAnchor();
-        anchor.setCol1(cell.getCell().getColumnIndex());
-        anchor.setRow1(cell.getCell().getRowIndex());
+        anchor.setCol1(column);
+        anchor.setRow1(row);
 
         Picture pict = drawing.createPicture(anchor, pictureIdx);
         pict.resize();
@@ -84,4 +92,6 @@ class PoiImageCreator implements ImageCreator {
 
     private final PoiCellDefinition cell;
     private final int type;
+    private final int column;
+    private final int row;
 }
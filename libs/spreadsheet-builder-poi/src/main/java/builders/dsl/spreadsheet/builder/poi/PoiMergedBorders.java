@@ -0,0 +1,138 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.poi;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Borders of the merged cells waiting to be applied to the edge cells of their regions.
+ *
+ * The borders are applied in a single sweep when the sheet is resolved or when the first row of the region
+ * leaves the streaming window. Each edge cell receives a pooled style derived from its current style
+ * with the borders of the region style on the edges the cell lies on.
+ */
+class PoiMergedBorders {
+
+    static final int TOP = 1;
+    static final int BOTTOM = 2;
+    static final int LEFT = 4;
+    static final int RIGHT = 8;
+
+    PoiMergedBorders(Sheet sheet, PoiCellStylePool pool) {
+        this.sheet = sheet;
+        this.pool = pool;
+    }
+
+    /**
+     * @param region the merged region
+     * @param style the style of the merged cell carrying the borders of the region
+     */
+    void add(CellRangeAddress region, XSSFCellStyle style) {
+        pending.computeIfAbsent(region.getFirstRow(), r -> new ArrayList<Border>()).add(new Border(region, style));
+    }
+
+    void apply() {
+        apply(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Applies the borders of the regions starting at given row or above.
+     * @param upToRowIndex the zero based index of the last row whose regions should be applied
+     */
+    void apply(int upToRowIndex) {
+        Iterator<Map.Entry<Integer, List<Border>>> borders = pending.headMap(upToRowIndex, true).entrySet().iterator();
+        while (borders.hasNext()) {
+            for (Border border : borders.next().getValue()) {
+                apply(border.region, border.style);
+            }
+            borders.remove();
+        }
+    }
+
+    private void apply(CellRangeAddress region, XSSFCellStyle style) {
+        for (int rowIndex = region.getFirstRow(); rowIndex <= region.getLastRow(); rowIndex++) {
+            Row row = sheet.getRow(rowIndex);
+            if (row == null) {
+                row = sheet.createRow(rowIndex);
+            }
+
+            int sides = 0;
+            if (rowIndex == region.getFirstRow()) {
+                sides |= TOP;
+            }
+            if (rowIndex == region.getLastRow()) {
+                sides |= BOTTOM;
+            }
+
+            if (sides != 0) {
+                // the whole first and last rows are on the edge
+                for (int column = region.getFirstColumn(); column <= region.getLastColumn(); column++) {
+                    applySides(row, column, region, style, sides);
+                }
+            } else {
+                applySides(row, region.getFirstColumn(), region, style, sides);
+                applySides(row, region.getLastColumn(), region, style, sides);
+            }
+        }
+    }
+
+    private void applySides(Row row, int column, CellRangeAddress region, XSSFCellStyle style, int sides) {
+        if (row.getRowNum() == region.getFirstRow() && column == region.getFirstColumn()) {
+            // the merged cell itself already has the style with all the borders
+            return;
+        }
+
+        if (column == region.getFirstColumn()) {
+            sides |= LEFT;
+        }
+        if (column == region.getLastColumn()) {
+            sides |= RIGHT;
+        }
+
+        Cell cell = row.getCell(column);
+        if (cell == null) {
+            cell = row.createCell(column);
+        }
+
+        cell.setCellStyle(pool.withBorders((XSSFCellStyle) cell.getCellStyle(), style, sides));
+    }
+
+    private static class Border {
+        Border(CellRangeAddress region, XSSFCellStyle style) {
+            this.region = region;
+            this.style = style;
+        }
+
+        final CellRangeAddress region;
+        final XSSFCellStyle style;
+    }
+
+    private final Sheet sheet;
+    private final PoiCellStylePool pool;
+    private final TreeMap<Integer, List<Border>> pending = new TreeMap<Integer, List<Border>>();
+}
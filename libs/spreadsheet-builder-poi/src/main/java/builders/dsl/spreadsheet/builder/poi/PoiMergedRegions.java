@@ -0,0 +1,87 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.poi;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellRangeAddress;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Index of the merged regions of a single sheet.
+ *
+ * The regions never overlap so within a single row their column intervals are disjoint and they can be kept in
+ * a sorted map keyed by the first column. The overlap check then takes logarithmic time for each row of the new region
+ * instead of comparing the new region with all the existing ones as POI does.
+ */
+class PoiMergedRegions {
+
+    PoiMergedRegions(Sheet sheet) {
+        this.sheet = sheet;
+        for (CellRangeAddress region : sheet.getMergedRegions()) {
+            index(region);
+        }
+    }
+
+    /**
+     * Adds the merged region to the sheet.
+     * @param region the new merged region
+     * @throws IllegalStateException if the region overlaps with any existing merged region
+     */
+    void add(CellRangeAddress region) {
+        CellRangeAddress existing = findOverlapping(region);
+        if (existing != null) {
+            throw new IllegalStateException("Cannot add merged region " + region.formatAsString() + " to sheet " + sheet.getSheetName() + " because it overlaps with an existing merged region (" + existing.formatAsString() + ").");
+        }
+        index(region);
+        // the overlap has been already checked
+        sheet.addMergedRegionUnsafe(region);
+    }
+
+    CellRangeAddress findOverlapping(CellRangeAddress region) {
+        for (int row = region.getFirstRow(); row <= region.getLastRow(); row++) {
+            TreeMap<Integer, CellRangeAddress> columns = rows.get(row);
+            if (columns == null) {
+                continue;
+            }
+            Map.Entry<Integer, CellRangeAddress> candidate = columns.floorEntry(region.getLastColumn());
+            if (candidate != null && candidate.getValue().getLastColumn() >= region.getFirstColumn()) {
+                return candidate.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Forgets the regions in the rows which cannot be changed any longer.
+     * @param rowIndex the zero based index of the last row to forget
+     */
+    void evict(int rowIndex) {
+        rows.headMap(rowIndex, true).clear();
+    }
+
+    private void index(CellRangeAddress region) {
+        for (int row = region.getFirstRow(); row <= region.getLastRow(); row++) {
+            rows.computeIfAbsent(row, r -> new TreeMap<Integer, CellRangeAddress>()).put(region.getFirstColumn(), region);
+        }
+    }
+
+    private final Sheet sheet;
+    private final TreeMap<Integer, TreeMap<Integer, CellRangeAddress>> rows = new TreeMap<Integer, TreeMap<Integer, CellRangeAddress>>();
+}
@@ -0,0 +1,386 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.poi;
+
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+
+/**
+ * Zip output stream which compresses the entries in parallel. The entries written by POI are split into chunks,
+ * the chunks are deflated by the worker threads and the compressed entries are written in the original order
+ * as raw entries.
+ *
+ * The compressed chunks are collected in the original order as soon as they are finished. The compressed data of
+ * an entry are kept in the memory up to the size of a single chunk and spilled to a temporary file afterwards
+ * because the size of the entry must be known before the entry is written.
+ *
+ * POI uses the stream directly if it is passed to the <code>write</code> method of the workbook.
+ */
+class PoiParallelZipOutputStream extends ZipArchiveOutputStream {
+
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+    private static final int CHUNKS_IN_FLIGHT_PER_THREAD = 4;
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    PoiParallelZipOutputStream(OutputStream out, PoiCompression compression) {
+        super(out);
+        this.compression = compression;
+        this.executor = Executors.newFixedThreadPool(compression.getThreads(), WORKER_THREADS);
+        this.maxChunksInFlight = compression.getThreads() * CHUNKS_IN_FLIGHT_PER_THREAD;
+    }
+
+    @Override
+    public void putArchiveEntry(ArchiveEntry archiveEntry) throws IOException {
+        if (current != null) {
+            throw new IOException("Entry " + current.name + " has not been closed yet");
+        }
+        current = new PendingEntry(archiveEntry.getName(), archiveEntry.getLastModifiedDate(), compression.getChunkSize());
+        buffer = new byte[compression.getChunkSize()];
+        position = 0;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        if (current == null) {
+            throw new IllegalStateException("No current entry");
+        }
+
+        current.crc.update(bytes, offset, length);
+        current.size += length;
+
+        while (length > 0) {
+            int copied = Math.min(length, buffer.length - position);
+            System.arraycopy(bytes, offset, buffer, position, copied);
+            position += copied;
+            offset += copied;
+            length -= copied;
+
+            if (position == buffer.length) {
+                submitChunk(false);
+            }
+        }
+    }
+
+    @Override
+    public void closeArchiveEntry() throws IOException {
+        if (current == null) {
+            throw new IOException("No current entry to close");
+        }
+
+        submitChunk(true);
+
+        entries.add(current);
+        current = null;
+        previous = null;
+        buffer = null;
+
+        // write the entries which are already compressed to release the memory early
+        writeEntries(false);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        // SXSSF only calls finish so the workers and the temporary files must not outlive a failure
+        boolean finished = false;
+        try {
+            if (current != null) {
+                throw new IOException("This archive contains unclosed entries.");
+            }
+            writeEntries(true);
+            super.finish();
+            finished = true;
+        } finally {
+            if (finished) {
+                executor.shutdown();
+            } else {
+                discard();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            discard();
+        }
+    }
+
+    /**
+     * Stops the workers and deletes the data of the entries which have not been written.
+     */
+    private void discard() {
+        executor.shutdownNow();
+        if (current != null) {
+            current.data.delete();
+            current = null;
+        }
+        for (PendingEntry entry : entries) {
+            entry.data.delete();
+        }
+        entries.clear();
+    }
+
+    private void submitChunk(boolean last) throws IOException {
+        final byte[] chunk = buffer;
+        final int length = position;
+        final byte[] dictionary = previous;
+
+        previous = chunk;
+        buffer = last ? null : new byte[compression.getChunkSize()];
+        position = 0;
+
+        if (compression.isStored()) {
+            current.data.write(chunk, length);
+            return;
+        }
+
+        collectChunks(false);
+        while (chunksInFlight >= maxChunksInFlight) {
+            collectChunks(true);
+        }
+
+        chunksInFlight++;
+        current.chunks.add(executor.submit(() -> deflate(chunk, length, dictionary, last)));
+    }
+
+    private byte[] deflate(byte[] chunk, int length, byte[] dictionary, boolean last) {
+        Deflater deflater = new Deflater(compression.getLevel(), true);
+        try {
+            if (dictionary != null) {
+                // the previous chunk is available to the decompressor so it can be used as the dictionary
+                int size = Math.min(DICTIONARY_SIZE, dictionary.length);
+                deflater.setDictionary(dictionary, dictionary.length - size, size);
+            }
+
+            deflater.setInput(chunk, 0, length);
+
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(length / 4 + 64);
+            byte[] output = new byte[Math.max(length / 4, 1024)];
+
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    compressed.write(output, 0, deflater.deflate(output));
+                }
+            } else {
+                // sync flush ends the chunk on the byte boundary so the chunks can be concatenated
+                int written;
+                do {
+                    written = deflater.deflate(output, 0, output.length, Deflater.SYNC_FLUSH);
+                    compressed.write(output, 0, written);
+                } while (written == output.length);
+            }
+
+            return compressed.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Moves the compressed chunks to the data of their entries in the original order.
+     * @param wait whether to wait for at least one chunk to be compressed
+     */
+    private void collectChunks(boolean wait) throws IOException {
+        for (PendingEntry entry : entries) {
+            if (!entry.chunks.isEmpty()) {
+                if (!collectChunks(entry, wait)) {
+                    return;
+                }
+                wait = false;
+            }
+        }
+        if (current != null) {
+            collectChunks(current, wait);
+        }
+    }
+
+    private boolean collectChunks(PendingEntry entry, boolean wait) throws IOException {
+        while (!entry.chunks.isEmpty()) {
+            Future<byte[]> chunk = entry.chunks.peek();
+            if (!wait && !chunk.isDone()) {
+                return false;
+            }
+            wait = false;
+
+            byte[] bytes = get(entry, chunk);
+            entry.chunks.poll();
+            chunksInFlight--;
+            entry.data.write(bytes, bytes.length);
+        }
+        return true;
+    }
+
+    private void writeEntries(boolean wait) throws IOException {
+        collectChunks(false);
+        while (!entries.isEmpty()) {
+            PendingEntry entry = entries.peek();
+            if (!entry.chunks.isEmpty()) {
+                if (!wait) {
+                    return;
+                }
+                collectChunks(true);
+                continue;
+            }
+            writeEntry(entries.poll());
+        }
+    }
+
+    private void writeEntry(PendingEntry entry) throws IOException {
+        ZipArchiveEntry zipEntry = new ZipArchiveEntry(entry.name);
+        zipEntry.setMethod(compression.isStored() ? ZipEntry.STORED : ZipEntry.DEFLATED);
+        zipEntry.setCrc(entry.crc.getValue());
+        zipEntry.setSize(entry.size);
+        zipEntry.setCompressedSize(entry.data.size);
+
+        if (entry.time != null) {
+            zipEntry.setTime(entry.time.getTime());
+        }
+
+        try (InputStream data = entry.data.open()) {
+            addRawArchiveEntry(zipEntry, data);
+        } finally {
+            entry.data.delete();
+        }
+    }
+
+    private static byte[] get(PendingEntry entry, Future<byte[]> chunk) throws IOException {
+        try {
+            return chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the compression of " + entry.name);
+        } catch (ExecutionException e) {
+            throw new IOException("Exception compressing " + entry.name, e.getCause());
+        }
+    }
+
+    private static final class PendingEntry {
+        PendingEntry(String name, Date time, int memoryLimit) {
+            this.name = name;
+            this.time = time;
+            this.data = new EntryData(memoryLimit);
+        }
+
+        final String name;
+        final Date time;
+        final CRC32 crc = new CRC32();
+        final Queue<Future<byte[]>> chunks = new ArrayDeque<Future<byte[]>>();
+        final EntryData data;
+        long size;
+    }
+
+    /**
+     * Compressed data of a single entry kept in the memory until they reach the limit and in a temporary file
+     * afterwards.
+     */
+    private static final class EntryData {
+        EntryData(int memoryLimit) {
+            this.memoryLimit = memoryLimit;
+        }
+
+        void write(byte[] bytes, int length) throws IOException {
+            if (file == null && memory.size() + length > memoryLimit) {
+                file = File.createTempFile("spreadsheet-zip", ".tmp");
+                fileOutput = new BufferedOutputStream(new FileOutputStream(file));
+                memory.writeTo(fileOutput);
+                memory = null;
+            }
+
+            if (file == null) {
+                memory.write(bytes, 0, length);
+            } else {
+                fileOutput.write(bytes, 0, length);
+            }
+
+            size += length;
+        }
+
+        InputStream open() throws IOException {
+            if (file == null) {
+                return new ByteArrayInputStream(memory.toByteArray());
+            }
+            fileOutput.close();
+            return new FileInputStream(file);
+        }
+
+        void delete() {
+            memory = null;
+            if (file != null) {
+                try {
+                    fileOutput.close();
+                } catch (IOException ignored) {
+                    // the data are not needed any more
+                }
+                if (!file.delete()) {
+                    file.deleteOnExit();
+                }
+            }
+        }
+
+        private final int memoryLimit;
+        private ByteArrayOutputStream memory = new ByteArrayOutputStream();
+        private File file;
+        private OutputStream fileOutput;
+        long size;
+    }
+
+    private static final ThreadFactory WORKER_THREADS = runnable -> {
+        Thread thread = new Thread(runnable, "spreadsheet-zip-" + THREAD_COUNTER.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    };
+
+    private final PoiCompression compression;
+    private final ExecutorService executor;
+    private final int maxChunksInFlight;
+    private final Queue<PendingEntry> entries = new ArrayDeque<PendingEntry>();
+
+    private PendingEntry current;
+    private byte[] buffer;
+    private int position;
+    private byte[] previous;
+    private int chunksInFlight;
+}
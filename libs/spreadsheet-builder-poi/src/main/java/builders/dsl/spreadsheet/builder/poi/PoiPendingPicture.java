@@ -0,0 +1,52 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.poi;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Pending picture is a picture which is being downloaded. It is placed into the sheet at the latest when its row
+ * is about to be written.
+ */
+class PoiPendingPicture {
+
+    PoiPendingPicture(PoiImageCreator creator, String url, Future<byte[]> data) {
+        this.creator = creator;
+        this.url = url;
+        this.data = data;
+    }
+
+    void resolve() {
+        try {
+            creator.from(url, data.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while downloading image: " + url, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException("Exception opening image stream: " + url, e.getCause());
+        }
+    }
+
+    private final PoiImageCreator creator;
+    private final String url;
+    private final Future<byte[]> data;
+}
@@ -0,0 +1,185 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.poi;
+
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.util.IOUtils;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Picture registry keeps the pictures added to the workbook keyed by the hash of their content so the same image
+ * placed into many cells is stored only once. The pictures are also indexed by their location and the remote images
+ * are downloaded in the background. The image data are released as soon as the picture is added to the workbook.
+ */
+class PoiPictureRegistry {
+
+    static final int FETCH_THREADS = 4;
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    PoiPictureRegistry(Workbook workbook) {
+        this.workbook = workbook;
+    }
+
+    /**
+     * @param fileOrUrl the path to the file or the URL of the image
+     * @param type the type of the picture
+     * @return the index of the picture already added from given location or <code>null</code> if there is none
+     */
+    Integer findPicture(String fileOrUrl, int type) {
+        return locations.get(type + ":" + fileOrUrl);
+    }
+
+    /**
+     * Returns the image data for given file or URL. The URLs are fetched asynchronously, the same location
+     * is read only once until the picture is added.
+     * @param fileOrUrl the path to the file or the URL of the image
+     * @return the future image data
+     */
+    Future<byte[]> load(String fileOrUrl) {
+        Future<byte[]> data = downloads.get(fileOrUrl);
+
+        if (data != null) {
+            return data;
+        }
+
+        if (isUrl(fileOrUrl)) {
+            data = getExecutor().submit(() -> fetch(fileOrUrl));
+            downloads.put(fileOrUrl, data);
+            return data;
+        }
+
+        return CompletableFuture.completedFuture(read(fileOrUrl));
+    }
+
+    /**
+     * @param fileOrUrl the path to the file or the URL of the image
+     * @param data the image data loaded from the location
+     * @param type the type of the picture
+     * @return the index of the existing picture from the same location or with the same content or the index of
+     *          the newly added picture
+     */
+    int addPicture(String fileOrUrl, byte[] data, int type) {
+        String location = type + ":" + fileOrUrl;
+        Integer index = locations.get(location);
+
+        if (index == null) {
+            index = addPicture(data, type);
+            locations.put(location, index);
+        }
+
+        downloads.remove(fileOrUrl);
+        return index;
+    }
+
+    /**
+     * @param data the image data
+     * @param type the type of the picture
+     * @return the index of the existing picture with the same content or the index of the newly added picture
+     */
+    int addPicture(byte[] data, int type) {
+        String key = type + ":" + hash(data);
+        Integer index = pictures.get(key);
+
+        if (index == null) {
+            index = workbook.addPicture(data, type);
+            pictures.put(key, index);
+        }
+
+        return index;
+    }
+
+    int size() {
+        return pictures.size();
+    }
+
+    void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    static boolean isUrl(String fileOrUrl) {
+        return fileOrUrl.startsWith("https://") || fileOrUrl.startsWith("http://");
+    }
+
+    private ExecutorService getExecutor() {
+        if (executor == null) {
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(FETCH_THREADS, FETCH_THREADS, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), runnable -> {
+                Thread thread = new Thread(runnable, "spreadsheet-image-" + THREAD_COUNTER.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            // idle threads do not outlive the build even if it fails before the pictures are resolved
+            pool.allowCoreThreadTimeOut(true);
+            executor = pool;
+        }
+        return executor;
+    }
+
+    private static byte[] fetch(String url) {
+        try (InputStream stream = new BufferedInputStream(new URL(url).openStream())) {
+            return IOUtils.toByteArray(stream);
+        } catch (IOException e) {
+            throw new RuntimeException("Exception opening image stream: " + url, e);
+        }
+    }
+
+    private static byte[] read(String file) {
+        try (InputStream stream = new FileInputStream(new File(file))) {
+            return IOUtils.toByteArray(stream);
+        } catch (FileNotFoundException e) {
+            throw new RuntimeException("Image file not found: " + file, e);
+        } catch (IOException e) {
+            throw new RuntimeException("Exception reading image file: " + file, e);
+        }
+    }
+
+    private static String hash(byte[] data) {
+        try {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private final Workbook workbook;
+    private final Map<String, Integer> pictures = new HashMap<String, Integer>();
+    private final Map<String, Integer> locations = new HashMap<String, Integer>();
+    private final Map<String, Future<byte[]>> downloads = new HashMap<String, Future<byte[]>>();
+    private ExecutorService executor;
+}
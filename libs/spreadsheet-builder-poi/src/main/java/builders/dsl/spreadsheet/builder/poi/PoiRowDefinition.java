@@ -48,7 +48,7 @@ class PoiRowDefinition extends AbstractRowDefinition implements RowDefinition {
         if (cell instanceof PoiCellDefinition) {
             PoiCellDefinition poiCell = (PoiCellDefinition) cell;
             if (poiCell.getColspan() > 1 || poiCell.getRowspan() > 1) {
-                xssfRow.getSheet().addMergedRegion(poiCell.getCellRangeAddress());
+                getSheet().addMergedRegion(poiCell.getCellRangeAddress());
             }
         } else {
             throw new IllegalArgumentException("Unsupported cell: " + cell);
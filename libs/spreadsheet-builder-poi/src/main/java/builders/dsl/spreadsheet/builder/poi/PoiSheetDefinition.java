@@ -19,14 +19,22 @@ package builders.dsl.spreadsheet.builder.poi;
 
 import builders.dsl.spreadsheet.builder.api.PageDefinition;
 import builders.dsl.spreadsheet.builder.api.SheetDefinition;
+import builders.dsl.spreadsheet.impl.AbstractRowDefinition;
 import builders.dsl.spreadsheet.impl.AbstractSheetDefinition;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.SheetVisibility;
 import org.apache.poi.ss.util.CellRangeAddress;
 import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 
 class PoiSheetDefinition extends AbstractSheetDefinition implements SheetDefinition {
 
@@ -34,10 +42,15 @@ class PoiSheetDefinition extends AbstractSheetDefinition implements SheetDefinit
     public static final int MAX_COLUMN_WIDTH = 255 * 256;
 
     private final Sheet sheet;
+    private final PoiMergedRegions mergedRegions;
+    private final PoiMergedBorders mergedBorders;
+    private final TreeMap<Integer, List<PoiPendingPicture>> pendingPictures = new TreeMap<Integer, List<PoiPendingPicture>>();
 
     PoiSheetDefinition(PoiWorkbookDefinition workbook, Sheet sheet) {
         super(workbook);
         this.sheet = sheet;
+        this.mergedRegions = new PoiMergedRegions(sheet);
+        this.mergedBorders = new PoiMergedBorders(sheet, workbook.getCellStylePool());
     }
 
     @Override protected PoiRowDefinition createRow(int zeroBasedRowNumber) {
@@ -50,6 +63,57 @@ class PoiSheetDefinition extends AbstractSheetDefinition implements SheetDefinit
         return new PoiRowDefinition(this, row);
     }
 
+    @Override
+    protected int getRowWindowSize() {
+        if (sheet instanceof SXSSFSheet) {
+            // keep the row definitions in sync with the rows which has not been flushed yet
+            // the row definition is evicted one row ahead so the row is still available in processEvictedRow
+            int windowSize = ((SXSSFWorkbook) sheet.getWorkbook()).getRandomAccessWindowSize();
+            return windowSize < 0 ? windowSize : Math.max(1, windowSize - 1);
+        }
+        return super.getRowWindowSize();
+    }
+
+    @Override
+    protected void processEvictedRow(AbstractRowDefinition row) {
+        int rowIndex = ((PoiRowDefinition) row).getRow().getRowNum();
+        resolvePictures(rowIndex);
+        mergedBorders.apply(rowIndex);
+        mergedRegions.evict(rowIndex);
+    }
+
+    @Override
+    public void resolve() {
+        mergedBorders.apply();
+        super.resolve();
+    }
+
+    void addMergedRegion(CellRangeAddress region) {
+        mergedRegions.add(region);
+    }
+
+    void addMergedBorder(CellRangeAddress region, XSSFCellStyle style) {
+        mergedBorders.add(region, style);
+    }
+
+    void addPendingPicture(int rowIndex, PoiPendingPicture picture) {
+        pendingPictures.computeIfAbsent(rowIndex, i -> new ArrayList<PoiPendingPicture>()).add(picture);
+    }
+
+    void resolvePictures() {
+        resolvePictures(Integer.MAX_VALUE);
+    }
+
+    private void resolvePictures(int upToRowIndex) {
+        Iterator<Map.Entry<Integer, List<PoiPendingPicture>>> pictures = pendingPictures.headMap(upToRowIndex, true).entrySet().iterator();
+        while (pictures.hasNext()) {
+            for (PoiPendingPicture picture : pictures.next().getValue()) {
+                picture.resolve();
+            }
+            pictures.remove();
+        }
+    }
+
     @Override
     protected PageDefinition createPageDefinition() {
         return new PoiPageSettingsProvider(this);
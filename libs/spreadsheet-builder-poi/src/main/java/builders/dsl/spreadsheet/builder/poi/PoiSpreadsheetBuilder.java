@@ -19,6 +19,7 @@ package builders.dsl.spreadsheet.builder.poi;
 
 import builders.dsl.spreadsheet.builder.api.SpreadsheetBuilder;
 import builders.dsl.spreadsheet.builder.api.WorkbookDefinition;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
 import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.xssf.streaming.SXSSFWorkbook;
@@ -53,6 +54,28 @@ public class PoiSpreadsheetBuilder implements SpreadsheetBuilder {
         return new PoiSpreadsheetBuilder(new XSSFWorkbook(template), new FileOutputStream(file));
     }
 
+    /**
+     * @param out the output stream
+     * @param template the template snapshot, e.g. obtained from {@link PoiTemplateRegistry}
+     * @return new builder writing into a copy of the template
+     */
+    public static SpreadsheetBuilder create(OutputStream out, PoiTemplateSnapshot template) {
+        return new PoiSpreadsheetBuilder(template.newWorkbook(), out);
+    }
+
+    public static SpreadsheetBuilder create(File file, PoiTemplateSnapshot template) throws FileNotFoundException {
+        return new PoiSpreadsheetBuilder(template.newWorkbook(), new FileOutputStream(file));
+    }
+
+    /**
+     * @param out the output stream
+     * @param compression the settings of the parallel compression of the workbook parts
+     * @return new builder compressing the workbook parts in parallel when the workbook is written
+     */
+    public static SpreadsheetBuilder create(OutputStream out, PoiCompression compression) {
+        return new PoiSpreadsheetBuilder(new XSSFWorkbook(), out, compression);
+    }
+
     public static SpreadsheetBuilder stream(OutputStream out) {
         return new PoiSpreadsheetBuilder(new SXSSFWorkbook(), out);
     }
@@ -77,25 +100,65 @@ public class PoiSpreadsheetBuilder implements SpreadsheetBuilder {
         return new PoiSpreadsheetBuilder(new SXSSFWorkbook(new XSSFWorkbook(template)), new FileOutputStream(file));
     }
 
+    /**
+     * @param out the output stream
+     * @param template the template snapshot, e.g. obtained from {@link PoiTemplateRegistry}
+     * @return new streaming builder writing into a copy of the template
+     */
+    public static SpreadsheetBuilder stream(OutputStream out, PoiTemplateSnapshot template) {
+        return new PoiSpreadsheetBuilder(new SXSSFWorkbook(template.newWorkbook()), out);
+    }
+
+    public static SpreadsheetBuilder stream(File file, PoiTemplateSnapshot template) throws FileNotFoundException {
+        return new PoiSpreadsheetBuilder(new SXSSFWorkbook(template.newWorkbook()), new FileOutputStream(file));
+    }
+
+    /**
+     * @param out the output stream
+     * @param compression the settings of the parallel compression of the workbook parts
+     * @return new streaming builder compressing the workbook parts in parallel when the workbook is written
+     */
+    public static SpreadsheetBuilder stream(OutputStream out, PoiCompression compression) {
+        return new PoiSpreadsheetBuilder(new PoiParallelSXSSFWorkbook(new XSSFWorkbook(), compression), out, compression);
+    }
+
     private final Workbook workbook;
     private final OutputStream outputStream;
+    private final PoiCompression compression;
 
     private PoiSpreadsheetBuilder(Workbook workbook, OutputStream outputStream) {
+        this(workbook, outputStream, null);
+    }
+
+    private PoiSpreadsheetBuilder(Workbook workbook, OutputStream outputStream, PoiCompression compression) {
         this.workbook = workbook;
         this.outputStream = outputStream;
+        this.compression = compression;
     }
 
     @Override
     public void build(Consumer<WorkbookDefinition> workbookDefinition) {
         PoiWorkbookDefinition poiWorkbook = new PoiWorkbookDefinition(workbook);
-        workbookDefinition.accept(poiWorkbook);
-        poiWorkbook.resolve();
+        try {
+            workbookDefinition.accept(poiWorkbook);
+            poiWorkbook.resolve();
+            poiWorkbook.resolvePictures();
+        } finally {
+            poiWorkbook.getPictureRegistry().shutdown();
+        }
         writeTo(outputStream);
     }
 
     private void writeTo(OutputStream outputStream) {
         try {
-            workbook.write(outputStream);
+            if (compression != null && workbook instanceof XSSFWorkbook) {
+                // the package is saved directly into the given zip stream, closing it shuts the workers down
+                try (ZipArchiveOutputStream zip = new PoiParallelZipOutputStream(outputStream, compression)) {
+                    workbook.write(zip);
+                }
+            } else {
+                workbook.write(outputStream);
+            }
         } catch (IOException e) {
             throw new RuntimeException(e);
         } finally {
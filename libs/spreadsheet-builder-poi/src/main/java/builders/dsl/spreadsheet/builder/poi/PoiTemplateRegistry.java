@@ -0,0 +1,85 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.poi;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry of the template snapshots. Each template file is read only once unless it has been modified since.
+ *
+ * The registry is thread safe and it is meant to be shared by the code rendering the same templates repeatedly.
+ */
+public final class PoiTemplateRegistry {
+
+    /**
+     * @param template the template file
+     * @return the snapshot of the template, taken again only if the file has been modified
+     * @throws IOException if the template cannot be read or it is not a valid workbook
+     */
+    public PoiTemplateSnapshot get(File template) throws IOException {
+        File file = template.getCanonicalFile();
+        long lastModified = file.lastModified();
+
+        Entry entry = templates.get(file);
+        if (entry != null && entry.lastModified == lastModified) {
+            return entry.template;
+        }
+
+        try {
+            return templates.compute(file, (key, existing) -> {
+                if (existing != null && existing.lastModified == lastModified) {
+                    return existing;
+                }
+                try {
+                    return new Entry(PoiTemplateSnapshot.of(key), lastModified);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).template;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Removes all the snapshots from the registry.
+     */
+    public void clear() {
+        templates.clear();
+    }
+
+    public int size() {
+        return templates.size();
+    }
+
+    private static class Entry {
+        Entry(PoiTemplateSnapshot template, long lastModified) {
+            this.template = template;
+            this.lastModified = lastModified;
+        }
+
+        final PoiTemplateSnapshot template;
+        final long lastModified;
+    }
+
+    private final ConcurrentMap<File, Entry> templates = new ConcurrentHashMap<File, Entry>();
+}
@@ -0,0 +1,94 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.poi;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.utils.SeekableInMemoryByteChannel;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.zip.ZipEntry;
+
+/**
+ * In-memory copy of a template package with its parts stored uncompressed.
+ *
+ * The template is validated once when the snapshot is taken. Every new workbook is read from the snapshot so the
+ * template file is never read again and no part has to be inflated. Nothing else is shared, POI workbooks cannot
+ * share their XML beans so every workbook still parses its own copy of all the parts.
+ */
+public final class PoiTemplateSnapshot {
+
+    /**
+     * @param template the template file
+     * @return the uncompressed snapshot of the template
+     * @throws IOException if the template cannot be read or it is not a valid workbook
+     */
+    public static PoiTemplateSnapshot of(File template) throws IOException {
+        try (InputStream stream = new FileInputStream(template)) {
+            return of(stream);
+        }
+    }
+
+    /**
+     * @param template the template stream, it is read fully but not closed
+     * @return the uncompressed snapshot of the template
+     * @throws IOException if the template cannot be read or it is not a valid workbook
+     */
+    public static PoiTemplateSnapshot of(InputStream template) throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook(template)) {
+            SeekableInMemoryByteChannel snapshot = new SeekableInMemoryByteChannel();
+            try (ZipArchiveOutputStream zip = new ZipArchiveOutputStream(snapshot)) {
+                // the channel is seekable so the parts can be stored without knowing their sizes in advance
+                zip.setMethod(ZipEntry.STORED);
+                workbook.write(zip);
+            }
+            return new PoiTemplateSnapshot(Arrays.copyOf(snapshot.array(), (int) snapshot.size()));
+        }
+    }
+
+    private PoiTemplateSnapshot(byte[] snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Creates new workbook from the snapshot. All the parts are parsed again, only reading the file and inflating
+     * the parts are saved.
+     * @return new workbook created from the template
+     */
+    public XSSFWorkbook newWorkbook() {
+        try {
+            return new XSSFWorkbook(new ByteArrayInputStream(snapshot));
+        } catch (IOException e) {
+            throw new IllegalStateException("Template snapshot cannot be read", e);
+        }
+    }
+
+    /**
+     * @return the size of the snapshot in bytes
+     */
+    public int size() {
+        return snapshot.length;
+    }
+
+    private final byte[] snapshot;
+}
@@ -29,21 +29,33 @@ import org.apache.poi.xssf.usermodel.XSSFCell;
 import org.apache.poi.xssf.usermodel.XSSFSheet;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
+import java.util.ArrayList;
+import java.util.List;
+
 class PoiWorkbookDefinition extends AbstractWorkbookDefinition implements WorkbookDefinition {
 
     private final Workbook workbook;
+    private final PoiCellStylePool cellStylePool;
+    private final PoiFontRegistry fontRegistry;
+    private final PoiPictureRegistry pictureRegistry;
+    private final List<PoiSheetDefinition> sheets = new ArrayList<PoiSheetDefinition>();
 
     PoiWorkbookDefinition(Workbook workbook) {
         if (!(workbook instanceof XSSFWorkbook) && !(workbook instanceof SXSSFWorkbook)) {
             throw new IllegalArgumentException("Only XSSF and SXSSF workbooks are supported");
         }
         this.workbook = workbook;
+        this.cellStylePool = new PoiCellStylePool(workbook);
+        this.fontRegistry = new PoiFontRegistry(workbook);
+        this.pictureRegistry = new PoiPictureRegistry(workbook);
     }
 
     @Override
     protected PoiSheetDefinition createSheet(String name) {
         Sheet sheet = workbook.getSheet(WorkbookUtil.createSafeSheetName(name));
-        return new PoiSheetDefinition(this, sheet != null ? sheet : workbook.createSheet(WorkbookUtil.createSafeSheetName(name)));
+        PoiSheetDefinition sheetDefinition = new PoiSheetDefinition(this, sheet != null ? sheet : workbook.createSheet(WorkbookUtil.createSafeSheetName(name)));
+        sheets.add(sheetDefinition);
+        return sheetDefinition;
     }
 
     @Override
@@ -55,10 +67,37 @@ class PoiWorkbookDefinition extends AbstractWorkbookDefinition implements Workbo
         return workbook;
     }
 
+    PoiCellStylePool getCellStylePool() {
+        return cellStylePool;
+    }
+
+    PoiFontRegistry getFontRegistry() {
+        return fontRegistry;
+    }
+
+    PoiPictureRegistry getPictureRegistry() {
+        return pictureRegistry;
+    }
+
+    /**
+     * Places the pictures which were still being downloaded into the sheets.
+     */
+    void resolvePictures() {
+        for (PoiSheetDefinition sheet : sheets) {
+            sheet.resolvePictures();
+        }
+    }
+
     void addPendingLink(String ref, PoiCellDefinition cell) {
         addPendingLink(new PoiPendingLink(cell, ref));
     }
 
+    @Override
+    protected boolean isNameDefined(String name) {
+        // names might also come from the template
+        return super.isNameDefined(name) || workbook.getName(name) != null;
+    }
+
     short parseColor(String hexColor) {
         // TODO: implement
         throw new UnsupportedOperationException();
@@ -22,12 +22,10 @@ import builders.dsl.spreadsheet.api.CellStyle;
 import builders.dsl.spreadsheet.api.Comment;
 import builders.dsl.spreadsheet.impl.DefaultCommentDefinition;
 import builders.dsl.spreadsheet.impl.Utils;
-import org.apache.poi.ss.usermodel.Name;
-import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DateUtil;
 import org.apache.poi.ss.util.CellRangeAddress;
-import org.apache.poi.ss.util.CellReference;
 import org.apache.poi.xssf.usermodel.XSSFCell;
-import org.apache.poi.xssf.usermodel.XSSFCellStyle;
 import org.apache.poi.xssf.usermodel.XSSFComment;
 import org.apache.poi.xssf.usermodel.XSSFRow;
 
@@ -95,8 +93,45 @@ class PoiCell implements Cell {
         throw new IllegalArgumentException("Cannot read value " + xssfCell.getRawValue() + " of cell as " + String.valueOf(type));
     }
 
+    @Override
+    public boolean isNumber() {
+        return getValueType() == CellType.NUMERIC;
+    }
+
+    @Override
+    public boolean isBoolean() {
+        return getValueType() == CellType.BOOLEAN;
+    }
+
+    @Override
+    public double readDouble() {
+        return xssfCell.getNumericCellValue();
+    }
+
+    @Override
+    public long readLong() {
+        return (long) xssfCell.getNumericCellValue();
+    }
+
+    @Override
+    public boolean readBoolean() {
+        return xssfCell.getBooleanCellValue();
+    }
+
+    @Override
+    public long readEpochDay() {
+        if (getValueType() != CellType.NUMERIC) {
+            throw new IllegalStateException("Cannot get a date value from a " + getValueType() + " cell");
+        }
+        return toEpochDay(xssfCell.getNumericCellValue(), xssfCell.getSheet().getWorkbook().isDate1904());
+    }
+
     @Override
     public Object getValue() {
+        return getValue(xssfCell);
+    }
+
+    static Object getValue(XSSFCell xssfCell) {
         switch (xssfCell.getCellType()) {
             case BLANK:
                 return "";
@@ -129,57 +164,61 @@ class PoiCell implements Cell {
 
     @Override
     public CellStyle getStyle() {
-        XSSFCellStyle cellStyle = xssfCell.getCellStyle();
-        return cellStyle != null ? new PoiCellStyle(cellStyle) : null;
-    }
-
-    private String generateRefersToFormula() {
-        return "\'" + xssfCell.getSheet().getSheetName().replaceAll("'", "\\'") + "\'!" + xssfCell.getReference();
+        if (xssfCell.getSheet().getWorkbook().getNumCellStyles() == 0) {
+            return null;
+        }
+        // same as XSSFCell.getCellStyle() but without creating new style object for every call
+        int index = xssfCell.getCTCell().isSetS() ? (int) xssfCell.getCTCell().getS() : 0;
+        return row.getSheet().getWorkbook().getCellStyle(index);
     }
 
     @Override
     public String getName() {
-        Workbook wb = xssfCell.getSheet().getWorkbook();
-
-        List<String> possibleReferences = new ArrayList<String>(Arrays.asList(new CellReference(xssfCell).formatAsString(), generateRefersToFormula()));
-        for (Name n : wb.getAllNames()) {
-            if (n.getSheetIndex() == -1 || n.getSheetIndex() == wb.getSheetIndex(xssfCell.getSheet())) {
-                for (String reference : possibleReferences) {
-                    if (normalizeFormulaReference(n.getRefersToFormula()).equalsIgnoreCase(normalizeFormulaReference(reference))) {
-                        return n.getNameName();
-                    }
-                }
-            }
-        }
-
-        return null;
+        PoiSheet sheet = row.getSheet();
+        return sheet.getWorkbook().getNames().findName(sheet.getIndex(), sheet.getName(), xssfCell.getReference());
     }
 
     public int getColspan() {
-        if (row.getSheet().getSheet().getNumMergedRegions() == 0) {
+        CellRangeAddress region = getMergedRegion();
+        if (region == null) {
             return 1;
         }
-
-        for (CellRangeAddress candidate : row.getSheet().getSheet().getMergedRegions()) {
-            if (candidate.isInRange(getCell().getRowIndex(), getCell().getColumnIndex())) {
-                return candidate.getLastColumn() - candidate.getFirstColumn() + 1;
-            }
-        }
-        return 1;
+        return region.getLastColumn() - region.getFirstColumn() + 1;
     }
 
     public int getRowspan() {
-        if (row.getSheet().getSheet().getNumMergedRegions() == 0) {
+        CellRangeAddress region = getMergedRegion();
+        if (region == null) {
             return 1;
         }
+        return region.getLastRow() - region.getFirstRow() + 1;
+    }
 
-        for (CellRangeAddress candidate : row.getSheet().getSheet().getMergedRegions()) {
-            if (candidate.isInRange(getCell().getRowIndex(), getCell().getColumnIndex())) {
-                return candidate.getLastRow() - candidate.getFirstRow() + 1;
-            }
-        }
+    private CellRangeAddress getMergedRegion() {
+        return row.getSheet().getMergedRegions().find(getCell().getRowIndex(), getCell().getColumnIndex());
+    }
+
+    /**
+     * Converts the serial date number to the epoch day the same way as {@link DateUtil#getLocalDateTime(double, boolean)}
+     * but without creating the date object.
+     * @param serial the serial date number
+     * @param date1904 whether the workbook uses 1904 date windowing
+     * @return the number of days since 1970-01-01
+     */
+    static long toEpochDay(double serial, boolean date1904) {
+        long wholeDays = (long) Math.floor(serial);
+        long millisecondsInDay = (long) ((serial - wholeDays) * DateUtil.DAY_MILLISECONDS + 0.5);
+        long days = millisecondsInDay >= DateUtil.DAY_MILLISECONDS ? wholeDays + 1 : wholeDays;
+        if (date1904) {
+            return days + EPOCH_DAY_OF_1904_DAY_ZERO;
+        }
+        // Excel believes 1900 was a leap year so the serial numbers after February 1900 are one day ahead
+        return wholeDays < 61 ? days + EPOCH_DAY_OF_1900_DAY_ZERO : days + EPOCH_DAY_OF_1900_DAY_ZERO - 1;
+    }
 
-        return 1;
+    private CellType getValueType() {
+        CellType type = xssfCell.getCellType();
+        return type == CellType.FORMULA ? xssfCell.getCachedFormulaResultType() : type;
     }
 
     protected XSSFCell getCell() {
@@ -342,24 +381,13 @@ class PoiCell implements Cell {
         return createCellIfExists(getCell(row.getRow(), getColumn()));
     }
 
-    private static XSSFCell getCell(final XSSFRow row, final int column) {
+    private XSSFCell getCell(final XSSFRow row, final int column) {
         XSSFCell cell = row.getCell(column);
         if (cell != null) {
             return cell;
         }
 
-        if (row.getSheet().getNumMergedRegions() == 0) {
-            return null;
-        }
-
-        CellRangeAddress address = null;
-
-        for (CellRangeAddress candidate: row.getSheet().getMergedRegions()) {
-            if (candidate.isInRange(row.getRowNum(), column)) {
-                address = candidate;
-                break;
-            }
-        }
+        CellRangeAddress address = this.row.getSheet().getMergedRegions().find(row.getRowNum(), column);
 
         if (address == null) {
             return null;
@@ -368,10 +396,6 @@ class PoiCell implements Cell {
         return row.getSheet().getRow(address.getFirstRow()).getCell(address.getFirstColumn());
     }
 
-    private static String normalizeFormulaReference(String ref) {
-        return ref.replace("$", "").replace("'", "");
-    }
-
     private PoiCell createCellIfExists(XSSFCell cell) {
         if (cell != null) {
             final PoiRow number = row.getSheet().getRowByNumber(cell.getRowIndex() + 1);
@@ -386,6 +410,9 @@ class PoiCell implements Cell {
         return "Cell[" + row.getSheet().getName() + "!" + getColumnAsString() + String.valueOf(row.getNumber()) + "]=" + String.valueOf(getValue());
     }
 
+    private static final long EPOCH_DAY_OF_1900_DAY_ZERO = -25568;
+    private static final long EPOCH_DAY_OF_1904_DAY_ZERO = -24107;
+
     private final PoiRow row;
     private final XSSFCell xssfCell;
 }
@@ -106,7 +106,10 @@ class PoiCellStyle implements CellStyle {
 
     @Override
     public Font getFont() {
-        return style.getFont() != null ? new PoiFont(style.getFont()) : null;
+        if (font == null && style.getFont() != null) {
+            font = new PoiFont(style.getFont());
+        }
+        return font;
     }
 
     @Override
@@ -124,4 +127,5 @@ class PoiCellStyle implements CellStyle {
     }
 
     private final XSSFCellStyle style;
+    private PoiFont font;
 }
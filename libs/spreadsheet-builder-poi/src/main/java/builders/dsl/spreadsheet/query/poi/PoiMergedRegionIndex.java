@@ -0,0 +1,63 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.query.poi;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellRangeAddress;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Read only index of the merged regions of a single sheet.
+ *
+ * The regions never overlap so within a single row their column intervals are disjoint and they can be kept in
+ * a sorted map keyed by the first column. The region containing a cell is then found in logarithmic time
+ * instead of copying and scanning the list of all the regions of the sheet.
+ */
+class PoiMergedRegionIndex {
+
+    PoiMergedRegionIndex(Sheet sheet) {
+        for (CellRangeAddress region : sheet.getMergedRegions()) {
+            for (int row = region.getFirstRow(); row <= region.getLastRow(); row++) {
+                rows.computeIfAbsent(row, r -> new TreeMap<Integer, CellRangeAddress>()).put(region.getFirstColumn(), region);
+            }
+        }
+    }
+
+    /**
+     * Finds the merged region containing given cell.
+     * @param rowIndex the zero based row index
+     * @param columnIndex the zero based column index
+     * @return the merged region containing the cell or null if the cell is not merged
+     */
+    CellRangeAddress find(int rowIndex, int columnIndex) {
+        TreeMap<Integer, CellRangeAddress> columns = rows.get(rowIndex);
+        if (columns == null) {
+            return null;
+        }
+        Map.Entry<Integer, CellRangeAddress> candidate = columns.floorEntry(columnIndex);
+        if (candidate == null || candidate.getValue().getLastColumn() < columnIndex) {
+            return null;
+        }
+        return candidate.getValue();
+    }
+
+    private final Map<Integer, TreeMap<Integer, CellRangeAddress>> rows = new HashMap<Integer, TreeMap<Integer, CellRangeAddress>>();
+}
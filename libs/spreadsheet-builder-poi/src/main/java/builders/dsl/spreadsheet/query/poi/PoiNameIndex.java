@@ -0,0 +1,131 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.query.poi;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Index of the defined names of a workbook by the normalized cell references they refer to and vice versa.
+ *
+ * If more names refer to the same cell, the one defined first wins as it would when the names were searched
+ * one by one. The names referring to a cell without the sheet name, e.g. A1, match that cell in every sheet
+ * they are visible in.
+ */
+class PoiNameIndex {
+
+    private static final Pattern CELL_REFERENCE = Pattern.compile("[A-Z]+[0-9]+");
+
+    /**
+     * @param sheetIndex the index of the sheet the name is local to or -1 for workbook scoped names
+     * @param name the name
+     * @param refersTo the formula the name refers to
+     */
+    void add(int sheetIndex, String name, String refersTo) {
+        if (name == null || refersTo == null) {
+            return;
+        }
+        Definition definition = new Definition(definitions++, sheetIndex, name, normalizeReference(refersTo));
+        byReference.putIfAbsent(key(sheetIndex, definition.reference), definition);
+        byName.computeIfAbsent(name, n -> new ArrayList<Definition>()).add(definition);
+    }
+
+    /**
+     * @param sheetIndex the index of the sheet of the cell
+     * @param sheetName the name of the sheet of the cell
+     * @param cellReference the reference of the cell without the sheet name, e.g. A1
+     * @return the name of the cell or null
+     */
+    String findName(int sheetIndex, String sheetName, String cellReference) {
+        String qualified = normalizeReference(sheetName + "!" + cellReference);
+        String unqualified = normalizeReference(cellReference);
+        Definition found = first(byReference.get(key(-1, qualified)), byReference.get(key(sheetIndex, qualified)));
+        found = first(found, byReference.get(key(-1, unqualified)));
+        found = first(found, byReference.get(key(sheetIndex, unqualified)));
+        return found == null ? null : found.name;
+    }
+
+    /**
+     * @param name the name
+     * @param sheetIndex the index of the sheet
+     * @param sheetName the name of the sheet
+     * @return the references of the single cells in given sheet which the name refers to, e.g. A1
+     */
+    List<String> findCellReferences(String name, int sheetIndex, String sheetName) {
+        List<Definition> candidates = byName.get(name);
+        if (candidates == null) {
+            return Collections.emptyList();
+        }
+        String prefix = normalizeReference(sheetName + "!");
+        List<String> references = new ArrayList<String>(1);
+        for (Definition definition : candidates) {
+            if (definition.sheetIndex != -1 && definition.sheetIndex != sheetIndex) {
+                continue;
+            }
+            String cellReference = definition.reference;
+            if (cellReference.startsWith(prefix)) {
+                cellReference = cellReference.substring(prefix.length());
+            }
+            if (CELL_REFERENCE.matcher(cellReference).matches()) {
+                references.add(cellReference);
+            }
+        }
+        return references;
+    }
+
+    private static Definition first(Definition one, Definition other) {
+        if (one == null) {
+            return other;
+        }
+        if (other == null || one.position < other.position) {
+            return one;
+        }
+        return other;
+    }
+
+    private static String key(int sheetIndex, String reference) {
+        return sheetIndex + ":" + reference;
+    }
+
+    private static String normalizeReference(String reference) {
+        return reference.replace("$", "").replace("'", "").toUpperCase(Locale.ROOT);
+    }
+
+    private static class Definition {
+        Definition(int position, int sheetIndex, String name, String reference) {
+            this.position = position;
+            this.sheetIndex = sheetIndex;
+            this.name = name;
+            this.reference = reference;
+        }
+
+        final int position;
+        final int sheetIndex;
+        final String name;
+        final String reference;
+    }
+
+    private final Map<String, Definition> byReference = new HashMap<String, Definition>();
+    private final Map<String, List<Definition>> byName = new HashMap<String, List<Definition>>();
+    private int definitions;
+}
@@ -17,6 +17,8 @@
  */
 package builders.dsl.spreadsheet.query.poi;
 
+import org.apache.poi.ss.usermodel.PaperSize;
+import org.apache.poi.ss.usermodel.PrintOrientation;
 import org.apache.poi.xssf.usermodel.XSSFPrintSetup;
 import builders.dsl.spreadsheet.api.Keywords;
 import builders.dsl.spreadsheet.api.Page;
@@ -29,7 +31,16 @@ class PoiPage implements Page {
 
     @Override
     public Keywords.Orientation getOrientation() {
-        switch (printSetup.getOrientation()) {
+        return toOrientation(printSetup.getOrientation());
+    }
+
+    @Override
+    public Keywords.Paper getPaper() {
+        return toPaper(printSetup.getPaperSizeEnum());
+    }
+
+    static Keywords.Orientation toOrientation(PrintOrientation orientation) {
+        switch (orientation) {
             case DEFAULT:
                 return null;
             case PORTRAIT:
@@ -40,9 +51,8 @@ class PoiPage implements Page {
         return null;
     }
 
-    @Override
-    public Keywords.Paper getPaper() {
-        switch (printSetup.getPaperSizeEnum()) {
+    static Keywords.Paper toPaper(PaperSize paperSize) {
+        switch (paperSize) {
             case LETTER_PAPER:
                 return Keywords.Paper.LETTER;
             case LETTER_SMALL_PAPER:
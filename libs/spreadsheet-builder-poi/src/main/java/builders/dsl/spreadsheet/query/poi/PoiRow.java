@@ -22,13 +22,15 @@ import org.apache.poi.xssf.usermodel.XSSFCell;
 import org.apache.poi.xssf.usermodel.XSSFRow;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 class PoiRow implements Row {
 
     private final XSSFRow xssfRow;
     private final PoiSheet sheet;
 
-    private Map<Integer, PoiCell> cells;
+    private final Map<Integer, PoiCell> cells = new ConcurrentHashMap<Integer, PoiCell>();
+    private List<builders.dsl.spreadsheet.api.Cell> allCells;
 
     PoiRow(PoiSheet sheet, XSSFRow xssfRow) {
         this.sheet = sheet;
@@ -36,14 +38,41 @@ class PoiRow implements Row {
     }
 
     public List<builders.dsl.spreadsheet.api.Cell> getCells() {
-        if (cells == null) {
-             cells = new LinkedHashMap<Integer, PoiCell>();
+        if (allCells == null) {
+            List<builders.dsl.spreadsheet.api.Cell> result = new ArrayList<builders.dsl.spreadsheet.api.Cell>(xssfRow.getPhysicalNumberOfCells());
             for (Cell cell : xssfRow) {
-                cells.put(cell.getColumnIndex() + 1, new PoiCell(this, (XSSFCell) cell));
+                result.add(getCellWrapper((XSSFCell) cell));
             }
+            allCells = Collections.unmodifiableList(result);
         }
 
-        return Collections.unmodifiableList(new ArrayList<builders.dsl.spreadsheet.api.Cell>(cells.values()));
+        return allCells;
+    }
+
+    @Override
+    public List<builders.dsl.spreadsheet.api.Cell> getCells(int from, int to) {
+        int first = Math.max(1, from);
+        int last = Math.min(to, xssfRow.getLastCellNum());
+
+        if (allCells != null || last - first >= xssfRow.getPhysicalNumberOfCells()) {
+            // cheaper to filter the cells than to look up each column of the range
+            List<builders.dsl.spreadsheet.api.Cell> result = new ArrayList<builders.dsl.spreadsheet.api.Cell>();
+            for (builders.dsl.spreadsheet.api.Cell cell : getCells()) {
+                if (cell.getColumn() >= first && cell.getColumn() <= last) {
+                    result.add(cell);
+                }
+            }
+            return Collections.unmodifiableList(result);
+        }
+
+        List<builders.dsl.spreadsheet.api.Cell> result = new ArrayList<builders.dsl.spreadsheet.api.Cell>(Math.max(0, last - first + 1));
+        for (int column = first; column <= last; column++) {
+            builders.dsl.spreadsheet.api.Cell cell = getCellByNumber(column);
+            if (cell != null) {
+                result.add(cell);
+            }
+        }
+        return Collections.unmodifiableList(result);
     }
 
     @Override
@@ -82,10 +111,15 @@ class PoiRow implements Row {
     }
 
     builders.dsl.spreadsheet.api.Cell getCellByNumber(int oneBasedColumnNumber) {
-        if (cells == null) {
-            getCells();
+        XSSFCell cell = oneBasedColumnNumber < 1 ? null : xssfRow.getCell(oneBasedColumnNumber - 1);
+        if (cell == null) {
+            return null;
         }
-        return cells.get(oneBasedColumnNumber);
+        return getCellWrapper(cell);
+    }
+
+    private PoiCell getCellWrapper(XSSFCell cell) {
+        return cells.computeIfAbsent(cell.getColumnIndex() + 1, column -> new PoiCell(this, cell));
     }
 
     private PoiRow aboveOrBelow(int howMany) {
@@ -19,18 +19,23 @@ package builders.dsl.spreadsheet.query.poi;
 
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.SheetVisibility;
+import org.apache.poi.ss.util.CellReference;
 import org.apache.poi.xssf.usermodel.XSSFSheet;
 import builders.dsl.spreadsheet.api.Page;
 import builders.dsl.spreadsheet.api.Sheet;
+import builders.dsl.spreadsheet.api.SheetCursor;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 class PoiSheet implements Sheet {
 
     private final XSSFSheet xssfSheet;
     private final PoiWorkbook workbook;
 
-    private Map<Integer, PoiRow> rows;
+    private final Map<Integer, PoiRow> rows = new ConcurrentHashMap<Integer, PoiRow>();
+    private List<builders.dsl.spreadsheet.api.Row> allRows;
+    private volatile PoiMergedRegionIndex mergedRegions;
 
     PoiSheet(PoiWorkbook workbook, XSSFSheet xssfSheet) {
         this.workbook = workbook;
@@ -47,23 +52,72 @@ class PoiSheet implements Sheet {
         return workbook;
     }
 
+    int getIndex() {
+        return workbook.getWorkbook().getSheetIndex(xssfSheet);
+    }
+
     public List<builders.dsl.spreadsheet.api.Row> getRows() {
-        if (rows == null) {
-            rows = new LinkedHashMap<Integer, PoiRow>(xssfSheet.getLastRowNum());
+        if (allRows == null) {
+            List<builders.dsl.spreadsheet.api.Row> result = new ArrayList<builders.dsl.spreadsheet.api.Row>(xssfSheet.getPhysicalNumberOfRows());
             for (Row it : xssfSheet) {
-                int oneBasedIndex = it.getRowNum() + 1;
-                rows.put(oneBasedIndex, createRowWrapper(oneBasedIndex));
+                result.add(getRowWrapper(it.getRowNum() + 1));
+            }
+            allRows = Collections.unmodifiableList(result);
+        }
+
+        return allRows;
+    }
+
+    @Override
+    public List<builders.dsl.spreadsheet.api.Row> getRows(int from, int to) {
+        int first = Math.max(1, from);
+        int last = Math.min(to, xssfSheet.getLastRowNum() + 1);
+
+        if (allRows != null || last - first >= xssfSheet.getPhysicalNumberOfRows()) {
+            // cheaper to filter the rows than to look up each number of the range
+            List<builders.dsl.spreadsheet.api.Row> result = new ArrayList<builders.dsl.spreadsheet.api.Row>();
+            for (builders.dsl.spreadsheet.api.Row row : getRows()) {
+                if (row.getNumber() >= first && row.getNumber() <= last) {
+                    result.add(row);
+                }
+            }
+            return Collections.unmodifiableList(result);
+        }
+
+        List<builders.dsl.spreadsheet.api.Row> result = new ArrayList<builders.dsl.spreadsheet.api.Row>(Math.max(0, last - first + 1));
+        for (int number = first; number <= last; number++) {
+            PoiRow row = getRowByNumber(number);
+            if (row != null) {
+                result.add(row);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    @Override
+    public List<builders.dsl.spreadsheet.api.Cell> getNamedCells(String name) {
+        List<builders.dsl.spreadsheet.api.Cell> cells = new ArrayList<builders.dsl.spreadsheet.api.Cell>(1);
+        for (String reference : workbook.getNames().findCellReferences(name, getIndex(), getName())) {
+            CellReference cellReference = new CellReference(reference);
+            PoiRow row = getRowByNumber(cellReference.getRow() + 1);
+            builders.dsl.spreadsheet.api.Cell cell = row == null ? null : row.getCellByNumber(cellReference.getCol() + 1);
+            if (cell != null) {
+                cells.add(cell);
             }
         }
+        return Collections.unmodifiableList(cells);
+    }
 
-        return Collections.unmodifiableList(new ArrayList<builders.dsl.spreadsheet.api.Row>(rows.values()));
+    @Override
+    public SheetCursor cursor() {
+        return new PoiSheetCursor(xssfSheet);
     }
 
     PoiRow getRowByNumber(int rowNumberStartingOne) {
-        if (this.rows == null) {
-            this.getRows();
+        if (rowNumberStartingOne < 1 || xssfSheet.getRow(rowNumberStartingOne - 1) == null) {
+            return null;
         }
-        return this.rows.get(rowNumberStartingOne);
+        return getRowWrapper(rowNumberStartingOne);
     }
 
     @Override
@@ -110,10 +164,26 @@ class PoiSheet implements Sheet {
         return xssfSheet;
     }
 
+    /**
+     * @return the index of the merged regions of the sheet, built on the first use
+     */
+    PoiMergedRegionIndex getMergedRegions() {
+        PoiMergedRegionIndex index = mergedRegions;
+        if (index == null) {
+            index = new PoiMergedRegionIndex(xssfSheet);
+            mergedRegions = index;
+        }
+        return index;
+    }
+
     PoiRow createRowWrapper(int oneBasedRowNumber) {
         return new PoiRow(this, xssfSheet.getRow(oneBasedRowNumber - 1));
     }
 
+    private PoiRow getRowWrapper(int oneBasedRowNumber) {
+        return rows.computeIfAbsent(oneBasedRowNumber, this::createRowWrapper);
+    }
+
     @Override
     public boolean isLocked() {
         return xssfSheet.isSheetLocked();
@@ -0,0 +1,100 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.query.poi;
+
+import builders.dsl.spreadsheet.api.SheetCursor;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.usermodel.XSSFCell;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+
+import java.util.Collections;
+import java.util.Iterator;
+
+/**
+ * Cursor reading the underlying rows and cells directly without creating the wrappers.
+ */
+final class PoiSheetCursor implements SheetCursor {
+
+    PoiSheetCursor(XSSFSheet sheet) {
+        this.rows = sheet.rowIterator();
+    }
+
+    @Override
+    public boolean nextRow() {
+        cell = null;
+        if (!rows.hasNext()) {
+            row = null;
+            cells = Collections.emptyIterator();
+            return false;
+        }
+        row = rows.next();
+        cells = row.cellIterator();
+        return true;
+    }
+
+    @Override
+    public boolean nextCell() {
+        if (!cells.hasNext()) {
+            cell = null;
+            return false;
+        }
+        cell = (XSSFCell) cells.next();
+        return true;
+    }
+
+    @Override
+    public int row() {
+        if (row == null) {
+            throw new IllegalStateException("Cursor is not positioned at any row");
+        }
+        return row.getRowNum() + 1;
+    }
+
+    @Override
+    public int column() {
+        return current().getColumnIndex() + 1;
+    }
+
+    @Override
+    public Object value() {
+        return PoiCell.getValue(current());
+    }
+
+    @Override
+    public double readDouble() {
+        return current().getNumericCellValue();
+    }
+
+    @Override
+    public String readString() {
+        return current().getStringCellValue();
+    }
+
+    private XSSFCell current() {
+        if (cell == null) {
+            throw new IllegalStateException("Cursor is not positioned at any cell");
+        }
+        return cell;
+    }
+
+    private final Iterator<Row> rows;
+    private Iterator<Cell> cells = Collections.emptyIterator();
+    private Row row;
+    private XSSFCell cell;
+}
@@ -22,6 +22,8 @@ import builders.dsl.spreadsheet.query.simple.SimpleSpreadsheetCriteria;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 
 public enum PoiSpreadsheetCriteria {
 
@@ -39,4 +41,32 @@ public enum PoiSpreadsheetCriteria {
         }
     }
 
+    /**
+     * @param spreadsheet the spreadsheet file
+     * @return criteria evaluated while the sheets are being parsed, must be closed when no longer needed
+     * @throws IOException if the file cannot be opened
+     */
+    public PoiStreamingSpreadsheetCriteria streaming(File spreadsheet) throws IOException {
+        return new PoiStreamingSpreadsheetCriteria(spreadsheet, false);
+    }
+
+    /**
+     * The stream is copied into a temporary file which is deleted when the criteria are closed.
+     * @param stream the spreadsheet stream
+     * @return criteria evaluated while the sheets are being parsed, must be closed when no longer needed
+     * @throws IOException if the stream cannot be copied or read
+     */
+    public PoiStreamingSpreadsheetCriteria streaming(InputStream stream) throws IOException {
+        File file = File.createTempFile("spreadsheet-criteria", ".xlsx");
+        try {
+            Files.copy(stream, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            return new PoiStreamingSpreadsheetCriteria(file, true);
+        } catch (IOException | RuntimeException e) {
+            if (!file.delete()) {
+                file.deleteOnExit();
+            }
+            throw e;
+        }
+    }
+
 }
@@ -0,0 +1,300 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.query.poi;
+
+import builders.dsl.spreadsheet.api.Cell;
+import builders.dsl.spreadsheet.api.CellStyle;
+import builders.dsl.spreadsheet.api.Comment;
+import builders.dsl.spreadsheet.impl.DefaultCommentDefinition;
+import builders.dsl.spreadsheet.impl.Utils;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellAddress;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.model.Comments;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Date;
+
+/**
+ * Cell parsed from the sheet part. The value is kept as parsed so the cell stays valid after the parsing moves on.
+ */
+class PoiStreamingCell implements Cell {
+
+    PoiStreamingCell(PoiStreamingRow row, int column, int style, CellType type, String text, double number, String formula) {
+        this.row = row;
+        this.column = column;
+        this.style = style;
+        this.type = type;
+        this.text = text;
+        this.number = number;
+        this.formula = formula;
+    }
+
+    @Override
+    public int getColumn() {
+        return column;
+    }
+
+    @Override
+    public String getColumnAsString() {
+        return Utils.toColumn(column);
+    }
+
+    @Override
+    public <T> T read(Class<T> type) {
+        if (CharSequence.class.isAssignableFrom(type)) {
+            return type.cast(readString());
+        }
+
+        if (Date.class.isAssignableFrom(type)) {
+            return isBlank() ? null : type.cast(DateUtil.getJavaDate(readNumber(), row.getSheet().getWorkbook().isDate1904()));
+        }
+
+        if (LocalDateTime.class.isAssignableFrom(type)) {
+            return isBlank() ? null : type.cast(readLocalDateTime());
+        }
+
+        if (LocalDate.class.isAssignableFrom(type)) {
+            return isBlank() ? null : type.cast(readLocalDateTime().toLocalDate());
+        }
+
+        if (LocalTime.class.isAssignableFrom(type)) {
+            return isBlank() ? null : type.cast(readLocalDateTime().toLocalTime());
+        }
+
+        if (Boolean.class.isAssignableFrom(type)) {
+            return type.cast(readBoolean());
+        }
+
+        if (Number.class.isAssignableFrom(type)) {
+            Double val = readNumber();
+            return type.cast(val);
+        }
+
+        if (isBlank()) {
+            return null;
+        }
+
+        throw new IllegalArgumentException("Cannot read value " + text + " of cell as " + String.valueOf(type));
+    }
+
+    @Override
+    public boolean isNumber() {
+        return type == CellType.NUMERIC;
+    }
+
+    @Override
+    public boolean isBoolean() {
+        return type == CellType.BOOLEAN;
+    }
+
+    @Override
+    public double readDouble() {
+        return readNumber();
+    }
+
+    @Override
+    public long readLong() {
+        return (long) readNumber();
+    }
+
+    @Override
+    public long readEpochDay() {
+        if (type != CellType.NUMERIC) {
+            throw typeMismatch(CellType.NUMERIC);
+        }
+        return PoiCell.toEpochDay(number, row.getSheet().getWorkbook().isDate1904());
+    }
+
+    @Override
+    public Object getValue() {
+        if (formula != null) {
+            return formula;
+        }
+        switch (type) {
+            case BLANK:
+                return "";
+            case BOOLEAN:
+                return number != 0;
+            case NUMERIC:
+                return number;
+            default:
+                return text;
+        }
+    }
+
+    @Override
+    public PoiStreamingRow getRow() {
+        return row;
+    }
+
+    @Override
+    public String getName() {
+        return row.getSheet().getWorkbook().findName(row.getSheet(), getColumnAsString() + row.getNumber());
+    }
+
+    @Override
+    public Comment getComment() {
+        DefaultCommentDefinition definition = new DefaultCommentDefinition();
+        Comments comments = row.getSheet().getComments();
+        if (comments == null) {
+            return definition;
+        }
+
+        XSSFComment comment = comments.findCellComment(new CellAddress(row.getNumber() - 1, column - 1));
+        if (comment == null) {
+            return definition;
+        }
+
+        definition.author(comment.getAuthor());
+        definition.text(comment.getString().getString());
+        return definition;
+    }
+
+    @Override
+    public CellStyle getStyle() {
+        return row.getSheet().getWorkbook().getCellStyle(style);
+    }
+
+    @Override
+    public int getColspan() {
+        CellRangeAddress region = getMergedRegion();
+        return region == null ? 1 : region.getLastColumn() - region.getFirstColumn() + 1;
+    }
+
+    @Override
+    public int getRowspan() {
+        CellRangeAddress region = getMergedRegion();
+        return region == null ? 1 : region.getLastRow() - region.getFirstRow() + 1;
+    }
+
+    @Override
+    public Cell getAbove() {
+        PoiStreamingRow above = row.getAbove();
+        return above == null ? null : above.getCellByNumber(column);
+    }
+
+    @Override
+    public Cell getBelow() {
+        throw new UnsupportedOperationException(PoiStreamingRow.BELOW_NOT_AVAILABLE);
+    }
+
+    @Override
+    public Cell getLeft() {
+        return row.getCellByNumber(column - 1);
+    }
+
+    @Override
+    public Cell getRight() {
+        return row.getCellByNumber(column + getColspan());
+    }
+
+    @Override
+    public Cell getAboveLeft() {
+        PoiStreamingRow above = row.getAbove();
+        return above == null ? null : above.getCellByNumber(column - 1);
+    }
+
+    @Override
+    public Cell getAboveRight() {
+        PoiStreamingRow above = row.getAbove();
+        return above == null ? null : above.getCellByNumber(column + 1);
+    }
+
+    @Override
+    public Cell getBelowLeft() {
+        throw new UnsupportedOperationException(PoiStreamingRow.BELOW_NOT_AVAILABLE);
+    }
+
+    @Override
+    public Cell getBelowRight() {
+        throw new UnsupportedOperationException(PoiStreamingRow.BELOW_NOT_AVAILABLE);
+    }
+
+    @Override
+    public String toString() {
+        return "Cell[" + row.getSheet().getName() + "!" + getColumnAsString() + row.getNumber() + "]=" + String.valueOf(getValue());
+    }
+
+    private boolean isBlank() {
+        return type == CellType.BLANK;
+    }
+
+    private String readString() {
+        switch (type) {
+            case BLANK:
+                return "";
+            case STRING:
+                return text;
+            default:
+                throw typeMismatch(CellType.STRING);
+        }
+    }
+
+    private double readNumber() {
+        switch (type) {
+            case BLANK:
+                return 0;
+            case NUMERIC:
+                return number;
+            default:
+                throw typeMismatch(CellType.NUMERIC);
+        }
+    }
+
+    @Override
+    public boolean readBoolean() {
+        switch (type) {
+            case BLANK:
+                return false;
+            case BOOLEAN:
+                return number != 0;
+            default:
+                throw typeMismatch(CellType.BOOLEAN);
+        }
+    }
+
+    private LocalDateTime readLocalDateTime() {
+        return DateUtil.getLocalDateTime(readNumber(), row.getSheet().getWorkbook().isDate1904());
+    }
+
+    private IllegalStateException typeMismatch(CellType expected) {
+        return new IllegalStateException("Cannot get a " + expected + " value from a " + type + " cell");
+    }
+
+    private CellRangeAddress getMergedRegion() {
+        for (CellRangeAddress candidate : row.getSheet().getMergedRegions()) {
+            if (candidate.isInRange(row.getNumber() - 1, column - 1)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private final PoiStreamingRow row;
+    private final int column;
+    private final int style;
+    private final CellType type;
+    private final String text;
+    private final double number;
+    private final String formula;
+}
@@ -0,0 +1,105 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.query.poi;
+
+import builders.dsl.spreadsheet.api.Cell;
+import builders.dsl.spreadsheet.api.Row;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Row parsed from the sheet part. Only the directly preceding row is available while the sheet is being parsed,
+ * the rows below have not been read yet.
+ */
+class PoiStreamingRow implements Row {
+
+    static final String BELOW_NOT_AVAILABLE = "Rows below are not available when the spreadsheet is streamed";
+
+    PoiStreamingRow(PoiStreamingSheet sheet, int number, PoiStreamingRow above) {
+        this.sheet = sheet;
+        this.number = number;
+        this.above = above;
+    }
+
+    @Override
+    public int getNumber() {
+        return number;
+    }
+
+    @Override
+    public PoiStreamingSheet getSheet() {
+        return sheet;
+    }
+
+    @Override
+    public List<Cell> getCells() {
+        return Collections.<Cell>unmodifiableList(cells);
+    }
+
+    @Override
+    public PoiStreamingRow getAbove() {
+        return above != null && above.getNumber() == number - 1 ? above : null;
+    }
+
+    @Override
+    public PoiStreamingRow getAbove(int howMany) {
+        if (howMany == 1) {
+            return getAbove();
+        }
+        throw new UnsupportedOperationException("Only the directly preceding row is available when the spreadsheet is streamed");
+    }
+
+    @Override
+    public Row getBelow() {
+        throw new UnsupportedOperationException(BELOW_NOT_AVAILABLE);
+    }
+
+    @Override
+    public Row getBelow(int howMany) {
+        return getBelow();
+    }
+
+    @Override
+    public String toString() {
+        return "Row[" + sheet.getName() + "!" + number + "]";
+    }
+
+    PoiStreamingCell getCellByNumber(int oneBasedColumnNumber) {
+        for (PoiStreamingCell cell : cells) {
+            if (cell.getColumn() == oneBasedColumnNumber) {
+                return cell;
+            }
+        }
+        return null;
+    }
+
+    void add(PoiStreamingCell cell) {
+        cells.add(cell);
+    }
+
+    void forgetAbove() {
+        above = null;
+    }
+
+    private final PoiStreamingSheet sheet;
+    private final int number;
+    private final List<PoiStreamingCell> cells = new ArrayList<PoiStreamingCell>();
+    private PoiStreamingRow above;
+}
@@ -0,0 +1,261 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.query.poi;
+
+import builders.dsl.spreadsheet.api.Row;
+import org.apache.poi.ss.usermodel.CellType;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterator parsing the rows from the sheet part one by one. The part is closed as soon as the last row is read
+ * or when the workbook is closed if the iteration stops earlier.
+ */
+class PoiStreamingRowIterator implements Iterator<Row> {
+
+    PoiStreamingRowIterator(PoiStreamingSheet sheet, InputStream stream) {
+        this(sheet, stream, 1, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates the iterator returning only the rows within given range. The rows before the range are skipped
+     * without reading their cells and the part is closed as soon as the range is passed.
+     */
+    PoiStreamingRowIterator(PoiStreamingSheet sheet, InputStream stream, int from, int to) {
+        this.sheet = sheet;
+        this.stream = stream;
+        this.from = from;
+        this.to = to;
+        try {
+            this.xml = PoiStreamingWorkbook.XML_INPUT_FACTORY.createXMLStreamReader(stream);
+        } catch (XMLStreamException e) {
+            closeQuietly(stream);
+            throw new IllegalStateException("Exception reading sheet " + sheet.getName(), e);
+        }
+        sheet.getWorkbook().opened(this);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            try {
+                next = readRow();
+            } catch (XMLStreamException e) {
+                close();
+                throw new IllegalStateException("Exception reading sheet " + sheet.getName(), e);
+            }
+            if (next == null) {
+                close();
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public Row next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        PoiStreamingRow row = next;
+        next = null;
+        return row;
+    }
+
+    void close() {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        try {
+            xml.close();
+        } catch (XMLStreamException ignored) {
+            // do nothing
+        }
+        closeQuietly(stream);
+        sheet.getWorkbook().closed(this);
+    }
+
+    private PoiStreamingRow readRow() throws XMLStreamException {
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT && "row".equals(xml.getLocalName())) {
+                String reference = PoiStreamingWorkbook.getAttribute(xml, "r");
+                int number = reference == null ? lastRowNumber + 1 : Integer.parseInt(reference);
+                if (number > to) {
+                    return null;
+                }
+                if (number + 1 < from) {
+                    skipElement();
+                    lastRowNumber = number;
+                    continue;
+                }
+                PoiStreamingRow row = new PoiStreamingRow(sheet, number, previous);
+                readCells(row);
+
+                if (previous != null) {
+                    // only the directly preceding row is kept to keep the memory constant
+                    previous.forgetAbove();
+                }
+                previous = row;
+                lastRowNumber = number;
+                if (number < from) {
+                    // the row directly above the range is only read to be available as its above row
+                    continue;
+                }
+                return row;
+            }
+            if (event == XMLStreamConstants.END_ELEMENT && "sheetData".equals(xml.getLocalName())) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private void readCells(PoiStreamingRow row) throws XMLStreamException {
+        int lastColumn = 0;
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT && "c".equals(xml.getLocalName())) {
+                String reference = PoiStreamingWorkbook.getAttribute(xml, "r");
+                int column = reference == null ? lastColumn + 1 : parseColumn(reference);
+                row.add(readCell(row, column));
+                lastColumn = column;
+            } else if (event == XMLStreamConstants.END_ELEMENT && "row".equals(xml.getLocalName())) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @param reference the reference of the cell such as <code>AB12</code>
+     * @return the number of the column of the cell starting from one
+     */
+    private static int parseColumn(String reference) {
+        int column = 0;
+        for (int i = 0; i < reference.length(); i++) {
+            char letter = reference.charAt(i);
+            if (letter < 'A' || letter > 'Z') {
+                break;
+            }
+            column = column * 26 + letter - 'A' + 1;
+        }
+        return column;
+    }
+
+    private PoiStreamingCell readCell(PoiStreamingRow row, int column) throws XMLStreamException {
+        String type = PoiStreamingWorkbook.getAttribute(xml, "t");
+        String styleValue = PoiStreamingWorkbook.getAttribute(xml, "s");
+        int style = styleValue == null ? 0 : Integer.parseInt(styleValue);
+
+        String value = null;
+        String formula = null;
+        StringBuilder inlineString = null;
+
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.END_ELEMENT && "c".equals(xml.getLocalName())) {
+                break;
+            }
+            if (event != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+            switch (xml.getLocalName()) {
+                case "v":
+                    value = xml.getElementText();
+                    break;
+                case "f":
+                    String text = xml.getElementText();
+                    // cells sharing the formula of another cell only carry the cached value
+                    if (!text.isEmpty()) {
+                        formula = text;
+                    }
+                    break;
+                case "t":
+                    if (inlineString == null) {
+                        inlineString = new StringBuilder();
+                    }
+                    inlineString.append(xml.getElementText());
+                    break;
+                case "rPh":
+                    // phonetic runs are not part of the value
+                    skipElement();
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        if ("s".equals(type)) {
+            String string = value == null ? "" : sheet.getWorkbook().getSharedStrings().getItemAt(Integer.parseInt(value)).getString();
+            return new PoiStreamingCell(row, column, style, CellType.STRING, string, 0, formula);
+        }
+        if ("inlineStr".equals(type)) {
+            return new PoiStreamingCell(row, column, style, CellType.STRING, inlineString == null ? "" : inlineString.toString(), 0, formula);
+        }
+        if ("str".equals(type)) {
+            return new PoiStreamingCell(row, column, style, CellType.STRING, value == null ? "" : value, 0, formula);
+        }
+        if ("b".equals(type)) {
+            return new PoiStreamingCell(row, column, style, CellType.BOOLEAN, value, "1".equals(value) ? 1 : 0, formula);
+        }
+        if ("e".equals(type)) {
+            return new PoiStreamingCell(row, column, style, CellType.ERROR, value, 0, formula);
+        }
+        if (value == null || value.isEmpty()) {
+            return new PoiStreamingCell(row, column, style, CellType.BLANK, null, 0, formula);
+        }
+        return new PoiStreamingCell(row, column, style, CellType.NUMERIC, value, Double.parseDouble(value), formula);
+    }
+
+    private void skipElement() throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0 && xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private static void closeQuietly(InputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException ignored) {
+            // do nothing
+        }
+    }
+
+    private final PoiStreamingSheet sheet;
+    private final InputStream stream;
+    private final XMLStreamReader xml;
+    private final int from;
+    private final int to;
+
+    private PoiStreamingRow next;
+    private PoiStreamingRow previous;
+    private int lastRowNumber;
+    private boolean finished;
+}
@@ -0,0 +1,259 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.query.poi;
+
+import builders.dsl.spreadsheet.api.Cell;
+import builders.dsl.spreadsheet.api.Keywords;
+import builders.dsl.spreadsheet.api.Page;
+import builders.dsl.spreadsheet.api.Row;
+import builders.dsl.spreadsheet.api.Sheet;
+import org.apache.poi.ss.usermodel.PaperSize;
+import org.apache.poi.ss.usermodel.PrintOrientation;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.model.Comments;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Sheet whose rows are parsed from the sheet part every time they are iterated.
+ *
+ * The information stored after the rows in the sheet part (protection, page setup and merged cells) is read
+ * by a separate pass over the part only if requested.
+ */
+class PoiStreamingSheet implements Sheet {
+
+    PoiStreamingSheet(PoiStreamingWorkbook workbook, int index, String name, String relationshipId, String state) {
+        this.workbook = workbook;
+        this.index = index;
+        this.name = name;
+        this.relationshipId = relationshipId;
+        this.state = state == null ? "visible" : state;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public PoiStreamingWorkbook getWorkbook() {
+        return workbook;
+    }
+
+    @Override
+    public Collection<Row> getRows() {
+        return new AbstractCollection<Row>() {
+            @Override
+            public Iterator<Row> iterator() {
+                return new PoiStreamingRowIterator(PoiStreamingSheet.this, workbook.openSheet(relationshipId));
+            }
+
+            @Override
+            public boolean isEmpty() {
+                PoiStreamingRowIterator rows = (PoiStreamingRowIterator) iterator();
+                try {
+                    return !rows.hasNext();
+                } finally {
+                    rows.close();
+                }
+            }
+
+            @Override
+            public int size() {
+                int size = 0;
+                for (Iterator<Row> rows = iterator(); rows.hasNext(); rows.next()) {
+                    size++;
+                }
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public Collection<Row> getRows(int from, int to) {
+        return new AbstractCollection<Row>() {
+            @Override
+            public Iterator<Row> iterator() {
+                return new PoiStreamingRowIterator(PoiStreamingSheet.this, workbook.openSheet(relationshipId), from, to);
+            }
+
+            @Override
+            public int size() {
+                int size = 0;
+                for (Iterator<Row> rows = iterator(); rows.hasNext(); rows.next()) {
+                    size++;
+                }
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public List<Cell> getNamedCells(String name) {
+        List<Cell> cells = new ArrayList<Cell>(1);
+        for (String reference : workbook.findCellReferences(this, name)) {
+            CellReference cellReference = new CellReference(reference);
+            int number = cellReference.getRow() + 1;
+            for (Row row : getRows(number, number)) {
+                cells.addAll(row.getCells(cellReference.getCol() + 1, cellReference.getCol() + 1));
+            }
+        }
+        return Collections.unmodifiableList(cells);
+    }
+
+    @Override
+    public Page getPage() {
+        readTail();
+        return new Page() {
+            @Override
+            public Keywords.Orientation getOrientation() {
+                return PoiPage.toOrientation(orientation);
+            }
+
+            @Override
+            public Keywords.Paper getPaper() {
+                return PoiPage.toPaper(paperSize);
+            }
+        };
+    }
+
+    @Override
+    public Sheet getNext() {
+        List<Sheet> sheets = workbook.getSheets();
+        return index + 1 < sheets.size() ? sheets.get(index + 1) : null;
+    }
+
+    @Override
+    public Sheet getPrevious() {
+        return index > 0 ? workbook.getSheets().get(index - 1) : null;
+    }
+
+    @Override
+    public boolean isLocked() {
+        readTail();
+        return locked;
+    }
+
+    @Override
+    public boolean isHidden() {
+        return "hidden".equals(state);
+    }
+
+    @Override
+    public boolean isVisible() {
+        return "visible".equals(state);
+    }
+
+    @Override
+    public boolean isVeryHidden() {
+        return "veryHidden".equals(state);
+    }
+
+    @Override
+    public String toString() {
+        return "Sheet[" + name + "]";
+    }
+
+    int getIndex() {
+        return index;
+    }
+
+    List<CellRangeAddress> getMergedRegions() {
+        readTail();
+        return mergedRegions;
+    }
+
+    Comments getComments() {
+        if (!commentsRead) {
+            comments = workbook.readComments(relationshipId);
+            commentsRead = true;
+        }
+        return comments;
+    }
+
+    private void readTail() {
+        if (mergedRegions != null) {
+            return;
+        }
+
+        List<CellRangeAddress> regions = new ArrayList<CellRangeAddress>();
+        try (InputStream stream = workbook.openSheet(relationshipId)) {
+            XMLStreamReader xml = PoiStreamingWorkbook.XML_INPUT_FACTORY.createXMLStreamReader(stream);
+            try {
+                while (xml.hasNext()) {
+                    if (xml.next() != XMLStreamConstants.START_ELEMENT) {
+                        continue;
+                    }
+                    switch (xml.getLocalName()) {
+                        case "sheetProtection":
+                            locked = PoiStreamingWorkbook.isTrue(PoiStreamingWorkbook.getAttribute(xml, "sheet"));
+                            break;
+                        case "pageSetup":
+                            String orientationValue = PoiStreamingWorkbook.getAttribute(xml, "orientation");
+                            if (orientationValue != null) {
+                                orientation = PrintOrientation.valueOf(orientationValue.toUpperCase(Locale.ROOT));
+                            }
+                            String paperSizeValue = PoiStreamingWorkbook.getAttribute(xml, "paperSize");
+                            if (paperSizeValue != null) {
+                                int paperSizeIndex = Integer.parseInt(paperSizeValue) - 1;
+                                if (paperSizeIndex >= 0 && paperSizeIndex < PaperSize.values().length) {
+                                    paperSize = PaperSize.values()[paperSizeIndex];
+                                }
+                            }
+                            break;
+                        case "mergeCell":
+                            regions.add(CellRangeAddress.valueOf(PoiStreamingWorkbook.getAttribute(xml, "ref")));
+                            break;
+                        default:
+                            break;
+                    }
+                }
+            } finally {
+                xml.close();
+            }
+        } catch (IOException | XMLStreamException e) {
+            throw new IllegalStateException("Exception reading sheet " + name, e);
+        }
+        mergedRegions = Collections.unmodifiableList(regions);
+    }
+
+    private final PoiStreamingWorkbook workbook;
+    private final int index;
+    private final String name;
+    private final String relationshipId;
+    private final String state;
+
+    private List<CellRangeAddress> mergedRegions;
+    private boolean locked;
+    private PrintOrientation orientation = PrintOrientation.DEFAULT;
+    private PaperSize paperSize = PaperSize.LETTER_PAPER;
+    private Comments comments;
+    private boolean commentsRead;
+}
@@ -0,0 +1,84 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.query.poi;
+
+import builders.dsl.spreadsheet.api.Cell;
+import builders.dsl.spreadsheet.query.api.SpreadsheetCriteria;
+import builders.dsl.spreadsheet.query.api.SpreadsheetCriteriaResult;
+import builders.dsl.spreadsheet.query.api.WorkbookCriterion;
+import builders.dsl.spreadsheet.query.simple.SimpleSpreadsheetCriteria;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Criteria evaluated while the sheets are being parsed so the memory needed depends on the width of the rows
+ * rather than on the size of the file. The parsing stops as soon as enough cells are found, e.g. for
+ * {@link #find(Consumer)} and {@link #exists(Consumer)}.
+ *
+ * The cells can only navigate to the cells in the same row or in the directly preceding row. The criteria must be
+ * closed to release the underlying file.
+ */
+public final class PoiStreamingSpreadsheetCriteria implements SpreadsheetCriteria, Closeable {
+
+    PoiStreamingSpreadsheetCriteria(File file, boolean temporary) throws IOException {
+        this.workbook = new PoiStreamingWorkbook(file);
+        this.delegate = SimpleSpreadsheetCriteria.forWorkbook(workbook);
+        this.file = file;
+        this.temporary = temporary;
+    }
+
+    @Override
+    public SpreadsheetCriteriaResult all() {
+        return delegate.all();
+    }
+
+    @Override
+    public SpreadsheetCriteriaResult query(Consumer<WorkbookCriterion> workbookCriterion) throws FileNotFoundException {
+        return delegate.query(workbookCriterion);
+    }
+
+    @Override
+    public Cell find(Consumer<WorkbookCriterion> workbookCriterion) throws FileNotFoundException {
+        return delegate.find(workbookCriterion);
+    }
+
+    @Override
+    public boolean exists(Consumer<WorkbookCriterion> workbookCriterion) throws FileNotFoundException {
+        return delegate.exists(workbookCriterion);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            workbook.close();
+        } finally {
+            if (temporary && !file.delete()) {
+                file.deleteOnExit();
+            }
+        }
+    }
+
+    private final PoiStreamingWorkbook workbook;
+    private final SpreadsheetCriteria delegate;
+    private final File file;
+    private final boolean temporary;
+}
@@ -0,0 +1,235 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.query.poi;
+
+import builders.dsl.spreadsheet.api.Sheet;
+import builders.dsl.spreadsheet.api.Workbook;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.openxml4j.opc.PackageRelationship;
+import org.apache.poi.openxml4j.opc.PackageRelationshipTypes;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.Comments;
+import org.apache.poi.xssf.model.CommentsTable;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.xml.sax.SAXException;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Workbook which reads the sheets directly from the package using {@link XSSFReader} without building
+ * the workbook model.
+ *
+ * Only the workbook part, the styles and the shared strings are read in advance. The rows are parsed on demand
+ * every time the rows of the sheet are iterated.
+ */
+class PoiStreamingWorkbook implements Workbook, Closeable {
+
+    static final XMLInputFactory XML_INPUT_FACTORY = XMLHelper.newXMLInputFactory();
+
+    PoiStreamingWorkbook(File file) throws IOException {
+        this.pkg = open(file);
+        try {
+            this.reader = new XSSFReader(pkg);
+            readWorkbook();
+        } catch (IOException | OpenXML4JException | XMLStreamException e) {
+            pkg.revert();
+            throw new IOException("Exception reading workbook " + file, e);
+        }
+    }
+
+    @Override
+    public List<Sheet> getSheets() {
+        return Collections.unmodifiableList(sheets);
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (PoiStreamingRowIterator iterator : new ArrayList<PoiStreamingRowIterator>(openIterators)) {
+            iterator.close();
+        }
+        // the package is opened read only, revert closes it without saving
+        pkg.revert();
+    }
+
+    @Override
+    public String toString() {
+        return "Workbook[" + sheets + "]";
+    }
+
+    StylesTable getStylesTable() {
+        if (stylesTable == null) {
+            try {
+                stylesTable = reader.getStylesTable();
+            } catch (IOException | OpenXML4JException e) {
+                throw new IllegalStateException("Exception reading the styles of the workbook", e);
+            }
+        }
+        return stylesTable;
+    }
+
+    /**
+     * @param index the index of the style
+     * @return the shared wrapper of the style with given index
+     */
+    PoiCellStyle getCellStyle(int index) {
+        return styles.computeIfAbsent(index, i -> new PoiCellStyle(getStylesTable().getStyleAt(i)));
+    }
+
+    ReadOnlySharedStringsTable getSharedStrings() {
+        if (sharedStrings == null) {
+            try {
+                sharedStrings = new ReadOnlySharedStringsTable(pkg);
+            } catch (IOException | SAXException e) {
+                throw new IllegalStateException("Exception reading the shared strings of the workbook", e);
+            }
+        }
+        return sharedStrings;
+    }
+
+    boolean isDate1904() {
+        return date1904;
+    }
+
+    InputStream openSheet(String relationshipId) {
+        try {
+            return reader.getSheet(relationshipId);
+        } catch (IOException | OpenXML4JException e) {
+            throw new IllegalStateException("Exception opening the sheet " + relationshipId, e);
+        }
+    }
+
+    Comments readComments(String relationshipId) {
+        try {
+            PackagePart workbookPart = pkg.getPart(pkg.getRelationshipsByType(PackageRelationshipTypes.CORE_DOCUMENT).getRelationship(0));
+            PackagePart sheetPart = workbookPart.getRelatedPart(workbookPart.getRelationship(relationshipId));
+            for (PackageRelationship relationship : sheetPart.getRelationshipsByType(XSSFRelation.SHEET_COMMENTS.getRelation())) {
+                return new CommentsTable(sheetPart.getRelatedPart(relationship));
+            }
+            return null;
+        } catch (IOException | OpenXML4JException e) {
+            throw new IllegalStateException("Exception reading the comments of the sheet " + relationshipId, e);
+        }
+    }
+
+    /**
+     * @param sheet the sheet of the cell
+     * @param reference the reference of the cell without the sheet name
+     * @return the name of the cell or null
+     */
+    String findName(PoiStreamingSheet sheet, String reference) {
+        return names.findName(sheet.getIndex(), sheet.getName(), reference);
+    }
+
+    /**
+     * @param sheet the sheet
+     * @param name the name
+     * @return the references of the cells in the sheet which the name refers to, e.g. A1
+     */
+    List<String> findCellReferences(PoiStreamingSheet sheet, String name) {
+        return names.findCellReferences(name, sheet.getIndex(), sheet.getName());
+    }
+
+    void opened(PoiStreamingRowIterator iterator) {
+        openIterators.add(iterator);
+    }
+
+    void closed(PoiStreamingRowIterator iterator) {
+        openIterators.remove(iterator);
+    }
+
+    static String getAttribute(XMLStreamReader xml, String localName) {
+        for (int i = 0; i < xml.getAttributeCount(); i++) {
+            if (localName.equals(xml.getAttributeLocalName(i))) {
+                return xml.getAttributeValue(i);
+            }
+        }
+        return null;
+    }
+
+    static boolean isTrue(String value) {
+        return "1".equals(value) || "true".equals(value);
+    }
+
+    private void readWorkbook() throws IOException, OpenXML4JException, XMLStreamException {
+        try (InputStream stream = reader.getWorkbookData()) {
+            XMLStreamReader xml = XML_INPUT_FACTORY.createXMLStreamReader(stream);
+            try {
+                while (xml.hasNext()) {
+                    if (xml.next() != XMLStreamConstants.START_ELEMENT) {
+                        continue;
+                    }
+                    switch (xml.getLocalName()) {
+                        case "workbookPr":
+                            date1904 = isTrue(getAttribute(xml, "date1904"));
+                            break;
+                        case "sheet":
+                            sheets.add(new PoiStreamingSheet(this, sheets.size(), getAttribute(xml, "name"), getAttribute(xml, "id"), getAttribute(xml, "state")));
+                            break;
+                        case "definedName":
+                            String localSheetId = getAttribute(xml, "localSheetId");
+                            String name = getAttribute(xml, "name");
+                            names.add(localSheetId == null ? -1 : Integer.parseInt(localSheetId), name, xml.getElementText());
+                            break;
+                        default:
+                            break;
+                    }
+                }
+            } finally {
+                xml.close();
+            }
+        }
+    }
+
+    private static OPCPackage open(File file) throws IOException {
+        try {
+            return OPCPackage.open(file, PackageAccess.READ);
+        } catch (OpenXML4JException e) {
+            throw new IOException("Exception opening workbook " + file, e);
+        }
+    }
+
+    private final OPCPackage pkg;
+    private final XSSFReader reader;
+    private final List<Sheet> sheets = new ArrayList<Sheet>();
+    private final PoiNameIndex names = new PoiNameIndex();
+    private final Set<PoiStreamingRowIterator> openIterators = new HashSet<PoiStreamingRowIterator>();
+    private final Map<Integer, PoiCellStyle> styles = new HashMap<Integer, PoiCellStyle>();
+    private boolean date1904;
+    private StylesTable stylesTable;
+    private ReadOnlySharedStringsTable sharedStrings;
+}
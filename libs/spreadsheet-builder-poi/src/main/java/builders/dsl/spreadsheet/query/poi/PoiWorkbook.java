@@ -18,6 +18,7 @@
 package builders.dsl.spreadsheet.query.poi;
 
 import builders.dsl.spreadsheet.api.Workbook;
+import org.apache.poi.ss.usermodel.Name;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.xssf.usermodel.XSSFSheet;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
@@ -25,10 +26,14 @@ import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 class PoiWorkbook implements Workbook {
 
     private final XSSFWorkbook workbook;
+    private final Map<Integer, PoiCellStyle> styles = new ConcurrentHashMap<Integer, PoiCellStyle>();
+    private volatile PoiNameIndex names;
 
     PoiWorkbook(XSSFWorkbook workbook) {
         this.workbook = workbook;
@@ -38,6 +43,29 @@ class PoiWorkbook implements Workbook {
         return workbook;
     }
 
+    /**
+     * @param index the index of the style
+     * @return the shared wrapper of the style with given index
+     */
+    PoiCellStyle getCellStyle(int index) {
+        return styles.computeIfAbsent(index, i -> new PoiCellStyle(workbook.getCellStyleAt(i)));
+    }
+
+    /**
+     * @return the index of the defined names of the workbook, built on the first use
+     */
+    PoiNameIndex getNames() {
+        PoiNameIndex index = names;
+        if (index == null) {
+            index = new PoiNameIndex();
+            for (Name name : workbook.getAllNames()) {
+                index.add(name.getSheetIndex(), name.getNameName(), name.getRefersToFormula());
+            }
+            names = index;
+        }
+        return index;
+    }
+
     public List<builders.dsl.spreadsheet.api.Sheet> getSheets() {
         List<builders.dsl.spreadsheet.api.Sheet> sheets = new ArrayList<builders.dsl.spreadsheet.api.Sheet>();
         for (Sheet s : workbook) {
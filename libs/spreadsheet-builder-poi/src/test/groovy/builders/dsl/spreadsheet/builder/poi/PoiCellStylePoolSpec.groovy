@@ -0,0 +1,150 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.poi
+
+import builders.dsl.spreadsheet.builder.api.SpreadsheetBuilder
+import org.apache.poi.xssf.usermodel.XSSFWorkbook
+import spock.lang.Requires
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class PoiCellStylePoolSpec extends Specification {
+
+    @Unroll
+    void "inline styles are shared (#mode)"() {
+        given:
+            ByteArrayOutputStream out = new ByteArrayOutputStream()
+            SpreadsheetBuilder builder = factory.call(out)
+
+        when:
+            builder.build {
+                sheet('Styles') {
+                    (1..100).each { int r ->
+                        row {
+                            (1..10).each { int c ->
+                                cell {
+                                    value r * c
+                                    style {
+                                        foreground c % 2 ? '#ff0000' : '#00ff00'
+                                        format '0.00'
+                                        font {
+                                            style bold
+                                        }
+                                        border(top) {
+                                            style thin
+                                        }
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+
+            XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))
+
+        then:
+            // default style and two distinct inline styles
+            workbook.numCellStyles == 3
+            workbook.getSheet('Styles').getRow(0).getCell(0).cellStyle.index == workbook.getSheet('Styles').getRow(99).getCell(8).cellStyle.index
+            workbook.getSheet('Styles').getRow(0).getCell(0).cellStyle.index != workbook.getSheet('Styles').getRow(0).getCell(1).cellStyle.index
+            workbook.getSheet('Styles').getRow(0).getCell(1).cellStyle.font.bold
+
+        where:
+            mode        | factory
+            'create'    | { OutputStream out -> PoiSpreadsheetBuilder.create(out) }
+            'stream'    | { OutputStream out -> PoiSpreadsheetBuilder.stream(out) }
+    }
+
+    void "redefined cell does not modify the shared style"() {
+        given:
+            ByteArrayOutputStream out = new ByteArrayOutputStream()
+
+        when:
+            PoiSpreadsheetBuilder.create(out).build {
+                sheet('Styles') {
+                    row {
+                        cell {
+                            value 'A'
+                            style {
+                                foreground '#ff0000'
+                            }
+                        }
+                        cell {
+                            value 'B'
+                            style {
+                                foreground '#ff0000'
+                            }
+                        }
+                    }
+                    row(1) {
+                        cell(2) {
+                            style {
+                                format '0.00'
+                            }
+                        }
+                    }
+                }
+            }
+
+            XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))
+
+        then:
+            workbook.getSheet('Styles').getRow(0).getCell(0).cellStyle.dataFormatString == 'General'
+            workbook.getSheet('Styles').getRow(0).getCell(1).cellStyle.dataFormatString == '0.00'
+            workbook.getSheet('Styles').getRow(0).getCell(1).cellStyle.fillForegroundColorColor.ARGBHex == 'FFFF0000'
+    }
+
+    @Requires({ sys['benchmark'] })
+    void "benchmark one million styled cells"() {
+        given:
+            File file = File.createTempFile('style-pool', '.xlsx')
+            file.deleteOnExit()
+            long start = System.currentTimeMillis()
+
+        when:
+            PoiSpreadsheetBuilder.stream(file).build {
+                sheet('Styles') {
+                    (1..10000).each { int r ->
+                        row {
+                            (1..100).each { int c ->
+                                cell {
+                                    value r * c
+                                    style {
+                                        foreground c % 10 ? '#eeeeee' : '#ff0000'
+                                        format '#,##0.00'
+                                        font {
+                                            size 10
+                                        }
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+
+            long elapsed = System.currentTimeMillis() - start
+            XSSFWorkbook workbook = new XSSFWorkbook(file)
+            println "1M styled cells built in ${elapsed} ms using ${workbook.numCellStyles} cell styles (${file.length()} bytes)"
+
+        then:
+            workbook.numCellStyles == 3
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.poi
+
+import org.apache.poi.xssf.usermodel.XSSFWorkbook
+import spock.lang.Specification
+
+class PoiFontRegistrySpec extends Specification {
+
+    void "fonts with same attributes are shared"() {
+        given:
+            ByteArrayOutputStream out = new ByteArrayOutputStream()
+            int fontsBefore = new XSSFWorkbook().numberOfFonts
+
+        when:
+            PoiSpreadsheetBuilder.create(out).build {
+                sheet('Fonts') {
+                    (1..100).each { int r ->
+                        row {
+                            cell {
+                                text 'Hello '
+                                text 'World', {
+                                    style bold
+                                }
+                            }
+                            cell {
+                                value r
+                                style {
+                                    font {
+                                        style bold
+                                    }
+                                }
+                            }
+                            cell {
+                                value r
+                                style {
+                                    font {
+                                        color '#ff0000'
+                                        size 22
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+
+            XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))
+
+        then:
+            workbook.numberOfFonts == fontsBefore + 2
+            workbook.getSheet('Fonts').getRow(0).getCell(1).cellStyle.font.bold
+            workbook.getSheet('Fonts').getRow(99).getCell(2).cellStyle.font.fontHeightInPoints == 22
+            workbook.getSheet('Fonts').getRow(99).getCell(2).cellStyle.font.XSSFColor.ARGBHex == 'FFFF0000'
+    }
+
+    void "registry returns same font for equal drafts"() {
+        given:
+            XSSFWorkbook workbook = new XSSFWorkbook()
+            PoiFontRegistry registry = new PoiFontRegistry(workbook)
+
+        when:
+            PoiFontDefinition first = new PoiFontDefinition(registry)
+            first.size(12).name('Arial')
+            PoiFontDefinition second = new PoiFontDefinition(registry)
+            second.name('Arial').size(12)
+            PoiFontDefinition third = new PoiFontDefinition(registry)
+            third.name('Arial').size(14)
+
+        then:
+            first.font.is(second.font)
+            !first.font.is(third.font)
+            registry.size() == 2
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.poi
+
+import builders.dsl.spreadsheet.builder.api.SpreadsheetBuilder
+import org.apache.poi.ss.usermodel.BorderStyle
+import org.apache.poi.xssf.usermodel.XSSFCellStyle
+import org.apache.poi.xssf.usermodel.XSSFSheet
+import org.apache.poi.xssf.usermodel.XSSFWorkbook
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class PoiMergedBordersSpec extends Specification {
+
+    @Unroll
+    void "borders are applied to the edges of the merged cells (#mode)"() {
+        given:
+            ByteArrayOutputStream out = new ByteArrayOutputStream()
+            SpreadsheetBuilder builder = factory.call(out)
+
+        when:
+            builder.build {
+                sheet('Borders') {
+                    (1..200).each { int r ->
+                        row(r * 3 - 2) {
+                            cell {
+                                value r
+                                colspan 3
+                                rowspan 3
+                                style {
+                                    border {
+                                        style thin
+                                        color '#ff0000'
+                                    }
+                                    border(bottom) {
+                                        style thick
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+
+            XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))
+            XSSFSheet sheet = workbook.getSheet('Borders')
+
+        then:
+            style(sheet, 0, 0).borderTop == BorderStyle.THIN
+            style(sheet, 0, 0).borderBottom == BorderStyle.THICK
+
+            style(sheet, 0, 1).borderTop == BorderStyle.THIN
+            style(sheet, 0, 1).borderLeft == BorderStyle.NONE
+            style(sheet, 0, 1).topBorderXSSFColor.ARGBHex == 'FFFF0000'
+
+            style(sheet, 1, 0).borderLeft == BorderStyle.THIN
+            style(sheet, 1, 0).borderTop == BorderStyle.NONE
+            style(sheet, 1, 1).borderLeft == BorderStyle.NONE
+            style(sheet, 1, 2).borderRight == BorderStyle.THIN
+
+            style(sheet, 2, 2).borderRight == BorderStyle.THIN
+            style(sheet, 2, 2).borderBottom == BorderStyle.THICK
+            style(sheet, 2, 2).borderTop == BorderStyle.NONE
+
+            style(sheet, 599, 1).borderBottom == BorderStyle.THICK
+
+        and: 'the edge styles are pooled'
+            workbook.numCellStyles < 12
+
+        where:
+            mode     | factory
+            'create' | { OutputStream out -> PoiSpreadsheetBuilder.create(out) }
+            'stream' | { OutputStream out -> PoiSpreadsheetBuilder.stream(out) }
+    }
+
+    private static XSSFCellStyle style(XSSFSheet sheet, int row, int column) {
+        return sheet.getRow(row).getCell(column).cellStyle
+    }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.poi
+
+import org.apache.poi.ss.util.CellRangeAddress
+import org.apache.poi.xssf.usermodel.XSSFSheet
+import org.apache.poi.xssf.usermodel.XSSFWorkbook
+import spock.lang.Requires
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class PoiMergedRegionsSpec extends Specification {
+
+    @Unroll
+    void "region #region overlaps with B2:D4 = #overlaps"() {
+        given:
+            XSSFSheet sheet = new XSSFWorkbook().createSheet('Merged')
+            PoiMergedRegions regions = new PoiMergedRegions(sheet)
+            regions.add(CellRangeAddress.valueOf('B2:D4'))
+
+        expect:
+            (regions.findOverlapping(CellRangeAddress.valueOf(region)) != null) == overlaps
+
+        where:
+            region  | overlaps
+            'A1:B2' | true
+            'D4:E5' | true
+            'C3:C3' | true
+            'A1:E1' | false
+            'A2:A4' | false
+            'E2:F4' | false
+            'B5:D6' | false
+            'A1:F9' | true
+    }
+
+    void "overlapping regions are rejected"() {
+        when:
+            PoiSpreadsheetBuilder.create(new ByteArrayOutputStream()).build {
+                sheet('Merged') {
+                    row(2) {
+                        cell(2) {
+                            colspan 3
+                            rowspan 2
+                        }
+                    }
+                    row(3) {
+                        cell(3) {
+                            colspan 2
+                        }
+                    }
+                }
+            }
+
+        then:
+            IllegalStateException e = thrown(IllegalStateException)
+            e.message.startsWith('Cannot add merged region C3:D3 to sheet Merged')
+    }
+
+    void "regions from the template are checked as well"() {
+        given:
+            XSSFWorkbook workbook = new XSSFWorkbook()
+            XSSFSheet sheet = workbook.createSheet('Merged')
+            sheet.addMergedRegion(CellRangeAddress.valueOf('A1:C1'))
+
+        when:
+            PoiMergedRegions regions = new PoiMergedRegions(sheet)
+
+        then:
+            regions.findOverlapping(CellRangeAddress.valueOf('B1:B2'))
+            !regions.findOverlapping(CellRangeAddress.valueOf('A2:C2'))
+    }
+
+    @Unroll
+    void "merged regions are written (#mode)"() {
+        given:
+            ByteArrayOutputStream out = new ByteArrayOutputStream()
+
+        when:
+            factory.call(out).build {
+                sheet('Merged') {
+                    300.times {
+                        row {
+                            cell {
+                                value 'Header'
+                                colspan 2
+                            }
+                            cell {
+                                value 'Group'
+                                colspan 3
+                            }
+                        }
+                    }
+                }
+            }
+
+            XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))
+
+        then:
+            workbook.getSheet('Merged').numMergedRegions == 600
+            workbook.getSheet('Merged').getMergedRegion(599).formatAsString() == 'C300:E300'
+
+        where:
+            mode     | factory
+            'create' | { OutputStream out -> PoiSpreadsheetBuilder.create(out) }
+            'stream' | { OutputStream out -> PoiSpreadsheetBuilder.stream(out) }
+    }
+
+    @Requires({ sys['benchmark'] })
+    void "benchmark adding 50k merged regions"() {
+        given:
+            int count = 50000
+            List<CellRangeAddress> addresses = (0..<count).collect { int i ->
+                new CellRangeAddress(i, i, 0, 1)
+            }
+
+        when:
+            XSSFSheet indexed = new XSSFWorkbook().createSheet('Indexed')
+            PoiMergedRegions regions = new PoiMergedRegions(indexed)
+            long start = System.currentTimeMillis()
+            addresses.each {
+                regions.add(it)
+            }
+            println "Indexed merged regions: ${System.currentTimeMillis() - start} ms"
+
+            XSSFSheet plain = new XSSFWorkbook().createSheet('Plain')
+            start = System.currentTimeMillis()
+            addresses.each {
+                plain.addMergedRegion(it)
+            }
+            println "POI validated merged regions: ${System.currentTimeMillis() - start} ms"
+
+        then:
+            indexed.numMergedRegions == count
+            plain.numMergedRegions == count
+    }
+
+}
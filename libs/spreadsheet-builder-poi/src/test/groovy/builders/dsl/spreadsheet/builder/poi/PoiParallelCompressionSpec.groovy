@@ -0,0 +1,192 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.poi
+
+import builders.dsl.spreadsheet.builder.api.SpreadsheetBuilder
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry
+import org.apache.poi.xssf.usermodel.XSSFWorkbook
+import spock.lang.Requires
+import spock.lang.Specification
+import spock.lang.Unroll
+import spock.util.concurrent.PollingConditions
+
+import java.util.zip.ZipEntry
+import java.util.zip.ZipInputStream
+
+class PoiParallelCompressionSpec extends Specification {
+
+    @Unroll
+    void "workbook written with #compression is readable (#mode)"() {
+        given:
+            ByteArrayOutputStream out = new ByteArrayOutputStream()
+            SpreadsheetBuilder builder = factory.call(out, compression)
+
+        when:
+            builder.build {
+                ['First', 'Second'].each { String name ->
+                    sheet(name) {
+                        (1..1000).each { int r ->
+                            row {
+                                cell "$name $r"
+                                cell r
+                            }
+                        }
+                    }
+                }
+            }
+
+            XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))
+
+        then:
+            workbook.getSheet('First').getRow(999).getCell(0).stringCellValue == 'First 1000'
+            workbook.getSheet('Second').getRow(499).getCell(1).numericCellValue == 500d
+            entryMethods(out.toByteArray()) == [compression.stored ? ZipEntry.STORED : ZipEntry.DEFLATED] as Set
+
+        where:
+            mode     | compression                                          | factory
+            'create' | PoiCompression.deflate()                             | { OutputStream out, PoiCompression c -> PoiSpreadsheetBuilder.create(out, c) }
+            'create' | PoiCompression.deflate(1).threads(3).chunkSize(1024) | { OutputStream out, PoiCompression c -> PoiSpreadsheetBuilder.create(out, c) }
+            'create' | PoiCompression.stored()                              | { OutputStream out, PoiCompression c -> PoiSpreadsheetBuilder.create(out, c) }
+            'stream' | PoiCompression.deflate()                             | { OutputStream out, PoiCompression c -> PoiSpreadsheetBuilder.stream(out, c) }
+            'stream' | PoiCompression.deflate(1).threads(3).chunkSize(1024) | { OutputStream out, PoiCompression c -> PoiSpreadsheetBuilder.stream(out, c) }
+            'stream' | PoiCompression.stored()                              | { OutputStream out, PoiCompression c -> PoiSpreadsheetBuilder.stream(out, c) }
+    }
+
+    @Unroll
+    void "workers and temporary files do not outlive a failed write (#failure)"() {
+        given:
+            Set<String> tempFiles = zipTempFiles()
+            OutputStream target = failing ? new FailingOutputStream(2048) : new ByteArrayOutputStream()
+            PoiParallelZipOutputStream zip = new PoiParallelZipOutputStream(target, PoiCompression.deflate().threads(2).chunkSize(1024))
+            Random random = new Random(42)
+
+        when:
+            // mimics SXSSF injecting the sheet data which only calls finish when it is done
+            try {
+                (1..3).each { int s ->
+                    zip.putArchiveEntry(new ZipArchiveEntry("xl/worksheets/sheet${s}.xml"))
+                    byte[] data = new byte[64 * 1024]
+                    random.nextBytes(data)
+                    zip.write(data, 0, data.length)
+                    if (!failing && s == 3) {
+                        throw new IOException('Sheet cannot be written')
+                    }
+                    zip.closeArchiveEntry()
+                }
+            } catch (IOException ignored) {
+                // the original failure is reported by POI
+            } finally {
+                zip.finish()
+            }
+
+        then:
+            thrown(IOException)
+            new PollingConditions(timeout: 5).eventually {
+                assert !Thread.allStackTraces.keySet().any { it.name.startsWith('spreadsheet-zip-') && it.alive }
+            }
+            zipTempFiles() == tempFiles
+
+        where:
+            failure                | failing
+            'sheet write throws'   | false
+            'target stream throws' | true
+    }
+
+    @Requires({ sys['benchmark'] })
+    void "benchmark writing the workbook using different number of threads"() {
+        given:
+            XSSFWorkbook workbook = new XSSFWorkbook()
+            PoiWorkbookDefinition definition = new PoiWorkbookDefinition(workbook)
+            (1..4).each { int s ->
+                definition.sheet("Sheet $s") {
+                    (1..50000).each { int r ->
+                        row {
+                            (1..10).each { int c ->
+                                cell c % 2 ? "Cell $r/$c" : r * c
+                            }
+                        }
+                    }
+                }
+            }
+            definition.resolve()
+
+            List<Integer> threads = [1, 2, 4, 8, 16, 32].findAll { it <= Runtime.runtime.availableProcessors() }
+            File file = File.createTempFile('parallel-compression', '.xlsx')
+            file.deleteOnExit()
+
+        when:
+            long start = System.currentTimeMillis()
+            file.withOutputStream { workbook.write(it) }
+            println "Default POI write: ${System.currentTimeMillis() - start} ms (${file.length()} bytes)"
+
+            threads.each { int count ->
+                start = System.currentTimeMillis()
+                file.withOutputStream { OutputStream out ->
+                    PoiParallelZipOutputStream zip = new PoiParallelZipOutputStream(out, PoiCompression.deflate().threads(count))
+                    workbook.write(zip)
+                    zip.close()
+                }
+                println "Parallel write using ${count} threads: ${System.currentTimeMillis() - start} ms (${file.length()} bytes)"
+            }
+
+            start = System.currentTimeMillis()
+            file.withOutputStream { OutputStream out ->
+                PoiParallelZipOutputStream zip = new PoiParallelZipOutputStream(out, PoiCompression.stored())
+                workbook.write(zip)
+                zip.close()
+            }
+            println "Stored write: ${System.currentTimeMillis() - start} ms (${file.length()} bytes)"
+
+        then:
+            new XSSFWorkbook(file).getSheet('Sheet 4').lastRowNum == 49999
+    }
+
+    private static Set<String> zipTempFiles() {
+        return new File(System.getProperty('java.io.tmpdir')).list().findAll { it.startsWith('spreadsheet-zip') } as Set
+    }
+
+    private static Set<Integer> entryMethods(byte[] bytes) {
+        Set<Integer> methods = new HashSet<Integer>()
+        new ZipInputStream(new ByteArrayInputStream(bytes)).withCloseable { ZipInputStream zip ->
+            ZipEntry entry
+            while ((entry = zip.nextEntry) != null) {
+                methods << entry.method
+            }
+        }
+        return methods
+    }
+
+    private static class FailingOutputStream extends OutputStream {
+
+        private final int limit
+        private int written
+
+        FailingOutputStream(int limit) {
+            this.limit = limit
+        }
+
+        @Override
+        void write(int b) throws IOException {
+            if (++written > limit) {
+                throw new IOException('Target stream failed')
+            }
+        }
+
+    }
+
+}
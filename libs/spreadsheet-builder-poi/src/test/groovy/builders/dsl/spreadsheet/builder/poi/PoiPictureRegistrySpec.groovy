@@ -0,0 +1,144 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.poi
+
+import com.sun.net.httpserver.HttpServer
+import org.apache.poi.ss.usermodel.Workbook
+import org.apache.poi.xssf.usermodel.XSSFDrawing
+import org.apache.poi.xssf.usermodel.XSSFWorkbook
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.AutoCleanup
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import javax.imageio.ImageIO
+import java.awt.image.BufferedImage
+import java.util.concurrent.atomic.AtomicInteger
+
+class PoiPictureRegistrySpec extends Specification {
+
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    @AutoCleanup('stop(0)') HttpServer server
+
+    AtomicInteger downloads = new AtomicInteger()
+
+    @Unroll
+    void "same image is stored only once (#type)"() {
+        given:
+            byte[] image = createImage()
+            File imageFile = tmp.newFile('image.png')
+            imageFile.bytes = image
+            String url = serve(image)
+            ByteArrayOutputStream out = new ByteArrayOutputStream()
+
+        when:
+            builder(out).build {
+                sheet('Images') {
+                    50.times {
+                        row {
+                            cell {
+                                png image from image
+                            }
+                            cell {
+                                png image from imageFile.absolutePath
+                            }
+                            cell {
+                                png image from url
+                            }
+                        }
+                    }
+                }
+            }
+
+            XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))
+
+        then:
+            workbook.allPictures.size() == 1
+            ((XSSFDrawing) workbook.getSheet('Images').createDrawingPatriarch()).shapes.size() == 150
+            downloads.get() == 1
+
+        where:
+            type        | builder
+            'create'    | { OutputStream out -> PoiSpreadsheetBuilder.create(out) }
+            'stream'    | { OutputStream out -> PoiSpreadsheetBuilder.stream(out) }
+    }
+
+    void "image data are released once the picture is added"() {
+        given:
+            byte[] image = createImage()
+            String url = serve(image)
+            PoiPictureRegistry registry = new PoiPictureRegistry(new XSSFWorkbook())
+
+        when:
+            byte[] data = registry.load(url).get()
+            int index = registry.addPicture(url, data, Workbook.PICTURE_TYPE_PNG)
+
+        then:
+            registry.findPicture(url, Workbook.PICTURE_TYPE_PNG) == index
+            registry.findPicture(url, Workbook.PICTURE_TYPE_JPEG) == null
+            registry.downloads.isEmpty()
+            downloads.get() == 1
+
+        cleanup:
+            registry.shutdown()
+    }
+
+    void "failed download is reported"() {
+        given:
+            server = HttpServer.create(new InetSocketAddress('localhost', 0), 0)
+            server.start()
+            String url = "http://localhost:${server.address.port}/missing.png"
+
+        when:
+            PoiSpreadsheetBuilder.create(new ByteArrayOutputStream()).build {
+                sheet('Images') {
+                    row {
+                        cell {
+                            png image from url
+                        }
+                    }
+                }
+            }
+
+        then:
+            RuntimeException e = thrown(RuntimeException)
+            e.message == "Exception opening image stream: $url"
+    }
+
+    private String serve(byte[] image) {
+        server = HttpServer.create(new InetSocketAddress('localhost', 0), 0)
+        server.createContext('/image.png') { exchange ->
+            downloads.incrementAndGet()
+            exchange.sendResponseHeaders(200, image.length)
+            exchange.responseBody.withStream { it.write(image) }
+        }
+        server.start()
+        return "http://localhost:${server.address.port}/image.png"
+    }
+
+    private static byte[] createImage() {
+        BufferedImage image = new BufferedImage(16, 16, BufferedImage.TYPE_INT_RGB)
+        image.setRGB(4, 4, 0xFF0000)
+        ByteArrayOutputStream out = new ByteArrayOutputStream()
+        ImageIO.write(image, 'png', out)
+        return out.toByteArray()
+    }
+
+}
@@ -21,6 +21,9 @@ import builders.dsl.spreadsheet.builder.api.SpreadsheetBuilder
 import builders.dsl.spreadsheet.builder.tck.AbstractBuilderSpec
 import builders.dsl.spreadsheet.query.api.SpreadsheetCriteria
 import builders.dsl.spreadsheet.query.poi.PoiSpreadsheetCriteria
+import org.apache.poi.xssf.streaming.SXSSFWorkbook
+import org.apache.poi.xssf.usermodel.XSSFSheet
+import org.apache.poi.xssf.usermodel.XSSFWorkbook
 import org.junit.Rule
 import org.junit.rules.TemporaryFolder
 
@@ -49,4 +52,118 @@ class PoiStreamingExcelBuilderSpec extends AbstractBuilderSpec {
         open tmpFile
     }
 
+    void 'rows outside of the streaming window cannot be accessed'() {
+        when:
+            createSpreadsheetBuilder().build {
+                sheet('Window') {
+                    200.times { int i ->
+                        row {
+                            cell i
+                        }
+                    }
+                    row(150) {
+                        cell 'still in window'
+                    }
+                    row(1) {
+                        cell 'already flushed'
+                    }
+                }
+            }
+        then:
+            IllegalStateException e = thrown(IllegalStateException)
+            e.message.startsWith('Row 1 of Sheet[Window] is no longer available')
+    }
+
+    void 'formulas referring to names defined in earlier rows are written'() {
+        when:
+            createSpreadsheetBuilder().build {
+                sheet('Formulas') {
+                    500.times { int i ->
+                        row {
+                            cell {
+                                value i
+                                name "_Value$i"
+                            }
+                            if (i > 0) {
+                                cell {
+                                    formula "2 * #{_Value${i - 1}}"
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+            XSSFSheet sheet = new XSSFWorkbook(tmpFile).getSheet('Formulas')
+
+        then:
+            sheet.lastRowNum == 499
+            sheet.getRow(0).getCell(0).numericCellValue == 0
+            !sheet.getRow(0).getCell(1)
+            sheet.getRow(1).getCell(1).cellFormula.replace('$', '').endsWith('!A1')
+            sheet.getRow(499).getCell(0).numericCellValue == 499
+            sheet.getRow(499).getCell(1).cellFormula.replace('$', '').endsWith('!A499')
+    }
+
+    void 'formula referring to a name which is never defined fails when its row leaves the streaming window'() {
+        when:
+            createSpreadsheetBuilder().build {
+                sheet('Formulas') {
+                    row {
+                        cell {
+                            formula 'SUM(#{_Total})'
+                        }
+                    }
+                    500.times { int i ->
+                        row {
+                            cell {
+                                value i
+                                name "_Value$i"
+                            }
+                            cell {
+                                formula "2 * #{_Value$i}"
+                            }
+                        }
+                    }
+                }
+            }
+        then:
+            IllegalStateException e = thrown(IllegalStateException)
+            e.message.startsWith("Reference to name '_Total'")
+    }
+
+    void 'formulas are resolved before their rows leave a small streaming window'() {
+        when:
+            // keeps only ten rows in the memory
+            new PoiSpreadsheetBuilder(new SXSSFWorkbook(10), tmpFile.newOutputStream()).build {
+                sheet('Formulas') {
+                    (1..200).each { int i ->
+                        row {
+                            cell {
+                                value i
+                                name "_Value$i"
+                            }
+                            if (i > 1) {
+                                cell {
+                                    formula "2 * #{_Value${i - 1}}"
+                                }
+                            }
+                            if (i < 200) {
+                                cell('C') {
+                                    formula "2 * #{_Value${i + 1}}"
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+            XSSFSheet sheet = new XSSFWorkbook(tmpFile).getSheet('Formulas')
+
+        then:
+            // the flushed rows cannot be changed so the formulas must have been written before the rows left the window
+            noExceptionThrown()
+            sheet.getRow(1).getCell(1).cellFormula.replace('$', '').endsWith('!A1')
+            sheet.getRow(0).getCell(2).cellFormula.replace('$', '').endsWith('!A2')
+            sheet.getRow(198).getCell(2).cellFormula.replace('$', '').endsWith('!A200')
+    }
+
 }
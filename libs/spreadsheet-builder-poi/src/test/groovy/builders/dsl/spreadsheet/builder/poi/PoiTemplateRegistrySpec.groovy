@@ -0,0 +1,179 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.builder.poi
+
+import org.apache.poi.xssf.usermodel.XSSFWorkbook
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Requires
+import spock.lang.Specification
+
+class PoiTemplateRegistrySpec extends Specification {
+
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    PoiTemplateRegistry registry = new PoiTemplateRegistry()
+
+    void "template is read only once"() {
+        given:
+            File template = createTemplate(tmp.newFile('template.xlsx'), 10)
+
+        expect:
+            registry.get(template).is(registry.get(template))
+            registry.size() == 1
+    }
+
+    void "template is read again when modified"() {
+        given:
+            File template = createTemplate(tmp.newFile('template.xlsx'), 10)
+            PoiTemplateSnapshot first = registry.get(template)
+
+        when:
+            createTemplate(template, 20)
+            template.lastModified = template.lastModified() + 2000
+            PoiTemplateSnapshot second = registry.get(template)
+
+        then:
+            !first.is(second)
+            registry.size() == 1
+            second.newWorkbook().getSheet('Template').lastRowNum == 19
+    }
+
+    void "workbooks created from the template are independent"() {
+        given:
+            PoiTemplateSnapshot template = registry.get(createTemplate(tmp.newFile('template.xlsx'), 10))
+            ByteArrayOutputStream first = new ByteArrayOutputStream()
+            ByteArrayOutputStream second = new ByteArrayOutputStream()
+
+        when:
+            PoiSpreadsheetBuilder.create(first, template).build {
+                sheet('Template') {
+                    row(1) {
+                        cell 'Changed'
+                    }
+                }
+                sheet('Other') {
+                    row {
+                        cell 'Other'
+                    }
+                }
+            }
+            PoiSpreadsheetBuilder.stream(second, template).build {
+                sheet('Report') {
+                    row {
+                        cell 'Report'
+                    }
+                }
+            }
+
+            XSSFWorkbook firstWorkbook = new XSSFWorkbook(new ByteArrayInputStream(first.toByteArray()))
+            XSSFWorkbook secondWorkbook = new XSSFWorkbook(new ByteArrayInputStream(second.toByteArray()))
+            XSSFWorkbook fresh = template.newWorkbook()
+
+        then:
+            firstWorkbook.getSheet('Template').getRow(0).getCell(0).stringCellValue == 'Changed'
+            firstWorkbook.getSheet('Other')
+            !firstWorkbook.getSheet('Report')
+
+            secondWorkbook.getSheet('Template').getRow(0).getCell(0).stringCellValue == 'Template 1'
+            secondWorkbook.getSheet('Report').getRow(0).getCell(0).stringCellValue == 'Report'
+            !secondWorkbook.getSheet('Other')
+
+            fresh.numberOfSheets == 1
+            fresh.getSheet('Template').getRow(0).getCell(0).stringCellValue == 'Template 1'
+            fresh.getName('_Title')
+    }
+
+    void "invalid template is reported when registered"() {
+        given:
+            File template = tmp.newFile('invalid.xlsx')
+            template.text = 'not a workbook'
+
+        when:
+            registry.get(template)
+
+        then:
+            thrown(IOException)
+            registry.size() == 0
+    }
+
+    @Requires({ sys['benchmark'] })
+    void "benchmark rendering reports with and without the template cache"() {
+        given:
+            File template = createTemplate(tmp.newFile('template.xlsx'), 500)
+            int reports = 200
+            Closure report = {
+                sheet('Report') {
+                    10.times { int r ->
+                        row {
+                            cell 'Report'
+                            cell r
+                        }
+                    }
+                }
+            }
+
+        when:
+            long start = System.nanoTime()
+            reports.times {
+                PoiSpreadsheetBuilder.create(new ByteArrayOutputStream(), template).build report
+            }
+            long withoutCache = System.nanoTime() - start
+            println "Template file read, inflated and parsed: ${withoutCache / reports / 1000000D} ms per report"
+
+            start = System.nanoTime()
+            reports.times {
+                PoiSpreadsheetBuilder.create(new ByteArrayOutputStream(), registry.get(template)).build report
+            }
+            long withCache = System.nanoTime() - start
+            // only the file access and the inflating are saved, every workbook still parses all the parts
+            println "Uncompressed snapshot parsed: ${withCache / reports / 1000000D} ms per report"
+            println "Saved: ${(withoutCache - withCache) * 100D / withoutCache} %"
+
+        then:
+            registry.size() == 1
+    }
+
+    private static File createTemplate(File file, int rows) {
+        PoiSpreadsheetBuilder.create(file).build {
+            style('title') {
+                font {
+                    size 22
+                    color '#1F497D'
+                    style bold
+                }
+                background '#DCE6F1'
+            }
+            sheet('Template') {
+                rows.times { int r ->
+                    row {
+                        cell {
+                            value "Template ${r + 1}".toString()
+                            style 'title'
+                            if (r == 0) {
+                                name '_Title'
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return file
+    }
+
+}
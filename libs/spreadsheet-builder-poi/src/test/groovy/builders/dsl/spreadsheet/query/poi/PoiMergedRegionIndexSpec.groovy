@@ -0,0 +1,101 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.query.poi
+
+import builders.dsl.spreadsheet.api.Cell
+import builders.dsl.spreadsheet.builder.poi.PoiSpreadsheetBuilder
+import builders.dsl.spreadsheet.query.api.SpreadsheetCriteria
+import org.apache.poi.ss.util.CellRangeAddress
+import org.apache.poi.xssf.usermodel.XSSFSheet
+import org.apache.poi.xssf.usermodel.XSSFWorkbook
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class PoiMergedRegionIndexSpec extends Specification {
+
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    @Unroll
+    void "cell #cell is merged in #expected"() {
+        given:
+            XSSFSheet sheet = new XSSFWorkbook().createSheet('Merged')
+            sheet.addMergedRegion(CellRangeAddress.valueOf('B2:D4'))
+            sheet.addMergedRegion(CellRangeAddress.valueOf('F2:F3'))
+            PoiMergedRegionIndex index = new PoiMergedRegionIndex(sheet)
+            CellRangeAddress address = CellRangeAddress.valueOf(cell)
+
+        expect:
+            index.find(address.firstRow, address.firstColumn)?.formatAsString() == expected
+
+        where:
+            cell | expected
+            'B2' | 'B2:D4'
+            'D4' | 'B2:D4'
+            'C3' | 'B2:D4'
+            'A2' | null
+            'E2' | null
+            'F3' | 'F2:F3'
+            'F4' | null
+            'B5' | null
+    }
+
+    void "spans and neighbours of the merged cells"() {
+        given:
+            SpreadsheetCriteria criteria = PoiSpreadsheetCriteria.FACTORY.forFile(createWorkbook(100))
+
+        when:
+            Cell merged = criteria.query { sheet { row(4) { cell 1 } } }.cell
+
+        then:
+            merged.value == 'Merged 2'
+            merged.colspan == 3
+            merged.rowspan == 3
+            merged.right.value == 'Plain 2'
+            merged.below.value == 'Merged 3'
+            merged.right.colspan == 1
+
+        when:
+            Collection<Cell> spanned = criteria.query { sheet { row { cell { colspan 3 } } } }.cells
+
+        then:
+            spanned.size() == 100
+            spanned*.value.take(2) == ['Merged 1', 'Merged 2']
+    }
+
+    private File createWorkbook(int regions) {
+        File file = tmp.newFile()
+        PoiSpreadsheetBuilder.create(file).build {
+            sheet('Merged') {
+                (1..regions).each { int r ->
+                    row(r * 3 - 2) {
+                        cell {
+                            value "Merged ${r}".toString()
+                            colspan 3
+                            rowspan 3
+                        }
+                        cell "Plain ${r}".toString()
+                    }
+                }
+            }
+        }
+        return file
+    }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.query.poi
+
+import builders.dsl.spreadsheet.builder.poi.PoiSpreadsheetBuilder
+import builders.dsl.spreadsheet.query.api.SpreadsheetCriteria
+import builders.dsl.spreadsheet.query.api.SpreadsheetCriteriaResult
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+class PoiNameIndexSpec extends Specification {
+
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    void "names are found by the references and the references by the names"() {
+        given:
+            PoiNameIndex index = new PoiNameIndex()
+            index.add(-1, 'First', "'My Sheet'!\$B\$2")
+            index.add(-1, 'Second', 'My Sheet!B2')
+            index.add(1, 'Local', 'Other!C3')
+            index.add(-1, 'Range', 'Other!A1:B2')
+            index.add(0, 'Local', "'My Sheet'!D4")
+
+        expect:
+            index.findName(0, 'My Sheet', 'B2') == 'First'
+            index.findName(0, 'my sheet', 'b2') == 'First'
+            index.findName(1, 'Other', 'C3') == 'Local'
+            index.findName(0, 'Other', 'C3') == null
+            index.findName(1, 'Other', 'A1') == null
+            index.findName(0, 'My Sheet', 'D4') == 'Local'
+
+            index.findCellReferences('First', 0, 'My Sheet') == ['B2']
+            index.findCellReferences('Local', 0, 'My Sheet') == ['D4']
+            index.findCellReferences('Local', 1, 'Other') == ['C3']
+            index.findCellReferences('Range', 1, 'Other') == []
+            index.findCellReferences('Missing', 0, 'My Sheet') == []
+    }
+
+    void "names referring to cells without the sheet name match the cells in every visible sheet"() {
+        given:
+            PoiNameIndex index = new PoiNameIndex()
+            index.add(1, 'Local', '$C$3')
+            index.add(-1, 'Global', 'A1')
+            index.add(-1, 'Qualified', 'Other!C3')
+
+        expect:
+            index.findName(1, 'Other', 'C3') == 'Local'
+            index.findName(0, 'My Sheet', 'C3') == null
+            index.findName(0, 'My Sheet', 'A1') == 'Global'
+            index.findName(1, 'Other', 'A1') == 'Global'
+
+            index.findCellReferences('Local', 1, 'Other') == ['C3']
+            index.findCellReferences('Local', 0, 'My Sheet') == []
+            index.findCellReferences('Global', 0, 'My Sheet') == ['A1']
+    }
+
+    void "named cells are looked up directly"() {
+        given:
+            SpreadsheetCriteria criteria = PoiSpreadsheetCriteria.FACTORY.forFile(createWorkbook(200))
+
+        when:
+            SpreadsheetCriteriaResult result = criteria.query {
+                sheet {
+                    row {
+                        cell {
+                            name 'Cell150'
+                        }
+                    }
+                }
+            }
+
+        then:
+            result.explain().contains('named cells [Cell150]')
+            result.cells*.value == ['Value 150']
+            result.cell.name == 'Cell150'
+            result.rows*.number == [150]
+
+        and:
+            criteria.query { sheet { row { cell { name 'Missing' } } } }.cells.empty
+            criteria.query { sheet('Names') { row(151) { cell { name 'Cell150' } } } }.cells.empty
+    }
+
+    void "streaming criteria look up named cells directly"() {
+        given:
+            PoiStreamingSpreadsheetCriteria criteria = PoiSpreadsheetCriteria.streaming(createWorkbook(200))
+
+        expect:
+            criteria.query { sheet { row { cell { name 'Cell42' } } } }.cell.value == 'Value 42'
+
+        cleanup:
+            criteria?.close()
+    }
+
+    private File createWorkbook(int names) {
+        File file = tmp.newFile()
+        PoiSpreadsheetBuilder.create(file).build {
+            sheet('Names') {
+                (1..names).each { int r ->
+                    row {
+                        cell {
+                            value "Value ${r}".toString()
+                            name "Cell${r}".toString()
+                        }
+                        cell 'Unnamed'
+                    }
+                }
+            }
+        }
+        return file
+    }
+
+}
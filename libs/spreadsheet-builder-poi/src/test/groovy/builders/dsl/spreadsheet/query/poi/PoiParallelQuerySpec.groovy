@@ -0,0 +1,113 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.query.poi
+
+import builders.dsl.spreadsheet.api.Row
+import builders.dsl.spreadsheet.builder.poi.PoiSpreadsheetBuilder
+import builders.dsl.spreadsheet.query.api.ExecutionMode
+import builders.dsl.spreadsheet.query.api.SpreadsheetCriteria
+import builders.dsl.spreadsheet.query.api.SpreadsheetCriteriaResult
+import builders.dsl.spreadsheet.query.api.WorkbookCriterion
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.function.Consumer
+
+class PoiParallelQuerySpec extends Specification {
+
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    @Unroll
+    void "parallel query returns the same results as the sequential one #description"() {
+        given:
+            SpreadsheetCriteria criteria = PoiSpreadsheetCriteria.FACTORY.forFile(createWorkbook(1000))
+
+        when:
+            SpreadsheetCriteriaResult sequential = criteria.query(query)
+            SpreadsheetCriteriaResult parallel = criteria.query(query, ExecutionMode.PARALLEL)
+
+        then:
+            parallel.cells*.value == sequential.cells*.value
+            parallel.rows.collect { "${it.sheet.name}:${it.number}".toString() } == sequential.rows.collect { "${it.sheet.name}:${it.number}".toString() }
+            parallel.sheets*.name == sequential.sheets*.name
+            parallel.cells.size() == expected
+
+        where:
+            description             | expected | query
+            'for all cells'         | 15000    | { WorkbookCriterion w -> } as Consumer<WorkbookCriterion>
+            'for single sheet'      | 5000     | { WorkbookCriterion w -> w.sheet('Second') } as Consumer<WorkbookCriterion>
+            'for matching cells'    | 300      | { WorkbookCriterion w -> w.sheet { it.row { it.cell { it.string { String v -> v.endsWith('0:3') } } } } } as Consumer<WorkbookCriterion>
+            'for alternative rows'  | 6000     | { WorkbookCriterion w -> w.sheet { it.row { it.cell(1) }.row { it.cell(1, 2) } } } as Consumer<WorkbookCriterion>
+            'for no matching cells' | 0        | { WorkbookCriterion w -> w.sheet('Fourth') } as Consumer<WorkbookCriterion>
+    }
+
+    void "parallel query keeps the document order"() {
+        given:
+            SpreadsheetCriteria criteria = PoiSpreadsheetCriteria.FACTORY.forFile(createWorkbook(1000))
+
+        when:
+            SpreadsheetCriteriaResult result = criteria.query({ WorkbookCriterion w ->
+                w.sheet { it.row { it.cell(5) } }
+            } as Consumer<WorkbookCriterion>, ExecutionMode.PARALLEL)
+
+        then:
+            result.cells*.value.take(2) == ['First 1:5', 'First 2:5']
+            result.cells*.value.last() == 'Third 1000:5'
+            result.cell.value == 'First 1:5'
+    }
+
+    void "parallel query stops evaluating the rows once the first match is found"() {
+        given:
+            SpreadsheetCriteria criteria = PoiSpreadsheetCriteria.FACTORY.forFile(createWorkbook(1000))
+            AtomicInteger evaluated = new AtomicInteger()
+            Consumer<WorkbookCriterion> query = { WorkbookCriterion w ->
+                w.sheet { it.row { it.having { Row row -> evaluated.incrementAndGet(); row.number % 10 == 0 } } }
+            } as Consumer<WorkbookCriterion>
+
+        when:
+            Row row = criteria.query(query, ExecutionMode.PARALLEL).row
+
+        then:
+            row.sheet.name == 'First'
+            row.number == 10
+            evaluated.get() < 3000
+            criteria.query(query, ExecutionMode.PARALLEL).rows.size() == 300
+    }
+
+    private File createWorkbook(int rows) {
+        File file = tmp.newFile()
+        PoiSpreadsheetBuilder.create(file).build {
+            ['First', 'Second', 'Third'].each { String name ->
+                sheet(name) {
+                    (1..rows).each { int r ->
+                        row {
+                            (1..5).each { int c ->
+                                cell "${name} ${r}:${c}".toString()
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return file
+    }
+
+}
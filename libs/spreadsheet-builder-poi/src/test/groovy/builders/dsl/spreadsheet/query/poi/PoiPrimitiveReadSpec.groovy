@@ -0,0 +1,133 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.query.poi
+
+import builders.dsl.spreadsheet.api.Cell
+import builders.dsl.spreadsheet.builder.poi.PoiSpreadsheetBuilder
+import builders.dsl.spreadsheet.query.api.SpreadsheetCriteria
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.AutoCleanup
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.time.LocalDate
+
+class PoiPrimitiveReadSpec extends Specification {
+
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    LocalDate today = LocalDate.of(2020, 5, 17)
+
+    File file
+    SpreadsheetCriteria dom
+    @AutoCleanup PoiStreamingSpreadsheetCriteria streaming
+
+    void setup() {
+        file = createWorkbook(100)
+        dom = PoiSpreadsheetCriteria.FACTORY.forFile(file)
+        streaming = PoiSpreadsheetCriteria.FACTORY.streaming(file)
+    }
+
+    @Unroll
+    void "primitive reads of the #mode cells"() {
+        when:
+            List<Cell> cells = criteria(mode).query { sheet { row(2) } }.cells as List<Cell>
+
+        then:
+            cells*.isNumber() == [false, true, true, false, false]
+            cells*.isBoolean() == [false, false, false, true, false]
+            cells[1].readDouble() == 10.5d
+            cells[1].readLong() == 10L
+            cells[2].readEpochDay() == today.plusDays(1).toEpochDay()
+            cells[2].readEpochDay() == cells[2].read(LocalDate).toEpochDay()
+            // the format of the cell is not checked, any number is read as a date
+            cells[1].readEpochDay() == cells[1].read(LocalDate).toEpochDay()
+            cells[3].readBoolean()
+            cells[4].readDouble() == 0d
+            !cells[4].readBoolean()
+
+        when:
+            cells[0].readDouble()
+
+        then:
+            thrown(IllegalStateException)
+
+        when:
+            cells[4].readEpochDay()
+
+        then:
+            thrown(IllegalStateException)
+
+        where:
+            mode << ['dom', 'streaming']
+    }
+
+    @Unroll
+    void "primitive criteria of the #mode cells"() {
+        given:
+            SpreadsheetCriteria criteria = criteria(mode)
+            long since = today.plusDays(90).toEpochDay()
+
+        expect:
+            criteria.query { sheet { row { cell(2) { doubleValue { double d -> d > 900 } } } } }.cells*.value ==
+                criteria.query { sheet { row { cell(2) { number { Double d -> d > 900 } } } } }.cells*.value
+            criteria.query { sheet { row { cell { longValue { long l -> l == 500 } } } } }.cells*.value == [500.5d]
+            criteria.query { sheet { row { cell { epochDay { long d -> d > since } } } } }.cells*.read(LocalDate) ==
+                criteria.query { sheet { row { cell(3) { localDate { LocalDate d -> d.isAfter(today.plusDays(90)) } } } } }.cells*.read(LocalDate)
+            criteria.query { sheet { row { cell { epochDay { long d -> d > since } } } } }.cells.size() == 10
+
+        where:
+            mode << ['dom', 'streaming']
+    }
+
+    private SpreadsheetCriteria criteria(String mode) {
+        return mode == 'dom' ? dom : streaming
+    }
+
+    private File createWorkbook(int rows) {
+        File file = tmp.newFile()
+        LocalDate date = today
+        PoiSpreadsheetBuilder.create(file).build {
+            sheet('Ledger') {
+                row {
+                    cell 'Name'
+                    cell 'Amount'
+                    cell 'Date'
+                    cell 'Paid'
+                    cell 'Blank'
+                }
+                (1..rows).each { int r ->
+                    row {
+                        cell "Name ${r}".toString()
+                        cell r * 10 + 0.5
+                        cell date.plusDays(r)
+                        cell r % 2 == 1
+                        cell {
+                            style {
+                                foreground '#ff0000'
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return file
+    }
+
+}
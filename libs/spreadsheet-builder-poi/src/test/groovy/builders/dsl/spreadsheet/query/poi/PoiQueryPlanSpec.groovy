@@ -0,0 +1,152 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.query.poi
+
+import builders.dsl.spreadsheet.api.Cell
+import builders.dsl.spreadsheet.api.Row
+import builders.dsl.spreadsheet.api.Sheet
+import builders.dsl.spreadsheet.builder.poi.PoiSpreadsheetBuilder
+import builders.dsl.spreadsheet.query.api.SpreadsheetCriteria
+import builders.dsl.spreadsheet.query.api.SpreadsheetCriteriaResult
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+class PoiQueryPlanSpec extends Specification {
+
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    File file
+
+    void setup() {
+        file = tmp.newFile('plan.xlsx')
+        PoiSpreadsheetBuilder.create(file).build {
+            ['First', 'Second'].each { String name ->
+                sheet(name) {
+                    (1..100).each { int r ->
+                        row {
+                            (1..10).each { int c ->
+                                cell "${name} ${r}:${c}".toString()
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    void "explain the rows and columns looked up directly"() {
+        given:
+            SpreadsheetCriteria criteria = PoiSpreadsheetCriteria.FACTORY.forFile(file)
+
+        when:
+            SpreadsheetCriteriaResult result = criteria.query {
+                sheet('First') {
+                    row(5) {
+                        cell 'C'
+                    }
+                }
+            }
+
+        then:
+            result.explain() == '''Query plan (SEQUENTIAL)
+  sheets: filter
+  rows: seek 5
+  sheet criterion #1: rows seek 5, cells seek 3'''
+            result.cells*.value == ['First 5:3']
+
+        when:
+            result = criteria.query {
+                sheet {
+                    row {
+                        cell {
+                            string 'Second 7:7'
+                        }
+                    }
+                }
+            }
+
+        then:
+            result.explain() == '''Query plan (SEQUENTIAL)
+  sheets: scan all
+  rows: scan all
+  sheet criterion #1: rows scan all, cells scan all'''
+            result.cells*.value == ['Second 7:7']
+    }
+
+    void "seek rows and columns of the ranges"() {
+        given:
+            SpreadsheetCriteria criteria = PoiSpreadsheetCriteria.FACTORY.forFile(file)
+
+        when:
+            SpreadsheetCriteriaResult result = criteria.query {
+                sheet {
+                    row(10, 11) {
+                        cell('B', 'C')
+                    }
+                }
+                sheet {
+                    row(50)
+                }
+            }
+
+        then:
+            result.explain().contains('rows: seek 10..50')
+            result.cells.size() == 2 * (4 + 10)
+            result.cells*.value.take(5) == ['First 10:2', 'First 10:3', 'First 11:2', 'First 11:3', 'First 50:1']
+            result.rows*.number == [10, 11, 50, 10, 11, 50]
+    }
+
+    void "seeking keeps the identity of the rows and cells"() {
+        given:
+            SpreadsheetCriteria criteria = PoiSpreadsheetCriteria.FACTORY.forFile(file)
+
+        when:
+            Sheet sheet = criteria.query { sheet('First') }.sheet
+            Row row = sheet.getRows(3, 3).first()
+            Cell cell = row.getCells(2, 2).first()
+
+        then:
+            row.is(sheet.rows[2])
+            cell.is(row.cells[1])
+            cell.value == 'First 3:2'
+            cell.above.value == 'First 2:2'
+    }
+
+    void "streaming criteria skip the rows before the range"() {
+        given:
+            PoiStreamingSpreadsheetCriteria criteria = PoiSpreadsheetCriteria.streaming(file)
+
+        when:
+            SpreadsheetCriteriaResult result = criteria.query {
+                sheet('Second') {
+                    row(20, 21) {
+                        cell 1
+                    }
+                }
+            }
+
+        then:
+            result.cells*.value == ['Second 20:1', 'Second 21:1']
+            result.cells.first().above.value == 'Second 19:1'
+
+        cleanup:
+            criteria?.close()
+    }
+
+}
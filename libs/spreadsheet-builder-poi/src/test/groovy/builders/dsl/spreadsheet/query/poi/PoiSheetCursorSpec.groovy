@@ -0,0 +1,201 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.query.poi
+
+import builders.dsl.spreadsheet.api.Cell
+import builders.dsl.spreadsheet.api.Row
+import builders.dsl.spreadsheet.api.Sheet
+import builders.dsl.spreadsheet.api.SheetCursor
+import builders.dsl.spreadsheet.builder.poi.PoiSpreadsheetBuilder
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Requires
+import spock.lang.Specification
+
+class PoiSheetCursorSpec extends Specification {
+
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    void "cursor reads the same cells as the rows"() {
+        given:
+            Sheet sheet = PoiSpreadsheetCriteria.FACTORY.forFile(createWorkbook(100)).query { sheet('Data') }.sheet
+
+        expect:
+            readWithCursor(sheet.cursor()) == readWithRows(sheet)
+    }
+
+    void "streaming cursor reads the same cells as the rows"() {
+        given:
+            File file = createWorkbook(100)
+            Sheet sheet = PoiSpreadsheetCriteria.FACTORY.forFile(file).query { sheet('Data') }.sheet
+
+        when:
+            List<String> streamed = PoiSpreadsheetCriteria.FACTORY.streaming(file).withCloseable {
+                readWithCursor(it.query { sheet('Data') }.sheet.cursor())
+            }
+
+        then:
+            streamed == readWithRows(sheet)
+    }
+
+    void "cursor reads the numbers and strings"() {
+        given:
+            SheetCursor cursor = PoiSpreadsheetCriteria.FACTORY.forFile(createWorkbook(3)).query { sheet('Data') }.sheet.cursor()
+
+        when:
+            cursor.nextRow()
+            cursor.nextCell()
+
+        then:
+            cursor.row() == 1
+            cursor.column() == 1
+            cursor.readString() == 'Row 1'
+
+        when:
+            cursor.nextCell()
+
+        then:
+            cursor.column() == 2
+            cursor.readDouble() == 1d
+            cursor.value() == 1d
+    }
+
+    void "cursor does not read numbers as strings"() {
+        given:
+            File file = createWorkbook(1)
+
+        when:
+            readSecondCellAsString(PoiSpreadsheetCriteria.FACTORY.forFile(file).query { sheet('Data') }.sheet.cursor())
+
+        then:
+            thrown(IllegalStateException)
+
+        when:
+            PoiSpreadsheetCriteria.FACTORY.streaming(file).withCloseable {
+                readSecondCellAsString(it.query { sheet('Data') }.sheet.cursor())
+            }
+
+        then:
+            thrown(IllegalStateException)
+    }
+
+    void "cursor must be positioned at the cell"() {
+        given:
+            SheetCursor cursor = PoiSpreadsheetCriteria.FACTORY.forFile(createWorkbook(1)).query { sheet('Data') }.sheet.cursor()
+
+        when:
+            cursor.readDouble()
+
+        then:
+            thrown(IllegalStateException)
+
+        when:
+            cursor.nextRow()
+            while (cursor.nextCell()) { }
+            cursor.column()
+
+        then:
+            thrown(IllegalStateException)
+
+        expect:
+            !cursor.nextRow()
+            !cursor.nextCell()
+    }
+
+    @Requires({ sys['benchmark'] })
+    void "benchmark cursor against rows and cells"() {
+        given:
+            File file = createWorkbook(100000)
+
+        when:
+            Sheet sheet = PoiSpreadsheetCriteria.FACTORY.forFile(file).query { sheet('Data') }.sheet
+            long start = System.nanoTime()
+            double rowsSum = 0
+            for (Row row in sheet.rows) {
+                for (Cell cell in row.cells) {
+                    if (cell.column > 1) {
+                        rowsSum += cell.read(Double)
+                    }
+                }
+            }
+            long rowsTime = System.nanoTime() - start
+
+            sheet = PoiSpreadsheetCriteria.FACTORY.forFile(file).query { sheet('Data') }.sheet
+            start = System.nanoTime()
+            double cursorSum = 0
+            SheetCursor cursor = sheet.cursor()
+            while (cursor.nextRow()) {
+                while (cursor.nextCell()) {
+                    if (cursor.column() > 1) {
+                        cursorSum += cursor.readDouble()
+                    }
+                }
+            }
+            long cursorTime = System.nanoTime() - start
+
+            println "Reading 1M cells: rows and cells ${rowsTime / 1000000} ms, cursor ${cursorTime / 1000000} ms"
+
+        then:
+            cursorSum == rowsSum
+    }
+
+    private static String readSecondCellAsString(SheetCursor cursor) {
+        cursor.nextRow()
+        cursor.nextCell()
+        cursor.nextCell()
+        return cursor.readString()
+    }
+
+    private static List<String> readWithCursor(SheetCursor cursor) {
+        List<String> values = []
+        while (cursor.nextRow()) {
+            while (cursor.nextCell()) {
+                values << "${cursor.row()}:${cursor.column()}:${cursor.value()}".toString()
+            }
+        }
+        return values
+    }
+
+    private static List<String> readWithRows(Sheet sheet) {
+        List<String> values = []
+        for (Row row in sheet.rows) {
+            for (Cell cell in row.cells) {
+                values << "${row.number}:${cell.column}:${cell.value}".toString()
+            }
+        }
+        return values
+    }
+
+    private File createWorkbook(int rows) {
+        File file = tmp.newFile()
+        PoiSpreadsheetBuilder.create(file).build {
+            sheet('Data') {
+                (1..rows).each { int r ->
+                    row {
+                        cell "Row ${r}".toString()
+                        (1..9).each { int c ->
+                            cell r * c
+                        }
+                    }
+                }
+            }
+        }
+        return file
+    }
+
+}
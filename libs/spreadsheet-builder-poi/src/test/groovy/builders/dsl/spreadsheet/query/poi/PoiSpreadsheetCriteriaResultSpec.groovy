@@ -0,0 +1,103 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.query.poi
+
+import builders.dsl.spreadsheet.api.Cell
+import builders.dsl.spreadsheet.builder.poi.PoiSpreadsheetBuilder
+import builders.dsl.spreadsheet.query.api.SpreadsheetCriteria
+import builders.dsl.spreadsheet.query.api.SpreadsheetCriteriaResult
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+import java.util.stream.Collectors
+
+class PoiSpreadsheetCriteriaResultSpec extends Specification {
+
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    SpreadsheetCriteria criteria
+
+    void setup() {
+        File file = tmp.newFile('result.xlsx')
+        PoiSpreadsheetBuilder.create(file).build {
+            ['First', 'Second', 'Third'].each { String name ->
+                sheet(name) {
+                    (1..50).each { int r ->
+                        row {
+                            (1..5).each { int c ->
+                                cell "${name} ${r}:${c}".toString()
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        criteria = PoiSpreadsheetCriteria.FACTORY.forFile(file)
+    }
+
+    void "streams return the same results as the collections"() {
+        when:
+            SpreadsheetCriteriaResult result = criteria.query {
+                sheet {
+                    row {
+                        cell {
+                            string { String value -> value.endsWith(':3') }
+                        }
+                    }
+                }
+            }
+
+        then:
+            result.stream().collect(Collectors.toList())*.value == result.cells*.value
+            result.rowStream().collect(Collectors.toList())*.number == result.rows*.number
+            result.sheetStream().collect(Collectors.toList())*.name == result.sheets*.name
+            result.cells.size() == 150
+            result.rows.size() == 150
+            result.sheets*.name == ['First', 'Second', 'Third']
+    }
+
+    void "streams are consumed lazily"() {
+        when:
+            List<Cell> cells = criteria.all().stream().limit(3).collect(Collectors.toList())
+
+        then:
+            cells*.value == ['First 1:1', 'First 1:2', 'First 1:3']
+            criteria.all().iterator().next().value == 'First 1:1'
+            criteria.query { sheet('Third') }.rowStream().findFirst().get().number == 1
+    }
+
+    void "cells matched by alternative criteria are returned once"() {
+        when:
+            SpreadsheetCriteriaResult result = criteria.query {
+                sheet('Second') {
+                    row {
+                        cell 1
+                    }
+                    row {
+                        cell(1, 2)
+                    }
+                }
+            }
+
+        then:
+            result.stream().count() == 100
+            result.cells*.value.take(3) == ['Second 1:1', 'Second 1:2', 'Second 2:1']
+    }
+
+}
@@ -0,0 +1,165 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.query.poi
+
+import builders.dsl.spreadsheet.api.Cell
+import builders.dsl.spreadsheet.api.Row
+import builders.dsl.spreadsheet.builder.poi.PoiSpreadsheetBuilder
+import builders.dsl.spreadsheet.query.api.SpreadsheetCriteria
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.time.LocalDate
+
+class PoiStreamingSpreadsheetCriteriaSpec extends Specification {
+
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    @Shared LocalDate today = LocalDate.of(2020, 5, 17)
+
+    File file
+    SpreadsheetCriteria dom
+    @AutoCleanup PoiStreamingSpreadsheetCriteria streaming
+
+    void setup() {
+        file = tmp.newFile('criteria.xlsx')
+        LocalDate date = today
+        PoiSpreadsheetBuilder.create(file).build {
+            sheet('Data') {
+                row {
+                    cell 'Name'
+                    cell 'Amount'
+                    cell 'Date'
+                }
+                (1..100).each { int r ->
+                    row {
+                        cell "Name ${r}".toString()
+                        cell {
+                            value r * 10
+                            if (r % 10 == 0) {
+                                style {
+                                    foreground '#ff0000'
+                                }
+                            }
+                        }
+                        cell {
+                            value date.plusDays(r)
+                            if (r == 50) {
+                                comment 'Half way'
+                                name 'HalfWay'
+                            }
+                        }
+                    }
+                }
+                row {
+                    cell {
+                        value 'Merged'
+                        colspan 3
+                    }
+                }
+            }
+            sheet('Hidden') {
+                state hidden
+                row {
+                    cell 'Secret'
+                }
+            }
+        }
+        dom = PoiSpreadsheetCriteria.FACTORY.forFile(file)
+        streaming = PoiSpreadsheetCriteria.FACTORY.streaming(file)
+    }
+
+    void "streaming criteria return the same cells as the workbook criteria"() {
+        expect:
+            values(streaming.all().cells) == values(dom.all().cells)
+            values(streaming.query { sheet('Data') { row(5) } }.cells) == values(dom.query { sheet('Data') { row(5) } }.cells)
+            values(streaming.query { sheet { row { cell { value 500 } } } }.cells) == [500d]
+            values(streaming.query { sheet { row { cell { style { foreground '#ff0000' } } } } }.cells) == values(dom.query { sheet { row { cell { style { foreground '#ff0000' } } } } }.cells)
+            values(streaming.query { sheet { row { cell { comment 'Half way' } } } }.cells) == values(dom.query { sheet { row { cell { comment 'Half way' } } } }.cells)
+            streaming.query { sheet { row { cell { name 'HalfWay' } } } }.cell.read(LocalDate) == today.plusDays(50)
+            streaming.query { sheet { row { cell { colspan 3 } } } }.cell.value == 'Merged'
+            streaming.query { sheet { state hidden } }.sheets*.name == ['Hidden']
+            streaming.query { sheet('Data') { row { cell { value 'Name 7' } } } }.rows*.number == [8]
+    }
+
+    void "find stops at the first match"() {
+        when:
+            Cell cell = streaming.find { sheet { row { cell { value 'Name 3' } } } }
+
+        then:
+            cell.row.number == 4
+            cell.right.value == 30d
+            cell.above.value == 'Name 2'
+            streaming.exists { sheet('Hidden') }
+            !streaming.exists { sheet { row { cell { value 'Missing' } } } }
+    }
+
+    void "rows below are not available"() {
+        given:
+            Row row = streaming.query { sheet('Data') { row(2) } }.row
+
+        when:
+            row.below
+
+        then:
+            thrown(UnsupportedOperationException)
+    }
+
+    void "criteria can be created from stream"() {
+        when:
+            PoiStreamingSpreadsheetCriteria criteria = PoiSpreadsheetCriteria.FACTORY.streaming(new FileInputStream(file))
+
+        then:
+            criteria.query { sheet('Data') { row(1) } }.cells.size() == 3
+
+        cleanup:
+            criteria?.close()
+    }
+
+    void "columns beyond two letters are read from the cell references"() {
+        given:
+            File wide = tmp.newFile('wide.xlsx')
+            PoiSpreadsheetBuilder.create(wide).build {
+                sheet('Wide') {
+                    row {
+                        cell(79) { value 'CA' }
+                        cell(703) { value 'AAA' }
+                        cell(16384) { value 'XFD' }
+                    }
+                }
+            }
+
+        when:
+            Collection<Cell> cells = PoiSpreadsheetCriteria.FACTORY.streaming(wide).withCloseable {
+                it.query { sheet('Wide') { row(1) } }.cells
+            }
+
+        then:
+            cells*.column == [79, 703, 16384]
+            cells*.columnAsString == ['CA', 'AAA', 'XFD']
+            cells*.value == ['CA', 'AAA', 'XFD']
+    }
+
+    private static List<Object> values(Collection<Cell> cells) {
+        return cells*.value
+    }
+
+}
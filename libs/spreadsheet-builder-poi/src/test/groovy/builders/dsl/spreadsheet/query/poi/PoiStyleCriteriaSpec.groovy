@@ -0,0 +1,136 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2020 Vladimir Orany.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package builders.dsl.spreadsheet.query.poi
+
+import builders.dsl.spreadsheet.api.Cell
+import builders.dsl.spreadsheet.api.CellStyle
+import builders.dsl.spreadsheet.api.Color
+import builders.dsl.spreadsheet.builder.poi.PoiSpreadsheetBuilder
+import builders.dsl.spreadsheet.query.api.SpreadsheetCriteria
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+import java.util.concurrent.atomic.AtomicInteger
+
+class PoiStyleCriteriaSpec extends Specification {
+
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    void "style criteria are evaluated once per distinct style"() {
+        given:
+            SpreadsheetCriteria criteria = PoiSpreadsheetCriteria.FACTORY.forFile(createWorkbook(100))
+            AtomicInteger evaluations = new AtomicInteger()
+
+        when:
+            Collection<Cell> cells = criteria.query {
+                sheet {
+                    row {
+                        cell {
+                            style {
+                                having { CellStyle style -> evaluations.incrementAndGet(); true }
+                                foreground '#ff0000'
+                                font {
+                                    style bold
+                                }
+                            }
+                        }
+                    }
+                }
+            }.cells
+
+        then:
+            cells.size() == 500
+            cells.every { it.style.foreground == new Color('#ff0000') }
+            evaluations.get() == 2
+    }
+
+    void "cells sharing the style share the style wrapper"() {
+        given:
+            SpreadsheetCriteria criteria = PoiSpreadsheetCriteria.FACTORY.forFile(createWorkbook(10))
+
+        when:
+            List<Cell> cells = criteria.query { sheet { row(1) { cell(1, 10) } } }.cells as List<Cell>
+
+        then:
+            cells.size() == 10
+            cells[0].style.is(cells[2].style)
+            !cells[0].style.is(cells[1].style)
+            cells[0].style.font.is(cells[2].style.font)
+    }
+
+    void "style criteria in alternatives are evaluated separately"() {
+        given:
+            SpreadsheetCriteria criteria = PoiSpreadsheetCriteria.FACTORY.forFile(createWorkbook(100))
+
+        when:
+            int count = criteria.query {
+                sheet {
+                    row {
+                        cell {
+                            or {
+                                style { foreground '#ff0000' }
+                                style { foreground '#00ff00' }
+                            }
+                        }
+                    }
+                }
+            }.cells.size()
+
+        then:
+            count == 1000
+    }
+
+    void "streaming criteria match the same styles"() {
+        given:
+            File file = createWorkbook(100)
+
+        when:
+            int count = PoiSpreadsheetCriteria.FACTORY.streaming(file).withCloseable {
+                it.query { sheet { row { cell { style { foreground '#00ff00' } } } } }.cells.size()
+            }
+
+        then:
+            count == 500
+    }
+
+    private File createWorkbook(int rows) {
+        File file = tmp.newFile()
+        PoiSpreadsheetBuilder.create(file).build {
+            sheet('Styles') {
+                (1..rows).each { int r ->
+                    row {
+                        (1..10).each { int c ->
+                            cell {
+                                value r * c
+                                style {
+                                    foreground c % 2 ? '#ff0000' : '#00ff00'
+                                    font {
+                                        style bold
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return file
+    }
+
+}